@@ -0,0 +1,71 @@
+package greynekos.greybook.logic.commands;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import greynekos.greybook.logic.commands.exceptions.CommandException;
+import greynekos.greybook.logic.parser.ArgumentParseResult;
+import greynekos.greybook.logic.parser.GreyBookParser;
+import greynekos.greybook.logic.parser.exceptions.ParseException;
+import greynekos.greybook.model.History;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.ModelManager;
+import greynekos.greybook.model.UserPrefs;
+import greynekos.greybook.testutil.BenchmarkPersons;
+
+/**
+ * Measures marking the attendance of all persons at different numbers of
+ * persons.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarkCommandBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Model model;
+    private ArgumentParseResult markAllCommand;
+    private ArgumentParseResult otherMarkAllCommand;
+
+    /**
+     * Creates a model with {@code size} persons, and the commands that mark them.
+     */
+    @Setup
+    public void setUp() throws ParseException {
+        model = new ModelManager(BenchmarkPersons.getGreyBook(size), new UserPrefs(), new History());
+
+        GreyBookParser parser = new GreyBookParser();
+        CommandRegistry.addCommandsToParser(parser);
+        markAllCommand = parser.parse("mark all p/");
+        otherMarkAllCommand = parser.parse("mark all a/");
+    }
+
+    /**
+     * Marks all persons as present, or as absent every other time, so that every
+     * person is changed each time.
+     */
+    @Benchmark
+    public CommandResult markAll() throws CommandException {
+        CommandResult commandResult = markAllCommand.execute(model);
+        ArgumentParseResult nextCommand = otherMarkAllCommand;
+        otherMarkAllCommand = markAllCommand;
+        markAllCommand = nextCommand;
+        return commandResult;
+    }
+}
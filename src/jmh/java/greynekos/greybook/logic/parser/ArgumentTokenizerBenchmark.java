@@ -0,0 +1,48 @@
+package greynekos.greybook.logic.parser;
+
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_EMAIL;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_NAME;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_PHONE;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_STUDENTID;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_TAG;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import greynekos.greybook.logic.parser.exceptions.ParseException;
+
+/**
+ * Measures how long it takes to tokenize the arguments of a command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArgumentTokenizerBenchmark {
+
+    private static final Prefix[] PREFIXES = {PREFIX_NAME, PREFIX_PHONE, PREFIX_EMAIL, PREFIX_STUDENTID, PREFIX_TAG};
+
+    @Param({
+        " n/John Doe p/98765432 e/johnd@example.com i/A0123456J t/friends t/owesMoney",
+        " n/\"John \\\"JD\\\" Doe\" p/98765432 e/\"johnd@example.com\" i/A0123456J t/friends",
+        " 1"
+    })
+    public String argsString;
+
+    @Benchmark
+    public ArgumentMultimap tokenize() throws ParseException {
+        return ArgumentTokenizer.tokenize(argsString, PREFIXES);
+    }
+}
@@ -0,0 +1,59 @@
+package greynekos.greybook.logic.parser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import greynekos.greybook.logic.commands.CommandRegistry;
+import greynekos.greybook.logic.parser.exceptions.ParseException;
+
+/**
+ * Measures how long it takes to parse an example of each registered command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GreyBookParserBenchmark {
+
+    @Param({
+        "add n/John Doe p/98765432 e/johnd@example.com i/A0123456J t/friends t/owesMoney",
+        "checkin",
+        "clear",
+        "delete A0123456J",
+        "edit 1 n/Jane Doe p/91234567 e/jane@example.com",
+        "exit",
+        "find alex i/A01 t/member e/example p/9123",
+        "help",
+        "list",
+        "mark all p/",
+        "stats",
+        "unmark 1"
+    })
+    public String commandText;
+
+    private GreyBookParser parser;
+
+    @Setup
+    public void setUp() {
+        parser = new GreyBookParser();
+        CommandRegistry.addCommandsToParser(parser);
+    }
+
+    @Benchmark
+    public ArgumentParseResult parse() throws ParseException {
+        return parser.parse(commandText);
+    }
+}
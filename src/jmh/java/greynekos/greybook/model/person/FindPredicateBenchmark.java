@@ -0,0 +1,90 @@
+package greynekos.greybook.model.person;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import greynekos.greybook.logic.commands.CommandRegistry;
+import greynekos.greybook.logic.commands.exceptions.CommandException;
+import greynekos.greybook.logic.parser.ArgumentParseResult;
+import greynekos.greybook.logic.parser.GreyBookParser;
+import greynekos.greybook.logic.parser.exceptions.ParseException;
+import greynekos.greybook.model.History;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.ModelManager;
+import greynekos.greybook.model.UserPrefs;
+import greynekos.greybook.testutil.BenchmarkPersons;
+
+/**
+ * Measures finding persons by a tag fragment that matches none, a hundredth, a
+ * tenth or all of the persons, at different numbers of persons.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FindPredicateBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"nomatch", BenchmarkPersons.HUNDREDTH_TAG, BenchmarkPersons.TENTH_TAG, BenchmarkPersons.EVERYONE_TAG})
+    public String tagFragment;
+
+    private List<Person> persons;
+    private NameOrStudentIdPredicateOrTag predicate;
+    private Model model;
+    private ArgumentParseResult findCommand;
+
+    /**
+     * Creates the persons, and a model with them to run the find command on.
+     */
+    @Setup
+    public void setUp() throws ParseException {
+        persons = BenchmarkPersons.getPersons(size);
+        predicate = new NameOrStudentIdPredicateOrTag(Collections.emptyList(), Collections.emptyList(),
+                List.of(tagFragment));
+        model = new ModelManager(BenchmarkPersons.getGreyBook(size), new UserPrefs(), new History());
+
+        GreyBookParser parser = new GreyBookParser();
+        CommandRegistry.addCommandsToParser(parser);
+        findCommand = parser.parse("find t/" + tagFragment);
+    }
+
+    /**
+     * Tests every person against the predicate, without any index.
+     */
+    @Benchmark
+    public int scanPredicate() {
+        int matchedCount = 0;
+        for (Person person : persons) {
+            if (predicate.test(person)) {
+                matchedCount++;
+            }
+        }
+        return matchedCount;
+    }
+
+    /**
+     * Runs the find command, which filters the persons of the model.
+     */
+    @Benchmark
+    public int findCommand() throws CommandException {
+        findCommand.execute(model);
+        return model.getFilteredPersonList().size();
+    }
+}
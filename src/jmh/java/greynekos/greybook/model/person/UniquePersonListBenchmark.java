@@ -0,0 +1,84 @@
+package greynekos.greybook.model.person;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import greynekos.greybook.testutil.BenchmarkPersons;
+import greynekos.greybook.testutil.PersonBuilder;
+
+/**
+ * Measures the operations of a {@code UniquePersonList} that the commands use,
+ * at different numbers of persons.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UniquePersonListBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private UniquePersonList personList;
+    private Person absentPerson;
+    private Person currentPerson;
+    private Person otherPerson;
+
+    /**
+     * Fills the list with {@code size} persons.
+     */
+    @Setup
+    public void setUp() {
+        personList = new UniquePersonList();
+        personList.setPersons(BenchmarkPersons.getPersons(size));
+        absentPerson = BenchmarkPersons.getPerson(size);
+        currentPerson = BenchmarkPersons.getPerson(size / 2);
+        otherPerson = new PersonBuilder(currentPerson).withPhone("99999999").build();
+    }
+
+    /**
+     * Adds a person, and removes it again so that the size stays the same.
+     */
+    @Benchmark
+    public UniquePersonList addAndRemove() {
+        personList.add(absentPerson);
+        personList.remove(absentPerson);
+        return personList;
+    }
+
+    /**
+     * Replaces the person in the middle of the list with an edited copy, or the
+     * copy with the original.
+     */
+    @Benchmark
+    public UniquePersonList setPerson() {
+        personList.setPerson(currentPerson, otherPerson);
+        Person replacedPerson = currentPerson;
+        currentPerson = otherPerson;
+        otherPerson = replacedPerson;
+        return personList;
+    }
+
+    @Benchmark
+    public boolean containsPresent() {
+        return personList.contains(currentPerson);
+    }
+
+    @Benchmark
+    public boolean containsAbsent() {
+        return personList.contains(absentPerson);
+    }
+}
@@ -0,0 +1,89 @@
+package greynekos.greybook.model.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import greynekos.greybook.model.person.Email;
+import greynekos.greybook.model.person.Name;
+import greynekos.greybook.model.person.Phone;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.tag.Tag;
+
+/**
+ * Measures validating each field of a person with its scanner, and with the
+ * regex that the scanner replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    // Not final, so that the JIT cannot fold the validation away
+    public String name = "Charlotte binte Rahman";
+    public String phone = "93210283";
+    public String email = "e0123456@u.nus.edu";
+    public String tagName = "vicepresident";
+    public String studentId = "A0123456" + StudentID.calculateStudentIdChecksum("A0123456");
+
+    @Benchmark
+    public boolean scanName() {
+        return Name.isValidName(name);
+    }
+
+    @Benchmark
+    public boolean matchName() {
+        return name.matches(Name.VALIDATION_REGEX);
+    }
+
+    @Benchmark
+    public boolean scanPhone() {
+        return Phone.isValidPhone(phone);
+    }
+
+    @Benchmark
+    public boolean matchPhone() {
+        return phone.matches(Phone.VALIDATION_REGEX);
+    }
+
+    @Benchmark
+    public boolean scanEmail() {
+        return Email.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean matchEmail() {
+        return email.matches(Email.VALIDATION_REGEX);
+    }
+
+    @Benchmark
+    public boolean scanTagName() {
+        return Tag.isValidTagName(tagName);
+    }
+
+    @Benchmark
+    public boolean matchTagName() {
+        return tagName.matches(Tag.VALIDATION_REGEX);
+    }
+
+    @Benchmark
+    public boolean scanStudentId() {
+        return StudentID.isValidStudentID(studentId);
+    }
+
+    @Benchmark
+    public boolean matchStudentId() {
+        return studentId.matches(StudentID.VALIDATION_REGEX);
+    }
+}
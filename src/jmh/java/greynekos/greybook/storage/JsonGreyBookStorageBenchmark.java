@@ -0,0 +1,77 @@
+package greynekos.greybook.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import greynekos.greybook.commons.exceptions.DataLoadingException;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.ReadOnlyGreyBook;
+import greynekos.greybook.model.util.RosterGenerator;
+
+/**
+ * Measures loading and saving a GreyBook json file at different numbers of
+ * persons, with realistic generated rosters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonGreyBookStorageBenchmark {
+
+    private static final long ROSTER_SEED = 2025;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private GreyBook greyBook;
+    private Path loadFilePath;
+    private Path saveFilePath;
+    private JsonGreyBookStorage storage;
+
+    /**
+     * Creates a GreyBook with {@code size} persons, and a file with them to load.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        greyBook = new GreyBook(new RosterGenerator(ROSTER_SEED).getGreyBook(size));
+        loadFilePath = Files.createTempFile("greybook-load", ".json");
+        saveFilePath = Files.createTempFile("greybook-save", ".json");
+        storage = new JsonGreyBookStorage(loadFilePath);
+        storage.saveGreyBook(greyBook, loadFilePath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(loadFilePath);
+        Files.deleteIfExists(saveFilePath);
+    }
+
+    @Benchmark
+    public Optional<ReadOnlyGreyBook> load() throws DataLoadingException {
+        return storage.readGreyBook(loadFilePath);
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        storage.saveGreyBook(greyBook, saveFilePath);
+        return saveFilePath;
+    }
+}
@@ -0,0 +1,71 @@
+package greynekos.greybook.testutil;
+
+import static greynekos.greybook.commons.util.AppUtil.checkArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.util.RosterGenerator;
+
+/**
+ * Builds rosters of distinct persons of any size for the benchmarks, from the
+ * roster of a {@link RosterGenerator} with a fixed seed. The same index always
+ * gives the same person.
+ *
+ * <p>
+ * The tags of each person are replaced with tags of known frequencies, so that
+ * the benchmarks can find a known share of the persons.
+ */
+public class BenchmarkPersons {
+
+    /** Tag that every person has */
+    public static final String EVERYONE_TAG = "member";
+    /** Tag that every tenth person has */
+    public static final String TENTH_TAG = "tenth";
+    /** Tag that every hundredth person has */
+    public static final String HUNDREDTH_TAG = "hundredth";
+
+    public static final int MAX_PERSONS = RosterGenerator.MAX_PERSONS;
+
+    private static final long SEED = 2025;
+    private static final RosterGenerator GENERATOR = new RosterGenerator(SEED);
+
+    /**
+     * Returns the person at {@code index} of every roster, which is less than
+     * {@link #MAX_PERSONS}.
+     */
+    public static Person getPerson(int index) {
+        checkArgument(index >= 0 && index < MAX_PERSONS, RosterGenerator.MESSAGE_INVALID_COUNT);
+        List<String> tags = new ArrayList<>(List.of(EVERYONE_TAG));
+        if (index % 10 == 0) {
+            tags.add(TENTH_TAG);
+        }
+        if (index % 100 == 0) {
+            tags.add(HUNDREDTH_TAG);
+        }
+        return new PersonBuilder(GENERATOR.getPerson(index)).withTags(tags.toArray(String[]::new)).build();
+    }
+
+    /**
+     * Returns the first {@code count} persons.
+     */
+    public static List<Person> getPersons(int count) {
+        checkArgument(count >= 0 && count <= MAX_PERSONS, RosterGenerator.MESSAGE_INVALID_COUNT);
+        List<Person> persons = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            persons.add(getPerson(i));
+        }
+        return persons;
+    }
+
+    /**
+     * Returns a GreyBook with the first {@code count} persons.
+     */
+    public static GreyBook getGreyBook(int count) {
+        GreyBook greyBook = new GreyBook();
+        greyBook.setPersons(getPersons(count));
+        return greyBook;
+    }
+}
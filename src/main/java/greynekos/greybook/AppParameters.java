@@ -2,6 +2,7 @@ package greynekos.greybook;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Logger;
@@ -15,9 +16,17 @@ import javafx.application.Application;
  * Represents the parsed command-line parameters given to the application.
  */
 public class AppParameters {
+    /** The batch source that reads the commands from standard input */
+    public static final String BATCH_FROM_STDIN = "-";
+
     private static final Logger logger = LogsCenter.getLogger(AppParameters.class);
+    private static final String NAMED_PARAMETER_PREFIX = "--";
+    private static final int MAX_PORT = 0xFFFF;
 
     private Path configPath;
+    private String batchSource;
+    private int saveInterval;
+    private int apiPort;
 
     public Path getConfigPath() {
         return configPath;
@@ -27,12 +36,70 @@ public class AppParameters {
         this.configPath = configPath;
     }
 
+    /**
+     * Returns the file of commands to run without the UI, {@link #BATCH_FROM_STDIN}
+     * to read them from standard input, or null to start the UI.
+     */
+    public String getBatchSource() {
+        return batchSource;
+    }
+
+    public void setBatchSource(String batchSource) {
+        this.batchSource = batchSource;
+    }
+
+    /**
+     * Returns the number of changing commands between saves when running a batch,
+     * or 0 to only save at the end.
+     */
+    public int getSaveInterval() {
+        return saveInterval;
+    }
+
+    public void setSaveInterval(int saveInterval) {
+        this.saveInterval = saveInterval;
+    }
+
+    /**
+     * Returns the port to serve the local API on, or 0 to not serve it.
+     *
+     * @see greynekos.greybook.api.ApiServer
+     */
+    public int getApiPort() {
+        return apiPort;
+    }
+
+    public void setApiPort(int apiPort) {
+        this.apiPort = apiPort;
+    }
+
     /**
      * Parses the application command-line parameters.
      */
     public static AppParameters parse(Application.Parameters parameters) {
+        return parse(parameters.getNamed());
+    }
+
+    /**
+     * Parses the raw command-line arguments, before JavaFX is started. Named
+     * parameters are given as {@code --name=value}, as for
+     * {@link Application.Parameters#getNamed()}, and other arguments are
+     * ignored.
+     */
+    public static AppParameters parse(String... args) {
+        Map<String, String> namedParameters = new HashMap<>();
+        for (String arg : args) {
+            int separatorIndex = arg.indexOf('=');
+            if (arg.startsWith(NAMED_PARAMETER_PREFIX) && separatorIndex > NAMED_PARAMETER_PREFIX.length()) {
+                namedParameters.put(arg.substring(NAMED_PARAMETER_PREFIX.length(), separatorIndex),
+                        arg.substring(separatorIndex + 1));
+            }
+        }
+        return parse(namedParameters);
+    }
+
+    private static AppParameters parse(Map<String, String> namedParameters) {
         AppParameters appParameters = new AppParameters();
-        Map<String, String> namedParameters = parameters.getNamed();
 
         String configPathParameter = namedParameters.get("config");
         if (configPathParameter != null && !FileUtil.isValidPath(configPathParameter)) {
@@ -41,6 +108,32 @@ public class AppParameters {
         }
         appParameters.setConfigPath(configPathParameter != null ? Paths.get(configPathParameter) : null);
 
+        appParameters.setBatchSource(namedParameters.get("batch"));
+
+        String saveIntervalParameter = namedParameters.get("save-every");
+        if (saveIntervalParameter != null) {
+            try {
+                appParameters.setSaveInterval(Integer.parseUnsignedInt(saveIntervalParameter));
+            } catch (NumberFormatException e) {
+                logger.warning("Invalid save interval " + saveIntervalParameter + ". Saving only at the end.");
+            }
+        }
+
+        String apiPortParameter = namedParameters.get("api-port");
+        if (apiPortParameter != null) {
+            int apiPort = -1;
+            try {
+                apiPort = Integer.parseUnsignedInt(apiPortParameter);
+            } catch (NumberFormatException e) {
+                // Handled with the other invalid ports below
+            }
+            if (apiPort >= 0 && apiPort <= MAX_PORT) {
+                appParameters.setApiPort(apiPort);
+            } else {
+                logger.warning("Invalid API port " + apiPortParameter + ". Not serving the API.");
+            }
+        }
+
         return appParameters;
     }
 
@@ -56,16 +149,19 @@ public class AppParameters {
         }
 
         AppParameters otherAppParameters = (AppParameters) other;
-        return Objects.equals(configPath, otherAppParameters.configPath);
+        return Objects.equals(configPath, otherAppParameters.configPath)
+                && Objects.equals(batchSource, otherAppParameters.batchSource)
+                && saveInterval == otherAppParameters.saveInterval && apiPort == otherAppParameters.apiPort;
     }
 
     @Override
     public int hashCode() {
-        return configPath.hashCode();
+        return Objects.hash(configPath, batchSource, saveInterval, apiPort);
     }
 
     @Override
     public String toString() {
-        return new ToStringBuilder(this).add("configPath", configPath).toString();
+        return new ToStringBuilder(this).add("configPath", configPath).add("batchSource", batchSource)
+                .add("saveInterval", saveInterval).add("apiPort", apiPort).toString();
     }
 }
@@ -21,11 +21,19 @@ import javafx.application.Application;
  *
  * By having a separate main class (Main) that doesn't extend Application to be
  * the entry point of the application, we avoid this issue.
+ *
+ * Given {@code --batch=<file>} (or {@code --batch=-} for standard input), the
+ * commands in the file are run without starting JavaFX at all, saving every
+ * {@code --save-every=<n>} changing commands and at the end.
  */
 public class Main {
     private static Logger logger = LogsCenter.getLogger(Main.class);
 
     public static void main(String[] args) {
+        AppParameters appParameters = AppParameters.parse(args);
+        if (appParameters.getBatchSource() != null) {
+            System.exit(new MainApp().runBatch(appParameters));
+        }
 
         // As per
         // https://github.com/openjdk/jfx/blob/master/doc-files/release-notes-16.md
@@ -1,16 +1,25 @@
 package greynekos.greybook;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 import java.util.logging.Logger;
 
+import greynekos.greybook.api.ApiServer;
 import greynekos.greybook.commons.core.Config;
 import greynekos.greybook.commons.core.LogsCenter;
 import greynekos.greybook.commons.core.Version;
+import greynekos.greybook.commons.core.metrics.MetricsCenter;
 import greynekos.greybook.commons.exceptions.DataLoadingException;
 import greynekos.greybook.commons.util.ConfigUtil;
 import greynekos.greybook.commons.util.StringUtil;
+import greynekos.greybook.logic.BatchRunner;
 import greynekos.greybook.logic.Logic;
 import greynekos.greybook.logic.LogicManager;
 import greynekos.greybook.model.GreyBook;
@@ -24,9 +33,9 @@ import greynekos.greybook.model.UserPrefs;
 import greynekos.greybook.model.util.SampleDataUtil;
 import greynekos.greybook.storage.GreyBookStorage;
 import greynekos.greybook.storage.HistoryStorage;
-import greynekos.greybook.storage.JsonGreyBookStorage;
 import greynekos.greybook.storage.JsonHistoryStorage;
 import greynekos.greybook.storage.JsonUserPrefsStorage;
+import greynekos.greybook.storage.PartialGreyBookLoadingException;
 import greynekos.greybook.storage.Storage;
 import greynekos.greybook.storage.StorageManager;
 import greynekos.greybook.storage.UserPrefsStorage;
@@ -42,6 +51,17 @@ public class MainApp extends Application {
 
     public static final Version VERSION = new Version(1, 6, 0, false);
 
+    public static final String BACKUP_FILE_SUFFIX = ".bak";
+
+    public static final String MESSAGE_PERSONS_SKIPPED = "%d persons in the data file could not be loaded and"
+            + " were skipped. The original data file was backed up to %s.";
+    public static final String MESSAGE_PERSONS_SKIPPED_NO_BACKUP = "%d persons in the data file could not be"
+            + " loaded and were skipped. The original data file could not be backed up, so make a copy of %s"
+            + " before making any changes.";
+
+    /** Maximum time between a change to the GreyBook and the change being written to disk */
+    private static final long GREYBOOK_WRITE_BEHIND_DELAY_MILLIS = 500;
+
     private static final Logger logger = LogsCenter.getLogger(MainApp.class);
 
     protected Ui ui;
@@ -49,6 +69,10 @@ public class MainApp extends Application {
     protected Storage storage;
     protected Model model;
     protected Config config;
+    protected ApiServer apiServer;
+
+    /** Message shown to the user once GreyBook has started, e.g. about skipped persons */
+    protected Optional<String> startupMessage = Optional.empty();
 
     @Override
     public void init() throws Exception {
@@ -56,29 +80,94 @@ public class MainApp extends Application {
         super.init();
 
         AppParameters appParameters = AppParameters.parse(getParameters());
+        initComponents(appParameters);
+        initApiServer(appParameters.getApiPort());
+
+        ui = new UiManager(logic, startupMessage);
+    }
+
+    /**
+     * Starts serving the local API on {@code apiPort}, unless it is 0.
+     */
+    private void initApiServer(int apiPort) {
+        if (apiPort == 0) {
+            return;
+        }
+
+        try {
+            apiServer = new ApiServer(logic, apiPort);
+            apiServer.start();
+        } catch (IOException e) {
+            logger.warning("Could not serve the API on port " + apiPort + ": " + StringUtil.getDetails(e));
+        }
+    }
+
+    /**
+     * Initializes everything except the UI.
+     */
+    private void initComponents(AppParameters appParameters) {
         config = initConfig(appParameters.getConfigPath());
         initLogging(config);
+        initMetrics(config);
 
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         UserPrefs userPrefs = initPrefs(userPrefsStorage);
         HistoryStorage historyStorage = new JsonHistoryStorage(config.getHistoryFilePath());
         History history = initHistory(historyStorage);
-        GreyBookStorage greyBookStorage = new JsonGreyBookStorage(userPrefs.getGreyBookFilePath());
-        storage = new StorageManager(greyBookStorage, userPrefsStorage, historyStorage);
+        GreyBookStorage greyBookStorage = StorageManager.createGreyBookStorage(userPrefs.getGreyBookFilePath());
+        storage = new StorageManager(greyBookStorage, userPrefsStorage, historyStorage,
+                GREYBOOK_WRITE_BEHIND_DELAY_MILLIS);
 
         model = initModelManager(storage, userPrefs, history);
 
         logic = new LogicManager(model, storage);
+    }
+
+    /**
+     * Runs the commands in the batch source of {@code appParameters} without
+     * starting the UI, writing their results to standard output and their
+     * failures to standard error.
+     *
+     * @return the exit status of the application, which is 0 only if every command
+     *         succeeded and the data was saved.
+     * @see BatchRunner
+     */
+    int runBatch(AppParameters appParameters) {
+        logger.info("=============================[ Running GreyBook batch ]==========================");
+        initComponents(appParameters);
+
+        String batchSource = appParameters.getBatchSource();
+        startupMessage.ifPresent(System.err::println);
+        int failedCount;
+        try (BufferedReader script = openBatchSource(batchSource)) {
+            BatchRunner batchRunner = new BatchRunner(model, storage, appParameters.getSaveInterval());
+            failedCount = batchRunner.run(script, System.out, System.err);
+        } catch (IOException | InvalidPathException e) {
+            logger.severe("Failed to run batch " + batchSource + ": " + StringUtil.getDetails(e));
+            System.err.println("Failed to run batch " + batchSource + ": " + e.getMessage());
+            failedCount = -1;
+        }
+
+        stop();
+        return failedCount == 0 ? 0 : 1;
+    }
 
-        ui = new UiManager(logic);
+    private static BufferedReader openBatchSource(String batchSource) throws IOException {
+        if (batchSource.equals(AppParameters.BATCH_FROM_STDIN)) {
+            return new BufferedReader(new InputStreamReader(System.in));
+        }
+        return Files.newBufferedReader(Paths.get(batchSource));
     }
 
     /**
      * Returns a {@code ModelManager} with the data from {@code storage}'s greybook
      * book and {@code userPrefs}. <br>
      * The data from the sample GreyBook will be used instead if {@code storage}'s
-     * GreyBook is not found, or an empty GreyBook will be used instead if errors
-     * occur when reading {@code storage}'s GreyBook.
+     * GreyBook is not found, only the valid persons will be used if some persons
+     * in {@code storage}'s GreyBook are invalid, or an empty GreyBook will be used
+     * instead if other errors occur when reading {@code storage}'s GreyBook. <br>
+     * If some persons are invalid, the data file is backed up before it is next
+     * written, and the user is told how many persons were skipped.
      */
     private Model initModelManager(Storage storage, ReadOnlyUserPrefs userPrefs, ReadOnlyHistory history) {
         logger.info("Using data file : " + storage.getGreyBookFilePath());
@@ -92,6 +181,13 @@ public class MainApp extends Application {
                         + " populated with a sample GreyBook.");
             }
             initialData = greyBookOptional.orElseGet(SampleDataUtil::getSampleGreyBook);
+        } catch (PartialGreyBookLoadingException e) {
+            logger.warning("Some persons in data file at " + storage.getGreyBookFilePath() + " could not be loaded."
+                    + " Will be starting with the remaining persons.");
+            e.getRejectedRecords().forEach(logger::warning);
+            initialData = e.getValidData();
+            startupMessage = Optional.of(backUpGreyBookFile(storage.getGreyBookFilePath(),
+                    e.getRejectedRecords().size()));
         } catch (DataLoadingException e) {
             logger.warning("Data file at " + storage.getGreyBookFilePath() + " could not be loaded."
                     + " Will be starting with an empty GreyBook.");
@@ -101,10 +197,33 @@ public class MainApp extends Application {
         return new ModelManager(initialData, userPrefs, history);
     }
 
+    /**
+     * Copies the data file at {@code greyBookFilePath} next to it with the
+     * {@value #BACKUP_FILE_SUFFIX} suffix, so that the {@code skippedCount}
+     * persons that were skipped are not lost when the file is next written.
+     *
+     * @return the message telling the user about the skipped persons.
+     */
+    private static String backUpGreyBookFile(Path greyBookFilePath, int skippedCount) {
+        Path backupFilePath = greyBookFilePath.resolveSibling(greyBookFilePath.getFileName() + BACKUP_FILE_SUFFIX);
+        try {
+            Files.copy(greyBookFilePath, backupFilePath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warning("Failed to back up data file to " + backupFilePath + ": " + StringUtil.getDetails(e));
+            return String.format(MESSAGE_PERSONS_SKIPPED_NO_BACKUP, skippedCount, greyBookFilePath);
+        }
+        logger.info("Backed up data file to " + backupFilePath);
+        return String.format(MESSAGE_PERSONS_SKIPPED, skippedCount, backupFilePath);
+    }
+
     private void initLogging(Config config) {
         LogsCenter.init(config);
     }
 
+    private void initMetrics(Config config) {
+        MetricsCenter.init(config);
+    }
+
     /**
      * Returns a {@code Config} using the file at {@code configFilePath}. <br>
      * The default file path {@code Config#DEFAULT_CONFIG_FILE} will be used instead
@@ -214,10 +333,22 @@ public class MainApp extends Application {
     @Override
     public void stop() {
         logger.info("============================ [ Stopping GreyBook ] =============================");
+        if (apiServer != null) {
+            apiServer.stop();
+        }
+        logic.shutdown();
+        try {
+            storage.flush();
+        } catch (IOException e) {
+            logger.severe("Failed to save data " + StringUtil.getDetails(e));
+        }
+
         try {
             storage.saveUserPrefs(model.getUserPrefs());
         } catch (IOException e) {
             logger.severe("Failed to save preferences " + StringUtil.getDetails(e));
         }
+        MetricsCenter.shutdown();
+        LogsCenter.shutdown();
     }
 }
@@ -0,0 +1,366 @@
+package greynekos.greybook.api;
+
+import static greynekos.greybook.commons.util.AppUtil.checkArgument;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_ABSENT;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_EMAIL;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_EXCUSED;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_LATE;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_NAME;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_PHONE;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_PRESENT;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_STUDENTID;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_TAG;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.commons.util.JsonUtil;
+import greynekos.greybook.commons.util.StringUtil;
+import greynekos.greybook.logic.Logic;
+import greynekos.greybook.logic.commands.AddCommand;
+import greynekos.greybook.logic.commands.CommandResult;
+import greynekos.greybook.logic.commands.FindCommand;
+import greynekos.greybook.logic.commands.MarkCommand;
+import greynekos.greybook.logic.commands.UnmarkCommand;
+import greynekos.greybook.logic.commands.exceptions.CommandException;
+import greynekos.greybook.logic.parser.GreyBookParser;
+import greynekos.greybook.logic.parser.Prefix;
+import greynekos.greybook.logic.parser.exceptions.ParseException;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.StudentID;
+
+/**
+ * Serves a JSON API over HTTP on the loopback address, for other programs on
+ * the same machine to read and change the GreyBook.
+ *
+ * <p>
+ * The endpoints are:
+ * <ul>
+ * <li>{@code GET /api/persons?offset=&limit=} lists the persons.</li>
+ * <li>{@code GET /api/find?q=&offset=&limit=} lists the persons found by the
+ * arguments of the {@code find} command in {@code q}.</li>
+ * <li>{@code POST /api/persons} adds the person in the request body.</li>
+ * <li>{@code POST /api/persons/STUDENT_ID/mark} marks the attendance given as
+ * {@code status} in the request body.</li>
+ * <li>{@code POST /api/persons/STUDENT_ID/unmark} clears the attendance.</li>
+ * </ul>
+ * Changes are made by running the matching command with
+ * {@link Logic#executeWithoutHistoryAsync(String)}, so they are ordered with
+ * the commands entered by the user and saved in the same way, but are not
+ * added to the user's command history. Lists are read from a snapshot
+ * of the GreyBook, and finding persons does not change the list shown to the
+ * user.
+ */
+public class ApiServer {
+    public static final String REQUEST_THREAD_NAME = "greybook-api";
+
+    public static final int DEFAULT_PAGE_LIMIT = 50;
+    public static final int MAX_PAGE_LIMIT = 500;
+
+    public static final String MESSAGE_NOT_FOUND = "No such endpoint: %s %s";
+    public static final String MESSAGE_INVALID_PAGE = "Invalid offset or limit, the limit must be from 1 to "
+            + MAX_PAGE_LIMIT + " and the offset cannot be negative";
+    public static final String MESSAGE_INVALID_BODY = "Invalid request body: %s";
+    public static final String MESSAGE_INVALID_STATUS = "Invalid attendance status: %s";
+    public static final String MESSAGE_COMMAND_TIMED_OUT = "The command did not finish in time";
+    public static final String MESSAGE_INVALID_PORT = "Port must be from 0 to 65535";
+
+    private static final String PERSONS_PATH = "/api/persons";
+    private static final String FIND_PATH = "/api/find";
+    private static final String MARK_ACTION = "mark";
+    private static final String UNMARK_ACTION = "unmark";
+
+    private static final int REQUEST_THREAD_COUNT = 4;
+    private static final long COMMAND_TIMEOUT_SECONDS = 30;
+
+    private static final Map<String, Prefix> STATUS_PREFIXES = Map.of("present", PREFIX_PRESENT, "absent",
+            PREFIX_ABSENT, "late", PREFIX_LATE, "excused", PREFIX_EXCUSED);
+
+    private final Logger logger = LogsCenter.getLogger(ApiServer.class);
+
+    private final Logic logic;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    /** Parses the {@code find} requests, which are tested against a snapshot of the GreyBook */
+    private final GreyBookParser findParser;
+    private final FindCommand findCommand;
+
+    /**
+     * Constructs an {@code ApiServer} for {@code logic} that will listen on
+     * {@code port} of the loopback address, or on any free port if it is 0.
+     *
+     * @throws IOException
+     *             if the port cannot be bound.
+     */
+    public ApiServer(Logic logic, int port) throws IOException {
+        requireNonNull(logic);
+        checkArgument(port >= 0 && port <= 0xFFFF, MESSAGE_INVALID_PORT);
+        this.logic = logic;
+        findParser = new GreyBookParser();
+        findCommand = new FindCommand();
+        findCommand.addToParser(findParser);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/api/", this::handle);
+        requestExecutor = Executors.newFixedThreadPool(REQUEST_THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, REQUEST_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(requestExecutor);
+    }
+
+    /**
+     * Starts serving requests.
+     */
+    public void start() {
+        server.start();
+        logger.info("Serving the API on port " + getPort());
+    }
+
+    /**
+     * Stops serving requests, and waits briefly for the requests being served to
+     * finish.
+     */
+    public void stop() {
+        server.stop(1);
+        requestExecutor.shutdown();
+    }
+
+    /**
+     * Returns the port that the server listens on.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            ApiResponse response;
+            try {
+                response = route(exchange);
+            } catch (ParseException | CommandException e) {
+                response = ApiResponse.error(400, e.getMessage());
+            } catch (RuntimeException e) {
+                logger.warning("API request failed: " + StringUtil.getDetails(e));
+                response = ApiResponse.error(500, e.getMessage());
+            }
+            send(exchange, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private ApiResponse route(HttpExchange exchange) throws IOException, ParseException, CommandException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        if (path.equals(PERSONS_PATH) && method.equals("GET")) {
+            return listPersons(logic.getGreyBook().getPersonList(), query);
+        }
+        if (path.equals(FIND_PATH) && method.equals("GET")) {
+            return findPersons(query);
+        }
+        if (path.equals(PERSONS_PATH) && method.equals("POST")) {
+            return addPerson(exchange.getRequestBody());
+        }
+
+        String[] segments = path.startsWith(PERSONS_PATH + "/")
+                ? path.substring(PERSONS_PATH.length() + 1).split("/")
+                : new String[0];
+        if (segments.length == 2 && method.equals("POST")) {
+            String studentId = segments[0];
+            if (!StudentID.isValidStudentID(studentId)) {
+                return ApiResponse.error(400, StudentID.MESSAGE_CONSTRAINTS);
+            }
+            if (segments[1].equals(MARK_ACTION)) {
+                return markPerson(studentId, exchange.getRequestBody());
+            }
+            if (segments[1].equals(UNMARK_ACTION)) {
+                return execute(UnmarkCommand.COMMAND_WORD + " " + studentId, 200);
+            }
+        }
+
+        return ApiResponse.error(404, String.format(MESSAGE_NOT_FOUND, method, path));
+    }
+
+    /**
+     * Returns the page of {@code persons} given by the {@code offset} and
+     * {@code limit} in {@code query}.
+     */
+    private static ApiResponse listPersons(List<Person> persons, Map<String, String> query) {
+        int offset;
+        int limit;
+        try {
+            offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+            limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_LIMIT)));
+        } catch (NumberFormatException e) {
+            return ApiResponse.error(400, MESSAGE_INVALID_PAGE);
+        }
+        if (offset < 0 || limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return ApiResponse.error(400, MESSAGE_INVALID_PAGE);
+        }
+
+        int from = Math.min(offset, persons.size());
+        int to = Math.min(from + limit, persons.size());
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("total", persons.size());
+        page.put("offset", offset);
+        page.put("limit", limit);
+        page.put("persons", persons.subList(from, to).stream().map(JsonApiPerson::new)
+                .collect(Collectors.toList()));
+        return new ApiResponse(200, page);
+    }
+
+    /**
+     * Finds the persons in a snapshot of the GreyBook with the arguments of the
+     * {@code find} command in {@code q}, and returns the page of persons found.
+     */
+    private ApiResponse findPersons(Map<String, String> query) throws ParseException, CommandException {
+        String arguments = query.getOrDefault("q", "");
+        Predicate<Person> predicate =
+                findCommand.createPredicate(findParser.parse(FindCommand.COMMAND_WORD + " " + arguments));
+        List<Person> persons = logic.getGreyBook().getPersonList().stream().filter(predicate).toList();
+        return listPersons(persons, query);
+    }
+
+    private ApiResponse addPerson(InputStream body) throws IOException {
+        JsonApiPerson person;
+        try {
+            person = JsonUtil.fromJsonString(readBody(body), new TypeReference<JsonApiPerson>() {});
+        } catch (IOException e) {
+            return ApiResponse.error(400, String.format(MESSAGE_INVALID_BODY, e.getMessage()));
+        }
+
+        StringBuilder commandText = new StringBuilder(AddCommand.COMMAND_WORD);
+        appendArgument(commandText, PREFIX_NAME, person.getName());
+        appendArgument(commandText, PREFIX_PHONE, person.getPhone());
+        appendArgument(commandText, PREFIX_EMAIL, person.getEmail());
+        appendArgument(commandText, PREFIX_STUDENTID, person.getStudentId());
+        person.getTags().forEach(tag -> appendArgument(commandText, PREFIX_TAG, tag));
+        return execute(commandText.toString(), 201);
+    }
+
+    private ApiResponse markPerson(String studentId, InputStream body) throws IOException {
+        Map<String, String> fields;
+        try {
+            fields = JsonUtil.fromJsonString(readBody(body), new TypeReference<Map<String, String>>() {});
+        } catch (IOException e) {
+            return ApiResponse.error(400, String.format(MESSAGE_INVALID_BODY, e.getMessage()));
+        }
+
+        String status = fields == null ? null : fields.get("status");
+        Prefix statusPrefix = status == null ? null : STATUS_PREFIXES.get(status.toLowerCase(Locale.ROOT));
+        if (statusPrefix == null) {
+            return ApiResponse.error(400, String.format(MESSAGE_INVALID_STATUS, status));
+        }
+        return execute(MarkCommand.COMMAND_WORD + " " + studentId + " " + statusPrefix, 200);
+    }
+
+    /**
+     * Runs {@code commandText} after the commands submitted before it, and returns
+     * its result with {@code successStatus}.
+     */
+    private ApiResponse execute(String commandText, int successStatus) {
+        CommandResult commandResult;
+        try {
+            commandResult = logic.executeWithoutHistoryAsync(commandText)
+                    .get(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ParseException || cause instanceof CommandException) {
+                return ApiResponse.error(400, cause.getMessage());
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            return ApiResponse.error(503, MESSAGE_COMMAND_TIMED_OUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ApiResponse.error(503, MESSAGE_COMMAND_TIMED_OUT);
+        }
+        return new ApiResponse(successStatus, Map.of("message", commandResult.getFeedbackToUser()));
+    }
+
+    /**
+     * Appends {@code value} with {@code prefix} to {@code commandText}, quoted so
+     * that the value is read as it is. Nothing is appended if {@code value} is
+     * null.
+     */
+    private static void appendArgument(StringBuilder commandText, Prefix prefix, String value) {
+        if (value == null) {
+            return;
+        }
+        String escapedValue = value.replace("\\", "\\\\").replace("\"", "\\\"");
+        commandText.append(' ').append(prefix).append('"').append(escapedValue).append('"');
+    }
+
+    private static String readBody(InputStream body) throws IOException {
+        return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separatorIndex = parameter.indexOf('=');
+            String name = separatorIndex == -1 ? parameter : parameter.substring(0, separatorIndex);
+            String value = separatorIndex == -1 ? "" : parameter.substring(separatorIndex + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, ApiResponse response) throws IOException {
+        byte[] bytes = JsonUtil.toCompactJsonString(response.body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * The status and JSON body of a response.
+     */
+    private static class ApiResponse {
+        private final int status;
+        private final Object body;
+
+        ApiResponse(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static ApiResponse error(int status, String message) {
+            return new ApiResponse(status, Map.of("error", String.valueOf(message)));
+        }
+    }
+}
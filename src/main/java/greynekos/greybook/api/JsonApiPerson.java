@@ -0,0 +1,77 @@
+package greynekos.greybook.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import greynekos.greybook.model.person.Person;
+
+/**
+ * The JSON form of a {@link Person} in the requests and responses of the
+ * {@link ApiServer}.
+ */
+class JsonApiPerson {
+
+    private final String name;
+    private final String phone;
+    private final String email;
+    private final String studentId;
+    private final List<String> tags = new ArrayList<>();
+    private final String attendance;
+
+    /**
+     * Constructs a {@code JsonApiPerson} with the given person details, as given in
+     * a request to add a person.
+     */
+    @JsonCreator
+    public JsonApiPerson(@JsonProperty("name") String name, @JsonProperty("phone") String phone,
+            @JsonProperty("email") String email, @JsonProperty("studentId") String studentId,
+            @JsonProperty("tags") List<String> tags) {
+        this.name = name;
+        this.phone = phone;
+        this.email = email;
+        this.studentId = studentId;
+        if (tags != null) {
+            this.tags.addAll(tags);
+        }
+        this.attendance = null;
+    }
+
+    /**
+     * Converts a given {@code Person} into this class for Jackson use.
+     */
+    public JsonApiPerson(Person source) {
+        name = source.getName().fullName;
+        phone = source.getPhone().value;
+        email = source.getEmail().value;
+        studentId = source.getStudentID().value;
+        source.getTags().forEach(tag -> tags.add(tag.tagName));
+        attendance = source.getAttendance().value.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public String getAttendance() {
+        return attendance;
+    }
+}
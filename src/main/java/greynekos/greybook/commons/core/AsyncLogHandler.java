@@ -0,0 +1,163 @@
+package greynekos.greybook.commons.core;
+
+import static greynekos.greybook.commons.util.AppUtil.checkArgument;
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * A {@link Handler} that puts log records into a fixed-size ring buffer and
+ * returns at once, while a background thread passes them on to the handlers
+ * that format and write them.
+ *
+ * <p>
+ * Publishing a record never waits for the console or the disk: if the buffer
+ * is full, the record is dropped, and the number of records dropped is logged
+ * once there is room again. Records are written in the order they are
+ * published.
+ */
+public class AsyncLogHandler extends Handler {
+
+    public static final String FLUSHER_THREAD_NAME = "greybook-log-flusher";
+    public static final String MESSAGE_INVALID_CAPACITY = "Log buffer capacity must be positive";
+    public static final String MESSAGE_DROPPED_RECORDS = "%d log records were dropped as the log buffer was full";
+
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+
+    private final BlockingQueue<LogRecord> buffer;
+    private final int wakeUpSize;
+    private final List<Handler> targets;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Object drainLock = new Object();
+    private final Thread flusher;
+    private volatile boolean isClosed;
+
+    /**
+     * Constructs an {@code AsyncLogHandler} that buffers up to {@code capacity}
+     * records, and passes them on to {@code targets} in the background.
+     */
+    public AsyncLogHandler(int capacity, Handler... targets) {
+        requireAllNonNull((Object[]) targets);
+        checkArgument(capacity > 0, MESSAGE_INVALID_CAPACITY);
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.wakeUpSize = Math.max(1, capacity / 2);
+        this.targets = List.of(targets);
+        flusher = new Thread(this::runFlusher, FLUSHER_THREAD_NAME);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Puts {@code record} into the buffer without waiting, or drops it if the
+     * buffer is full.
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (isClosed || !isLoggable(record)) {
+            return;
+        }
+
+        // The caller is found from the stack of the thread that logs, so it must be
+        // found before the record is handed to the flusher
+        record.getSourceClassName();
+        if (!buffer.offer(record)) {
+            droppedCount.incrementAndGet();
+            LockSupport.unpark(flusher);
+        } else if (buffer.size() >= wakeUpSize) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    /**
+     * Writes all the records in the buffer, and flushes the handlers they are
+     * written to. Unlike {@link #publish(LogRecord)}, this waits for the writes.
+     */
+    @Override
+    public void flush() {
+        drain();
+    }
+
+    /**
+     * Stops the background thread, writes the records left in the buffer, and
+     * closes the handlers they are written to. Records published afterwards are
+     * ignored.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+
+        isClosed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        targets.forEach(Handler::close);
+    }
+
+    /**
+     * Returns the number of records in the buffer that have not been written.
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    private void runFlusher() {
+        while (!isClosed) {
+            drain();
+            if (buffer.isEmpty()) {
+                LockSupport.parkNanos(this, FLUSH_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes the records in the buffer, then a warning if any were dropped.
+     */
+    private void drain() {
+        synchronized (drainLock) {
+            LogRecord record;
+            boolean hasWritten = false;
+            while ((record = buffer.poll()) != null) {
+                writeToTargets(record);
+                hasWritten = true;
+            }
+
+            long dropped = droppedCount.getAndSet(0);
+            if (dropped > 0) {
+                LogRecord warning = new LogRecord(Level.WARNING, String.format(MESSAGE_DROPPED_RECORDS, dropped));
+                warning.setSourceClassName(AsyncLogHandler.class.getName());
+                warning.setSourceMethodName("drain");
+                writeToTargets(warning);
+                hasWritten = true;
+            }
+            if (hasWritten) {
+                targets.forEach(Handler::flush);
+            }
+        }
+    }
+
+    private void writeToTargets(LogRecord record) {
+        for (Handler target : targets) {
+            try {
+                target.publish(record);
+            } catch (RuntimeException e) {
+                reportError(null, e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+}
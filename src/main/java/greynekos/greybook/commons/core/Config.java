@@ -13,11 +13,14 @@ import greynekos.greybook.commons.util.ToStringBuilder;
 public class Config {
 
     public static final Path DEFAULT_CONFIG_FILE = Paths.get("config.json");
+    public static final long DEFAULT_METRICS_DUMP_INTERVAL_SECONDS = 60;
 
     // Config values customizable through config file
     private Level logLevel = Level.INFO;
     private Path userPrefsFilePath = Paths.get("preferences.json");
     private Path historyFilePath = Paths.get("history.json");
+    private Path metricsFilePath = null; // metrics are not written to a file unless a path is given
+    private long metricsDumpIntervalSeconds = DEFAULT_METRICS_DUMP_INTERVAL_SECONDS;
 
     public Level getLogLevel() {
         return logLevel;
@@ -43,6 +46,22 @@ public class Config {
         this.historyFilePath = historyFilePath;
     }
 
+    public Path getMetricsFilePath() {
+        return metricsFilePath;
+    }
+
+    public void setMetricsFilePath(Path metricsFilePath) {
+        this.metricsFilePath = metricsFilePath;
+    }
+
+    public long getMetricsDumpIntervalSeconds() {
+        return metricsDumpIntervalSeconds;
+    }
+
+    public void setMetricsDumpIntervalSeconds(long metricsDumpIntervalSeconds) {
+        this.metricsDumpIntervalSeconds = metricsDumpIntervalSeconds;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -57,18 +76,22 @@ public class Config {
         Config otherConfig = (Config) other;
         return Objects.equals(logLevel, otherConfig.logLevel)
                 && Objects.equals(userPrefsFilePath, otherConfig.userPrefsFilePath)
-                && Objects.equals(historyFilePath, otherConfig.historyFilePath);
+                && Objects.equals(historyFilePath, otherConfig.historyFilePath)
+                && Objects.equals(metricsFilePath, otherConfig.metricsFilePath)
+                && metricsDumpIntervalSeconds == otherConfig.metricsDumpIntervalSeconds;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(logLevel, userPrefsFilePath, historyFilePath);
+        return Objects.hash(logLevel, userPrefsFilePath, historyFilePath, metricsFilePath,
+                metricsDumpIntervalSeconds);
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this).add("logLevel", logLevel).add("userPrefsFilePath", userPrefsFilePath)
-                .add("historyFilePath", historyFilePath).toString();
+                .add("historyFilePath", historyFilePath).add("metricsFilePath", metricsFilePath)
+                .add("metricsDumpIntervalSeconds", metricsDumpIntervalSeconds).toString();
     }
 
 }
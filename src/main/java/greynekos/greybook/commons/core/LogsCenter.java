@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
 
@@ -17,14 +18,20 @@ import java.util.logging.SimpleFormatter;
  * {@code .log} file by default, at the {@code INFO} level. A new {@code .log}
  * file with a new numbering will be created after the log file reaches 5MB big,
  * up to a maximum of 5 files.<br>
+ * Log records are written by a background thread through an
+ * {@link AsyncLogHandler}, so logging never waits for the console or the disk.
+ * Build expensive messages lazily with the {@code Supplier} overloads of
+ * {@link Logger}, e.g. {@code logger.fine(() -> "..." + model)}.<br>
  */
 public class LogsCenter {
     private static final int MAX_FILE_COUNT = 5;
     private static final int MAX_FILE_SIZE_IN_BYTES = (int) (Math.pow(2, 20) * 5); // 5MB
     private static final String LOG_FILE = "greybook.log";
+    private static final int LOG_BUFFER_CAPACITY = 8192;
     private static final Logger logger; // logger for this class
     private static Logger baseLogger; // to be used as the parent of all other loggers created by this class.
     private static Level currentLogLevel = Level.INFO;
+    private static AsyncLogHandler asyncHandler;
 
     // This static block ensures essential loggers are created early
     static {
@@ -44,6 +51,14 @@ public class LogsCenter {
         baseLogger.setLevel(currentLogLevel);
     }
 
+    /**
+     * Writes the log records that are still buffered, and closes the log handlers.
+     * Records logged afterwards are discarded.
+     */
+    public static void shutdown() {
+        asyncHandler.close();
+    }
+
     /**
      * Creates a logger with the given name prefixed by the {@code baseLogger}'s
      * name so that the created logger becomes a descendant of the
@@ -81,9 +96,9 @@ public class LogsCenter {
     }
 
     /**
-     * Creates a logger named 'ab3', containing a {@code ConsoleHandler} and a
-     * {@code FileHandler}. Sets it as the {@code baseLogger}, to be used as the
-     * parent logger of all other loggers.
+     * Creates a logger named 'ab3', containing an {@code AsyncLogHandler} that
+     * writes to a {@code ConsoleHandler} and a {@code FileHandler}. Sets it as the
+     * {@code baseLogger}, to be used as the parent logger of all other loggers.
      */
     private static void setBaseLogger() {
         baseLogger = Logger.getLogger("ab3");
@@ -97,17 +112,23 @@ public class LogsCenter {
         // add a ConsoleHandler to log to the console
         ConsoleHandler consoleHandler = new ConsoleHandler();
         consoleHandler.setLevel(Level.ALL);
-        baseLogger.addHandler(consoleHandler);
 
         // add a FileHandler to log to a file
+        FileHandler fileHandler = null;
         try {
-            FileHandler fileHandler = new FileHandler(LOG_FILE, MAX_FILE_SIZE_IN_BYTES, MAX_FILE_COUNT, true);
+            fileHandler = new FileHandler(LOG_FILE, MAX_FILE_SIZE_IN_BYTES, MAX_FILE_COUNT, true);
             fileHandler.setFormatter(new SimpleFormatter());
             fileHandler.setLevel(Level.ALL);
-            baseLogger.addHandler(fileHandler);
         } catch (IOException e) {
-            logger.warning("Error adding file handler for logger.");
+            consoleHandler.publish(new LogRecord(Level.WARNING, "Error adding file handler for logger."));
         }
+
+        // both are written to by a background thread, so that logging does not wait for them
+        asyncHandler = fileHandler == null
+                ? new AsyncLogHandler(LOG_BUFFER_CAPACITY, consoleHandler)
+                : new AsyncLogHandler(LOG_BUFFER_CAPACITY, consoleHandler, fileHandler);
+        asyncHandler.setLevel(Level.ALL);
+        baseLogger.addHandler(asyncHandler);
     }
 
 }
@@ -9,7 +9,9 @@ import greynekos.greybook.commons.core.LogsCenter;
 import greynekos.greybook.commons.util.ToStringBuilder;
 
 /**
- * Stores the command history of Greybook.
+ * Stores the command history of Greybook. Commands are added by the thread
+ * running them while the UI navigates the history, so the methods that use the
+ * cursor are synchronized.
  */
 public class CommandHistory {
 
@@ -47,7 +49,7 @@ public class CommandHistory {
      * @param command
      *            The command string.
      */
-    public void addCommand(String command) {
+    public synchronized void addCommand(String command) {
         // Avoid duplicate commands (similar to terminal)
         if (!history.isEmpty() && history.get(history.size() - 1).equals(command)) {
             logger.fine("Command is the same as the last command");
@@ -56,8 +58,8 @@ public class CommandHistory {
         }
 
         if (history.size() == SIZE_LIMIT) {
-            logger.fine(
-                    String.format("Reached maximum size limit of %d, removing first item from history.", SIZE_LIMIT));
+            logger.fine(() -> String.format("Reached maximum size limit of %d, removing first item from history.",
+                    SIZE_LIMIT));
             history.remove(0);
         }
 
@@ -75,7 +77,7 @@ public class CommandHistory {
     /**
      * Clears the command history.
      */
-    public void resetHistory() {
+    public synchronized void resetHistory() {
         cursor = 0;
         history.clear();
     }
@@ -86,7 +88,7 @@ public class CommandHistory {
      * @return The previous command in the history. If the position is already at
      *         the start of the history, returns the first command.
      */
-    public String getPrevCommand() {
+    public synchronized String getPrevCommand() {
         if (history.isEmpty()) {
             return NO_PREV_OR_NEXT_COMMAND;
         }
@@ -106,7 +108,7 @@ public class CommandHistory {
      * @return The next command in the history. If the position is already at the
      *         end of the history, returns {@code NO_NEXT_COMMAND}.
      */
-    public String getNextCommand() {
+    public synchronized String getNextCommand() {
         if (history.isEmpty()) {
             return NO_PREV_OR_NEXT_COMMAND;
         }
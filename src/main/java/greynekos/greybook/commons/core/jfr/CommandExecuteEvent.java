@@ -0,0 +1,41 @@
+package greynekos.greybook.commons.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the execution of a parsed command, including the
+ * recomputation of the filtered person list.
+ */
+@Name("greynekos.greybook.CommandExecute")
+@Label("Command Execute")
+@Category({"GreyBook", "Command"})
+@Description("Execution of a parsed command against the model")
+public class CommandExecuteEvent extends Event {
+
+    @Label("Command Word")
+    private String commandWord;
+
+    @Label("Mutating")
+    @Description("Whether the command can change the GreyBook")
+    private boolean mutating;
+
+    @Label("Successful")
+    private boolean successful;
+
+    /**
+     * Ends this event, and commits it with the given fields if it is enabled.
+     */
+    public void finish(String commandWord, boolean isMutating, boolean isSuccessful) {
+        end();
+        if (shouldCommit()) {
+            this.commandWord = commandWord;
+            this.mutating = isMutating;
+            this.successful = isSuccessful;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package greynekos.greybook.commons.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the parsing of a command entered by the user.
+ */
+@Name("greynekos.greybook.CommandParse")
+@Label("Command Parse")
+@Category({"GreyBook", "Command"})
+@Description("Parsing of a command entered by the user")
+public class CommandParseEvent extends Event {
+
+    @Label("Command Word")
+    private String commandWord;
+
+    @Label("Successful")
+    private boolean successful;
+
+    /**
+     * Ends this event, and commits it with the given fields if it is enabled.
+     */
+    public void finish(String commandWord, boolean isSuccessful) {
+        end();
+        if (shouldCommit()) {
+            this.commandWord = commandWord;
+            this.successful = isSuccessful;
+            commit();
+        }
+    }
+}
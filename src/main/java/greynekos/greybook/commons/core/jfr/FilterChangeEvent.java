@@ -0,0 +1,36 @@
+package greynekos.greybook.commons.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a change of the predicate of the filtered person
+ * list, which filters every person again.
+ */
+@Name("greynekos.greybook.FilterChange")
+@Label("Filter Change")
+@Category({"GreyBook", "Model"})
+@Description("Change of the predicate of the filtered person list")
+public class FilterChangeEvent extends Event {
+
+    @Label("Persons Matched")
+    private int matchedCount;
+
+    @Label("Persons Filtered")
+    private int totalCount;
+
+    /**
+     * Ends this event, and commits it with the given fields if it is enabled.
+     */
+    public void finish(int matchedCount, int totalCount) {
+        end();
+        if (shouldCommit()) {
+            this.matchedCount = matchedCount;
+            this.totalCount = totalCount;
+            commit();
+        }
+    }
+}
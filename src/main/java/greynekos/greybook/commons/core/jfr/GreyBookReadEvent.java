@@ -0,0 +1,49 @@
+package greynekos.greybook.commons.core.jfr;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the reading of a GreyBook data file.
+ */
+@Name("greynekos.greybook.GreyBookRead")
+@Label("GreyBook Read")
+@Category({"GreyBook", "Storage"})
+@Description("Reading of a GreyBook data file")
+public class GreyBookReadEvent extends Event {
+
+    @Label("Path")
+    private String path;
+
+    @Label("Bytes Read")
+    @DataAmount
+    private long bytes;
+
+    @Label("Records Read")
+    private int records;
+
+    @Label("Records Rejected")
+    @Description("Records that were invalid or duplicated")
+    private int rejectedRecords;
+
+    /**
+     * Ends this event, and commits it with the given fields if it is enabled.
+     * {@code path} is only converted to a string if the event is committed.
+     */
+    public void finish(Path path, long bytes, int records, int rejectedRecords) {
+        end();
+        if (shouldCommit()) {
+            this.path = path.toString();
+            this.bytes = bytes;
+            this.records = records;
+            this.rejectedRecords = rejectedRecords;
+            commit();
+        }
+    }
+}
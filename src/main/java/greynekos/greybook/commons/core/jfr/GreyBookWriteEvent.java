@@ -0,0 +1,44 @@
+package greynekos.greybook.commons.core.jfr;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the writing of a whole GreyBook data file.
+ */
+@Name("greynekos.greybook.GreyBookWrite")
+@Label("GreyBook Write")
+@Category({"GreyBook", "Storage"})
+@Description("Writing of a whole GreyBook data file")
+public class GreyBookWriteEvent extends Event {
+
+    @Label("Path")
+    private String path;
+
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytes;
+
+    @Label("Records Written")
+    private int records;
+
+    /**
+     * Ends this event, and commits it with the given fields if it is enabled.
+     * {@code path} is only converted to a string if the event is committed.
+     */
+    public void finish(Path path, long bytes, int records) {
+        end();
+        if (shouldCommit()) {
+            this.path = path.toString();
+            this.bytes = bytes;
+            this.records = records;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package greynekos.greybook.commons.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for the update of the cached rows of the person table
+ * after the persons shown have changed.
+ */
+@Name("greynekos.greybook.TableRowsChange")
+@Label("Table Rows Change")
+@Category({"GreyBook", "UI"})
+@Description("Update of the cached rows of the person table after the persons shown have changed")
+public class TableRowsChangeEvent extends Event {
+
+    @Label("Rows Changed")
+    private int rowCount;
+
+    @Label("Rows Evicted")
+    private int evictedRowCount;
+
+    /**
+     * Ends this event, and commits it with the given fields if it is enabled.
+     */
+    public void finish(int rowCount, int evictedRowCount) {
+        end();
+        if (shouldCommit()) {
+            this.rowCount = rowCount;
+            this.evictedRowCount = evictedRowCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package greynekos.greybook.commons.core.metrics;
+
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how long each phase of running a command takes, for each command
+ * word, and how many bytes each save writes and how long it takes.
+ *
+ * <p>
+ * The latencies are recorded in nanoseconds. Command metrics are thread-safe,
+ * so the saves can be recorded by the threads that write the files.
+ */
+public class CommandMetrics {
+
+    public static final String MESSAGE_NO_COMMANDS = "No commands have been run yet.";
+
+    private static final String LATENCY_HEADER_FORMAT = "%-10s %-14s %7s %10s %10s %10s %10s";
+    private static final String LATENCY_ROW_FORMAT = "%-10s %-14s %7d %10.3f %10.3f %10.3f %10.3f";
+    private static final String SAVE_HEADER_FORMAT = "%-17s %7s %10s %10s %10s %12s %10s";
+    private static final String SAVE_ROW_FORMAT = "%-17s %7d %10d %10d %10d %12d %10.3f";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * The phases of running a command, in the order they run.
+     */
+    public enum Phase {
+        PARSE("parse"), EXECUTE("execute"), SAVE_GREYBOOK("save greybook"), SAVE_HISTORY("save history"),
+        PUBLISH("publish"), TOTAL("total");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    /**
+     * The files that are saved.
+     */
+    public enum SaveTarget {
+        GREYBOOK("greybook"), GREYBOOK_JOURNAL("greybook journal"), HISTORY("history");
+
+        private final String displayName;
+
+        SaveTarget(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final ConcurrentMap<String, Map<Phase, Histogram>> phaseLatencies = new ConcurrentHashMap<>();
+    private final Map<SaveTarget, Histogram> saveBytes = new EnumMap<>(SaveTarget.class);
+    private final Map<SaveTarget, Histogram> saveLatencies = new EnumMap<>(SaveTarget.class);
+
+    /**
+     * Constructs {@code CommandMetrics} with nothing recorded.
+     */
+    public CommandMetrics() {
+        for (SaveTarget target : SaveTarget.values()) {
+            saveBytes.put(target, new Histogram());
+            saveLatencies.put(target, new Histogram());
+        }
+    }
+
+    /**
+     * Records that {@code phase} of the command with {@code commandWord} took
+     * {@code nanos} nanoseconds.
+     */
+    public void recordPhase(String commandWord, Phase phase, long nanos) {
+        requireAllNonNull(commandWord, phase);
+        phaseLatencies.computeIfAbsent(commandWord, word -> createPhaseHistograms()).get(phase).record(nanos);
+    }
+
+    /**
+     * Records that saving {@code target} wrote {@code bytes} bytes in
+     * {@code nanos} nanoseconds.
+     */
+    public void recordSave(SaveTarget target, long bytes, long nanos) {
+        requireNonNull(target);
+        saveBytes.get(target).record(bytes);
+        saveLatencies.get(target).record(nanos);
+    }
+
+    /**
+     * Returns a summary of the latencies of {@code phase} of the command with
+     * {@code commandWord}, which is empty if the command has not been run.
+     */
+    public Histogram.Summary getPhaseSummary(String commandWord, Phase phase) {
+        requireAllNonNull(commandWord, phase);
+        Map<Phase, Histogram> histograms = phaseLatencies.get(commandWord);
+        return histograms == null ? new Histogram().getSummary() : histograms.get(phase).getSummary();
+    }
+
+    /**
+     * Returns a summary of the sizes in bytes of the saves of {@code target}.
+     */
+    public Histogram.Summary getSaveBytesSummary(SaveTarget target) {
+        requireNonNull(target);
+        return saveBytes.get(target).getSummary();
+    }
+
+    /**
+     * Returns a table of the latencies of each phase of each command word, in
+     * milliseconds, followed by a table of the saves.
+     */
+    public String getReport() {
+        Map<String, Map<Phase, Histogram>> sortedPhaseLatencies = new TreeMap<>(phaseLatencies);
+        if (sortedPhaseLatencies.isEmpty()) {
+            return MESSAGE_NO_COMMANDS;
+        }
+
+        StringBuilder report = new StringBuilder("Command latencies (ms):\n");
+        report.append(String.format(LATENCY_HEADER_FORMAT, "command", "phase", "count", "p50", "p95", "p99", "max"))
+                .append('\n');
+        sortedPhaseLatencies.forEach((commandWord, histograms) -> {
+            for (Phase phase : Phase.values()) {
+                Histogram.Summary summary = histograms.get(phase).getSummary();
+                if (summary.getCount() == 0) {
+                    continue;
+                }
+                report.append(String.format(LATENCY_ROW_FORMAT, commandWord, phase, summary.getCount(),
+                        toMillis(summary.getP50()), toMillis(summary.getP95()), toMillis(summary.getP99()),
+                        toMillis(summary.getMax()))).append('\n');
+            }
+        });
+
+        report.append("\nSaves (bytes):\n");
+        report.append(String.format(SAVE_HEADER_FORMAT, "file", "count", "p50", "p95", "max", "total",
+                "p95 (ms)"));
+        for (SaveTarget target : SaveTarget.values()) {
+            Histogram.Summary bytesSummary = saveBytes.get(target).getSummary();
+            report.append('\n').append(String.format(SAVE_ROW_FORMAT, target, bytesSummary.getCount(),
+                    bytesSummary.getP50(), bytesSummary.getP95(), bytesSummary.getMax(), bytesSummary.getTotal(),
+                    toMillis(saveLatencies.get(target).getSummary().getP95())));
+        }
+        return report.toString();
+    }
+
+    private static Map<Phase, Histogram> createPhaseHistograms() {
+        Map<Phase, Histogram> histograms = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new Histogram());
+        }
+        return histograms;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
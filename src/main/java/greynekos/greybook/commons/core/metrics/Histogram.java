@@ -0,0 +1,165 @@
+package greynekos.greybook.commons.core.metrics;
+
+import static greynekos.greybook.commons.util.AppUtil.checkArgument;
+
+import java.util.Objects;
+
+import greynekos.greybook.commons.util.ToStringBuilder;
+
+/**
+ * Records the distribution of non-negative values, such as latencies in
+ * nanoseconds or sizes in bytes, in a fixed amount of memory.
+ *
+ * <p>
+ * Values are counted in log-linear buckets: every power of two is split into
+ * {@value #SUB_BUCKET_COUNT} buckets of equal width, so a percentile is
+ * reported to within 12.5% of the value recorded. Recording takes constant
+ * time. A histogram is thread-safe.
+ */
+public class Histogram {
+
+    public static final String MESSAGE_CONSTRAINTS = "Values recorded must be non-negative";
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final long[] bucketCounts = new long[BUCKET_COUNT];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records {@code value}, which must be non-negative.
+     */
+    public synchronized void record(long value) {
+        checkArgument(value >= 0, MESSAGE_CONSTRAINTS);
+        bucketCounts[getBucketIndex(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns a summary of the values recorded so far.
+     */
+    public synchronized Summary getSummary() {
+        return new Summary(count, total, max, getPercentile(50), getPercentile(95), getPercentile(99));
+    }
+
+    /**
+     * Returns the value that {@code percentile} percent of the values recorded are
+     * at most, rounded up to the end of its bucket, or 0 if nothing was recorded.
+     */
+    private long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                return Math.min(getBucketEnd(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the largest value that is counted in the bucket at {@code index}.
+     */
+    static long getBucketEnd(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long bucketStart = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return bucketStart + (1L << shift) - 1;
+    }
+
+    /**
+     * Summarizes the values recorded by a {@code Histogram} at one point in time.
+     */
+    public static class Summary {
+        private final long count;
+        private final long total;
+        private final long max;
+        private final long p50;
+        private final long p95;
+        private final long p99;
+
+        /**
+         * Constructs a {@code Summary} with the specified fields.
+         */
+        public Summary(long count, long total, long max, long p50, long p95, long p99) {
+            this.count = count;
+            this.total = total;
+            this.max = max;
+            this.p50 = p50;
+            this.p95 = p95;
+            this.p99 = p99;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP95() {
+            return p95;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+
+            // instanceof handles nulls
+            if (!(other instanceof Summary)) {
+                return false;
+            }
+
+            Summary otherSummary = (Summary) other;
+            return count == otherSummary.count && total == otherSummary.total && max == otherSummary.max
+                    && p50 == otherSummary.p50 && p95 == otherSummary.p95 && p99 == otherSummary.p99;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(count, total, max, p50, p95, p99);
+        }
+
+        @Override
+        public String toString() {
+            return new ToStringBuilder(this).add("count", count).add("total", total).add("max", max)
+                    .add("p50", p50).add("p95", p95).add("p99", p99).toString();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package greynekos.greybook.commons.core.metrics;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import greynekos.greybook.commons.core.Config;
+import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.commons.util.FileUtil;
+import greynekos.greybook.commons.util.StringUtil;
+
+/**
+ * Holds the {@link CommandMetrics} of the app, and writes them to the metrics
+ * file of the {@link Config} periodically, if there is one.
+ */
+public class MetricsCenter {
+    public static final String DUMP_THREAD_NAME = "greybook-metrics";
+
+    private static final Logger logger = LogsCenter.getLogger(MetricsCenter.class);
+    private static final CommandMetrics commandMetrics = new CommandMetrics();
+
+    private static ScheduledExecutorService dumpExecutor;
+    private static Path metricsFilePath;
+
+    /**
+     * Returns the command metrics of the app.
+     */
+    public static CommandMetrics getCommandMetrics() {
+        return commandMetrics;
+    }
+
+    /**
+     * Starts writing the command metrics to the metrics file specified in the
+     * {@code config} object at the interval specified, if there is a metrics file.
+     */
+    public static synchronized void init(Config config) {
+        requireNonNull(config);
+        shutdown();
+        metricsFilePath = config.getMetricsFilePath();
+        if (metricsFilePath == null) {
+            return;
+        }
+
+        long intervalSeconds = config.getMetricsDumpIntervalSeconds();
+        if (intervalSeconds <= 0) {
+            logger.warning("Invalid metrics dump interval " + intervalSeconds + ", using the default of "
+                    + Config.DEFAULT_METRICS_DUMP_INTERVAL_SECONDS + " seconds");
+            intervalSeconds = Config.DEFAULT_METRICS_DUMP_INTERVAL_SECONDS;
+        }
+        logger.info("Metrics will be written to " + metricsFilePath + " every " + intervalSeconds + " seconds");
+        dumpExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, DUMP_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        Path filePath = metricsFilePath;
+        dumpExecutor.scheduleAtFixedRate(() -> dump(filePath), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops writing the command metrics periodically, and writes them to the
+     * metrics file one last time.
+     */
+    public static synchronized void shutdown() {
+        if (dumpExecutor == null) {
+            return;
+        }
+
+        dumpExecutor.shutdownNow();
+        dumpExecutor = null;
+        dump(metricsFilePath);
+    }
+
+    /**
+     * Writes the report of the command metrics to {@code filePath}, replacing its
+     * contents.
+     */
+    static void dump(Path filePath) {
+        try {
+            FileUtil.createIfMissing(filePath);
+            FileUtil.writeToFile(filePath, commandMetrics.getReport() + System.lineSeparator());
+        } catch (IOException e) {
+            logger.warning("Failed to write metrics file : " + StringUtil.getDetails(e));
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package greynekos.greybook.commons.util;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Writes and reads files
@@ -71,6 +73,19 @@ public class FileUtil {
         }
     }
 
+    /**
+     * Moves {@code source} over {@code target}, atomically if the file system
+     * supports it, so that {@code target} is never left partly written.
+     */
+    public static void replaceFile(Path source, Path target) throws IOException {
+        createParentDirsOfFile(target);
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     /**
      * Assumes file exists
      */
@@ -0,0 +1,132 @@
+package greynekos.greybook.logic;
+
+import static greynekos.greybook.commons.util.AppUtil.checkArgument;
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.logic.commands.CommandRegistry;
+import greynekos.greybook.logic.commands.CommandResult;
+import greynekos.greybook.logic.commands.exceptions.CommandException;
+import greynekos.greybook.logic.parser.ArgumentParseResult;
+import greynekos.greybook.logic.parser.GreyBookParser;
+import greynekos.greybook.logic.parser.exceptions.ParseException;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.storage.Storage;
+
+/**
+ * Runs a script of commands, one per line, without the UI. Unlike
+ * {@link LogicManager}, which saves after every command, the GreyBook is only
+ * saved every {@code saveInterval} changing commands and once at the end, and
+ * the commands are not added to the command history.
+ *
+ * <p>
+ * Blank lines and lines starting with {@link #COMMENT_PREFIX} are skipped. A
+ * line that fails, even with an unexpected error, is reported with its line
+ * number and the script carries on with the next line. The script stops at a
+ * command that exits the application.
+ */
+public class BatchRunner {
+    public static final String COMMENT_PREFIX = "#";
+
+    public static final String MESSAGE_LINE_FAILED = "Line %d: %s";
+    public static final String MESSAGE_SUMMARY = "%d commands succeeded, %d failed.";
+    public static final String MESSAGE_UNEXPECTED_ERROR = "Unexpected error: %s";
+    public static final String MESSAGE_INVALID_SAVE_INTERVAL = "Save interval cannot be negative";
+
+    private final Logger logger = LogsCenter.getLogger(BatchRunner.class);
+
+    private final Model model;
+    private final Storage storage;
+    private final int saveInterval;
+    private final GreyBookParser greyBookParser;
+    private final GreyBookSaver greyBookSaver;
+
+    /**
+     * Constructs a {@code BatchRunner} that runs commands on {@code model} and
+     * saves to {@code storage}.
+     *
+     * @param saveInterval
+     *            Number of changing commands between saves, or 0 to only save
+     *            at the end.
+     */
+    public BatchRunner(Model model, Storage storage, int saveInterval) {
+        requireAllNonNull(model, storage);
+        checkArgument(saveInterval >= 0, MESSAGE_INVALID_SAVE_INTERVAL);
+        this.model = model;
+        this.storage = storage;
+        this.saveInterval = saveInterval;
+        greyBookParser = new GreyBookParser();
+        CommandRegistry.addCommandsToParser(greyBookParser);
+        greyBookSaver = new GreyBookSaver(model, storage);
+    }
+
+    /**
+     * Runs every command in {@code script}, writing the result of each command to
+     * {@code out} and the failures to {@code err}, and saves the GreyBook if it
+     * has changed, even if the script could not be read to the end.
+     *
+     * @return the number of lines that failed.
+     * @throws IOException
+     *             if {@code script} could not be read or the GreyBook could not
+     *             be saved.
+     */
+    public int run(BufferedReader script, PrintStream out, PrintStream err) throws IOException {
+        requireAllNonNull(script, out, err);
+
+        int lineNumber = 0;
+        int succeeded = 0;
+        int failed = 0;
+        int changesSinceSave = 0;
+        try {
+            String line;
+            while ((line = script.readLine()) != null) {
+                lineNumber++;
+                String commandText = line.trim();
+                if (commandText.isEmpty() || commandText.startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+
+                CommandResult commandResult;
+                try {
+                    ArgumentParseResult argParseResult = greyBookParser.parse(commandText);
+                    commandResult = argParseResult.execute(model);
+                    if (argParseResult.getCommand().isMutating()) {
+                        changesSinceSave++;
+                    }
+                } catch (ParseException | CommandException e) {
+                    logger.fine("Batch line " + lineNumber + " failed: " + commandText);
+                    err.println(String.format(MESSAGE_LINE_FAILED, lineNumber, e.getMessage()));
+                    failed++;
+                    continue;
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "Batch line " + lineNumber + " failed unexpectedly: " + commandText, e);
+                    err.println(String.format(MESSAGE_LINE_FAILED, lineNumber,
+                            String.format(MESSAGE_UNEXPECTED_ERROR, e)));
+                    failed++;
+                    continue;
+                }
+                out.println(commandResult.getFeedbackToUser());
+                succeeded++;
+
+                if (saveInterval > 0 && changesSinceSave >= saveInterval) {
+                    greyBookSaver.saveIfChanged();
+                    changesSinceSave = 0;
+                }
+                if (commandResult.isExit()) {
+                    break;
+                }
+            }
+        } finally {
+            greyBookSaver.saveIfChanged();
+            storage.flush();
+        }
+        out.println(String.format(MESSAGE_SUMMARY, succeeded, failed));
+        return failed;
+    }
+}
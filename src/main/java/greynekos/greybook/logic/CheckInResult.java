@@ -0,0 +1,93 @@
+package greynekos.greybook.logic;
+
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.Objects;
+
+import greynekos.greybook.commons.util.ToStringBuilder;
+
+/**
+ * Represents the result of a step of a {@link CheckInSession}, with the
+ * attendance counts after the step.
+ */
+public class CheckInResult {
+
+    /**
+     * The possible outcomes of a step of a check-in session.
+     */
+    public enum Outcome {
+        STARTED, CHECKED_IN, ALREADY_CHECKED_IN, NOT_FOUND, INVALID_ID, ENDED
+    }
+
+    private final Outcome outcome;
+    private final String message;
+    private final int presentCount;
+    private final int totalCount;
+
+    /**
+     * Constructs a {@code CheckInResult} with the specified fields.
+     */
+    public CheckInResult(Outcome outcome, String message, int presentCount, int totalCount) {
+        requireAllNonNull(outcome, message);
+        this.outcome = outcome;
+        this.message = message;
+        this.presentCount = presentCount;
+        this.totalCount = totalCount;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the number of persons marked as present.
+     */
+    public int getPresentCount() {
+        return presentCount;
+    }
+
+    /**
+     * Returns the number of persons in the GreyBook.
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns true if the step failed, e.g. because the student ID was not found.
+     */
+    public boolean isFailure() {
+        return outcome == Outcome.NOT_FOUND || outcome == Outcome.INVALID_ID;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        // instanceof handles nulls
+        if (!(other instanceof CheckInResult)) {
+            return false;
+        }
+
+        CheckInResult otherCheckInResult = (CheckInResult) other;
+        return outcome == otherCheckInResult.outcome && message.equals(otherCheckInResult.message)
+                && presentCount == otherCheckInResult.presentCount && totalCount == otherCheckInResult.totalCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(outcome, message, presentCount, totalCount);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this).add("outcome", outcome).add("message", message)
+                .add("presentCount", presentCount).add("totalCount", totalCount).toString();
+    }
+}
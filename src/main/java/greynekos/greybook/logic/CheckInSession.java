@@ -0,0 +1,122 @@
+package greynekos.greybook.logic;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Locale;
+
+import greynekos.greybook.logic.CheckInResult.Outcome;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.StudentID;
+
+/**
+ * Marks persons as present by their student IDs, one check-in at a time, and
+ * keeps count of the persons present.
+ *
+ * <p>
+ * A check-in looks the person up with {@link Model#getPersonByStudentId}, so it
+ * takes constant time and does not change the filtered person list. A person
+ * who is already present is not changed again, so scanning an ID twice is
+ * harmless. The counts are only recounted when the GreyBook has been changed by
+ * something other than this session. A session is not thread-safe, and must be
+ * used by the thread that changes the model.
+ */
+public class CheckInSession {
+    public static final String MESSAGE_STARTED = "Ready, enter or scan a student ID.";
+    public static final String MESSAGE_CHECKED_IN = "Checked in %1$s";
+    public static final String MESSAGE_ALREADY_CHECKED_IN = "%1$s is already checked in";
+    public static final String MESSAGE_NOT_FOUND = "No member has the student ID %1$s";
+    public static final String MESSAGE_INVALID_ID = "%1$s is not a valid student ID";
+    public static final String MESSAGE_ENDED = "Check-in ended, %1$d of %2$d members present.";
+
+    private final Model model;
+
+    private int presentCount;
+    private int totalCount;
+    /** Version of the GreyBook that the counts are for */
+    private long countedVersion;
+
+    /**
+     * Constructs a {@code CheckInSession} that checks in the persons of
+     * {@code model}.
+     */
+    public CheckInSession(Model model) {
+        requireNonNull(model);
+        this.model = model;
+        recount();
+    }
+
+    /**
+     * Marks the person with the student ID in {@code studentIdText} as present,
+     * unless they already are.
+     */
+    public CheckInResult checkIn(String studentIdText) {
+        requireNonNull(studentIdText);
+        updateCounts();
+
+        String trimmedStudentId = studentIdText.trim().toUpperCase(Locale.ROOT);
+        if (!StudentID.isValidStudentID(trimmedStudentId)) {
+            return getResult(Outcome.INVALID_ID, String.format(MESSAGE_INVALID_ID, trimmedStudentId));
+        }
+
+        Person person = model.getPersonByStudentId(new StudentID(trimmedStudentId)).orElse(null);
+        if (person == null) {
+            return getResult(Outcome.NOT_FOUND, String.format(MESSAGE_NOT_FOUND, trimmedStudentId));
+        }
+        if (isPresent(person)) {
+            return getResult(Outcome.ALREADY_CHECKED_IN,
+                    String.format(MESSAGE_ALREADY_CHECKED_IN, person.getName()));
+        }
+
+        model.markPerson(person, AttendanceStatus.Status.PRESENT);
+        presentCount++;
+        countedVersion = model.getGreyBookVersion();
+        return getResult(Outcome.CHECKED_IN, String.format(MESSAGE_CHECKED_IN, person.getName()));
+    }
+
+    /**
+     * Returns the result that starts this session, with the current counts.
+     */
+    public CheckInResult getStartResult() {
+        updateCounts();
+        return getResult(Outcome.STARTED, MESSAGE_STARTED);
+    }
+
+    /**
+     * Returns the result that ends this session, with the current counts.
+     */
+    public CheckInResult getEndResult() {
+        updateCounts();
+        return getResult(Outcome.ENDED, String.format(MESSAGE_ENDED, presentCount, totalCount));
+    }
+
+    private CheckInResult getResult(Outcome outcome, String message) {
+        return new CheckInResult(outcome, message, presentCount, totalCount);
+    }
+
+    /**
+     * Recounts the persons if the GreyBook has changed since they were counted.
+     */
+    private void updateCounts() {
+        if (model.getGreyBookVersion() != countedVersion) {
+            recount();
+        }
+    }
+
+    private void recount() {
+        countedVersion = model.getGreyBookVersion();
+        presentCount = 0;
+        totalCount = 0;
+        for (Person person : model.getGreyBook().getPersonList()) {
+            totalCount++;
+            if (isPresent(person)) {
+                presentCount++;
+            }
+        }
+    }
+
+    private static boolean isPresent(Person person) {
+        return person.getAttendance().value == AttendanceStatus.Status.PRESENT;
+    }
+}
@@ -0,0 +1,66 @@
+package greynekos.greybook.logic;
+
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import greynekos.greybook.model.Model;
+import greynekos.greybook.storage.Storage;
+
+/**
+ * Saves the GreyBook of a model to storage, skipping the save if the GreyBook
+ * has not changed since it was last saved. Shared by the {@link LogicManager}
+ * and the {@link BatchRunner}, which save at different times.
+ */
+class GreyBookSaver {
+
+    /** Version that the GreyBook data never has, used when it must be saved again */
+    private static final long UNSAVED_GREYBOOK_VERSION = -1;
+
+    private final Model model;
+    private final Storage storage;
+
+    /** Version of the GreyBook data that was last saved to storage */
+    private long savedGreyBookVersion;
+    /** Whether a save has failed after it returned, so the saved version may not be on disk */
+    private final AtomicBoolean hasBackgroundSaveFailed = new AtomicBoolean();
+
+    /**
+     * Constructs a {@code GreyBookSaver} that treats the current GreyBook of
+     * {@code model} as saved.
+     */
+    GreyBookSaver(Model model, Storage storage) {
+        requireAllNonNull(model, storage);
+        this.model = model;
+        this.storage = storage;
+        savedGreyBookVersion = model.getGreyBookVersion();
+    }
+
+    /**
+     * Saves the GreyBook to storage if its data has changed since it was last
+     * saved, or if a save has failed in the background since.
+     */
+    void saveIfChanged() throws IOException {
+        if (hasBackgroundSaveFailed.getAndSet(false)) {
+            savedGreyBookVersion = UNSAVED_GREYBOOK_VERSION;
+        }
+
+        long currentVersion = model.getGreyBookVersion();
+        if (currentVersion == savedGreyBookVersion) {
+            return;
+        }
+
+        storage.saveGreyBook(model.getGreyBookSnapshot());
+        savedGreyBookVersion = currentVersion;
+    }
+
+    /**
+     * Records that a save failed after it returned, so that the GreyBook is saved
+     * again on the next call to {@link #saveIfChanged()}. Can be called from any
+     * thread.
+     */
+    void handleBackgroundSaveFailure() {
+        hasBackgroundSaveFailed.set(true);
+    }
+}
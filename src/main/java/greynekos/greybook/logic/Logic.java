@@ -1,6 +1,9 @@
 package greynekos.greybook.logic;
 
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import greynekos.greybook.commons.core.GuiSettings;
 import greynekos.greybook.logic.commands.CommandResult;
@@ -29,13 +32,61 @@ public interface Logic {
     CommandResult execute(String commandText) throws CommandException, ParseException;
 
     /**
-     * Returns the GreyBook.
+     * Executes the command on a background thread, after all the commands
+     * submitted before it. Changes to the filtered list of persons are published
+     * before the returned future completes, and both happen on the publisher.
      *
-     * @see greynekos.greybook.model.Model#getGreyBook()
+     * @param commandText
+     *            The command as entered by the user.
+     * @return a future of the result of the command execution, which completes
+     *         exceptionally with a {@code CommandException} or
+     *         {@code ParseException} if the command fails.
+     * @see #setPublisher(Executor)
+     */
+    CompletableFuture<CommandResult> executeAsync(String commandText);
+
+    /**
+     * Like {@link #executeAsync(String)}, but does not add the command to the
+     * command history, e.g. for commands that were not entered by the user.
+     */
+    CompletableFuture<CommandResult> executeWithoutHistoryAsync(String commandText);
+
+    /**
+     * Starts a new check-in session, after all the commands submitted before it.
+     * Like {@link #executeAsync(String)}, the returned future completes on the
+     * publisher.
+     *
+     * @see CheckInSession
+     */
+    CompletableFuture<CheckInResult> startCheckInAsync();
+
+    /**
+     * Checks in the person with the student ID in {@code studentIdText}, after all
+     * the commands submitted before it, starting a check-in session if there is
+     * none. Each check-in is published to the filtered list of persons before the
+     * returned future completes, but check-ins are saved in batches rather than
+     * one at a time, and the returned future completes exceptionally with a
+     * {@code CommandException} if saving a batch fails.
+     */
+    CompletableFuture<CheckInResult> checkInAsync(String studentIdText);
+
+    /**
+     * Ends the check-in session and saves the check-ins that have not been saved,
+     * after all the commands submitted before it.
+     */
+    CompletableFuture<CheckInResult> endCheckInAsync();
+
+    /**
+     * Returns a snapshot of the GreyBook, which may be read from any thread.
+     *
+     * @see greynekos.greybook.model.Model#getGreyBookSnapshot()
      */
     ReadOnlyGreyBook getGreyBook();
 
-    /** Returns an unmodifiable view of the filtered list of persons */
+    /**
+     * Returns an unmodifiable view of the filtered list of persons, as last
+     * published. The list only changes on the publisher.
+     */
     ObservableList<Person> getFilteredPersonList();
 
     /**
@@ -59,4 +110,27 @@ public interface Logic {
      * @see greynekos.greybook.model.Model#getHistory()
      */
     ReadOnlyHistory getHistory();
+
+    /**
+     * Sets the handler that receives an error message when data fails to be saved
+     * after {@link #execute(String)} has returned, and a message when the data is
+     * saved again after such a failure. Failures that happen while the data cannot
+     * be saved are not reported again. The handler may be called from a background
+     * thread.
+     */
+    void setSaveErrorHandler(Consumer<String> saveErrorHandler);
+
+    /**
+     * Sets the executor that publishes the changes to the filtered list of persons
+     * and completes the futures returned by {@link #executeAsync(String)}, e.g.
+     * the JavaFX application thread. By default, they happen on the thread that
+     * ran the command.
+     */
+    void setPublisher(Executor publisher);
+
+    /**
+     * Waits for the commands submitted by {@link #executeAsync(String)} to finish,
+     * and stops accepting new ones.
+     */
+    void shutdown();
 }
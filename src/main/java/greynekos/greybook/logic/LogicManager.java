@@ -1,12 +1,30 @@
 package greynekos.greybook.logic;
 
+import static java.util.Objects.requireNonNull;
+
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import greynekos.greybook.commons.core.GuiSettings;
 import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.commons.core.jfr.CommandExecuteEvent;
+import greynekos.greybook.commons.core.jfr.CommandParseEvent;
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.Phase;
+import greynekos.greybook.commons.core.metrics.MetricsCenter;
+import greynekos.greybook.logic.commands.Command;
 import greynekos.greybook.logic.commands.CommandRegistry;
 import greynekos.greybook.logic.commands.CommandResult;
 import greynekos.greybook.logic.commands.exceptions.CommandException;
@@ -18,6 +36,8 @@ import greynekos.greybook.model.ReadOnlyGreyBook;
 import greynekos.greybook.model.ReadOnlyHistory;
 import greynekos.greybook.model.person.Person;
 import greynekos.greybook.storage.Storage;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 /**
@@ -29,52 +49,314 @@ public class LogicManager implements Logic {
     public static final String FILE_OPS_PERMISSION_ERROR_FORMAT =
             "Could not save data to file %s due to insufficient permissions to write to the file or the folder.";
 
+    public static final String MESSAGE_SAVE_RECOVERED = "Data saved successfully after the earlier error.";
+
+    public static final String COMMAND_THREAD_NAME = "greybook-command";
+
+    /** Number of check-ins that are saved together */
+    public static final int CHECK_IN_SAVE_BATCH_SIZE = 20;
+
+    /** Command word that the metrics of commands which could not be parsed are recorded under */
+    public static final String INVALID_COMMAND_WORD = "(invalid)";
+
+    /** Maximum time to wait for submitted commands to finish when shutting down */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
     private final Logger logger = LogsCenter.getLogger(LogicManager.class);
 
     private final Model model;
     private final Storage storage;
     private final GreyBookParser greyBookParser;
+    private final CommandMetrics commandMetrics;
+    private final GreyBookSaver greyBookSaver;
+
+    private volatile Consumer<String> saveErrorHandler = message -> {};
+
+    /** The filtered persons as last published, which is the list shown to the user */
+    private final ObservableList<Person> publishedPersons;
+    private final ObservableList<Person> unmodifiablePublishedPersons;
+    /** Changes to the filtered persons since they were last published, only used by the thread running commands */
+    private List<PersonListUpdate> pendingUpdates = new ArrayList<>();
+    private volatile Executor publisher = Runnable::run;
+    private ExecutorService commandExecutor;
+
+    /** The current check-in session, only used by the thread running commands */
+    private CheckInSession checkInSession;
+    private int checkInsSinceSave;
 
     /**
      * Constructs a {@code LogicManager} with the given {@code Model} and
-     * {@code Storage}.
+     * {@code Storage}, which records the metrics of commands in the
+     * {@link MetricsCenter}.
      */
     public LogicManager(Model model, Storage storage) {
+        this(model, storage, MetricsCenter.getCommandMetrics());
+    }
+
+    /**
+     * Constructs a {@code LogicManager} with the given {@code Model} and
+     * {@code Storage}, which records the metrics of commands in
+     * {@code commandMetrics}.
+     */
+    public LogicManager(Model model, Storage storage, CommandMetrics commandMetrics) {
+        requireNonNull(commandMetrics);
         this.model = model;
         this.storage = storage;
+        this.commandMetrics = commandMetrics;
         greyBookParser = new GreyBookParser();
         CommandRegistry.addCommandsToParser(greyBookParser);
+        greyBookSaver = new GreyBookSaver(model, storage);
+        storage.setSaveErrorHandler(this::handleBackgroundSaveError);
+        storage.setSaveRecoveryHandler(() -> saveErrorHandler.accept(MESSAGE_SAVE_RECOVERED));
+        ObservableList<Person> filteredPersons = model.getFilteredPersonList();
+        publishedPersons = FXCollections.observableArrayList(filteredPersons);
+        unmodifiablePublishedPersons = FXCollections.unmodifiableObservableList(publishedPersons);
+        filteredPersons.addListener(this::recordFilteredPersonsChange);
     }
 
     @Override
     public CommandResult execute(String commandText) throws CommandException, ParseException {
-        logger.info("----------------[USER COMMAND][" + commandText + "]");
+        return execute(commandText, true);
+    }
+
+    /**
+     * Executes {@code commandText}, adding it to the command history only if
+     * {@code isRecordedInHistory} is true.
+     */
+    private CommandResult execute(String commandText, boolean isRecordedInHistory)
+            throws CommandException, ParseException {
+        logger.info(() -> "----------------[USER COMMAND][" + commandText + "]");
+        long startTime = System.nanoTime();
+        CommandParseEvent parseEvent = new CommandParseEvent();
+        parseEvent.begin();
+        ArgumentParseResult argParseResult;
+        try {
+            argParseResult = greyBookParser.parse(commandText);
+        } catch (ParseException pe) {
+            parseEvent.finish(INVALID_COMMAND_WORD, false);
+            commandMetrics.recordPhase(INVALID_COMMAND_WORD, Phase.PARSE, System.nanoTime() - startTime);
+            throw pe;
+        }
+        String commandWord = getCommandWord(commandText);
+        parseEvent.finish(commandWord, true);
+        commandMetrics.recordPhase(commandWord, Phase.PARSE, System.nanoTime() - startTime);
+
+        try {
+            return executeAndSave(commandText, commandWord, argParseResult, isRecordedInHistory);
+        } finally {
+            // A command can change the model even if it fails, e.g. when saving fails
+            long publishStartTime = System.nanoTime();
+            publishFilteredPersons();
+            long endTime = System.nanoTime();
+            commandMetrics.recordPhase(commandWord, Phase.PUBLISH, endTime - publishStartTime);
+            commandMetrics.recordPhase(commandWord, Phase.TOTAL, endTime - startTime);
+        }
+    }
+
+    /**
+     * Returns the command word of {@code commandText}, which has been parsed.
+     */
+    private static String getCommandWord(String commandText) {
+        return commandText.trim().split("\\s+", 2)[0];
+    }
+
+    @Override
+    public CompletableFuture<CommandResult> executeAsync(String commandText) {
+        return submit(() -> execute(commandText));
+    }
+
+    @Override
+    public CompletableFuture<CommandResult> executeWithoutHistoryAsync(String commandText) {
+        return submit(() -> execute(commandText, false));
+    }
+
+    @Override
+    public CompletableFuture<CheckInResult> startCheckInAsync() {
+        return submit(() -> {
+            checkInSession = new CheckInSession(model);
+            return checkInSession.getStartResult();
+        });
+    }
+
+    @Override
+    public CompletableFuture<CheckInResult> checkInAsync(String studentIdText) {
+        return submit(() -> {
+            if (checkInSession == null) {
+                checkInSession = new CheckInSession(model);
+            }
+            CheckInResult checkInResult = checkInSession.checkIn(studentIdText);
+            // Each check-in is shown at once, as only the changed row is updated, while
+            // saving the whole GreyBook is left to every batch
+            publishFilteredPersons();
+            if (checkInResult.getOutcome() == CheckInResult.Outcome.CHECKED_IN
+                    && ++checkInsSinceSave >= CHECK_IN_SAVE_BATCH_SIZE) {
+                saveCheckIns();
+            }
+            return checkInResult;
+        });
+    }
 
-        CommandResult commandResult;
-        ArgumentParseResult argParseResult = greyBookParser.parse(commandText);
-        commandResult = argParseResult.execute(model);
-        model.getHistory().getCommandHistory().addCommand(commandText);
+    @Override
+    public CompletableFuture<CheckInResult> endCheckInAsync() {
+        return submit(() -> {
+            CheckInSession endedSession = checkInSession != null ? checkInSession : new CheckInSession(model);
+            checkInSession = null;
+            saveCheckIns();
+            return endedSession.getEndResult();
+        });
+    }
 
+    /**
+     * Publishes and saves the check-ins since the last save.
+     */
+    private void saveCheckIns() throws CommandException {
+        checkInsSinceSave = 0;
+        publishFilteredPersons();
         try {
-            storage.saveGreyBook(model.getGreyBook());
-            storage.saveHistory(model.getHistory());
-        } catch (AccessDeniedException e) {
-            throw new CommandException(String.format(FILE_OPS_PERMISSION_ERROR_FORMAT, e.getMessage()), e);
+            greyBookSaver.saveIfChanged();
         } catch (IOException ioe) {
-            throw new CommandException(String.format(FILE_OPS_ERROR_FORMAT, ioe.getMessage()), ioe);
+            throw new CommandException(getSaveErrorMessage(ioe), ioe);
+        }
+    }
+
+    /**
+     * Runs {@code task} on the thread running commands, after all the tasks
+     * submitted before it, and completes the returned future with its result on
+     * the publisher.
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            getCommandExecutor().execute(() -> {
+                try {
+                    T taskResult = task.call();
+                    publisher.execute(() -> result.complete(taskResult));
+                } catch (Exception e) {
+                    publisher.execute(() -> result.completeExceptionally(e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private synchronized ExecutorService getCommandExecutor() {
+        if (commandExecutor == null) {
+            commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, COMMAND_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return commandExecutor;
+    }
+
+    /**
+     * Records the changes to the filtered persons of the model, so that they can be
+     * applied to the published list when it is next published.
+     */
+    private void recordFilteredPersonsChange(ListChangeListener.Change<? extends Person> change) {
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasPermutated()) {
+                // Persons are immutable, so the order is the only thing that can change
+                List<? extends Person> permuted = change.getList().subList(from, change.getTo());
+                pendingUpdates.add(new PersonListUpdate(from, permuted.size(), List.copyOf(permuted)));
+            } else if (!change.wasUpdated()) {
+                pendingUpdates.add(new PersonListUpdate(from, change.getRemovedSize(),
+                        List.copyOf(change.getAddedSubList())));
+            }
+        }
+    }
+
+    /**
+     * Publishes the changes to the filtered persons of the model since they were
+     * last published, by applying them to the published list in one task on the
+     * publisher.
+     */
+    private void publishFilteredPersons() {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        List<PersonListUpdate> updates = pendingUpdates;
+        pendingUpdates = new ArrayList<>();
+        publisher.execute(() -> updates.forEach(update -> update.applyTo(publishedPersons)));
+    }
+
+    private CommandResult executeAndSave(String commandText, String commandWord, ArgumentParseResult argParseResult,
+            boolean isRecordedInHistory) throws CommandException {
+        CommandResult commandResult = null;
+        Command command = argParseResult.getCommand();
+        long versionBeforeExecution = model.getGreyBookVersion();
+        long executeStartTime = System.nanoTime();
+        CommandExecuteEvent executeEvent = new CommandExecuteEvent();
+        executeEvent.begin();
+        try {
+            commandResult = argParseResult.execute(model);
+        } finally {
+            executeEvent.finish(commandWord, command.isMutating(), commandResult != null);
+            commandMetrics.recordPhase(commandWord, Phase.EXECUTE, System.nanoTime() - executeStartTime);
+        }
+        if (isRecordedInHistory) {
+            model.getHistory().getCommandHistory().addCommand(commandText);
+        }
+
+        assert command.isMutating() || model.getGreyBookVersion() == versionBeforeExecution
+                : "Read-only command changed the GreyBook: " + commandText;
+
+        IOException saveException = null;
+        if (command.isMutating()) {
+            long greyBookSaveStartTime = System.nanoTime();
+            try {
+                greyBookSaver.saveIfChanged();
+            } catch (IOException ioe) {
+                saveException = ioe;
+            }
+            commandMetrics.recordPhase(commandWord, Phase.SAVE_GREYBOOK, System.nanoTime() - greyBookSaveStartTime);
+        }
+
+        // The history changes after every recorded command, so it is saved even if
+        // saving the GreyBook failed
+        if (isRecordedInHistory) {
+            long historySaveStartTime = System.nanoTime();
+            try {
+                storage.saveHistory(model.getHistory());
+            } catch (IOException ioe) {
+                if (saveException == null) {
+                    saveException = ioe;
+                } else {
+                    saveException.addSuppressed(ioe);
+                }
+            }
+            commandMetrics.recordPhase(commandWord, Phase.SAVE_HISTORY, System.nanoTime() - historySaveStartTime);
+        }
+
+        if (saveException != null) {
+            throw new CommandException(getSaveErrorMessage(saveException), saveException);
         }
 
         return commandResult;
     }
 
+    /**
+     * Returns the message shown to the user when saving fails with {@code e}.
+     */
+    private static String getSaveErrorMessage(IOException e) {
+        if (e instanceof AccessDeniedException) {
+            return String.format(FILE_OPS_PERMISSION_ERROR_FORMAT, e.getMessage());
+        }
+        return String.format(FILE_OPS_ERROR_FORMAT, e.getMessage());
+    }
+
     @Override
     public ReadOnlyGreyBook getGreyBook() {
-        return model.getGreyBook();
+        return model.getGreyBookSnapshot();
     }
 
     @Override
     public ObservableList<Person> getFilteredPersonList() {
-        return model.getFilteredPersonList();
+        return unmodifiablePublishedPersons;
     }
 
     @Override
@@ -96,4 +378,72 @@ public class LogicManager implements Logic {
     public ReadOnlyHistory getHistory() {
         return model.getHistory();
     }
+
+    /**
+     * Handles a GreyBook save that failed after it returned, so that the GreyBook
+     * is saved again after the next command, and reports it to the save error
+     * handler.
+     */
+    private void handleBackgroundSaveError(IOException e) {
+        greyBookSaver.handleBackgroundSaveFailure();
+        saveErrorHandler.accept(getSaveErrorMessage(e));
+    }
+
+    @Override
+    public void setSaveErrorHandler(Consumer<String> saveErrorHandler) {
+        requireNonNull(saveErrorHandler);
+        this.saveErrorHandler = saveErrorHandler;
+    }
+
+    @Override
+    public void setPublisher(Executor publisher) {
+        requireNonNull(publisher);
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void shutdown() {
+        ExecutorService executor;
+        synchronized (this) {
+            executor = commandExecutor;
+        }
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warning("Commands were still running after " + SHUTDOWN_TIMEOUT_SECONDS + " seconds.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A change to the filtered persons, which replaces the {@code removedSize}
+     * persons from index {@code from} with {@code added}.
+     */
+    private record PersonListUpdate(int from, int removedSize, List<Person> added) {
+
+        /**
+         * Applies this change to {@code persons}, which are the filtered persons
+         * before the change.
+         */
+        void applyTo(ObservableList<Person> persons) {
+            if (removedSize == added.size() && removedSize == 1) {
+                persons.set(from, added.get(0));
+            } else if (from == 0 && removedSize == persons.size()) {
+                persons.setAll(added);
+            } else {
+                if (removedSize > 0) {
+                    persons.remove(from, from + removedSize);
+                }
+                if (!added.isEmpty()) {
+                    persons.addAll(from, added);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package greynekos.greybook.logic.commands;
+
+import greynekos.greybook.logic.commands.exceptions.CommandException;
+import greynekos.greybook.logic.parser.ArgumentParseResult;
+import greynekos.greybook.logic.parser.GreyBookParser;
+import greynekos.greybook.model.Model;
+
+/**
+ * Opens the check-in window, where members are marked as present by entering
+ * their student IDs.
+ */
+public class CheckInCommand extends Command {
+
+    public static final String COMMAND_WORD = "checkin";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD
+            + ": Opens the check-in window, which marks each student ID entered as present.\n" + "Example: "
+            + COMMAND_WORD;
+
+    public static final String SHOWING_CHECK_IN_MESSAGE = "Opened check-in window.";
+
+    @Override
+    public void addToParser(GreyBookParser parser) {
+        parser.newCommand(COMMAND_WORD, MESSAGE_USAGE, this);
+    }
+
+    @Override
+    public CommandResult execute(Model model, ArgumentParseResult arg) throws CommandException {
+        return new CommandResult(SHOWING_CHECK_IN_MESSAGE, false, false, true);
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+}
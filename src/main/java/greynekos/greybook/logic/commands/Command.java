@@ -26,4 +26,13 @@ public abstract class Command {
     public abstract CommandResult execute(Model model, ArgumentParseResult arg) throws CommandException;
 
     public abstract void addToParser(GreyBookParser parser);
+
+    /**
+     * Returns true if executing this command may change the GreyBook data.
+     * Commands that only read or filter the data should override this to return
+     * false, so that the GreyBook is not saved after they are executed.
+     */
+    public boolean isMutating() {
+        return true;
+    }
 }
@@ -5,15 +5,20 @@ import greynekos.greybook.logic.parser.GreyBookParser;
 /** Represents all the commands in this app */
 public class CommandRegistry {
     private static final Command[] commands = {
-        new AddCommand(), new ClearCommand(), new DeleteCommand(), new EditCommand(), new ExitCommand(),
-        new FindCommand(), new HelpCommand(), new ListCommand(), new MarkCommand(), new UnmarkCommand()
+        new AddCommand(), new CheckInCommand(), new ClearCommand(), new DeleteCommand(), new EditCommand(),
+        new ExitCommand(), new FindCommand(), new HelpCommand(), new ListCommand(), new MarkCommand(),
+        new StatsCommand(), new UnmarkCommand()
     };
 
-    /** Adds all the commands defined in the registry to the parser */
+    /**
+     * Adds all the commands defined in the registry to the parser and compiles
+     * their parse plans
+     */
     public static void addCommandsToParser(GreyBookParser parser) {
         for (Command command : commands) {
             command.addToParser(parser);
         }
+        parser.compileParsePlans();
     }
 
 }
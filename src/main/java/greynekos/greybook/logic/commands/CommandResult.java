@@ -19,13 +19,25 @@ public class CommandResult {
     /** The application should exit. */
     private final boolean exit;
 
+    /** The check-in window should be shown to the user. */
+    private final boolean showCheckIn;
+
     /**
      * Constructs a {@code CommandResult} with the specified fields.
      */
-    public CommandResult(String feedbackToUser, boolean showHelp, boolean exit) {
+    public CommandResult(String feedbackToUser, boolean showHelp, boolean exit, boolean showCheckIn) {
         this.feedbackToUser = requireNonNull(feedbackToUser);
         this.showHelp = showHelp;
         this.exit = exit;
+        this.showCheckIn = showCheckIn;
+    }
+
+    /**
+     * Constructs a {@code CommandResult} with the specified fields, that does not
+     * show the check-in window.
+     */
+    public CommandResult(String feedbackToUser, boolean showHelp, boolean exit) {
+        this(feedbackToUser, showHelp, exit, false);
     }
 
     /**
@@ -48,6 +60,10 @@ public class CommandResult {
         return exit;
     }
 
+    public boolean isShowCheckIn() {
+        return showCheckIn;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -61,18 +77,18 @@ public class CommandResult {
 
         CommandResult otherCommandResult = (CommandResult) other;
         return feedbackToUser.equals(otherCommandResult.feedbackToUser) && showHelp == otherCommandResult.showHelp
-                && exit == otherCommandResult.exit;
+                && exit == otherCommandResult.exit && showCheckIn == otherCommandResult.showCheckIn;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(feedbackToUser, showHelp, exit);
+        return Objects.hash(feedbackToUser, showHelp, exit, showCheckIn);
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this).add("feedbackToUser", feedbackToUser).add("showHelp", showHelp)
-                .add("exit", exit).toString();
+                .add("exit", exit).add("showCheckIn", showCheckIn).toString();
     }
 
 }
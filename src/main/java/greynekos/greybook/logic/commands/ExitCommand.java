@@ -23,4 +23,9 @@ public class ExitCommand extends Command {
     public CommandResult execute(Model model, ArgumentParseResult arg) throws CommandException {
         return new CommandResult(MESSAGE_EXIT_ACKNOWLEDGEMENT, false, true);
     }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
 }
@@ -1,9 +1,13 @@
 package greynekos.greybook.logic.commands;
 
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_EMAIL;
+import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_PHONE;
 import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_STUDENTID;
 import static greynekos.greybook.logic.parser.CliSyntax.PREFIX_TAG;
 import static java.util.Objects.requireNonNull;
 
+import java.util.function.Predicate;
+
 import greynekos.greybook.logic.Messages;
 import greynekos.greybook.logic.commands.exceptions.CommandException;
 import greynekos.greybook.logic.parser.ArgumentParseResult;
@@ -13,22 +17,25 @@ import greynekos.greybook.logic.parser.commandoption.OptionalSinglePreambleOptio
 import greynekos.greybook.logic.parser.commandoption.ZeroOrMorePrefixOption;
 import greynekos.greybook.model.Model;
 import greynekos.greybook.model.person.NameOrStudentIdPredicateOrTag;
+import greynekos.greybook.model.person.Person;
 
 /**
  * Finds and lists all persons in GreyBook whose name contains any of the
- * argument keywords, or student ID contains any of the provided ID fragments.
- * Keyword matching is case-insensitive.
+ * argument keywords, or whose student ID, tags, email or phone contain any of
+ * the provided fragments. Keyword and email matching is case-insensitive.
  */
 public class FindCommand extends Command {
 
     public static final String COMMAND_WORD = "find";
 
     public static final String MESSAGE_USAGE =
-            COMMAND_WORD + ": Finds persons by name keywords and/or student ID and/or tags.\n"
-                    + "Parameters: [KEYWORD [MORE_KEYWORDS]...] [" + PREFIX_STUDENTID + "ID_FRAGMENT]... [" + PREFIX_TAG
-                    + "TAG_FRAGMENT]...\n" + "Examples:\n" + "  " + COMMAND_WORD + " alice bob\n" + "  " + COMMAND_WORD
-                    + " i/12345 i/A0123456J\n" + "  " + COMMAND_WORD + " t/member t/contributor\n" + "  " + COMMAND_WORD
-                    + " alex i/12345 t/member";
+            COMMAND_WORD + ": Finds persons by name keywords and/or student ID and/or tags and/or email and/or"
+                    + " phone.\n" + "Parameters: [KEYWORD [MORE_KEYWORDS]...] [" + PREFIX_STUDENTID
+                    + "ID_FRAGMENT]... [" + PREFIX_TAG + "TAG_FRAGMENT]... ["
+                    + PREFIX_EMAIL + "EMAIL_FRAGMENT]... [" + PREFIX_PHONE + "PHONE_FRAGMENT]...\n" + "Examples:\n"
+                    + "  " + COMMAND_WORD + " alice bob\n" + "  " + COMMAND_WORD + " i/12345 i/A0123456J\n" + "  "
+                    + COMMAND_WORD + " t/member t/contributor\n" + "  " + COMMAND_WORD + " e/u.nus.edu p/9123\n"
+                    + "  " + COMMAND_WORD + " alex i/12345 t/member";
 
     public static final String MESSAGE_EMPTY_COMMAND = "Invalid command format!\n" + MESSAGE_USAGE;
 
@@ -38,25 +45,54 @@ public class FindCommand extends Command {
             ZeroOrMorePrefixOption.of(PREFIX_STUDENTID, "ID_FRAGMENT", s -> s == null ? "" : s.trim());
     private final ZeroOrMorePrefixOption<String> tagFragmentsOption =
             ZeroOrMorePrefixOption.of(PREFIX_TAG, "TAG_FRAGMENT", s -> s == null ? "" : s.trim());
+    private final ZeroOrMorePrefixOption<String> emailFragmentsOption =
+            ZeroOrMorePrefixOption.of(PREFIX_EMAIL, "EMAIL_FRAGMENT", s -> s == null ? "" : s.trim());
+    private final ZeroOrMorePrefixOption<String> phoneFragmentsOption =
+            ZeroOrMorePrefixOption.of(PREFIX_PHONE, "PHONE_FRAGMENT", s -> s == null ? "" : s.trim());
 
     @Override
     public void addToParser(GreyBookParser parser) {
         parser.newCommand(COMMAND_WORD, MESSAGE_USAGE, this).addOptions(studentIdFragmentsOption, preambleOption,
-                tagFragmentsOption);
+                tagFragmentsOption, emailFragmentsOption, phoneFragmentsOption);
     }
 
     @Override
     public CommandResult execute(Model model, ArgumentParseResult arg) throws CommandException {
         requireNonNull(model);
-        ParserUtil.KeywordsIdAndTagFrags parsed =
-                ParserUtil.parseKeywordsAndIdFrags(arg, preambleOption, studentIdFragmentsOption, tagFragmentsOption);
-        if (parsed.keywords().isEmpty() && parsed.idFrags().isEmpty() && parsed.tagFrags().isEmpty()) {
-            throw new CommandException(MESSAGE_EMPTY_COMMAND);
-        }
-        model.updateFilteredPersonList(
-                new NameOrStudentIdPredicateOrTag(parsed.keywords(), parsed.idFrags(), parsed.tagFrags()));
+        ParserUtil.KeywordsAndFrags parsed = parseKeywordsAndFrags(arg);
+        model.updateFilteredPersonList(new NameOrStudentIdPredicateOrTag(parsed.keywords(), parsed.idFrags(),
+                parsed.tagFrags(), parsed.emailFrags(), parsed.phoneFrags(), model.getTagIndex(),
+                model.getTrigramIndex()));
         return new CommandResult(
                 String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW, model.getFilteredPersonList().size()));
     }
 
+    /**
+     * Returns a predicate that tests whether a person is found by the arguments in
+     * {@code arg}. Unlike {@link #execute(Model, ArgumentParseResult)}, it does not
+     * use the indexes of a model, so it can test the persons of any list.
+     *
+     * @throws CommandException
+     *             if there is nothing to find.
+     */
+    public Predicate<Person> createPredicate(ArgumentParseResult arg) throws CommandException {
+        ParserUtil.KeywordsAndFrags parsed = parseKeywordsAndFrags(arg);
+        return new NameOrStudentIdPredicateOrTag(parsed.keywords(), parsed.idFrags(), parsed.tagFrags(),
+                parsed.emailFrags(), parsed.phoneFrags());
+    }
+
+    private ParserUtil.KeywordsAndFrags parseKeywordsAndFrags(ArgumentParseResult arg) throws CommandException {
+        ParserUtil.KeywordsAndFrags parsed = ParserUtil.parseKeywordsAndFrags(arg, preambleOption,
+                studentIdFragmentsOption, tagFragmentsOption, emailFragmentsOption, phoneFragmentsOption);
+        if (parsed.keywords().isEmpty() && parsed.idFrags().isEmpty() && parsed.tagFrags().isEmpty()
+                && parsed.emailFrags().isEmpty() && parsed.phoneFrags().isEmpty()) {
+            throw new CommandException(MESSAGE_EMPTY_COMMAND);
+        }
+        return parsed;
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
 }
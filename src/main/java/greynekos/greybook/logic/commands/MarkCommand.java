@@ -105,10 +105,7 @@ public class MarkCommand extends Command {
 
     private CommandResult executeMarkAll(Model model, AttendanceStatus.Status attendanceStatus) {
         List<Person> personList = model.getFilteredPersonList();
-
-        for (Person person : personList) {
-            model.markPerson(person, attendanceStatus);
-        }
+        model.markPersons(personList, attendanceStatus);
 
         return new CommandResult(String.format(MESSAGE_MARK_ALL_SUCCESS, attendanceStatus));
     }
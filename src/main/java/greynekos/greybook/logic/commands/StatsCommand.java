@@ -0,0 +1,55 @@
+package greynekos.greybook.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.MetricsCenter;
+import greynekos.greybook.logic.commands.exceptions.CommandException;
+import greynekos.greybook.logic.parser.ArgumentParseResult;
+import greynekos.greybook.logic.parser.GreyBookParser;
+import greynekos.greybook.model.Model;
+
+/**
+ * Shows how long each phase of each command has taken, and how much has been
+ * saved, since the app started.
+ */
+public class StatsCommand extends Command {
+
+    public static final String COMMAND_WORD = "stats";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD
+            + ": Shows how long each command has taken to parse, run and save since the app started.\n"
+            + "Example: " + COMMAND_WORD;
+
+    private final CommandMetrics commandMetrics;
+
+    /**
+     * Creates a StatsCommand that shows the command metrics of the app.
+     */
+    public StatsCommand() {
+        this(MetricsCenter.getCommandMetrics());
+    }
+
+    /**
+     * Creates a StatsCommand that shows {@code commandMetrics}.
+     */
+    public StatsCommand(CommandMetrics commandMetrics) {
+        requireNonNull(commandMetrics);
+        this.commandMetrics = commandMetrics;
+    }
+
+    @Override
+    public void addToParser(GreyBookParser parser) {
+        parser.newCommand(COMMAND_WORD, MESSAGE_USAGE, this);
+    }
+
+    @Override
+    public CommandResult execute(Model model, ArgumentParseResult arg) throws CommandException {
+        return new CommandResult(commandMetrics.getReport());
+    }
+
+    @Override
+    public boolean isMutating() {
+        return false;
+    }
+}
@@ -69,10 +69,7 @@ public class UnmarkCommand extends Command {
 
     private CommandResult executeUnmarkAll(Model model) {
         List<Person> personList = model.getFilteredPersonList();
-
-        for (Person person : personList) {
-            model.unmarkPerson(person);
-        }
+        model.unmarkPersons(personList);
 
         return new CommandResult(MESSAGE_UNMARK_ALL_SUCCESS);
     }
@@ -36,7 +36,6 @@ public class CommandUtil {
         if (identifier instanceof Index) {
             return findPersonByIndex(model, (Index) identifier);
         } else if (identifier instanceof StudentID) {
-            model.updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
             return findPersonByStudentId(model, (StudentID) identifier);
         }
         // Should not reach here
@@ -76,7 +75,8 @@ public class CommandUtil {
     }
 
     /**
-     * Finds a person by their student ID.
+     * Finds a person by their student ID, whether or not they are in the displayed
+     * list. The displayed list is not changed.
      *
      * @param model
      *            The model containing the person list
@@ -87,9 +87,7 @@ public class CommandUtil {
      *             if no person with the student ID is found
      */
     private static Person findPersonByStudentId(Model model, StudentID studentId) throws CommandException {
-        List<Person> lastShownList = model.getFilteredPersonList();
-
-        Optional<Person> person = lastShownList.stream().filter(p -> p.getStudentID().equals(studentId)).findFirst();
+        Optional<Person> person = model.getPersonByStudentId(studentId);
 
         if (!person.isPresent()) {
             throw new CommandException(MESSAGE_PERSON_NOT_FOUND);
@@ -1,6 +1,7 @@
 package greynekos.greybook.logic.parser;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,8 @@ import greynekos.greybook.logic.parser.exceptions.ParseException;
  */
 public class ArgumentMultimap {
 
+    private static final Prefix PREAMBLE = new Preamble();
+
     /** Prefixes mapped to their respective arguments **/
     private final Map<Prefix, List<String>> argMultimap = new HashMap<>();
 
@@ -61,12 +64,30 @@ public class ArgumentMultimap {
         return new ArrayList<>(argMultimap.get(prefix));
     }
 
+    /**
+     * Returns all values of {@code prefix} as a read-only view, without copying
+     * them. Returns an empty list if the prefix has no values.
+     */
+    List<String> getValuesView(Prefix prefix) {
+        List<String> values = argMultimap.get(prefix);
+        return values == null ? Collections.emptyList() : Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Returns the number of values of {@code prefix}.
+     */
+    int getValueCount(Prefix prefix) {
+        List<String> values = argMultimap.get(prefix);
+        return values == null ? 0 : values.size();
+    }
+
     /**
      * Returns the preamble (text before the first valid prefix). Trims any
      * leading/trailing spaces.
      */
     public String getPreamble() {
-        return getValue(new Prefix("")).orElse("").trim();
+        List<String> values = argMultimap.get(PREAMBLE);
+        return values == null || values.isEmpty() ? "" : values.get(values.size() - 1).trim();
     }
 
     /**
@@ -14,21 +14,59 @@ import greynekos.greybook.logic.parser.commandoption.RequiredOption;
 import greynekos.greybook.model.Model;
 
 /**
- * Stores a map between {@link Option} and a list representing the objects
- * associated to the option. Provides an interface to access this map.
+ * Stores the {@link Option}s of a command, each with a list representing the
+ * objects associated to the option. Provides an interface to access these
+ * lists.
  */
 public class ArgumentParseResult {
-    private Map<Option<?>, List<?>> optionArgumentToResult;
+    /** The options, with the objects of {@code options[i]} in {@code results[i]} */
+    private final Option<?>[] options;
+    private final List<?>[] results;
     private Command command;
 
     /**
      * Stores the map and command provided
      */
     public ArgumentParseResult(Command command, Map<Option<?>, List<?>> map) {
-        optionArgumentToResult = map;
+        int size = map == null ? 0 : map.size();
+        options = new Option<?>[size];
+        results = new List<?>[size];
+        if (map != null) {
+            int i = 0;
+            for (Map.Entry<Option<?>, List<?>> entry : map.entrySet()) {
+                options[i] = entry.getKey();
+                results[i] = entry.getValue();
+                i++;
+            }
+        }
         this.command = command;
     }
 
+    /**
+     * Stores the options, their objects and the command provided. The arrays are
+     * not copied.
+     */
+    ArgumentParseResult(Command command, Option<?>[] options, List<?>[] results) {
+        this.options = options;
+        this.results = results;
+        this.command = command;
+    }
+
+    /**
+     * Returns the objects associated to {@code option}, or null if the option does
+     * not belong to this command. Commands have few options, so they are searched
+     * in order.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> getResults(Option<T> option) {
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equals(option)) {
+                return (List<T>) results[i];
+            }
+        }
+        return null;
+    }
+
     /**
      * Gets the value associated to the option. This value must exist otherwise the
      * input would not have been parsed.
@@ -39,8 +77,7 @@ public class ArgumentParseResult {
      *         {@link MultipleOption}, returns the last value.
      */
     public <T> T getValue(RequiredOption<T> option) {
-        @SuppressWarnings("unchecked")
-        List<T> values = (List<T>) optionArgumentToResult.get(option);
+        List<T> values = getResults(option);
         return values.get(values.size() - 1);
     }
 
@@ -55,8 +92,7 @@ public class ArgumentParseResult {
      *         last value if it exists.
      */
     public <T> Optional<T> getOptionalValue(OptionalOption<T> option) {
-        @SuppressWarnings("unchecked")
-        List<T> values = (List<T>) optionArgumentToResult.get(option);
+        List<T> values = getResults(option);
         return values == null || values.isEmpty()
                 ? Optional.empty()
                 : Optional.ofNullable(values.get(values.size() - 1));
@@ -71,8 +107,7 @@ public class ArgumentParseResult {
      *         belong to this command, returns the empty list.
      */
     public <T> List<T> getAllValues(Option<T> option) {
-        @SuppressWarnings("unchecked")
-        List<T> values = (List<T>) optionArgumentToResult.get(option);
+        List<T> values = getResults(option);
         return values == null ? List.of() : values;
     }
 
@@ -1,9 +1,7 @@
 package greynekos.greybook.logic.parser;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Comparator;
 
 import greynekos.greybook.logic.parser.exceptions.ParseException;
 
@@ -18,9 +16,16 @@ import greynekos.greybook.logic.parser.exceptions.ParseException;
  * discarded.<br>
  * 3. An argument may be repeated and all its values will be accumulated e.g.
  * the value of {@code t/} in the above example.<br>
+ * 4. A prefix is only recognized after a space, and not within quotes. Quotes
+ * are removed from values, and {@code \"} and {@code \\} are unescaped.<br>
+ * The arguments string is read in a single pass, which finds the prefixes and
+ * unescapes the values together.
  */
 public class ArgumentTokenizer {
 
+    private static final String MESSAGE_INVALID_ESCAPE_SEQUENCE = "Invalid escape sequence";
+    private static final String MESSAGE_UNCLOSED_QUOTE = "Expected \" at end of argument";
+
     /**
      * Tokenizes an arguments string and returns an {@code ArgumentMultimap} object
      * that maps prefixes to their respective argument values. Only the given
@@ -38,195 +43,107 @@ public class ArgumentTokenizer {
      *             closed.
      */
     public static ArgumentMultimap tokenize(String argsString, Prefix... prefixes) throws ParseException {
-        List<PrefixPosition> positions = findAllPrefixPositions(argsString, prefixes);
-        return extractArguments(argsString, positions);
+        return tokenizeSorted(argsString, sortLongestFirst(prefixes));
     }
 
     /**
-     * Finds all zero-based prefix positions in the given arguments string.
-     *
-     * @param argsString
-     *            Arguments string of the form:
-     *            {@code preamble <prefix>value <prefix>value ...}
-     * @param prefixes
-     *            Prefixes to find in the arguments string
-     * @return List of zero-based prefix positions in the given arguments string
+     * Returns a copy of {@code prefixes} sorted longest first, so that the longest
+     * matching prefix wins.
      */
-    private static List<PrefixPosition> findAllPrefixPositions(String argsString, Prefix... prefixes) {
-        return Arrays.stream(prefixes).flatMap(prefix -> findPrefixPositions(argsString, prefix).stream())
-                .collect(Collectors.toList());
+    static Prefix[] sortLongestFirst(Prefix... prefixes) {
+        Prefix[] sortedPrefixes = prefixes.clone();
+        Arrays.sort(sortedPrefixes, Comparator.comparingInt((Prefix prefix) -> prefix.getPrefix().length()).reversed());
+        return sortedPrefixes;
     }
 
     /**
-     * {@see findAllPrefixPositions}
+     * Similar to {@link #tokenize(String, Prefix...)}, but with prefixes that have
+     * already been sorted by {@link #sortLongestFirst(Prefix...)}.
      */
-    private static List<PrefixPosition> findPrefixPositions(String argsString, Prefix prefix) {
-        List<PrefixPosition> positions = new ArrayList<>();
-
-        int prefixPosition = findPrefixPosition(argsString, prefix.getPrefix(), 0);
-        while (prefixPosition != -1) {
-            PrefixPosition extendedPrefix = new PrefixPosition(prefix, prefixPosition);
-            positions.add(extendedPrefix);
-            prefixPosition = findPrefixPosition(argsString, prefix.getPrefix(), prefixPosition);
-        }
-
-        return positions;
-    }
+    static ArgumentMultimap tokenizeSorted(String argsString, Prefix[] sortedPrefixes) throws ParseException {
+        ArgumentMultimap argMultimap = new ArgumentMultimap();
+        StringBuilder value = new StringBuilder();
+        Prefix currentPrefix = new Preamble();
 
-    /**
-     * Returns the index of the first occurrence of {@code prefix} in
-     * {@code argsString} starting from index {@code fromIndex}. An occurrence is
-     * valid if there is a whitespace before {@code prefix}, and the prefix is not
-     * escaped by having surrounding quotes. Returns -1 if no such occurrence can be
-     * found.
-     *
-     * E.g if {@code argsString} = "e/hip/900", {@code prefix} = "p/" and
-     * {@code fromIndex} = 0, this method returns -1 as there are no valid
-     * occurrences of "p/" with whitespace before it. However, if {@code argsString}
-     * = "e/hi p/900", {@code prefix} = "p/" and {@code fromIndex} = 0, this method
-     * returns 5.
-     */
-    private static int findPrefixPosition(String argsString, String prefix, int fromIndex) {
         boolean isInQuotes = false;
-        for (int i = fromIndex; i < argsString.length(); i++) {
-            char c = argsString.charAt(i);
+        boolean isBackslash = false;
+        boolean hasContent = false;
+        // Whitespace is only added to the value once a later character shows it is
+        // not trailing whitespace
+        int pendingWhitespaceStart = -1;
 
-            if (c == '"') {
-                int backslashes = 0;
-                int j = i - 1;
-                while (j >= 0 && argsString.charAt(j) == '\\') {
-                    backslashes += 1;
-                    j--;
-                }
+        for (int i = 0; i < argsString.length(); i++) {
+            char c = argsString.charAt(i);
 
-                if (backslashes % 2 == 0) {
-                    isInQuotes = !isInQuotes;
+            if (c == ' ' && !isInQuotes) {
+                Prefix nextPrefix = findPrefixAt(argsString, i + 1, sortedPrefixes);
+                if (nextPrefix != null) {
+                    argMultimap.put(currentPrefix, value.toString());
+                    value.setLength(0);
+                    currentPrefix = nextPrefix;
+                    isBackslash = false;
+                    hasContent = false;
+                    pendingWhitespaceStart = -1;
+                    i += nextPrefix.getPrefix().length();
+                    continue;
                 }
             }
 
-            if (!isInQuotes && c == ' ' && argsString.startsWith(prefix, i + 1)) {
-                return i + 1;
+            if (c <= ' ') {
+                // Leading whitespace is discarded
+                if (hasContent && pendingWhitespaceStart == -1) {
+                    pendingWhitespaceStart = i;
+                }
+                continue;
             }
-        }
-
-        return -1;
-    }
-
-    /**
-     * Extracts prefixes and their argument values, and returns an
-     * {@code ArgumentMultimap} object that maps the extracted prefixes to their
-     * respective arguments. Prefixes are extracted based on their zero-based
-     * positions in {@code argsString}.
-     *
-     * @param argsString
-     *            Arguments string of the form:
-     *            {@code preamble <prefix>value <prefix>value ...}
-     * @param prefixPositions
-     *            Zero-based positions of all prefixes in {@code argsString}
-     * @return ArgumentMultimap object that maps prefixes to their arguments
-     */
-    private static ArgumentMultimap extractArguments(String argsString, List<PrefixPosition> prefixPositions)
-            throws ParseException {
-
-        // Sort by start position
-        prefixPositions.sort((prefix1, prefix2) -> prefix1.getStartPosition() - prefix2.getStartPosition());
+            hasContent = true;
 
-        // Insert a PrefixPosition to represent the preamble
-        PrefixPosition preambleMarker = new PrefixPosition(new Preamble(), 0);
-        prefixPositions.add(0, preambleMarker);
-
-        // Add a dummy PrefixPosition to represent the end of the string
-        PrefixPosition endPositionMarker = new PrefixPosition(new Preamble(), argsString.length());
-        prefixPositions.add(endPositionMarker);
-
-        // Map prefixes to their argument values (if any)
-        ArgumentMultimap argMultimap = new ArgumentMultimap();
-        for (int i = 0; i < prefixPositions.size() - 1; i++) {
-            // Extract and store prefixes and their arguments
-            Prefix argPrefix = prefixPositions.get(i).getPrefix();
-            String argValue = extractArgumentValue(argsString, prefixPositions.get(i), prefixPositions.get(i + 1));
-            argMultimap.put(argPrefix, argValue);
-        }
-
-        return argMultimap;
-    }
-
-    /**
-     * Returns the trimmed value of the argument in the arguments string specified
-     * by {@code currentPrefixPosition}. The end position of the value is determined
-     * by {@code nextPrefixPosition}. Also transforms escape characters into the
-     * character they are representing
-     *
-     * @throws ParseException
-     *             if there is an invalid escape sequence or a " is not closed.
-     */
-    private static String extractArgumentValue(String argsString, PrefixPosition currentPrefixPosition,
-            PrefixPosition nextPrefixPosition) throws ParseException {
-        Prefix prefix = currentPrefixPosition.getPrefix();
-
-        int valueStartPos = currentPrefixPosition.getStartPosition() + prefix.getPrefix().length();
-        String value = argsString.substring(valueStartPos, nextPrefixPosition.getStartPosition()).trim();
-
-        StringBuilder escapedValue = new StringBuilder();
-        boolean isBackslash = false;
-        int startOfQuotes = -1;
-
-        for (int i = 0; i < value.length(); i++) {
-            char c = value.charAt(i);
-
-            if (c != '"' && c != '\\') {
+            if (pendingWhitespaceStart != -1) {
                 if (isBackslash) {
-                    throw new ParseException("Invalid escape sequence");
+                    throw new ParseException(MESSAGE_INVALID_ESCAPE_SEQUENCE);
                 }
-                escapedValue.append(c);
+                value.append(argsString, pendingWhitespaceStart, i);
+                pendingWhitespaceStart = -1;
             }
 
             if (c == '\\') {
                 if (isBackslash) {
-                    escapedValue.append(c);
+                    value.append(c);
                 }
-
                 isBackslash = !isBackslash;
-            }
-
-            if (c == '"') {
+            } else if (c == '"') {
                 if (isBackslash) {
-                    escapedValue.append(c);
+                    value.append(c);
                     isBackslash = false;
-                } else if (startOfQuotes == -1) {
-                    startOfQuotes = i;
                 } else {
-                    startOfQuotes = -1;
+                    isInQuotes = !isInQuotes;
+                }
+            } else {
+                if (isBackslash) {
+                    throw new ParseException(MESSAGE_INVALID_ESCAPE_SEQUENCE);
                 }
+                value.append(c);
             }
         }
 
-        if (startOfQuotes != -1) {
-            throw new ParseException("Expected \" at end of argument");
+        if (isInQuotes) {
+            throw new ParseException(MESSAGE_UNCLOSED_QUOTE);
         }
-
-        return escapedValue.toString();
+        argMultimap.put(currentPrefix, value.toString());
+        return argMultimap;
     }
 
     /**
-     * Represents a prefix's position in an arguments string.
+     * Returns the first of {@code prefixes} that {@code argsString} has at
+     * {@code index}, or null if there is none.
      */
-    private static class PrefixPosition {
-        private int startPosition;
-        private final Prefix prefix;
-
-        PrefixPosition(Prefix prefix, int startPosition) {
-            this.prefix = prefix;
-            this.startPosition = startPosition;
-        }
-
-        int getStartPosition() {
-            return startPosition;
-        }
-
-        Prefix getPrefix() {
-            return prefix;
+    private static Prefix findPrefixAt(String argsString, int index, Prefix[] prefixes) {
+        for (Prefix prefix : prefixes) {
+            if (argsString.startsWith(prefix.getPrefix(), index)) {
+                return prefix;
+            }
         }
+        return null;
     }
 
 }
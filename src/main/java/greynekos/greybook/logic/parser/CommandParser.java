@@ -1,21 +1,10 @@
 package greynekos.greybook.logic.parser;
 
-import static greynekos.greybook.logic.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
-
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import greynekos.greybook.logic.commands.Command;
-import greynekos.greybook.logic.parser.commandoption.MutuallyExclusiveOption;
-import greynekos.greybook.logic.parser.commandoption.NoDuplicateOption;
-import greynekos.greybook.logic.parser.commandoption.OneOrMorePreambleOption;
 import greynekos.greybook.logic.parser.commandoption.Option;
-import greynekos.greybook.logic.parser.commandoption.PrefixOption;
-import greynekos.greybook.logic.parser.commandoption.RequiredOption;
-import greynekos.greybook.logic.parser.commandoption.SinglePreambleOption;
 import greynekos.greybook.logic.parser.exceptions.ParseException;
 
 /**
@@ -28,6 +17,8 @@ public class CommandParser {
     private List<Option<?>> options = new ArrayList<>();
     private String messageUsage;
     private Command command;
+    /** The compiled options, or null if options were added since the last compile */
+    private volatile ParsePlan parsePlan;
 
     CommandParser(String messageUsage, Command command) {
         this.messageUsage = messageUsage;
@@ -45,6 +36,7 @@ public class CommandParser {
         for (Option<?> option : options) {
             this.options.add(option);
         }
+        parsePlan = null;
         return this;
     }
 
@@ -53,6 +45,7 @@ public class CommandParser {
      */
     public CommandParser addOption(Option<?> option) {
         options.add(option);
+        parsePlan = null;
         return this;
     }
 
@@ -75,78 +68,23 @@ public class CommandParser {
      *             allowed
      */
     public ArgumentParseResult parse(String arguments) throws ParseException {
-        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(arguments, getPrefixOptionsPrefixes());
-
-        List<Option<?>> missingPrefixes = getMissingOptions(argMultimap, getRequiredPrefixes());
-        if (!missingPrefixes.isEmpty()) {
-            // Show command format if no fields
-            if (missingPrefixes.size() == getRequiredPrefixes().length) {
-                throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, messageUsage));
-            }
-            // Else specify missing prefixes
-            throw new ParseException(
-                    String.format(MESSAGE_MISSING_REQUIRED_OPTIONS_FORMAT, String.join(", ", missingPrefixes.stream()
-                            .map(option -> option.getPrefix().getPrefix() + option.getName()).toList())));
-        }
-
-        argMultimap.verifyNoDuplicatePrefixesFor(getNoDuplicatePrefixes());
-        argMultimap.verifyNoMutuallyExclusiveOptionsFor(getMutuallyExclusiveOptions());
-
-        Map<Option<?>, List<?>> optionArgumentToResult = new HashMap<>();
-        for (Option<?> option : options) {
-            List<Object> result = new ArrayList<>();
-            if (option instanceof OneOrMorePreambleOption) {
-                for (String preamble : argMultimap.getPreamble().split("\\s+")) {
-                    result.add(option.parseOptionArgument(preamble));
-                }
-            } else if (option instanceof SinglePreambleOption) {
-                result.add(option.parseOptionArgument(argMultimap.getPreamble()));
-            } else {
-                for (String arg : argMultimap.getAllValues(option.getPrefix())) {
-                    result.add(option.parseOptionArgument(arg));
-                }
-            }
-            optionArgumentToResult.put(option, result);
-        }
-
-        return new ArgumentParseResult(command, optionArgumentToResult);
-    }
-
-    private Prefix[] getPrefixOptionsPrefixes() {
-        return filterPrefixByInstance(PrefixOption.class);
-    }
-
-    private Prefix[] getRequiredPrefixes() {
-        return filterPrefixByInstance(RequiredOption.class);
-    }
-
-    private Prefix[] getNoDuplicatePrefixes() {
-        return filterPrefixByInstance(NoDuplicateOption.class);
-    }
-
-    private MutuallyExclusiveOption<?>[] getMutuallyExclusiveOptions() {
-        return options.stream().filter(option -> MutuallyExclusiveOption.class.isInstance(option)).toList()
-                .toArray(new MutuallyExclusiveOption[0]);
-    }
-
-    private Prefix[] filterPrefixByInstance(Class<?> cls) {
-        return options.stream().filter(option -> cls.isInstance(option)).map(Option::getPrefix).toList()
-                .toArray(new Prefix[0]);
+        return getParsePlan().parse(arguments);
     }
 
     /**
-     * Returns true if none of the prefixes contains empty {@code Optional} values
-     * in the given {@code ArgumentMultimap}.
+     * Compiles the options added so far into the plan used by
+     * {@link #parse(String)}, if they have not been compiled yet.
      */
-    private List<Option<?>> getMissingOptions(ArgumentMultimap argumentMultimap, Prefix... prefixes) {
-        return options.stream().filter(option -> Arrays.asList(prefixes).contains(option.getPrefix()))
-                .filter(option -> {
-                    if (option.getPrefix().getPrefix().equals("")) {
-                        if (argumentMultimap.getPreamble().trim().equals("")) {
-                            return true;
-                        }
-                    }
-                    return argumentMultimap.getValue(option.getPrefix()).isEmpty();
-                }).toList();
+    void compileParsePlan() {
+        getParsePlan();
+    }
+
+    private ParsePlan getParsePlan() {
+        ParsePlan plan = parsePlan;
+        if (plan == null) {
+            plan = ParsePlan.compile(command, messageUsage, options);
+            parsePlan = plan;
+        }
+        return plan;
     }
 }
@@ -35,11 +35,19 @@ public class GreyBookParser {
     public CommandParser newCommand(String name, String messageUsage, Command command) {
         CommandParser cp = new CommandParser(messageUsage, command);
         commands.put(name, cp);
-        logger.fine("Added new command: " + name);
+        logger.fine(() -> "Added new command: " + name);
 
         return cp;
     }
 
+    /**
+     * Compiles the options of every command into the plans used to parse their
+     * arguments, so that the first use of each command does not pay for it.
+     */
+    public void compileParsePlans() {
+        commands.values().forEach(CommandParser::compileParsePlan);
+    }
+
     /**
      * Returns the command associated with the command word
      *
@@ -71,10 +79,10 @@ public class GreyBookParser {
         final String commandWord = matcher.group("commandWord");
         final String arguments = matcher.group("arguments");
 
-        logger.fine("Command word: " + commandWord + "; Arguments: " + arguments);
+        logger.fine(() -> "Command word: " + commandWord + "; Arguments: " + arguments);
 
         if (!commands.containsKey(commandWord)) {
-            logger.finer("This user input caused a ParseException: " + userInput);
+            logger.finer(() -> "This user input caused a ParseException: " + userInput);
             throw new ParseException(MESSAGE_UNKNOWN_COMMAND);
         }
 
@@ -0,0 +1,244 @@
+package greynekos.greybook.logic.parser;
+
+import static greynekos.greybook.commons.util.AppUtil.checkArgument;
+import static greynekos.greybook.logic.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import greynekos.greybook.logic.Messages;
+import greynekos.greybook.logic.commands.Command;
+import greynekos.greybook.logic.parser.commandoption.MutuallyExclusiveOption;
+import greynekos.greybook.logic.parser.commandoption.NoDuplicateOption;
+import greynekos.greybook.logic.parser.commandoption.OneOrMorePreambleOption;
+import greynekos.greybook.logic.parser.commandoption.Option;
+import greynekos.greybook.logic.parser.commandoption.PrefixOption;
+import greynekos.greybook.logic.parser.commandoption.RequiredOption;
+import greynekos.greybook.logic.parser.commandoption.SinglePreambleOption;
+import greynekos.greybook.logic.parser.exceptions.ParseException;
+
+/**
+ * An immutable plan for parsing the arguments of a command, compiled once from
+ * the options of its {@link CommandParser}. Options are numbered in the order
+ * they were added, and the plan holds the prefixes to tokenize with, bitmasks
+ * of the required and no-duplicate options and the groups of mutually
+ * exclusive options, so that parsing does not look at the option types again.
+ */
+final class ParsePlan {
+    static final int MAX_OPTIONS = Long.SIZE;
+
+    static final String MESSAGE_TOO_MANY_OPTIONS = "A command can have at most " + MAX_OPTIONS + " options";
+
+    /**
+     * How the arguments of an option are taken from the tokenized arguments.
+     */
+    private enum Source {
+        /** Each word of the preamble is an argument */
+        PREAMBLE_WORDS,
+        /** The whole preamble is the argument */
+        PREAMBLE,
+        /** Each value of the option's prefix is an argument */
+        PREFIX_VALUES
+    }
+
+    private final Command command;
+    private final String messageUsage;
+    private final Option<?>[] options;
+    private final Source[] sources;
+    private final Prefix[] sortedPrefixes;
+    private final long requiredMask;
+    private final int requiredOptionCount;
+    private final long noDuplicateMask;
+    private final long[] exclusiveGroupMasks;
+
+    private ParsePlan(Command command, String messageUsage, Option<?>[] options, Source[] sources,
+            Prefix[] sortedPrefixes, long requiredMask, int requiredOptionCount, long noDuplicateMask,
+            long[] exclusiveGroupMasks) {
+        this.command = command;
+        this.messageUsage = messageUsage;
+        this.options = options;
+        this.sources = sources;
+        this.sortedPrefixes = sortedPrefixes;
+        this.requiredMask = requiredMask;
+        this.requiredOptionCount = requiredOptionCount;
+        this.noDuplicateMask = noDuplicateMask;
+        this.exclusiveGroupMasks = exclusiveGroupMasks;
+    }
+
+    /**
+     * Compiles the plan for parsing the arguments of {@code command} with
+     * {@code options}.
+     */
+    static ParsePlan compile(Command command, String messageUsage, List<Option<?>> options) {
+        checkArgument(options.size() <= MAX_OPTIONS, MESSAGE_TOO_MANY_OPTIONS);
+
+        Option<?>[] optionArray = options.toArray(new Option<?>[0]);
+        Source[] sources = new Source[optionArray.length];
+        List<Prefix> prefixes = new ArrayList<>();
+        Set<Prefix> requiredPrefixes = new LinkedHashSet<>();
+        int requiredOptionCount = 0;
+        long noDuplicateMask = 0;
+        Map<String, Long> exclusiveGroups = new LinkedHashMap<>();
+
+        for (int i = 0; i < optionArray.length; i++) {
+            Option<?> option = optionArray[i];
+            if (option instanceof OneOrMorePreambleOption) {
+                sources[i] = Source.PREAMBLE_WORDS;
+            } else if (option instanceof SinglePreambleOption) {
+                sources[i] = Source.PREAMBLE;
+            } else {
+                sources[i] = Source.PREFIX_VALUES;
+            }
+
+            if (option instanceof PrefixOption) {
+                prefixes.add(option.getPrefix());
+            }
+            if (option instanceof RequiredOption) {
+                requiredPrefixes.add(option.getPrefix());
+                requiredOptionCount++;
+            }
+            if (option instanceof NoDuplicateOption) {
+                noDuplicateMask |= 1L << i;
+            }
+            if (option instanceof MutuallyExclusiveOption) {
+                exclusiveGroups.merge(((MutuallyExclusiveOption<?>) option).getPrefixGroup(), 1L << i,
+                        (mask, bit) -> mask | bit);
+            }
+        }
+
+        // Every option with the prefix of a required option must be present
+        long requiredMask = 0;
+        for (int i = 0; i < optionArray.length; i++) {
+            if (requiredPrefixes.contains(optionArray[i].getPrefix())) {
+                requiredMask |= 1L << i;
+            }
+        }
+
+        long[] exclusiveGroupMasks = exclusiveGroups.values().stream().mapToLong(Long::longValue).toArray();
+        return new ParsePlan(command, messageUsage, optionArray, sources,
+                ArgumentTokenizer.sortLongestFirst(prefixes.toArray(new Prefix[0])), requiredMask,
+                requiredOptionCount, noDuplicateMask, exclusiveGroupMasks);
+    }
+
+    /**
+     * Parses {@code arguments} according to this plan.
+     *
+     * @see CommandParser#parse(String)
+     */
+    ArgumentParseResult parse(String arguments) throws ParseException {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenizeSorted(arguments, sortedPrefixes);
+
+        verifyRequiredOptionsPresent(argMultimap);
+        verifyNoDuplicates(argMultimap);
+        verifyNoMutuallyExclusiveOptions(argMultimap);
+
+        List<?>[] results = new List<?>[options.length];
+        for (int i = 0; i < options.length; i++) {
+            results[i] = parseOptionArguments(options[i], sources[i], argMultimap);
+        }
+        return new ArgumentParseResult(command, options, results);
+    }
+
+    private static List<?> parseOptionArguments(Option<?> option, Source source, ArgumentMultimap argMultimap)
+            throws ParseException {
+        switch (source) {
+        case PREAMBLE_WORDS:
+            String[] words = argMultimap.getPreamble().split("\\s+");
+            List<Object> result = new ArrayList<>(words.length);
+            for (String word : words) {
+                result.add(option.parseOptionArgument(word));
+            }
+            return result;
+        case PREAMBLE:
+            return Collections.singletonList(option.parseOptionArgument(argMultimap.getPreamble()));
+        case PREFIX_VALUES:
+            List<String> values = argMultimap.getValuesView(option.getPrefix());
+            if (values.isEmpty()) {
+                return List.of();
+            }
+            List<Object> prefixResult = new ArrayList<>(values.size());
+            for (String value : values) {
+                prefixResult.add(option.parseOptionArgument(value));
+            }
+            return prefixResult;
+        default:
+            throw new AssertionError("Unknown source: " + source);
+        }
+    }
+
+    private void verifyRequiredOptionsPresent(ArgumentMultimap argMultimap) throws ParseException {
+        long missingMask = 0;
+        for (int i = 0; i < options.length; i++) {
+            if ((requiredMask & (1L << i)) != 0 && isMissing(options[i], argMultimap)) {
+                missingMask |= 1L << i;
+            }
+        }
+        if (missingMask == 0) {
+            return;
+        }
+
+        // Show command format if no fields
+        if (Long.bitCount(missingMask) == requiredOptionCount) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, messageUsage));
+        }
+        // Else specify missing prefixes
+        List<String> missingOptions = new ArrayList<>();
+        for (int i = 0; i < options.length; i++) {
+            if ((missingMask & (1L << i)) != 0) {
+                missingOptions.add(options[i].getPrefix().getPrefix() + options[i].getName());
+            }
+        }
+        throw new ParseException(String.format(CommandParser.MESSAGE_MISSING_REQUIRED_OPTIONS_FORMAT,
+                String.join(", ", missingOptions)));
+    }
+
+    private static boolean isMissing(Option<?> option, ArgumentMultimap argMultimap) {
+        if (option.getPrefix().getPrefix().isEmpty()) {
+            return argMultimap.getPreamble().isEmpty();
+        }
+        return argMultimap.getValueCount(option.getPrefix()) == 0;
+    }
+
+    private void verifyNoDuplicates(ArgumentMultimap argMultimap) throws ParseException {
+        Set<Prefix> duplicatedPrefixes = null;
+        for (int i = 0; i < options.length; i++) {
+            Prefix prefix = options[i].getPrefix();
+            if ((noDuplicateMask & (1L << i)) != 0 && argMultimap.getValueCount(prefix) > 1) {
+                if (duplicatedPrefixes == null) {
+                    duplicatedPrefixes = new LinkedHashSet<>();
+                }
+                duplicatedPrefixes.add(prefix);
+            }
+        }
+        if (duplicatedPrefixes != null) {
+            throw new ParseException(
+                    Messages.getErrorMessageForDuplicatePrefixes(duplicatedPrefixes.toArray(new Prefix[0])));
+        }
+    }
+
+    private void verifyNoMutuallyExclusiveOptions(ArgumentMultimap argMultimap) throws ParseException {
+        for (long groupMask : exclusiveGroupMasks) {
+            long presentMask = 0;
+            for (int i = 0; i < options.length; i++) {
+                if ((groupMask & (1L << i)) != 0 && argMultimap.getValueCount(options[i].getPrefix()) > 0) {
+                    presentMask |= 1L << i;
+                }
+            }
+            if (Long.bitCount(presentMask) > 1) {
+                List<Prefix> presentPrefixes = new ArrayList<>();
+                for (int i = 0; i < options.length; i++) {
+                    if ((presentMask & (1L << i)) != 0) {
+                        presentPrefixes.add(options[i].getPrefix());
+                    }
+                }
+                throw new ParseException(Messages.getErrorMessageForMutuallyExclusivePrefixes(
+                        presentPrefixes.toArray(new Prefix[0])));
+            }
+        }
+    }
+}
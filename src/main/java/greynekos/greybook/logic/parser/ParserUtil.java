@@ -9,6 +9,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import greynekos.greybook.commons.core.index.Index;
@@ -45,11 +46,24 @@ public class ParserUtil {
                     + " a valid Student ID (format: A0000000Y), or the keyword \"all\".";
 
     private static final String ID_FRAGMENT_INVALID = "Student ID fragments can only contain alphanumeric characters.";
+    private static final String EMAIL_FRAGMENT_INVALID =
+            "Email fragments can only contain alphanumeric characters and +_.@-.";
+    private static final String EMAIL_FRAGMENT_VALIDATION_REGEX = "[\\p{Alnum}+_.@-]+";
+    private static final String PHONE_FRAGMENT_INVALID = "Phone fragments can only contain digits and '+'.";
+    private static final String PHONE_FRAGMENT_VALIDATION_REGEX = "[+\\d]+";
+    private static final String ID_FRAGMENT_VALIDATION_REGEX = "\\p{Alnum}+";
+
+    // Compiled once, as String#matches compiles its regex on every call
+    private static final Pattern VALID_NUMBER_PATTERN = Pattern.compile(VALID_NUMBER_REGEX);
+    private static final Pattern ID_FRAGMENT_PATTERN = Pattern.compile(ID_FRAGMENT_VALIDATION_REGEX);
+    private static final Pattern EMAIL_FRAGMENT_PATTERN = Pattern.compile(EMAIL_FRAGMENT_VALIDATION_REGEX);
+    private static final Pattern PHONE_FRAGMENT_PATTERN = Pattern.compile(PHONE_FRAGMENT_VALIDATION_REGEX);
 
     /**
      * Record class used by Find command.
      */
-    public record KeywordsIdAndTagFrags(List<String> keywords, List<String> idFrags, List<String> tagFrags) {
+    public record KeywordsAndFrags(List<String> keywords, List<String> idFrags, List<String> tagFrags,
+            List<String> emailFrags, List<String> phoneFrags) {
     }
 
     /**
@@ -84,7 +98,7 @@ public class ParserUtil {
             return parseIndex(trimmed);
         }
 
-        if (trimmed.matches(VALID_NUMBER_REGEX)) {
+        if (VALID_NUMBER_PATTERN.matcher(trimmed).matches()) {
             throw new ParseException(MESSAGE_INVALID_INDEX);
         }
 
@@ -232,49 +246,70 @@ public class ParserUtil {
     }
 
     /**
-     * Parses keywords (from preamble) and student ID fragments (from i/ values)
-     * from {@code arg}. Returns an immutable container (record) holding both lists.
+     * Parses keywords (from preamble) and student ID, tag, email and phone
+     * fragments (from i/, t/, e/ and p/ values) from {@code arg}. Returns an
+     * immutable container (record) holding the lists.
      */
-    public static KeywordsIdAndTagFrags parseKeywordsAndIdFrags(ArgumentParseResult arg,
+    public static KeywordsAndFrags parseKeywordsAndFrags(ArgumentParseResult arg,
             OptionalSinglePreambleOption<String> preambleOption,
-            ZeroOrMorePrefixOption<String> studentIdFragmentsOption, ZeroOrMorePrefixOption<String> tagsFragmentsOption)
+            ZeroOrMorePrefixOption<String> studentIdFragmentsOption, ZeroOrMorePrefixOption<String> tagsFragmentsOption,
+            ZeroOrMorePrefixOption<String> emailFragmentsOption, ZeroOrMorePrefixOption<String> phoneFragmentsOption)
             throws CommandException {
 
-        requireAllNonNull(arg, preambleOption, studentIdFragmentsOption, tagsFragmentsOption);
+        requireAllNonNull(arg, preambleOption, studentIdFragmentsOption, tagsFragmentsOption, emailFragmentsOption,
+                phoneFragmentsOption);
 
         List<String> keywords = new ArrayList<>();
         List<String> idFrags = new ArrayList<>();
         List<String> tagFrags = new ArrayList<>();
+        List<String> emailFrags = new ArrayList<>();
+        List<String> phoneFrags = new ArrayList<>();
 
         arg.getOptionalValue(preambleOption).map(
                 s -> Arrays.stream(s.trim().split("\\s+")).filter(tok -> !tok.isBlank()).collect(Collectors.toList()))
                 .ifPresent(keywords::addAll);
 
-        for (String raw : arg.getAllValues(studentIdFragmentsOption)) {
-            if (raw == null) {
-                continue;
-            }
-            String trimmed = raw.trim();
-            if (trimmed.isEmpty()) {
-                continue;
-            }
+        addFragments(arg.getAllValues(studentIdFragmentsOption), idFrags, keywords);
+        addFragments(arg.getAllValues(tagsFragmentsOption), tagFrags, keywords);
+        addFragments(arg.getAllValues(emailFragmentsOption), emailFrags, keywords);
+        addFragments(arg.getAllValues(phoneFragmentsOption), phoneFrags, keywords);
 
-            String[] parts = trimmed.split("\\s+");
-            idFrags.add(parts[0]);
-            for (int i = 1; i < parts.length; i++) {
-                String tok = parts[i];
-                if (!tok.isBlank()) {
-                    keywords.add(tok);
-                }
-            }
+        List<String> errorMessages = new ArrayList<>();
+
+        if (keywords.stream().anyMatch(keyword -> !Name.isValidName(keyword))) {
+            errorMessages.add(Name.MESSAGE_CONSTRAINTS);
+        }
+        if (idFrags.stream().anyMatch(idFrag -> !ID_FRAGMENT_PATTERN.matcher(idFrag).matches())) {
+            errorMessages.add(ID_FRAGMENT_INVALID);
+        }
+        if (tagFrags.stream().anyMatch(tagFrag -> !Tag.isValidTagName(tagFrag))) {
+            errorMessages.add(Tag.MESSAGE_CONSTRAINTS);
+        }
+        if (emailFrags.stream().anyMatch(emailFrag -> !EMAIL_FRAGMENT_PATTERN.matcher(emailFrag).matches())) {
+            errorMessages.add(EMAIL_FRAGMENT_INVALID);
+        }
+        if (phoneFrags.stream().anyMatch(phoneFrag -> !PHONE_FRAGMENT_PATTERN.matcher(phoneFrag).matches())) {
+            errorMessages.add(PHONE_FRAGMENT_INVALID);
+        }
+        if (!errorMessages.isEmpty()) {
+            throw new CommandException(String.join("\n", errorMessages));
         }
 
-        for (String raw : arg.getAllValues(tagsFragmentsOption)) {
+        return new KeywordsAndFrags(List.copyOf(keywords), List.copyOf(idFrags), List.copyOf(tagFrags),
+                List.copyOf(emailFrags), List.copyOf(phoneFrags));
+    }
+
+    /**
+     * Adds the first word of each of {@code rawValues} to {@code frags}, and any
+     * further words to {@code keywords}. Blank values are skipped.
+     */
+    private static void addFragments(List<String> rawValues, List<String> frags, List<String> keywords) {
+        for (String raw : rawValues) {
             if (raw == null || raw.trim().isEmpty()) {
                 continue;
             }
             String[] parts = raw.trim().split("\\s+");
-            tagFrags.add(parts[0]);
+            frags.add(parts[0]);
             for (int i = 1; i < parts.length; i++) {
                 String tok = parts[i];
                 if (!tok.isBlank()) {
@@ -282,22 +317,5 @@ public class ParserUtil {
                 }
             }
         }
-
-        List<String> errorMessages = new ArrayList<>();
-
-        if (keywords.stream().anyMatch(keyword -> !keyword.matches(Name.VALIDATION_REGEX))) {
-            errorMessages.add(Name.MESSAGE_CONSTRAINTS);
-        }
-        if (idFrags.stream().anyMatch(idFrag -> !idFrag.matches("\\p{Alnum}+"))) {
-            errorMessages.add(ID_FRAGMENT_INVALID);
-        }
-        if (tagFrags.stream().anyMatch(tagFrag -> !tagFrag.matches(Tag.VALIDATION_REGEX))) {
-            errorMessages.add(Tag.MESSAGE_CONSTRAINTS);
-        }
-        if (!errorMessages.isEmpty()) {
-            throw new CommandException(String.join("\n", errorMessages));
-        }
-
-        return new KeywordsIdAndTagFrags(List.copyOf(keywords), List.copyOf(idFrags), List.copyOf(tagFrags));
     }
 }
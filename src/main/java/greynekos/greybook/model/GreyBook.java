@@ -3,9 +3,13 @@ package greynekos.greybook.model;
 import static java.util.Objects.requireNonNull;
 
 import java.util.List;
+import java.util.Optional;
 
 import greynekos.greybook.commons.util.ToStringBuilder;
 import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.person.TagIndex;
+import greynekos.greybook.model.person.TrigramIndex;
 import greynekos.greybook.model.person.UniquePersonList;
 import javafx.collections.ObservableList;
 
@@ -17,6 +21,11 @@ public class GreyBook implements ReadOnlyGreyBook {
 
     private final UniquePersonList persons;
 
+    /** Incremented on every change to the person list */
+    private long version;
+
+    private GreyBookChangeLog changeLog = GreyBookChangeLog.start();
+
     /*
      * The 'unusual' code block below is a non-static initialization block,
      * sometimes used to avoid duplication between constructors. See
@@ -48,6 +57,8 @@ public class GreyBook implements ReadOnlyGreyBook {
      */
     public void setPersons(List<Person> persons) {
         this.persons.setPersons(persons);
+        changeLog = GreyBookChangeLog.start();
+        version++;
     }
 
     /**
@@ -70,12 +81,38 @@ public class GreyBook implements ReadOnlyGreyBook {
         return persons.contains(person);
     }
 
+    /**
+     * Returns the person with the given {@code studentId}, if they exist in the
+     * GreyBook.
+     */
+    public Optional<Person> getPersonByStudentId(StudentID studentId) {
+        return persons.getPersonByStudentId(studentId);
+    }
+
+    /**
+     * Returns the index of the persons with each tag name, which is kept up to
+     * date as the GreyBook changes.
+     */
+    public TagIndex getTagIndex() {
+        return persons.getTagIndex();
+    }
+
+    /**
+     * Returns the index of the trigrams of the fields of each person, which is
+     * kept up to date as the GreyBook changes.
+     */
+    public TrigramIndex getTrigramIndex() {
+        return persons.getTrigramIndex();
+    }
+
     /**
      * Adds a person to the GreyBook. The person must not already exist in the
      * GreyBook.
      */
     public void addPerson(Person p) {
         persons.add(p);
+        changeLog = changeLog.put(p);
+        version++;
     }
 
     /**
@@ -88,6 +125,29 @@ public class GreyBook implements ReadOnlyGreyBook {
         requireNonNull(editedPerson);
 
         persons.setPerson(target, editedPerson);
+        changeLog = target.isSamePerson(editedPerson) ? changeLog.put(editedPerson) : GreyBookChangeLog.start();
+        version++;
+    }
+
+    /**
+     * Replaces each person in {@code targets} with the person at the same position
+     * in {@code editedPersons}, as a single change to the person list. Each person
+     * in {@code targets} must exist in the GreyBook and appear only once. The
+     * person identities of {@code editedPersons} must not be the same as another
+     * existing person in the GreyBook, or each other.
+     */
+    public void replacePersons(List<Person> targets, List<Person> editedPersons) {
+        persons.replacePersons(targets, editedPersons);
+        GreyBookChangeLog editedChangeLog = changeLog;
+        for (int i = 0; i < targets.size(); i++) {
+            if (!targets.get(i).isSamePerson(editedPersons.get(i))) {
+                editedChangeLog = GreyBookChangeLog.start();
+                break;
+            }
+            editedChangeLog = editedChangeLog.put(editedPersons.get(i));
+        }
+        changeLog = editedChangeLog;
+        version++;
     }
 
     /**
@@ -96,6 +156,24 @@ public class GreyBook implements ReadOnlyGreyBook {
      */
     public void removePerson(Person key) {
         persons.remove(key);
+        changeLog = changeLog.delete(key.getStudentID());
+        version++;
+    }
+
+    /**
+     * Returns a counter that changes whenever the data in this {@code GreyBook}
+     * changes. Two equal versions mean no data has changed in between.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the log of the changes made to the persons of this {@code GreyBook}
+     * that can be applied to a copy of them one person at a time.
+     */
+    public GreyBookChangeLog getChangeLog() {
+        return changeLog;
     }
 
     //// util methods
@@ -110,6 +188,10 @@ public class GreyBook implements ReadOnlyGreyBook {
         return persons.asUnmodifiableObservableList();
     }
 
+    /**
+     * Returns true if {@code other} is a {@code GreyBook} or a
+     * {@code GreyBookSnapshot} with the same persons in the same order.
+     */
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -117,12 +199,12 @@ public class GreyBook implements ReadOnlyGreyBook {
         }
 
         // instanceof handles nulls
-        if (!(other instanceof GreyBook)) {
+        if (!(other instanceof GreyBook || other instanceof GreyBookSnapshot)) {
             return false;
         }
 
-        GreyBook otherGreyBook = (GreyBook) other;
-        return persons.equals(otherGreyBook.persons);
+        ReadOnlyGreyBook otherGreyBook = (ReadOnlyGreyBook) other;
+        return getPersonList().equals(otherGreyBook.getPersonList());
     }
 
     @Override
@@ -0,0 +1,99 @@
+package greynekos.greybook.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.StudentID;
+
+/**
+ * An immutable log of the changes made to the persons of a {@code GreyBook},
+ * each of which puts or deletes one person. Putting a person who is not in the
+ * list adds them to the end, and putting a person who is replaces them in
+ * place, so applying the changes in order to a copy of the persons keeps the
+ * same order. Changes that cannot be logged this way, such as editing the
+ * student ID of a person, start a new log.
+ *
+ * <p>
+ * Each log points to the log before its last change, so logging a change does
+ * not copy the log, and a snapshot of the {@code GreyBook} can keep the log of
+ * its version while the {@code GreyBook} keeps changing.
+ */
+public final class GreyBookChangeLog {
+
+    /** Maximum number of changes in a log, after which a new log is started */
+    public static final int MAX_LENGTH = 1024;
+
+    private final GreyBookChangeLog previous;
+    private final Change change;
+    private final int length;
+
+    private GreyBookChangeLog(GreyBookChangeLog previous, Change change, int length) {
+        this.previous = previous;
+        this.change = change;
+        this.length = length;
+    }
+
+    /**
+     * Returns a new log without any changes.
+     */
+    public static GreyBookChangeLog start() {
+        return new GreyBookChangeLog(null, null, 0);
+    }
+
+    /**
+     * Returns this log followed by putting {@code person}.
+     */
+    public GreyBookChangeLog put(Person person) {
+        requireNonNull(person);
+        return append(new Change(person.getStudentID(), person));
+    }
+
+    /**
+     * Returns this log followed by deleting the person with {@code studentId}.
+     */
+    public GreyBookChangeLog delete(StudentID studentId) {
+        requireNonNull(studentId);
+        return append(new Change(studentId, null));
+    }
+
+    private GreyBookChangeLog append(Change change) {
+        GreyBookChangeLog base = length >= MAX_LENGTH ? start() : this;
+        return new GreyBookChangeLog(base, change, base.length + 1);
+    }
+
+    /**
+     * Returns the changes logged after {@code earlierLog}, in the order they were
+     * made, or an empty {@code Optional} if this log does not continue
+     * {@code earlierLog}.
+     */
+    public Optional<List<Change>> getChangesSince(GreyBookChangeLog earlierLog) {
+        requireNonNull(earlierLog);
+        List<Change> changes = new ArrayList<>();
+        for (GreyBookChangeLog log = this; log != earlierLog; log = log.previous) {
+            if (log.change == null) {
+                return Optional.empty();
+            }
+            changes.add(log.change);
+        }
+        Collections.reverse(changes);
+        return Optional.of(changes);
+    }
+
+    /**
+     * A change that puts or deletes the person with a student ID.
+     *
+     * @param person
+     *            the person put, or null if the person was deleted.
+     */
+    public record Change(StudentID studentId, Person person) {
+
+        public boolean isDelete() {
+            return person == null;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package greynekos.greybook.model;
+
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.List;
+
+import greynekos.greybook.commons.util.ToStringBuilder;
+import greynekos.greybook.model.person.Person;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * An immutable copy of the persons of a {@code GreyBook} at one version. Persons
+ * are immutable, so a snapshot can be read from any thread while the GreyBook
+ * keeps changing.
+ */
+public final class GreyBookSnapshot implements ReadOnlyGreyBook {
+
+    private final ObservableList<Person> persons;
+    private final long version;
+    private final GreyBookChangeLog changeLog;
+
+    /**
+     * Creates a snapshot of {@code persons} at {@code version} of their GreyBook,
+     * whose changes up to that version are logged in {@code changeLog}.
+     */
+    public GreyBookSnapshot(List<Person> persons, long version, GreyBookChangeLog changeLog) {
+        requireAllNonNull(persons, changeLog);
+        this.persons = FXCollections.unmodifiableObservableList(FXCollections.observableList(List.copyOf(persons)));
+        this.version = version;
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Returns the version of the GreyBook that this is a snapshot of.
+     *
+     * @see GreyBook#getVersion()
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the log of the changes made to the persons of the GreyBook up to
+     * the version of this snapshot.
+     *
+     * @see GreyBook#getChangeLog()
+     */
+    public GreyBookChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    @Override
+    public ObservableList<Person> getPersonList() {
+        return persons;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this).add("persons", persons).add("version", version).toString();
+    }
+
+    /**
+     * Returns true if {@code other} is a {@code GreyBookSnapshot} or a
+     * {@code GreyBook} with the same persons in the same order, regardless of
+     * their versions.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        // instanceof handles nulls
+        if (!(other instanceof GreyBookSnapshot || other instanceof GreyBook)) {
+            return false;
+        }
+
+        ReadOnlyGreyBook otherGreyBook = (ReadOnlyGreyBook) other;
+        return persons.equals(otherGreyBook.getPersonList());
+    }
+
+    @Override
+    public int hashCode() {
+        return persons.hashCode();
+    }
+}
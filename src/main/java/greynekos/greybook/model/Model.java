@@ -1,6 +1,7 @@
 package greynekos.greybook.model;
 
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -8,6 +9,8 @@ import greynekos.greybook.commons.core.GuiSettings;
 import greynekos.greybook.model.person.AttendanceStatus;
 import greynekos.greybook.model.person.Person;
 import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.person.TagIndex;
+import greynekos.greybook.model.person.TrigramIndex;
 import javafx.collections.ObservableList;
 
 /**
@@ -62,9 +65,35 @@ public interface Model {
      */
     void setGreyBook(ReadOnlyGreyBook greyBook);
 
-    /** Returns the GreyBook */
+    /**
+     * Returns the GreyBook, which changes with the model. Only the thread that
+     * changes the model may read it; other threads should use
+     * {@link #getGreyBookSnapshot()}.
+     */
     ReadOnlyGreyBook getGreyBook();
 
+    /**
+     * Returns an immutable snapshot of the current GreyBook, which may be read
+     * from any thread.
+     */
+    GreyBookSnapshot getGreyBookSnapshot();
+
+    /**
+     * Returns a counter that changes whenever the GreyBook data changes.
+     */
+    long getGreyBookVersion();
+
+    /**
+     * Returns the index of the persons with each tag name in the GreyBook.
+     */
+    TagIndex getTagIndex();
+
+    /**
+     * Returns the index of the trigrams of the fields of each person in the
+     * GreyBook.
+     */
+    TrigramIndex getTrigramIndex();
+
     /**
      * Returns true if a person with the same identity as {@code person} exists in
      * the GreyBook.
@@ -102,13 +131,31 @@ public interface Model {
      */
     void unmarkPerson(Person target);
 
+    /**
+     * Sets the attendance status of every person in {@code targets} to
+     * {@code attendanceStatus}, as a single change to the GreyBook. Every person
+     * in {@code targets} must exist in the GreyBook.
+     */
+    void markPersons(List<Person> targets, AttendanceStatus.Status attendanceStatus);
+
+    /**
+     * Removes the attendance status of every person in {@code targets}, as a
+     * single change to the GreyBook. Every person in {@code targets} must exist
+     * in the GreyBook.
+     */
+    void unmarkPersons(List<Person> targets);
+
     /**
      * Returns the person with the given student ID, if they exist in the greybook
      * book.
      */
     Optional<Person> getPersonByStudentId(StudentID studentId);
 
-    /** Returns an unmodifiable view of the filtered person list */
+    /**
+     * Returns an unmodifiable view of the filtered person list. Like
+     * {@link #getGreyBook()}, it may only be read by the thread that changes the
+     * model.
+     */
     ObservableList<Person> getFilteredPersonList();
 
     /**
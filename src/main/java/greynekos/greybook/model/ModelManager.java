@@ -4,20 +4,32 @@ import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 import greynekos.greybook.commons.core.GuiSettings;
 import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.commons.core.jfr.FilterChangeEvent;
 import greynekos.greybook.model.person.AttendanceStatus;
 import greynekos.greybook.model.person.Person;
 import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.person.TagIndex;
+import greynekos.greybook.model.person.TrigramIndex;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 
 /**
  * Represents the in-memory model of the GreyBook data.
+ *
+ * <p>
+ * Changes to the GreyBook are made by one thread at a time, under the write
+ * lock of {@code lock}. Any thread may read the GreyBook through
+ * {@link #getGreyBookSnapshot()}. A snapshot is copied at most once for each
+ * version of the GreyBook, so readers do not block changes for long.
  */
 public class ModelManager implements Model {
     private static final Logger logger = LogsCenter.getLogger(ModelManager.class);
@@ -27,13 +39,17 @@ public class ModelManager implements Model {
     private final History history;
     private final FilteredList<Person> filteredPersons;
 
+    private final StampedLock lock = new StampedLock();
+    /** The latest snapshot taken of {@code greyBook} */
+    private volatile GreyBookSnapshot snapshot;
+
     /**
      * Initializes a ModelManager with the given greyBook and userPrefs.
      */
     public ModelManager(ReadOnlyGreyBook greyBook, ReadOnlyUserPrefs userPrefs, ReadOnlyHistory history) {
         requireAllNonNull(greyBook, userPrefs);
 
-        logger.fine("Initializing with GreyBook: " + greyBook + " and user prefs " + userPrefs);
+        logger.fine(() -> "Initializing with GreyBook: " + greyBook + " and user prefs " + userPrefs);
 
         this.greyBook = new GreyBook(greyBook);
         this.userPrefs = new UserPrefs(userPrefs);
@@ -100,7 +116,12 @@ public class ModelManager implements Model {
 
     @Override
     public void setGreyBook(ReadOnlyGreyBook greyBook) {
-        this.greyBook.resetData(greyBook);
+        long stamp = lock.writeLock();
+        try {
+            this.greyBook.resetData(greyBook);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
@@ -108,20 +129,85 @@ public class ModelManager implements Model {
         return greyBook;
     }
 
+    @Override
+    public GreyBookSnapshot getGreyBookSnapshot() {
+        // Most reads happen between changes, when the latest snapshot is current
+        long stamp = lock.tryOptimisticRead();
+        GreyBookSnapshot currentSnapshot = snapshot;
+        long version = greyBook.getVersion();
+        if (lock.validate(stamp) && currentSnapshot != null && currentSnapshot.getVersion() == version) {
+            return currentSnapshot;
+        }
+
+        stamp = lock.readLock();
+        try {
+            currentSnapshot = snapshot;
+            version = greyBook.getVersion();
+            if (currentSnapshot == null || currentSnapshot.getVersion() != version) {
+                currentSnapshot = new GreyBookSnapshot(greyBook.getPersonList(), version, greyBook.getChangeLog());
+                snapshot = currentSnapshot;
+            }
+            return currentSnapshot;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long getGreyBookVersion() {
+        long stamp = lock.tryOptimisticRead();
+        long version = greyBook.getVersion();
+        if (lock.validate(stamp)) {
+            return version;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return greyBook.getVersion();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public TagIndex getTagIndex() {
+        return greyBook.getTagIndex();
+    }
+
+    @Override
+    public TrigramIndex getTrigramIndex() {
+        return greyBook.getTrigramIndex();
+    }
+
     @Override
     public boolean hasPerson(Person person) {
         requireNonNull(person);
-        return greyBook.hasPerson(person);
+        long stamp = lock.readLock();
+        try {
+            return greyBook.hasPerson(person);
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     @Override
     public void deletePerson(Person target) {
-        greyBook.removePerson(target);
+        long stamp = lock.writeLock();
+        try {
+            greyBook.removePerson(target);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
     public void addPerson(Person person) {
-        greyBook.addPerson(person);
+        long stamp = lock.writeLock();
+        try {
+            greyBook.addPerson(person);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
         updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
     }
 
@@ -129,7 +215,12 @@ public class ModelManager implements Model {
     public void setPerson(Person target, Person editedPerson) {
         requireAllNonNull(target, editedPerson);
 
-        greyBook.setPerson(target, editedPerson);
+        long stamp = lock.writeLock();
+        try {
+            greyBook.setPerson(target, editedPerson);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     @Override
@@ -151,10 +242,39 @@ public class ModelManager implements Model {
         setPerson(target, unmarkedPerson);
     }
 
+    @Override
+    public void markPersons(List<Person> targets, AttendanceStatus.Status attendanceStatus) {
+        requireAllNonNull(targets, attendanceStatus);
+
+        AttendanceStatus newAttendanceStatus = new AttendanceStatus(attendanceStatus);
+        List<Person> personsToMark = List.copyOf(targets);
+        List<Person> markedPersons = new ArrayList<>(personsToMark.size());
+        for (Person target : personsToMark) {
+            markedPersons.add(new Person(target.getName(), target.getPhone(), target.getEmail(),
+                    target.getStudentID(), target.getTags(), newAttendanceStatus));
+        }
+        long stamp = lock.writeLock();
+        try {
+            greyBook.replacePersons(personsToMark, markedPersons);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void unmarkPersons(List<Person> targets) {
+        markPersons(targets, AttendanceStatus.Status.NONE);
+    }
+
     @Override
     public Optional<Person> getPersonByStudentId(StudentID studentId) {
         requireNonNull(studentId);
-        return filteredPersons.stream().filter(person -> person.getStudentID().equals(studentId)).findFirst();
+        long stamp = lock.readLock();
+        try {
+            return greyBook.getPersonByStudentId(studentId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     // =========== Filtered Person List Accessors
@@ -172,7 +292,10 @@ public class ModelManager implements Model {
     @Override
     public void updateFilteredPersonList(Predicate<Person> predicate) {
         requireNonNull(predicate);
+        FilterChangeEvent filterChangeEvent = new FilterChangeEvent();
+        filterChangeEvent.begin();
         filteredPersons.setPredicate(predicate);
+        filterChangeEvent.finish(filteredPersons.size(), filteredPersons.getSource().size());
     }
 
     @Override
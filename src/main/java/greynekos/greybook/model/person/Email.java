@@ -3,6 +3,8 @@ package greynekos.greybook.model.person;
 import static greynekos.greybook.commons.util.AppUtil.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import greynekos.greybook.model.util.ValidationUtil;
+
 /**
  * Represents a Person's email in the GreyBook. Guarantees: immutable; is valid
  * as declared in {@link #isValidEmail(String)}
@@ -38,7 +40,7 @@ public class Email {
      * Returns if a given string is a valid email.
      */
     public static boolean isValidEmail(String test) {
-        return test.matches(VALIDATION_REGEX);
+        return ValidationUtil.isValidEmail(test);
     }
 
     @Override
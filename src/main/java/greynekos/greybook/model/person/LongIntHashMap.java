@@ -0,0 +1,141 @@
+package greynekos.greybook.model.person;
+
+import java.util.Arrays;
+
+/**
+ * A map from {@code long} keys to {@code int} values that stores both in
+ * primitive arrays. Keys must never be zero, as zero marks an empty slot.
+ * Collisions are resolved by linear probing, and removals shift later entries
+ * back so that no tombstones are needed.
+ */
+class LongIntHashMap {
+
+    /** Returned by {@link #get(long)} when the key is absent, so it cannot be a value */
+    public static final int MISSING_VALUE = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a map that can hold {@code expectedSize} entries without resizing.
+     */
+    LongIntHashMap(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Returns the value mapped to {@code key}, or {@link #MISSING_VALUE} if there
+     * is none.
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return MISSING_VALUE;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != MISSING_VALUE;
+    }
+
+    /**
+     * Maps {@code key} to {@code value}, replacing any existing mapping.
+     */
+    public void put(long key, int value) {
+        assert key != EMPTY && value != MISSING_VALUE;
+
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+    }
+
+    /**
+     * Removes the mapping for {@code key}, if any.
+     */
+    public void remove(long key) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Shift back any entry in the same probe run that would become unreachable
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slotOf(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[newCapacity];
+        values = new int[newCapacity];
+
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int slot = slotOf(oldKeys[i], mask);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private static int slotOf(long key, int mask) {
+        return (int) ((key * HASH_MULTIPLIER) >>> 32) & mask;
+    }
+}
@@ -3,6 +3,8 @@ package greynekos.greybook.model.person;
 import static greynekos.greybook.commons.util.AppUtil.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import greynekos.greybook.model.util.ValidationUtil;
+
 /**
  * Represents a Person's name in the GreyBook. Guarantees: immutable; is valid
  * as declared in {@link #isValidName(String)}
@@ -37,7 +39,7 @@ public class Name {
      * Returns true if a given string is a valid name.
      */
     public static boolean isValidName(String test) {
-        return test.matches(VALIDATION_REGEX);
+        return ValidationUtil.isValidName(test);
     }
 
     @Override
@@ -1,8 +1,10 @@
 package greynekos.greybook.model.person;
 
 import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import greynekos.greybook.commons.util.StringUtil;
@@ -13,33 +15,135 @@ import greynekos.greybook.commons.util.StringUtil;
  */
 public class NameOrStudentIdPredicate implements Predicate<Person> {
 
+    /** The candidate fields of every person when there is no index */
+    protected static final int ALL_FIELDS = -1;
+
     protected final List<String> keywords;
     protected final List<String> idFragmentsUp;
+    protected final TrigramIndex trigramIndex;
+
+    // Packed student IDs of the candidates, each mapped to the bits of the fields
+    // it is a candidate for, valid while the indexes are at this version
+    private LongIntHashMap candidateFields;
+    private int unrestrictedFields;
+    private long candidatesVersion;
 
     /**
-     * Constructs a NameOrStudentIdPredicate.
+     * Constructs a NameOrStudentIdPredicate that checks every person.
      */
     public NameOrStudentIdPredicate(List<String> keywords, List<String> idFragments) {
         requireAllNonNull(keywords, idFragments);
         this.keywords = keywords;
         this.idFragmentsUp = idFragments.stream().map(String::toUpperCase).toList();
+        this.trigramIndex = null;
+    }
+
+    /**
+     * Constructs a NameOrStudentIdPredicate that only checks the persons that
+     * {@code trigramIndex} finds to be candidates. Only persons in the list
+     * indexed by {@code trigramIndex} can match.
+     */
+    public NameOrStudentIdPredicate(List<String> keywords, List<String> idFragments, TrigramIndex trigramIndex) {
+        requireAllNonNull(keywords, idFragments, trigramIndex);
+        this.keywords = keywords;
+        this.idFragmentsUp = idFragments.stream().map(String::toUpperCase).toList();
+        this.trigramIndex = trigramIndex;
     }
 
     @Override
     public boolean test(Person person) {
+        return matchesNameOrStudentId(person, getCandidateFields(person));
+    }
+
+    /**
+     * Returns true if the name or student ID of {@code person} matches, checking
+     * only the fields in {@code candidateFields}.
+     */
+    protected boolean matchesNameOrStudentId(Person person, int candidateFields) {
         String fullName = person.getName().fullName;
 
-        boolean matchesName = !keywords.isEmpty() && keywords.stream().filter(kw -> !kw.isBlank())
-                .anyMatch(kw -> StringUtil.containsSubstringIgnoreCase(fullName, kw));
+        boolean matchesName = isCandidateField(candidateFields, TrigramIndex.Field.NAME)
+                && keywords.stream().filter(kw -> !kw.isBlank())
+                        .anyMatch(kw -> StringUtil.containsSubstringIgnoreCase(fullName, kw));
 
-        String idUp = person.getStudentID().toString().toUpperCase();
+        // Student IDs are always upper case
+        String id = person.getStudentID().value;
 
-        boolean matchesAnyIdFrag =
-                !idFragmentsUp.isEmpty() && idFragmentsUp.stream().filter(f -> !f.isBlank()).anyMatch(idUp::contains);
+        boolean matchesAnyIdFrag = isCandidateField(candidateFields, TrigramIndex.Field.STUDENT_ID)
+                && idFragmentsUp.stream().filter(f -> !f.isBlank()).anyMatch(id::contains);
 
         return matchesName || matchesAnyIdFrag;
     }
 
+    /**
+     * Returns the bits of the fields of {@code person} that the indexes cannot
+     * rule out, or {@link #ALL_FIELDS} if there are no indexes. The candidates
+     * are looked up in the indexes once, and again only after the indexes change.
+     */
+    protected int getCandidateFields(Person person) {
+        requireNonNull(person);
+        if (trigramIndex == null) {
+            return ALL_FIELDS;
+        }
+
+        if (candidateFields == null || candidatesVersion != getIndexVersion()) {
+            candidateFields = new LongIntHashMap();
+            unrestrictedFields = 0;
+            findCandidates();
+            candidatesVersion = getIndexVersion();
+        }
+        int fields = candidateFields.get(person.getStudentID().getPackedValue());
+        return (fields == LongIntHashMap.MISSING_VALUE ? 0 : fields) | unrestrictedFields;
+    }
+
+    /**
+     * Returns a counter that changes whenever any index used by this predicate
+     * changes.
+     */
+    protected long getIndexVersion() {
+        return trigramIndex.getVersion();
+    }
+
+    /**
+     * Looks up the candidates for every field checked by this predicate.
+     */
+    protected void findCandidates() {
+        addCandidates(TrigramIndex.Field.NAME, keywords);
+        addCandidates(TrigramIndex.Field.STUDENT_ID, idFragmentsUp);
+    }
+
+    /**
+     * Marks the persons that may contain any of {@code fragments} in
+     * {@code field} as candidates for the field.
+     */
+    protected final void addCandidates(TrigramIndex.Field field, List<String> fragments) {
+        Optional<long[]> candidates = trigramIndex.getCandidates(field, fragments);
+        if (candidates.isEmpty()) {
+            unrestrictedFields |= getFieldBit(field.ordinal());
+            return;
+        }
+        addCandidates(getFieldBit(field.ordinal()), candidates.get());
+    }
+
+    /**
+     * Marks the persons with {@code packedStudentIds} as candidates for the
+     * fields in {@code fieldBit}.
+     */
+    protected final void addCandidates(int fieldBit, long[] packedStudentIds) {
+        for (long packedStudentId : packedStudentIds) {
+            int fields = candidateFields.get(packedStudentId);
+            candidateFields.put(packedStudentId, (fields == LongIntHashMap.MISSING_VALUE ? 0 : fields) | fieldBit);
+        }
+    }
+
+    protected static int getFieldBit(int fieldNumber) {
+        return 1 << fieldNumber;
+    }
+
+    protected static boolean isCandidateField(int candidateFields, TrigramIndex.Field field) {
+        return (candidateFields & getFieldBit(field.ordinal())) != 0;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -1,34 +1,109 @@
 package greynekos.greybook.model.person;
 
-import static java.util.Objects.requireNonNull;
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import greynekos.greybook.commons.util.StringUtil;
 import greynekos.greybook.model.tag.Tag;
 
 /**
  * Tests that a {@code Person}'s {@code Name} or {@code StudentID} matches any
- * of the keywords given.
+ * of the keywords given, or that the person's tags, email or phone contain any
+ * of the fragments given.
  */
 public class NameOrStudentIdPredicateOrTag extends NameOrStudentIdPredicate {
 
+    // The bit of the candidate fields for the tags, after the bits of the indexed fields
+    private static final int TAG_FIELD_BIT = getFieldBit(TrigramIndex.Field.values().length);
+
     private final List<String> tagFragments;
+    private final List<String> emailFragments;
+    private final List<String> phoneFragments;
+    private final TagIndex tagIndex;
 
     /**
-     * Constructs a NameOrStudentIdPredicateOrTag.
+     * Constructs a NameOrStudentIdPredicateOrTag that checks the tags of each
+     * person against every tag fragment.
      */
     public NameOrStudentIdPredicateOrTag(List<String> keywords, List<String> idFragments, List<String> tagFragments) {
+        this(keywords, idFragments, tagFragments, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Constructs a NameOrStudentIdPredicateOrTag that checks every person.
+     */
+    public NameOrStudentIdPredicateOrTag(List<String> keywords, List<String> idFragments, List<String> tagFragments,
+            List<String> emailFragments, List<String> phoneFragments) {
         super(keywords, idFragments);
-        requireNonNull(tagFragments);
+        requireAllNonNull(tagFragments, emailFragments, phoneFragments);
         this.tagFragments = tagFragments;
+        this.emailFragments = emailFragments;
+        this.phoneFragments = phoneFragments;
+        this.tagIndex = null;
+    }
+
+    /**
+     * Constructs a NameOrStudentIdPredicateOrTag that looks up the tag fragments
+     * in {@code tagIndex} and the other fragments in {@code trigramIndex}. Only
+     * persons in the list indexed by both indexes can match.
+     */
+    public NameOrStudentIdPredicateOrTag(List<String> keywords, List<String> idFragments, List<String> tagFragments,
+            List<String> emailFragments, List<String> phoneFragments, TagIndex tagIndex,
+            TrigramIndex trigramIndex) {
+        super(keywords, idFragments, trigramIndex);
+        requireAllNonNull(tagFragments, emailFragments, phoneFragments, tagIndex);
+        this.tagFragments = tagFragments;
+        this.emailFragments = emailFragments;
+        this.phoneFragments = phoneFragments;
+        this.tagIndex = tagIndex;
     }
 
     @Override
     public boolean test(Person person) {
+        int candidateFields = getCandidateFields(person);
+        return hasMatchingTag(person, candidateFields) || matchesEmail(person, candidateFields)
+                || matchesPhone(person, candidateFields) || matchesNameOrStudentId(person, candidateFields);
+    }
+
+    @Override
+    protected long getIndexVersion() {
+        // Both versions only ever increase, so their sum changes whenever either does
+        return super.getIndexVersion() + tagIndex.getVersion();
+    }
+
+    @Override
+    protected void findCandidates() {
+        super.findCandidates();
+        addCandidates(TrigramIndex.Field.EMAIL, emailFragments);
+        addCandidates(TrigramIndex.Field.PHONE, phoneFragments);
+        addCandidates(TAG_FIELD_BIT, tagIndex.getPackedStudentIdsWithTagContaining(tagFragments).stream()
+                .mapToLong(Long::longValue).toArray());
+    }
+
+    private boolean hasMatchingTag(Person person, int candidateFields) {
+        if ((candidateFields & TAG_FIELD_BIT) == 0 || tagFragments.isEmpty()) {
+            return false;
+        }
+        if (tagIndex != null) {
+            return true;
+        }
         Set<Tag> tags = person.getTags();
-        return tags.stream().anyMatch(tag -> tagFragments.stream().anyMatch(tagFrag -> tag.tagName.contains(tagFrag)))
-                || super.test(person);
+        return tags.stream().anyMatch(tag -> tagFragments.stream().anyMatch(tag.tagName::contains));
+    }
+
+    private boolean matchesEmail(Person person, int candidateFields) {
+        String email = person.getEmail().value;
+        return isCandidateField(candidateFields, TrigramIndex.Field.EMAIL) && emailFragments.stream()
+                .filter(f -> !f.isBlank()).anyMatch(f -> StringUtil.containsSubstringIgnoreCase(email, f));
+    }
+
+    private boolean matchesPhone(Person person, int candidateFields) {
+        String phone = person.getPhone().value;
+        return isCandidateField(candidateFields, TrigramIndex.Field.PHONE)
+                && phoneFragments.stream().filter(f -> !f.isBlank()).anyMatch(phone::contains);
     }
 
     @Override
@@ -42,6 +117,8 @@ public class NameOrStudentIdPredicateOrTag extends NameOrStudentIdPredicate {
         NameOrStudentIdPredicateOrTag otherNameOrStudentIdPredicateOrTag = (NameOrStudentIdPredicateOrTag) other;
         return keywords.equals(otherNameOrStudentIdPredicateOrTag.keywords)
                 && idFragmentsUp.equals(otherNameOrStudentIdPredicateOrTag.idFragmentsUp)
-                && tagFragments.equals(otherNameOrStudentIdPredicateOrTag.tagFragments);
+                && tagFragments.equals(otherNameOrStudentIdPredicateOrTag.tagFragments)
+                && emailFragments.equals(otherNameOrStudentIdPredicateOrTag.emailFragments)
+                && phoneFragments.equals(otherNameOrStudentIdPredicateOrTag.phoneFragments);
     }
 }
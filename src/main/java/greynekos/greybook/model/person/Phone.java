@@ -3,6 +3,8 @@ package greynekos.greybook.model.person;
 import static greynekos.greybook.commons.util.AppUtil.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import greynekos.greybook.model.util.ValidationUtil;
+
 /**
  * Represents a Person's phone number in the GreyBook. Guarantees: immutable; is
  * valid as declared in {@link #isValidPhone(String)}
@@ -31,7 +33,7 @@ public class Phone {
      * Returns true if a given string is a valid phone number.
      */
     public static boolean isValidPhone(String test) {
-        return test.matches(VALIDATION_REGEX);
+        return ValidationUtil.isValidPhone(test);
     }
 
     @Override
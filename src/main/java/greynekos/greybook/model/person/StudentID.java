@@ -3,6 +3,8 @@ package greynekos.greybook.model.person;
 import static greynekos.greybook.commons.util.AppUtil.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import greynekos.greybook.model.util.ValidationUtil;
+
 /**
  * Represents a Person's student ID in the GreyBook. Guarantees: immutable; is
  * valid as declared in {@link #isValidStudentID(String)}
@@ -13,7 +15,19 @@ public class StudentID implements PersonIdentifier {
             "Student IDs must be a valid NUS Student ID with a matching checksum.";
     public static final String VALIDATION_REGEX = "^(?:A\\d{7}|U\\d{6,7})[YXWURNMLJHEAB]$";
     public static final String VALID_CHECKSUMS = "YXWURNMLJHEAB";
+
+    // Bit layout of a packed student ID, from least significant: checksum index,
+    // digits, a flag set for 7-digit IDs, and a flag set for U-prefixed IDs
+    private static final int PACKED_DIGITS_SHIFT = 4;
+    private static final int PACKED_SEVEN_DIGITS_SHIFT = 28;
+    private static final int PACKED_U_PREFIX_SHIFT = 29;
+
+    private static final int CHECKSUM_DIGIT_COUNT = 6;
+    private static final int[] U_CHECKSUM_WEIGHTS = {0, 1, 3, 1, 2, 7};
+    private static final int[] A_CHECKSUM_WEIGHTS = {1, 1, 1, 1, 1, 1};
+
     public final String value;
+    private final long packedValue;
 
     /**
      * Constructs a {@code StudentID}.
@@ -25,16 +39,68 @@ public class StudentID implements PersonIdentifier {
         requireNonNull(studentID);
         checkArgument(isValidStudentID(studentID), MESSAGE_CONSTRAINTS);
         value = studentID;
+        packedValue = pack(studentID);
+    }
+
+    /**
+     * Returns this student ID packed into a {@code long}. Two student IDs are equal
+     * if and only if their packed values are equal, and a packed value is never
+     * zero.
+     */
+    public long getPackedValue() {
+        return packedValue;
+    }
+
+    /**
+     * Returns the student ID whose {@link #getPackedValue()} is
+     * {@code packedValue}.
+     *
+     * @throws IllegalArgumentException
+     *             if {@code packedValue} is not the packed value of a valid student
+     *             ID.
+     */
+    public static StudentID fromPackedValue(long packedValue) {
+        int checksumIndex = (int) (packedValue & ((1 << PACKED_DIGITS_SHIFT) - 1));
+        long digits = (packedValue >>> PACKED_DIGITS_SHIFT) & ((1L << (PACKED_SEVEN_DIGITS_SHIFT
+                - PACKED_DIGITS_SHIFT)) - 1);
+        boolean hasSevenDigits = (packedValue & (1L << PACKED_SEVEN_DIGITS_SHIFT)) != 0;
+        boolean hasUPrefix = (packedValue & (1L << PACKED_U_PREFIX_SHIFT)) != 0;
+        checkArgument(checksumIndex < VALID_CHECKSUMS.length()
+                && (packedValue >>> (PACKED_U_PREFIX_SHIFT + 1)) == 0, MESSAGE_CONSTRAINTS);
+
+        String studentID = (hasUPrefix ? "U" : "A") + String.format(hasSevenDigits ? "%07d" : "%06d", digits)
+                + VALID_CHECKSUMS.charAt(checksumIndex);
+        StudentID result = new StudentID(studentID);
+        checkArgument(result.packedValue == packedValue, MESSAGE_CONSTRAINTS);
+        return result;
+    }
+
+    /**
+     * Packs a valid student ID into its prefix letter, digits and checksum index.
+     */
+    private static long pack(String studentID) {
+        int checksumIndex = studentID.length() - 1;
+        long digits = 0;
+        for (int i = 1; i < checksumIndex; i++) {
+            digits = digits * 10 + (studentID.charAt(i) - '0');
+        }
+
+        long packed = VALID_CHECKSUMS.indexOf(studentID.charAt(checksumIndex));
+        packed |= digits << PACKED_DIGITS_SHIFT;
+        if (checksumIndex == 8) {
+            packed |= 1L << PACKED_SEVEN_DIGITS_SHIFT;
+        }
+        if (studentID.charAt(0) == 'U') {
+            packed |= 1L << PACKED_U_PREFIX_SHIFT;
+        }
+        return packed;
     }
 
     /**
      * Returns true if a given string is a valid student ID.
      */
     public static boolean isValidStudentID(String test) {
-        if (!test.matches(VALIDATION_REGEX)) {
-            return false;
-        }
-        return isValidStudentIdChecksum(test);
+        return ValidationUtil.isValidStudentIdFormat(test) && isValidStudentIdChecksum(test);
     }
 
     /**
@@ -52,26 +118,7 @@ public class StudentID implements PersonIdentifier {
             throw new IllegalArgumentException("Student ID must be exactly 8 or 9 characters long");
         }
 
-        int[] weights;
-        if (test.charAt(0) == 'U') {
-            weights = new int[]{
-                0, 1, 3, 1, 2, 7
-            };
-        } else { // 'A'
-            weights = new int[]{
-                1, 1, 1, 1, 1, 1
-            };
-        }
-
-        String digits = test.substring(test.length() - 6);
-        int sum = 0;
-
-        for (int i = 0; i < 6; i++) {
-            int digit = Character.getNumericValue(digits.charAt(i));
-            sum += weights[i] * digit;
-        }
-
-        return VALID_CHECKSUMS.charAt(sum % 13);
+        return VALID_CHECKSUMS.charAt(getChecksumSum(test, test.length(), false) % 13);
     }
 
     /**
@@ -79,15 +126,29 @@ public class StudentID implements PersonIdentifier {
      */
     private static boolean isValidStudentIdChecksum(String test) {
         int checksumIndex = test.length() - 1;
-        String values = test.substring(0, checksumIndex);
-        char checksum = test.charAt(checksumIndex);
-
         // Discard 3rd digit from U-prefixed NUSNET ID (e.g., U1x45678 → U145678)
-        if (values.charAt(0) == 'U' && values.length() == 8) {
-            values = values.substring(0, 3) + values.substring(4);
-        }
+        boolean skipsThirdDigit = test.charAt(0) == 'U' && checksumIndex == 8;
+        return test.charAt(checksumIndex) == VALID_CHECKSUMS.charAt(getChecksumSum(test, checksumIndex,
+                skipsThirdDigit) % 13);
+    }
 
-        return checksum == calculateStudentIdChecksum(values);
+    /**
+     * Returns the weighted sum of the last 6 digits of {@code test} before
+     * {@code end}, leaving out the third digit if {@code skipsThirdDigit}, without
+     * copying the digits out of {@code test}.
+     */
+    private static int getChecksumSum(String test, int end, boolean skipsThirdDigit) {
+        int[] weights = test.charAt(0) == 'U' ? U_CHECKSUM_WEIGHTS : A_CHECKSUM_WEIGHTS;
+        int sum = 0;
+        int digitIndex = end;
+        for (int i = CHECKSUM_DIGIT_COUNT - 1; i >= 0; i--) {
+            digitIndex--;
+            if (skipsThirdDigit && digitIndex == 3) {
+                digitIndex--;
+            }
+            sum += weights[i] * Character.getNumericValue(test.charAt(digitIndex));
+        }
+        return sum;
     }
 
     @Override
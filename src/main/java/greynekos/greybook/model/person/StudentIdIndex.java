@@ -0,0 +1,62 @@
+package greynekos.greybook.model.person;
+
+/**
+ * Maps packed student IDs to list positions. Keys are the values returned by
+ * {@link StudentID#getPackedValue()}, which are never zero, so they can be
+ * kept in a {@link LongIntHashMap}.
+ */
+class StudentIdIndex {
+
+    /** Returned by {@link #get(long)} when the key is absent */
+    public static final int NO_POSITION = -1;
+
+    private final LongIntHashMap positions;
+
+    StudentIdIndex() {
+        positions = new LongIntHashMap();
+    }
+
+    /**
+     * Creates an index that can hold {@code expectedSize} entries without
+     * resizing.
+     */
+    StudentIdIndex(int expectedSize) {
+        positions = new LongIntHashMap(expectedSize);
+    }
+
+    /**
+     * Returns the position mapped to {@code key}, or {@link #NO_POSITION} if
+     * there is none.
+     */
+    public int get(long key) {
+        int position = positions.get(key);
+        return position == LongIntHashMap.MISSING_VALUE ? NO_POSITION : position;
+    }
+
+    public boolean containsKey(long key) {
+        return positions.containsKey(key);
+    }
+
+    /**
+     * Maps {@code key} to {@code position}, replacing any existing mapping.
+     */
+    public void put(long key, int position) {
+        assert position >= 0;
+        positions.put(key, position);
+    }
+
+    /**
+     * Removes the mapping for {@code key}, if any.
+     */
+    public void remove(long key) {
+        positions.remove(key);
+    }
+
+    public void clear() {
+        positions.clear();
+    }
+
+    public int size() {
+        return positions.size();
+    }
+}
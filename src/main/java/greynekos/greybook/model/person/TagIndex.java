@@ -0,0 +1,93 @@
+package greynekos.greybook.model.person;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import greynekos.greybook.model.tag.Tag;
+
+/**
+ * A dictionary of the tag names used in a {@code UniquePersonList}, each with
+ * the posting list of the persons that have the tag. Persons are identified by
+ * the packed value of their student ID, which, unlike list positions, does not
+ * change when other persons are removed.
+ */
+public class TagIndex {
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    /** Incremented on every change to the index */
+    private long version;
+
+    /**
+     * Adds {@code person} to the posting lists of all its tags.
+     */
+    void add(Person person) {
+        long packedStudentId = person.getStudentID().getPackedValue();
+        for (Tag tag : person.getTags()) {
+            postings.computeIfAbsent(tag.tagName, unused -> new HashSet<>()).add(packedStudentId);
+        }
+        version++;
+    }
+
+    /**
+     * Removes {@code person} from the posting lists of all its tags. Tags that no
+     * person has any more are removed from the dictionary.
+     */
+    void remove(Person person) {
+        long packedStudentId = person.getStudentID().getPackedValue();
+        for (Tag tag : person.getTags()) {
+            Set<Long> posting = postings.get(tag.tagName);
+            if (posting != null && posting.remove(packedStudentId) && posting.isEmpty()) {
+                postings.remove(tag.tagName);
+            }
+        }
+        version++;
+    }
+
+    void clear() {
+        postings.clear();
+        version++;
+    }
+
+    /**
+     * Returns a counter that changes whenever the index changes, so that query
+     * results can be cached until then.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the packed student IDs of the persons that have a tag whose name
+     * contains any of {@code tagFragments}. Only the tag names in the dictionary
+     * are searched, and the posting lists of the matching names are merged.
+     */
+    public Set<Long> getPackedStudentIdsWithTagContaining(List<String> tagFragments) {
+        requireNonNull(tagFragments);
+        if (tagFragments.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<Long> matches = new HashSet<>();
+        for (Map.Entry<String, Set<Long>> entry : postings.entrySet()) {
+            String tagName = entry.getKey();
+            if (tagFragments.stream().anyMatch(tagName::contains)) {
+                matches.addAll(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of distinct tag names in the dictionary.
+     */
+    public int size() {
+        return postings.size();
+    }
+}
@@ -0,0 +1,394 @@
+package greynekos.greybook.model.person;
+
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An index of the trigrams (substrings of three characters) of the case-folded
+ * name, student ID, email and phone of the persons in a
+ * {@code UniquePersonList}. Each trigram has the posting list of the persons
+ * whose field contains it. Persons are identified by the packed value of their
+ * student ID.
+ *
+ * <p>
+ * A person whose field contains a fragment must have every trigram of the
+ * fragment, so intersecting their posting lists gives the candidates for a
+ * substring search. The candidates still have to be verified against the
+ * field itself.
+ *
+ * <p>
+ * Posting lists are kept as sorted arrays of {@code long}, so each entry takes
+ * eight bytes. They are only changed by adding and removing persons, which the
+ * model serializes, so searching the index never changes it.
+ */
+public class TrigramIndex {
+
+    /**
+     * The fields of a person that are indexed.
+     */
+    public enum Field {
+        NAME, STUDENT_ID, EMAIL, PHONE
+    }
+
+    static final int GRAM_LENGTH = 3;
+
+    private static final long[] NO_PERSONS = new long[0];
+
+    private final Map<Field, FieldPostings> postings = new EnumMap<>(Field.class);
+
+    /** Incremented on every change to the index */
+    private long version;
+
+    TrigramIndex() {
+        for (Field field : Field.values()) {
+            postings.put(field, new FieldPostings());
+        }
+    }
+
+    /**
+     * Adds {@code person} to the posting lists of the trigrams of all its fields.
+     */
+    void add(Person person) {
+        long packedStudentId = person.getStudentID().getPackedValue();
+        for (Field field : Field.values()) {
+            FieldPostings fieldPostings = postings.get(field);
+            for (long trigram : getTrigrams(getValue(person, field))) {
+                fieldPostings.add(trigram, packedStudentId);
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Adds all of {@code persons}. Unlike adding them one at a time, each posting
+     * list is sorted once after all the persons are appended to it, rather than
+     * shifted for every person.
+     */
+    void addAll(List<Person> persons) {
+        for (Field field : Field.values()) {
+            FieldPostings fieldPostings = postings.get(field);
+            for (Person person : persons) {
+                long packedStudentId = person.getStudentID().getPackedValue();
+                for (long trigram : getTrigrams(getValue(person, field))) {
+                    fieldPostings.append(trigram, packedStudentId);
+                }
+            }
+            fieldPostings.sortAll();
+        }
+        version++;
+    }
+
+    /**
+     * Removes {@code person} from the posting lists of the trigrams of all its
+     * fields.
+     */
+    void remove(Person person) {
+        long packedStudentId = person.getStudentID().getPackedValue();
+        for (Field field : Field.values()) {
+            FieldPostings fieldPostings = postings.get(field);
+            for (long trigram : getTrigrams(getValue(person, field))) {
+                fieldPostings.remove(trigram, packedStudentId);
+            }
+        }
+        version++;
+    }
+
+    void clear() {
+        postings.values().forEach(FieldPostings::clear);
+        version++;
+    }
+
+    /**
+     * Returns a counter that changes whenever the index changes, so that query
+     * results can be cached until then.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the packed student IDs, in ascending order, of the persons whose
+     * {@code field} may contain any of {@code fragments}, ignoring case. Blank
+     * fragments match nothing. Returns {@code Optional.empty()} if a fragment is
+     * too short to narrow down the persons, in which case every person is a
+     * candidate.
+     */
+    public Optional<long[]> getCandidates(Field field, List<String> fragments) {
+        requireAllNonNull(field, fragments);
+        List<String> foldedFragments = new ArrayList<>();
+        for (String fragment : fragments) {
+            String folded = fold(fragment.trim());
+            if (folded.isEmpty()) {
+                continue;
+            }
+            if (folded.length() < GRAM_LENGTH) {
+                return Optional.empty();
+            }
+            foldedFragments.add(folded);
+        }
+
+        if (foldedFragments.size() == 1) {
+            return Optional.of(intersectPostings(postings.get(field), foldedFragments.get(0)));
+        }
+        long[] candidates = NO_PERSONS;
+        for (String fragment : foldedFragments) {
+            long[] fragmentCandidates = intersectPostings(postings.get(field), fragment);
+            int oldLength = candidates.length;
+            candidates = Arrays.copyOf(candidates, oldLength + fragmentCandidates.length);
+            System.arraycopy(fragmentCandidates, 0, candidates, oldLength, fragmentCandidates.length);
+        }
+        return Optional.of(sortDistinct(candidates, candidates.length));
+    }
+
+    /**
+     * Returns the persons, in ascending order, that have every trigram of
+     * {@code fragment}, starting from the shortest posting list.
+     */
+    private static long[] intersectPostings(FieldPostings fieldPostings, String fragment) {
+        long[] trigrams = getTrigrams(fragment);
+        int[] slots = new int[trigrams.length];
+        int shortest = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            slots[i] = fieldPostings.getSlot(trigrams[i]);
+            if (slots[i] == LongIntHashMap.MISSING_VALUE) {
+                return NO_PERSONS;
+            }
+            if (fieldPostings.getSize(slots[i]) < fieldPostings.getSize(slots[shortest])) {
+                shortest = i;
+            }
+        }
+
+        int size = fieldPostings.getSize(slots[shortest]);
+        long[] intersection = Arrays.copyOf(fieldPostings.getPosting(slots[shortest]), size);
+        for (int i = 0; i < slots.length && size > 0; i++) {
+            if (i != shortest) {
+                size = retainAll(intersection, size, fieldPostings.getPosting(slots[i]),
+                        fieldPostings.getSize(slots[i]));
+            }
+        }
+        return Arrays.copyOf(intersection, size);
+    }
+
+    /**
+     * Keeps the first {@code size} values of the sorted {@code values} that are
+     * also in the first {@code otherSize} values of the sorted {@code other},
+     * and returns how many were kept.
+     */
+    private static int retainAll(long[] values, int size, long[] other, int otherSize) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < size && from < otherSize; i++) {
+            int found = Arrays.binarySearch(other, from, otherSize, values[i]);
+            if (found >= 0) {
+                values[kept++] = values[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Returns the distinct trigrams of {@code foldedValue}, each packed into a
+     * {@code long}. A marker bit above the three characters keeps every packed
+     * trigram non-zero.
+     */
+    private static long[] getTrigrams(String foldedValue) {
+        int count = Math.max(0, foldedValue.length() - GRAM_LENGTH + 1);
+        long[] trigrams = new long[count];
+        for (int i = 0; i < count; i++) {
+            trigrams[i] = (1L << 48) | ((long) foldedValue.charAt(i) << 32) | ((long) foldedValue.charAt(i + 1) << 16)
+                    | foldedValue.charAt(i + 2);
+        }
+        return sortDistinct(trigrams, count);
+    }
+
+    /**
+     * Sorts the first {@code size} values of {@code values} in place, and returns
+     * the distinct ones.
+     */
+    private static long[] sortDistinct(long[] values, int size) {
+        Arrays.sort(values, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || values[distinct - 1] != values[i]) {
+                values[distinct++] = values[i];
+            }
+        }
+        return distinct == values.length ? values : Arrays.copyOf(values, distinct);
+    }
+
+    private static String getValue(Person person, Field field) {
+        switch (field) {
+        case NAME:
+            return fold(person.getName().fullName);
+        case STUDENT_ID:
+            return fold(person.getStudentID().value);
+        case EMAIL:
+            return fold(person.getEmail().value);
+        case PHONE:
+            return fold(person.getPhone().value);
+        default:
+            throw new AssertionError("Unknown field: " + field);
+        }
+    }
+
+    /**
+     * Case-folds {@code value} the same way as
+     * {@code StringUtil#containsSubstringIgnoreCase}.
+     */
+    private static String fold(String value) {
+        return value.toLowerCase();
+    }
+
+    /**
+     * The posting lists of the trigrams of one field. Each trigram is mapped to a
+     * slot, which holds its posting list, sorted, and the number of persons in it.
+     * The slots of trigrams that no person has any more are reused.
+     */
+    private static class FieldPostings {
+        private static final int INITIAL_SLOTS = 16;
+        private static final int INITIAL_POSTING_CAPACITY = 4;
+
+        private final LongIntHashMap slotsByTrigram = new LongIntHashMap();
+        private long[][] postingLists = new long[INITIAL_SLOTS][];
+        private int[] sizes = new int[INITIAL_SLOTS];
+        private int[] freeSlots = new int[INITIAL_SLOTS];
+        private int freeSlotCount;
+        private int slotCount;
+
+        /**
+         * Returns the slot of {@code trigram}, or {@link LongIntHashMap#MISSING_VALUE}
+         * if no person has it.
+         */
+        int getSlot(long trigram) {
+            return slotsByTrigram.get(trigram);
+        }
+
+        int getSize(int slot) {
+            return sizes[slot];
+        }
+
+        /**
+         * Returns the sorted posting list in {@code slot}. Only the first
+         * {@link #getSize(int)} values are in the list.
+         */
+        long[] getPosting(int slot) {
+            return postingLists[slot];
+        }
+
+        /**
+         * Inserts {@code packedStudentId} into the posting list of {@code trigram},
+         * keeping it sorted.
+         */
+        void add(long trigram, long packedStudentId) {
+            int slot = getOrAllocateSlot(trigram);
+            int size = sizes[slot];
+            int index = Arrays.binarySearch(postingLists[slot], 0, size, packedStudentId);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            long[] posting = ensureCapacity(slot);
+            System.arraycopy(posting, index, posting, index + 1, size - index);
+            posting[index] = packedStudentId;
+            sizes[slot] = size + 1;
+        }
+
+        /**
+         * Appends {@code packedStudentId} to the posting list of {@code trigram}
+         * without keeping it sorted. {@link #sortAll()} must be called before the
+         * postings are searched again.
+         */
+        void append(long trigram, long packedStudentId) {
+            int slot = getOrAllocateSlot(trigram);
+            long[] posting = ensureCapacity(slot);
+            posting[sizes[slot]++] = packedStudentId;
+        }
+
+        void sortAll() {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (postingLists[slot] != null) {
+                    Arrays.sort(postingLists[slot], 0, sizes[slot]);
+                }
+            }
+        }
+
+        void remove(long trigram, long packedStudentId) {
+            int slot = slotsByTrigram.get(trigram);
+            if (slot == LongIntHashMap.MISSING_VALUE) {
+                return;
+            }
+
+            long[] posting = postingLists[slot];
+            int size = sizes[slot];
+            int index = Arrays.binarySearch(posting, 0, size, packedStudentId);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(posting, index + 1, posting, index, size - index - 1);
+            sizes[slot] = size - 1;
+            if (size == 1) {
+                slotsByTrigram.remove(trigram);
+                freeSlot(slot);
+            }
+        }
+
+        void clear() {
+            slotsByTrigram.clear();
+            Arrays.fill(postingLists, null);
+            Arrays.fill(sizes, 0);
+            freeSlotCount = 0;
+            slotCount = 0;
+        }
+
+        private int getOrAllocateSlot(long trigram) {
+            int slot = slotsByTrigram.get(trigram);
+            if (slot == LongIntHashMap.MISSING_VALUE) {
+                slot = allocateSlot();
+                slotsByTrigram.put(trigram, slot);
+            }
+            return slot;
+        }
+
+        /**
+         * Returns the posting list in {@code slot}, grown if it has no room for
+         * another person.
+         */
+        private long[] ensureCapacity(int slot) {
+            if (sizes[slot] == postingLists[slot].length) {
+                postingLists[slot] = Arrays.copyOf(postingLists[slot], sizes[slot] * 2);
+            }
+            return postingLists[slot];
+        }
+
+        private int allocateSlot() {
+            int slot;
+            if (freeSlotCount > 0) {
+                slot = freeSlots[--freeSlotCount];
+            } else {
+                if (slotCount == postingLists.length) {
+                    postingLists = Arrays.copyOf(postingLists, slotCount * 2);
+                    sizes = Arrays.copyOf(sizes, slotCount * 2);
+                    freeSlots = Arrays.copyOf(freeSlots, slotCount * 2);
+                }
+                slot = slotCount++;
+            }
+            postingLists[slot] = new long[INITIAL_POSTING_CAPACITY];
+            sizes[slot] = 0;
+            return slot;
+        }
+
+        private void freeSlot(int slot) {
+            postingLists[slot] = null;
+            freeSlots[freeSlotCount++] = slot;
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package greynekos.greybook.model.person;
 
+import static greynekos.greybook.commons.util.AppUtil.checkArgument;
 import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 
 import greynekos.greybook.model.person.exceptions.DuplicatePersonException;
 import greynekos.greybook.model.person.exceptions.PersonNotFoundException;
@@ -30,12 +33,21 @@ public class UniquePersonList implements Iterable<Person> {
     private final ObservableList<Person> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
 
+    /** Position of each person in {@code internalList}, keyed by student ID */
+    private StudentIdIndex studentIdIndex = new StudentIdIndex();
+
+    /** Persons with each tag name, kept up to date on every change */
+    private final TagIndex tagIndex = new TagIndex();
+
+    /** Persons with each trigram of their fields, kept up to date on every change */
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+
     /**
      * Returns true if the list contains an equivalent person as the given argument.
      */
     public boolean contains(Person toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSamePerson);
+        return studentIdIndex.containsKey(toCheck.getStudentID().getPackedValue());
     }
 
     /**
@@ -46,6 +58,9 @@ public class UniquePersonList implements Iterable<Person> {
         if (contains(toAdd)) {
             throw new DuplicatePersonException();
         }
+        studentIdIndex.put(toAdd.getStudentID().getPackedValue(), internalList.size());
+        tagIndex.add(toAdd);
+        trigramIndex.add(toAdd);
         internalList.add(toAdd);
     }
 
@@ -58,7 +73,7 @@ public class UniquePersonList implements Iterable<Person> {
     public void setPerson(Person target, Person editedPerson) {
         requireAllNonNull(target, editedPerson);
 
-        int index = internalList.indexOf(target);
+        int index = indexOf(target);
         if (index == -1) {
             throw new PersonNotFoundException();
         }
@@ -67,22 +82,75 @@ public class UniquePersonList implements Iterable<Person> {
             throw new DuplicatePersonException();
         }
 
+        studentIdIndex.remove(target.getStudentID().getPackedValue());
+        studentIdIndex.put(editedPerson.getStudentID().getPackedValue(), index);
+        updateSearchIndexes(target, editedPerson);
         internalList.set(index, editedPerson);
     }
 
+    /**
+     * Replaces each person in {@code targets} with the person at the same position
+     * in {@code editedPersons}, firing a single change for the whole list. Each
+     * person in {@code targets} must exist in the list and appear only once. The
+     * person identities of {@code editedPersons} must not be the same as another
+     * existing person in the list, or each other.
+     */
+    public void replacePersons(List<Person> targets, List<Person> editedPersons) {
+        requireAllNonNull(targets, editedPersons);
+        checkArgument(targets.size() == editedPersons.size(), "Each target must have an edited person");
+
+        List<Person> replacement = new ArrayList<>(internalList);
+        boolean isIdentityChanged = false;
+        for (int i = 0; i < targets.size(); i++) {
+            Person target = targets.get(i);
+            Person editedPerson = requireNonNull(editedPersons.get(i));
+            int index = indexOf(target);
+            if (index == -1) {
+                throw new PersonNotFoundException();
+            }
+            replacement.set(index, editedPerson);
+            isIdentityChanged |= !target.isSamePerson(editedPerson);
+        }
+
+        if (isIdentityChanged) {
+            StudentIdIndex replacementIndex = buildIndex(replacement);
+            if (replacementIndex == null) {
+                throw new DuplicatePersonException();
+            }
+            studentIdIndex = replacementIndex;
+        }
+        for (int i = 0; i < targets.size(); i++) {
+            updateSearchIndexes(targets.get(i), editedPersons.get(i));
+        }
+        internalList.setAll(replacement);
+    }
+
     /**
      * Removes the equivalent person from the list. The person must exist in the
      * list.
      */
     public void remove(Person toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+
+        int index = indexOf(toRemove);
+        if (index == -1) {
             throw new PersonNotFoundException();
         }
+
+        studentIdIndex.remove(toRemove.getStudentID().getPackedValue());
+        tagIndex.remove(toRemove);
+        trigramIndex.remove(toRemove);
+        internalList.remove(index);
+        // Persons after the removed one have moved up by one position
+        for (int i = index; i < internalList.size(); i++) {
+            studentIdIndex.put(internalList.get(i).getStudentID().getPackedValue(), i);
+        }
     }
 
     public void setPersons(UniquePersonList replacement) {
         requireNonNull(replacement);
+        studentIdIndex = buildIndex(replacement.internalList);
+        rebuildSearchIndexes(replacement.internalList);
         internalList.setAll(replacement.internalList);
     }
 
@@ -92,13 +160,42 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public void setPersons(List<Person> persons) {
         requireAllNonNull(persons);
-        if (!personsAreUnique(persons)) {
+        StudentIdIndex replacementIndex = buildIndex(persons);
+        if (replacementIndex == null) {
             throw new DuplicatePersonException();
         }
 
+        studentIdIndex = replacementIndex;
+        rebuildSearchIndexes(persons);
         internalList.setAll(persons);
     }
 
+    /**
+     * Returns the person with the given {@code studentId}, if they exist in the
+     * list.
+     */
+    public Optional<Person> getPersonByStudentId(StudentID studentId) {
+        requireNonNull(studentId);
+        int index = studentIdIndex.get(studentId.getPackedValue());
+        return index == StudentIdIndex.NO_POSITION ? Optional.empty() : Optional.of(internalList.get(index));
+    }
+
+    /**
+     * Returns the index of the persons with each tag name. The index is kept up to
+     * date as this list changes.
+     */
+    public TagIndex getTagIndex() {
+        return tagIndex;
+    }
+
+    /**
+     * Returns the index of the trigrams of the fields of each person. The index is
+     * kept up to date as this list changes.
+     */
+    public TrigramIndex getTrigramIndex() {
+        return trigramIndex;
+    }
+
     /**
      * Returns the backing list as an unmodifiable {@code ObservableList}.
      */
@@ -137,16 +234,58 @@ public class UniquePersonList implements Iterable<Person> {
     }
 
     /**
-     * Returns true if {@code persons} contains only unique persons.
+     * Returns the position of the person equal to {@code person} in the list, or
+     * -1 if there is no such person.
+     */
+    private int indexOf(Person person) {
+        int index = studentIdIndex.get(person.getStudentID().getPackedValue());
+        if (index == StudentIdIndex.NO_POSITION || !internalList.get(index).equals(person)) {
+            return -1;
+        }
+        return index;
+    }
+
+    /**
+     * Updates the tag and trigram indexes for {@code target} being replaced by
+     * {@code editedPerson}. Nothing is done if none of the indexed fields changed,
+     * such as when only the attendance status changed.
+     */
+    private void updateSearchIndexes(Person target, Person editedPerson) {
+        boolean isStudentIdSame = target.getStudentID().equals(editedPerson.getStudentID());
+        if (!isStudentIdSame || !target.getTags().equals(editedPerson.getTags())) {
+            tagIndex.remove(target);
+            tagIndex.add(editedPerson);
+        }
+        if (!isStudentIdSame || !target.getName().equals(editedPerson.getName())
+                || !target.getEmail().equals(editedPerson.getEmail())
+                || !target.getPhone().equals(editedPerson.getPhone())) {
+            trigramIndex.remove(target);
+            trigramIndex.add(editedPerson);
+        }
+    }
+
+    private void rebuildSearchIndexes(List<Person> persons) {
+        tagIndex.clear();
+        trigramIndex.clear();
+        for (Person person : persons) {
+            tagIndex.add(person);
+        }
+        trigramIndex.addAll(persons);
+    }
+
+    /**
+     * Returns an index of the positions of {@code persons}, or null if
+     * {@code persons} contains duplicate persons.
      */
-    private boolean personsAreUnique(List<Person> persons) {
-        for (int i = 0; i < persons.size() - 1; i++) {
-            for (int j = i + 1; j < persons.size(); j++) {
-                if (persons.get(i).isSamePerson(persons.get(j))) {
-                    return false;
-                }
+    private static StudentIdIndex buildIndex(List<Person> persons) {
+        StudentIdIndex index = new StudentIdIndex(persons.size());
+        for (int i = 0; i < persons.size(); i++) {
+            long key = persons.get(i).getStudentID().getPackedValue();
+            if (index.containsKey(key)) {
+                return null;
             }
+            index.put(key, i);
         }
-        return true;
+        return index;
     }
 }
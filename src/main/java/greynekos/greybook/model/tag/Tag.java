@@ -3,6 +3,8 @@ package greynekos.greybook.model.tag;
 import static greynekos.greybook.commons.util.AppUtil.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import greynekos.greybook.model.util.ValidationUtil;
+
 /**
  * Represents a Tag in the GreyBook. Guarantees: immutable; name is valid as
  * declared in {@link #isValidTagName(String)}
@@ -34,7 +36,7 @@ public class Tag {
      * Returns true if a given string is a valid tag name.
      */
     public static boolean isValidTagName(String test) {
-        return test.matches(VALIDATION_REGEX);
+        return ValidationUtil.isValidTagName(test);
     }
 
     @Override
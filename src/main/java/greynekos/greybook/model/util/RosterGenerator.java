@@ -0,0 +1,209 @@
+package greynekos.greybook.model.util;
+
+import static greynekos.greybook.commons.util.AppUtil.checkArgument;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import greynekos.greybook.model.ReadOnlyGreyBook;
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.Email;
+import greynekos.greybook.model.person.Name;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.Phone;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.tag.Tag;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+/**
+ * Generates rosters of realistic, distinct persons of any size up to
+ * {@link #MAX_PERSONS}, for load testing and benchmarking.
+ *
+ * <p>
+ * Each person is generated from the seed and its index alone, so the same seed
+ * always gives the same roster, and a roster can be read in any order without
+ * being held in memory. Student IDs are unique, are of both the A- and
+ * U-prefixed formats, and have valid checksums. Tags are drawn from a Zipf
+ * distribution, so a few tags are common and most are rare.
+ */
+public class RosterGenerator {
+
+    /** Number of distinct student IDs that can be generated */
+    public static final int MAX_PERSONS = 10_000_000;
+
+    public static final String MESSAGE_INVALID_COUNT = "Number of persons must be between 0 and " + MAX_PERSONS;
+
+    private static final String[] FIRST_NAMES = {
+        "Alex", "Bernice", "Charlotte", "David", "Irfan", "Roy", "Wei Ling", "Jun Jie", "Hui Min", "Zhi Hao",
+        "Siti", "Nurul", "Muhammad", "Aisyah", "Farhan", "Arjun", "Priya", "Kavya", "Rajesh", "Divya", "Ethan",
+        "Chloe", "Ryan", "Rachel", "Marcus", "Natalie", "Daniel", "Sarah", "Javier", "Megan", "Hafiz", "Nadia",
+        "Vikram", "Ananya", "Kai Xin", "Jia Hui", "Benjamin", "Isabelle", "Samuel", "Grace"
+    };
+    private static final String[] LAST_NAMES = {
+        "Tan", "Lim", "Lee", "Ng", "Ong", "Wong", "Goh", "Chua", "Chan", "Koh", "Teo", "Ang", "Yeo", "Tay", "Ho",
+        "Low", "Toh", "Sim", "Chong", "Chia", "bin Ismail", "binte Rahman", "bin Hassan", "binte Osman",
+        "Kumar", "Nair", "Pillai", "Menon", "Singh", "Raj", "Oliveiro", "Fernandez", "D'Souza", "Pereira",
+        "Smith", "Yeoh", "Ibrahim", "Balakrishnan", "Quek", "Foo"
+    };
+    /** Tags from the most to the least common */
+    private static final String[] TAGS = {
+        "member", "freshman", "sophomore", "committee", "volunteer", "junior", "senior", "exco", "welfare",
+        "logistics", "publicity", "finance", "sports", "music", "dance", "drama", "photography", "outreach",
+        "alumni", "mentor", "treasurer", "secretary", "president", "vicepresident", "auditor"
+    };
+    private static final double TAG_ZIPF_EXPONENT = 1.0;
+    private static final int MAX_TAGS_PER_PERSON = 3;
+
+    /** Cumulative percentages of each attendance status */
+    private static final int[] ATTENDANCE_PERCENTILES = {60, 75, 85, 90, 100};
+    private static final AttendanceStatus.Status[] ATTENDANCE_STATUSES = {
+        AttendanceStatus.Status.PRESENT, AttendanceStatus.Status.ABSENT, AttendanceStatus.Status.LATE,
+        AttendanceStatus.Status.EXCUSED, AttendanceStatus.Status.NONE
+    };
+
+    /** Multiplier that spreads consecutive indexes over the student ID numbers, coprime to MAX_PERSONS */
+    private static final long STUDENT_ID_MULTIPLIER = 7_654_321;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final double[] TAG_CUMULATIVE_WEIGHTS = getZipfCumulativeWeights(TAGS.length);
+
+    private final long seed;
+    private final long studentIdOffset;
+
+    /**
+     * Constructs a {@code RosterGenerator} that generates the roster of
+     * {@code seed}.
+     */
+    public RosterGenerator(long seed) {
+        this.seed = seed;
+        this.studentIdOffset = Math.floorMod(new SplittableRandom(seed).nextLong(), MAX_PERSONS);
+    }
+
+    /**
+     * Returns the person at {@code index} of the roster, which must be between 0
+     * and {@link #MAX_PERSONS}.
+     */
+    public Person getPerson(int index) {
+        checkArgument(index >= 0 && index < MAX_PERSONS, MESSAGE_INVALID_COUNT);
+        SplittableRandom random = new SplittableRandom(seed ^ (index + 1) * GOLDEN_GAMMA);
+
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String phone = (random.nextBoolean() ? "8" : "9") + String.format("%07d", random.nextInt(10_000_000));
+
+        long studentIdNumber = (index * STUDENT_ID_MULTIPLIER + studentIdOffset) % MAX_PERSONS;
+        String digits = String.format("%07d", studentIdNumber);
+        String studentId = random.nextInt(4) == 0 ? getUPrefixedStudentId(digits) : getAPrefixedStudentId(digits);
+        String email = "e" + digits + "@u.nus.edu";
+
+        Set<Tag> tags = new HashSet<>();
+        int tagCount = random.nextInt(MAX_TAGS_PER_PERSON + 1);
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(new Tag(TAGS[getZipfIndex(random.nextDouble())]));
+        }
+
+        return new Person(new Name(firstName + " " + lastName), new Phone(phone), new Email(email),
+                new StudentID(studentId), tags, new AttendanceStatus(getAttendance(random.nextInt(100))));
+    }
+
+    /**
+     * Returns the first {@code count} persons of the roster, generated as the
+     * stream is read.
+     */
+    public Stream<Person> getPersons(int count) {
+        checkArgument(count >= 0 && count <= MAX_PERSONS, MESSAGE_INVALID_COUNT);
+        return IntStream.range(0, count).mapToObj(this::getPerson);
+    }
+
+    /**
+     * Returns a GreyBook with the first {@code count} persons of the roster. The
+     * persons are generated each time they are read, so the GreyBook takes no
+     * memory for them.
+     */
+    public ReadOnlyGreyBook getGreyBook(int count) {
+        checkArgument(count >= 0 && count <= MAX_PERSONS, MESSAGE_INVALID_COUNT);
+        ObservableList<Person> persons = new GeneratedPersonList(count);
+        return () -> persons;
+    }
+
+    private static String getAPrefixedStudentId(String sevenDigits) {
+        String studentIdWithoutChecksum = "A" + sevenDigits;
+        return studentIdWithoutChecksum + StudentID.calculateStudentIdChecksum(studentIdWithoutChecksum);
+    }
+
+    /**
+     * Returns the U-prefixed student ID with {@code sevenDigits}, whose checksum
+     * leaves out the third digit, as NUSNET IDs of this format do.
+     */
+    private static String getUPrefixedStudentId(String sevenDigits) {
+        String checksumDigits = sevenDigits.substring(0, 2) + sevenDigits.substring(3);
+        return "U" + sevenDigits + StudentID.calculateStudentIdChecksum("U" + checksumDigits);
+    }
+
+    private static AttendanceStatus.Status getAttendance(int percentile) {
+        int i = 0;
+        while (percentile >= ATTENDANCE_PERCENTILES[i]) {
+            i++;
+        }
+        return ATTENDANCE_STATUSES[i];
+    }
+
+    /**
+     * Returns the cumulative weights of the ranks 1 to {@code count} of a Zipf
+     * distribution, scaled so that the last weight is 1.
+     */
+    private static double[] getZipfCumulativeWeights(int count) {
+        double[] cumulativeWeights = new double[count];
+        double total = 0;
+        for (int rank = 1; rank <= count; rank++) {
+            total += 1 / Math.pow(rank, TAG_ZIPF_EXPONENT);
+            cumulativeWeights[rank - 1] = total;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulativeWeights[i] /= total;
+        }
+        return cumulativeWeights;
+    }
+
+    /**
+     * Returns the index of the tag that {@code uniform}, which is in [0, 1), falls
+     * on.
+     */
+    private static int getZipfIndex(double uniform) {
+        for (int i = 0; i < TAG_CUMULATIVE_WEIGHTS.length - 1; i++) {
+            if (uniform < TAG_CUMULATIVE_WEIGHTS[i]) {
+                return i;
+            }
+        }
+        return TAG_CUMULATIVE_WEIGHTS.length - 1;
+    }
+
+    /**
+     * An unmodifiable list of the first persons of the roster, which generates
+     * each person as it is read.
+     */
+    private class GeneratedPersonList extends ObservableListBase<Person> {
+        private final int size;
+
+        GeneratedPersonList(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Person get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return getPerson(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package greynekos.greybook.model.util;
+
+import greynekos.greybook.model.person.Email;
+import greynekos.greybook.model.person.Name;
+import greynekos.greybook.model.person.Phone;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.tag.Tag;
+
+/**
+ * Contains hand-written scanners for the fields of a person, which accept
+ * exactly the strings that the {@code VALIDATION_REGEX} of each field matches.
+ *
+ * <p>
+ * The scanners read each string once, from left to right, without compiling a
+ * pattern or allocating, so validating a field costs far less than matching
+ * its regex.
+ */
+public class ValidationUtil {
+
+    private static final int PHONE_LOCAL_LENGTH = 8;
+    private static final int PHONE_MIN_INTERNATIONAL_LENGTH = 3;
+    private static final int PHONE_MAX_INTERNATIONAL_LENGTH = 16;
+    private static final int MAX_OCTET = 255;
+
+    /**
+     * Returns true if {@code test} matches {@link Name#VALIDATION_REGEX}.
+     */
+    public static boolean isValidName(String test) {
+        int length = test.length();
+        if (length == 0 || test.charAt(0) == ' ') {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = test.charAt(i);
+            if (!isAsciiLetter(c) && !isNameSymbol(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if {@code test} matches {@link Phone#VALIDATION_REGEX}.
+     */
+    public static boolean isValidPhone(String test) {
+        int length = test.length();
+        if (length == PHONE_LOCAL_LENGTH && isLocalPhonePrefix(test.charAt(0))) {
+            return areDigits(test, 1, length);
+        }
+        return length >= PHONE_MIN_INTERNATIONAL_LENGTH && length <= PHONE_MAX_INTERNATIONAL_LENGTH
+                && test.charAt(0) == '+' && test.charAt(1) != '0' && areDigits(test, 1, length);
+    }
+
+    /**
+     * Returns true if {@code test} matches {@link Tag#VALIDATION_REGEX}.
+     */
+    public static boolean isValidTagName(String test) {
+        int length = test.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = test.charAt(i);
+            if (!isAsciiLetter(c) && !isDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if {@code test} matches {@link StudentID#VALIDATION_REGEX}.
+     * The checksum character is not checked against the digits.
+     */
+    public static boolean isValidStudentIdFormat(String test) {
+        int length = test.length();
+        if (length < 8 || length > 9) {
+            return false;
+        }
+        char prefix = test.charAt(0);
+        boolean hasValidPrefix = prefix == 'U' || prefix == 'A' && length == 9;
+        return hasValidPrefix && areDigits(test, 1, length - 1)
+                && StudentID.VALID_CHECKSUMS.indexOf(test.charAt(length - 1)) >= 0;
+    }
+
+    /**
+     * Returns true if {@code test} matches {@link Email#VALIDATION_REGEX}.
+     *
+     * <p>
+     * The local part is either a dot-atom or a quoted string, and the domain is
+     * either a dot-separated list of at least two labels or an address literal in
+     * square brackets.
+     */
+    public static boolean isValidEmail(String test) {
+        int length = test.length();
+        int localPartEnd = length > 0 && test.charAt(0) == '"' ? scanQuotedString(test) : scanDotAtom(test);
+        if (localPartEnd < 0 || localPartEnd >= length || test.charAt(localPartEnd) != '@') {
+            return false;
+        }
+
+        int domainStart = localPartEnd + 1;
+        if (domainStart < length && test.charAt(domainStart) == '[') {
+            return isValidAddressLiteral(test, domainStart + 1);
+        }
+        return isValidDomainName(test, domainStart);
+    }
+
+    /**
+     * Returns the index just after the dot-atom at the start of {@code test}, or
+     * -1 if it does not start with one.
+     */
+    private static int scanDotAtom(String test) {
+        int length = test.length();
+        boolean isAtomExpected = true;
+        int i = 0;
+        while (i < length) {
+            char c = test.charAt(i);
+            if (isAtomText(c)) {
+                isAtomExpected = false;
+            } else if (c == '.' && !isAtomExpected) {
+                isAtomExpected = true;
+            } else {
+                break;
+            }
+            i++;
+        }
+        return isAtomExpected ? -1 : i;
+    }
+
+    /**
+     * Returns the index just after the quoted string at the start of
+     * {@code test}, or -1 if it does not start with one.
+     */
+    private static int scanQuotedString(String test) {
+        int length = test.length();
+        int i = 1;
+        while (i < length) {
+            char c = test.charAt(i);
+            if (c == '"') {
+                return i + 1;
+            } else if (c == '\\') {
+                if (i + 1 >= length || !isQuotablePairText(test.charAt(i + 1))) {
+                    return -1;
+                }
+                i += 2;
+            } else if (isQuotedText(c)) {
+                i++;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if {@code test} from {@code start} to its end is a list of at
+     * least two labels separated by dots.
+     */
+    private static boolean isValidDomainName(String test, int start) {
+        int length = test.length();
+        int labelCount = 0;
+        int i = start;
+        while (true) {
+            int labelStart = i;
+            while (i < length && (isLowerAlnum(test.charAt(i)) || test.charAt(i) == '-')) {
+                i++;
+            }
+            if (i == labelStart || test.charAt(labelStart) == '-' || test.charAt(i - 1) == '-') {
+                return false;
+            }
+            labelCount++;
+            if (i == length) {
+                return labelCount >= 2;
+            }
+            if (test.charAt(i) != '.') {
+                return false;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Returns true if {@code test} from {@code start}, just after the opening
+     * bracket, to its end is the rest of an address literal: three octets each
+     * followed by a dot, then an octet or a tagged address, then a closing
+     * bracket.
+     */
+    private static boolean isValidAddressLiteral(String test, int start) {
+        int end = test.length() - 1;
+        if (end < start || test.charAt(end) != ']') {
+            return false;
+        }
+
+        int i = start;
+        for (int octet = 0; octet < 3; octet++) {
+            int octetEnd = skipDigits(test, i, end);
+            if (octetEnd >= end || test.charAt(octetEnd) != '.' || !isOctet(test, i, octetEnd)) {
+                return false;
+            }
+            i = octetEnd + 1;
+        }
+
+        if (skipDigits(test, i, end) == end && isOctet(test, i, end)) {
+            return true;
+        }
+        return isValidTaggedAddress(test, i, end);
+    }
+
+    /**
+     * Returns true if {@code test} from {@code start} to {@code end} is a tag,
+     * a colon, and the address, in which a tab or a space must be escaped with a
+     * backslash.
+     */
+    private static boolean isValidTaggedAddress(String test, int start, int end) {
+        int colon = start;
+        while (colon < end && (isLowerAlnum(test.charAt(colon)) || test.charAt(colon) == '-')) {
+            colon++;
+        }
+        if (colon == start || colon + 1 >= end || test.charAt(colon) != ':' || test.charAt(colon - 1) == '-') {
+            return false;
+        }
+
+        for (int i = colon + 1; i < end; i++) {
+            char c = test.charAt(i);
+            if (!isQuotablePairText(c)) {
+                return false;
+            }
+            boolean isEscapeRequired = c == '\t' || c == ' ';
+            if (isEscapeRequired && (i == colon + 1 || test.charAt(i - 1) != '\\')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if {@code test} from {@code start} to {@code end} is a decimal
+     * number from 0 to 255 without leading zeros.
+     */
+    private static boolean isOctet(String test, int start, int end) {
+        int length = end - start;
+        if (length < 1 || length > 3 || length > 1 && test.charAt(start) == '0') {
+            return false;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (test.charAt(i) - '0');
+        }
+        return value <= MAX_OCTET;
+    }
+
+    /**
+     * Returns the index of the first character of {@code test} from
+     * {@code start} that is not a digit, or {@code end} if there is none.
+     */
+    private static int skipDigits(String test, int start, int end) {
+        int i = start;
+        while (i < end && isDigit(test.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns true if every character of {@code test} from {@code start} to
+     * {@code end} is a digit.
+     */
+    private static boolean areDigits(String test, int start, int end) {
+        return skipDigits(test, start, end) == end;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLowerAlnum(char c) {
+        return c >= 'a' && c <= 'z' || isDigit(c);
+    }
+
+    private static boolean isLocalPhonePrefix(char c) {
+        return c == '3' || c == '6' || c == '8' || c == '9';
+    }
+
+    private static boolean isNameSymbol(char c) {
+        switch (c) {
+        case ',':
+        case '(':
+        case ')':
+        case '/':
+        case '.':
+        case '@':
+        case '-':
+        case '\'':
+        case ' ':
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if {@code c} may appear unquoted in the local part of an email.
+     */
+    private static boolean isAtomText(char c) {
+        if (isLowerAlnum(c)) {
+            return true;
+        }
+        switch (c) {
+        case '!':
+        case '#':
+        case '$':
+        case '%':
+        case '&':
+        case '\'':
+        case '*':
+        case '+':
+        case '/':
+        case '=':
+        case '?':
+        case '^':
+        case '_':
+        case '`':
+        case '{':
+        case '|':
+        case '}':
+        case '~':
+        case '-':
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if {@code c} may appear unescaped in a quoted local part.
+     */
+    private static boolean isQuotedText(char c) {
+        return isQuotablePairText(c) && c != '\t' && c != ' ' && c != '"' && c != '\\';
+    }
+
+    /**
+     * Returns true if {@code c} may follow a backslash in a quoted local part.
+     */
+    private static boolean isQuotablePairText(char c) {
+        return c >= 0x01 && c <= 0x7f && c != '\n' && c != '\r';
+    }
+}
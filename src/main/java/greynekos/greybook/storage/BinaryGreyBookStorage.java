@@ -0,0 +1,354 @@
+package greynekos.greybook.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.SaveTarget;
+import greynekos.greybook.commons.core.metrics.MetricsCenter;
+import greynekos.greybook.commons.exceptions.DataLoadingException;
+import greynekos.greybook.commons.util.FileUtil;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.ReadOnlyGreyBook;
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.Email;
+import greynekos.greybook.model.person.Name;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.Phone;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.person.exceptions.DuplicatePersonException;
+import greynekos.greybook.model.tag.Tag;
+
+/**
+ * A class to access GreyBook data stored as a compact binary file on the hard
+ * disk. The json format of {@link JsonGreyBookStorage} remains the format for
+ * importing and exporting data, while this format loads and saves large
+ * GreyBooks faster and takes less disk space.
+ *
+ * <p>
+ * The file starts with {@link #MAGIC} and {@link #FORMAT_VERSION}, followed by
+ * the dictionary of tag names and then the persons. Each person is stored as
+ * its name, phone and email, its student ID packed into a {@code long}, its
+ * attendance status as one byte and the dictionary indexes of its tags. Strings
+ * are UTF-8, prefixed by their length in bytes. The file ends with the CRC32
+ * checksum of everything before it.
+ *
+ * <p>
+ * The app uses this storage for a data file whose name ends with
+ * {@link #FILE_EXTENSION}, see {@link StorageManager#createGreyBookStorage(Path)}.
+ */
+public class BinaryGreyBookStorage implements GreyBookStorage {
+
+    public static final int MAGIC = 0x47424B42;
+    public static final short FORMAT_VERSION = 1;
+    public static final String FILE_EXTENSION = ".bin";
+
+    public static final String MESSAGE_NOT_BINARY_GREYBOOK = "File is not a binary GreyBook file";
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Unsupported binary GreyBook format version: %d";
+    public static final String MESSAGE_CHECKSUM_MISMATCH = "Binary GreyBook file is corrupted: checksum mismatch";
+    public static final String MESSAGE_CORRUPTED_RECORD = "Binary GreyBook file is corrupted: %s";
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryGreyBookStorage.class);
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    private static final int FOOTER_BYTES = Integer.BYTES;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private Path filePath;
+    private final CommandMetrics commandMetrics;
+
+    /**
+     * Creates a {@code BinaryGreyBookStorage} for {@code filePath}, which records the
+     * metrics of its saves in the {@link MetricsCenter}.
+     */
+    public BinaryGreyBookStorage(Path filePath) {
+        this(filePath, MetricsCenter.getCommandMetrics());
+    }
+
+    /**
+     * Creates a {@code BinaryGreyBookStorage} for {@code filePath}, which records the
+     * metrics of its saves in {@code commandMetrics}.
+     */
+    public BinaryGreyBookStorage(Path filePath, CommandMetrics commandMetrics) {
+        requireNonNull(commandMetrics);
+        this.filePath = filePath;
+        this.commandMetrics = commandMetrics;
+    }
+
+    public Path getGreyBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyGreyBook> readGreyBook() throws DataLoadingException {
+        return readGreyBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readGreyBook()}. The whole file is read into memory with
+     * one read, and its checksum is verified before any person is read. The file
+     * is not memory-mapped, as a mapping would keep it from being replaced on
+     * some platforms until the mapping is garbage collected.
+     *
+     * @param filePath
+     *            location of the data. Cannot be null.
+     * @throws DataLoadingException
+     *             if loading the data from storage failed.
+     */
+    public Optional<ReadOnlyGreyBook> readGreyBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            return Optional.empty();
+        }
+        logger.info("Binary file " + filePath + " found.");
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + FOOTER_BYTES || size > Integer.MAX_VALUE) {
+                throw new DataLoadingException(MESSAGE_NOT_BINARY_GREYBOOK);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new DataLoadingException(String.format(MESSAGE_CORRUPTED_RECORD, "unexpected end of file"));
+                }
+            }
+            buffer.flip();
+            return Optional.of(decode(buffer));
+        } catch (IOException e) {
+            logger.warning("Error reading from binary file " + filePath + ": " + e);
+            throw new DataLoadingException(e);
+        }
+    }
+
+    /**
+     * Decodes the GreyBook in {@code buffer}, which holds the whole file.
+     */
+    private static GreyBook decode(ByteBuffer buffer) throws DataLoadingException {
+        int contentBytes = buffer.limit() - FOOTER_BYTES;
+        ByteBuffer content = buffer.duplicate();
+        content.limit(contentBytes);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        if ((int) crc.getValue() != buffer.getInt(contentBytes)) {
+            throw new DataLoadingException(MESSAGE_CHECKSUM_MISMATCH);
+        }
+
+        buffer.limit(contentBytes);
+        if (buffer.getInt() != MAGIC) {
+            throw new DataLoadingException(MESSAGE_NOT_BINARY_GREYBOOK);
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new DataLoadingException(String.format(MESSAGE_UNSUPPORTED_VERSION, version));
+        }
+
+        try {
+            Tag[] tags = new Tag[readCount(buffer)];
+            for (int i = 0; i < tags.length; i++) {
+                tags[i] = new Tag(readString(buffer));
+            }
+
+            GreyBook greyBook = new GreyBook();
+            int personCount = readCount(buffer);
+            for (int i = 0; i < personCount; i++) {
+                greyBook.addPerson(readPerson(buffer, tags));
+            }
+            if (buffer.hasRemaining()) {
+                throw new DataLoadingException(String.format(MESSAGE_CORRUPTED_RECORD, "unexpected trailing data"));
+            }
+            return greyBook;
+        } catch (BufferUnderflowException e) {
+            throw new DataLoadingException(String.format(MESSAGE_CORRUPTED_RECORD, "unexpected end of file"));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DuplicatePersonException e) {
+            throw new DataLoadingException(String.format(MESSAGE_CORRUPTED_RECORD, e.getMessage()));
+        }
+    }
+
+    private static Person readPerson(ByteBuffer buffer, Tag[] tags) {
+        Name name = new Name(readString(buffer));
+        Phone phone = new Phone(readString(buffer));
+        Email email = new Email(readString(buffer));
+        StudentID studentID = StudentID.fromPackedValue(buffer.getLong());
+        AttendanceStatus attendanceStatus = new AttendanceStatus(AttendanceStatus.Status.values()[buffer.get()]);
+
+        int tagCount = readCount(buffer);
+        Set<Tag> personTags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            personTags.add(tags[buffer.getInt()]);
+        }
+        return new Person(name, phone, email, studentID, personTags, attendanceStatus);
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readCount(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void saveGreyBook(ReadOnlyGreyBook greyBook) throws IOException {
+        saveGreyBook(greyBook, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveGreyBook(ReadOnlyGreyBook)}. The file is written
+     * through a fixed-size buffer, so the file contents are never held in memory
+     * as a whole. It is written to a temporary file next to {@code filePath}
+     * first, which then replaces {@code filePath}, so a save that fails midway
+     * leaves the previous file intact.
+     *
+     * @param filePath
+     *            location of the data. Cannot be null.
+     */
+    public void saveGreyBook(ReadOnlyGreyBook greyBook, Path filePath) throws IOException {
+        requireNonNull(greyBook);
+        requireNonNull(filePath);
+
+        List<Person> persons = greyBook.getPersonList();
+        Map<Tag, Integer> tagIndexes = new LinkedHashMap<>();
+        for (Person person : persons) {
+            for (Tag tag : person.getTags()) {
+                tagIndexes.putIfAbsent(tag, tagIndexes.size());
+            }
+        }
+
+        long startTime = System.nanoTime();
+        FileUtil.createParentDirsOfFile(filePath);
+        Path tempFilePath = filePath.resolveSibling(filePath.getFileName() + TEMP_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tempFilePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChecksummedWriter writer = new ChecksummedWriter(channel);
+            writer.putInt(MAGIC);
+            writer.putShort(FORMAT_VERSION);
+
+            writer.putInt(tagIndexes.size());
+            for (Tag tag : tagIndexes.keySet()) {
+                writer.putString(tag.tagName);
+            }
+
+            writer.putInt(persons.size());
+            for (Person person : persons) {
+                writer.putString(person.getName().fullName);
+                writer.putString(person.getPhone().value);
+                writer.putString(person.getEmail().value);
+                writer.putLong(person.getStudentID().getPackedValue());
+                writer.putByte((byte) person.getAttendance().value.ordinal());
+                writer.putInt(person.getTags().size());
+                for (Tag tag : person.getTags()) {
+                    writer.putInt(tagIndexes.get(tag));
+                }
+            }
+            writer.finish();
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFilePath);
+            throw e;
+        }
+        FileUtil.replaceFile(tempFilePath, filePath);
+        commandMetrics.recordSave(SaveTarget.GREYBOOK, Files.size(filePath),
+                System.nanoTime() - startTime);
+    }
+
+    /**
+     * Writes to a {@code FileChannel} through a buffer, keeping a CRC32 checksum
+     * of everything written, and appends the checksum when finished.
+     */
+    private static class ChecksummedWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        private final CRC32 crc = new CRC32();
+
+        ChecksummedWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensureSpace(Byte.BYTES);
+            buffer.put(value);
+        }
+
+        void putShort(short value) throws IOException {
+            ensureSpace(Short.BYTES);
+            buffer.putShort(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensureSpace(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensureSpace(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensureSpace(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        /**
+         * Flushes the buffered bytes and writes the checksum footer.
+         */
+        void finish() throws IOException {
+            flush();
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            writeFully();
+        }
+
+        private void ensureSpace(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            writeFully();
+        }
+
+        private void writeFully() throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+}
@@ -0,0 +1,472 @@
+package greynekos.greybook.storage;
+
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.SaveTarget;
+import greynekos.greybook.commons.core.metrics.MetricsCenter;
+import greynekos.greybook.commons.exceptions.DataLoadingException;
+import greynekos.greybook.commons.exceptions.IllegalValueException;
+import greynekos.greybook.commons.util.FileUtil;
+import greynekos.greybook.commons.util.JsonUtil;
+import greynekos.greybook.commons.util.StringUtil;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.GreyBookChangeLog;
+import greynekos.greybook.model.GreyBookSnapshot;
+import greynekos.greybook.model.ReadOnlyGreyBook;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.StudentID;
+
+/**
+ * A {@code GreyBookStorage} that stores a json snapshot of the GreyBook
+ * together with an append-only journal of the changes made since the snapshot.
+ * <p>
+ * Each save appends one record per added, edited or deleted person to the
+ * journal, instead of rewriting the whole file. For a {@link GreyBookSnapshot},
+ * the records are the changes in its {@link GreyBookChangeLog} since the last
+ * save; for other GreyBooks, they are found by comparing the GreyBook with the
+ * last saved data. Once the journal grows past a size threshold, a fresh
+ * snapshot is written in the background and the journal is truncated. Reading
+ * loads the snapshot and replays the journal over it. Changes that cannot be
+ * expressed as journal records without changing the order of the persons, such
+ * as editing a person's student ID, are saved as a new snapshot.
+ * <p>
+ * The snapshot uses the same format as {@link JsonGreyBookStorage}, and the
+ * journal is kept next to it with the {@value #JOURNAL_FILE_SUFFIX} suffix.
+ */
+public class JournaledGreyBookStorage implements GreyBookStorage {
+
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+    public static final long DEFAULT_COMPACTION_THRESHOLD_BYTES = 1 << 20;
+
+    private static final Logger logger = LogsCenter.getLogger(JournaledGreyBookStorage.class);
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String COMPACTION_FILE_SUFFIX = ".compacting";
+
+    private final Path filePath;
+    private final long compactionThresholdBytes;
+    private final JsonGreyBookStorage snapshotStorage;
+    private final ExecutorService compactor;
+    private final CommandMetrics commandMetrics;
+
+    // The fields below are guarded by this, and describe the data last saved to
+    // or read from savedFilePath
+    private Path savedFilePath;
+    /** The persons saved, in the order that replaying the journal puts them in */
+    private Map<StudentID, Person> savedPersons;
+    /** The change log of the GreyBook last saved, or null if there is none */
+    private GreyBookChangeLog savedChangeLog;
+    private long journalBytes;
+    private long snapshotGeneration;
+    private boolean isCompacting;
+
+    /**
+     * Creates a {@code JournaledGreyBookStorage} with the default compaction
+     * threshold.
+     */
+    public JournaledGreyBookStorage(Path filePath) {
+        this(filePath, DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    /**
+     * Creates a {@code JournaledGreyBookStorage} that compacts the journal once it
+     * is larger than {@code compactionThresholdBytes}, and records the metrics of
+     * its saves in the {@link MetricsCenter}.
+     */
+    public JournaledGreyBookStorage(Path filePath, long compactionThresholdBytes) {
+        this(filePath, compactionThresholdBytes, MetricsCenter.getCommandMetrics());
+    }
+
+    /**
+     * Creates a {@code JournaledGreyBookStorage} that compacts the journal once it
+     * is larger than {@code compactionThresholdBytes}, and records the metrics of
+     * its saves in {@code commandMetrics}.
+     */
+    public JournaledGreyBookStorage(Path filePath, long compactionThresholdBytes, CommandMetrics commandMetrics) {
+        requireNonNull(filePath);
+        requireNonNull(commandMetrics);
+        assert compactionThresholdBytes > 0;
+
+        this.filePath = filePath;
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        this.commandMetrics = commandMetrics;
+        snapshotStorage = new JsonGreyBookStorage(filePath, commandMetrics);
+        compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GreyBook journal compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the path of the journal kept for the snapshot at {@code filePath}.
+     */
+    public static Path getJournalFilePath(Path filePath) {
+        return filePath.resolveSibling(filePath.getFileName() + JOURNAL_FILE_SUFFIX);
+    }
+
+    @Override
+    public Path getGreyBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyGreyBook> readGreyBook() throws DataLoadingException {
+        return readGreyBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readGreyBook()}.
+     *
+     * @param filePath
+     *            location of the snapshot. Cannot be null.
+     * @throws PartialGreyBookLoadingException
+     *             if some of the persons in the snapshot were rejected. The
+     *             journal is still replayed over the remaining persons.
+     * @throws DataLoadingException
+     *             if loading the snapshot or the journal failed.
+     */
+    @Override
+    public synchronized Optional<ReadOnlyGreyBook> readGreyBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        try {
+            recoverCompaction(filePath);
+        } catch (IOException e) {
+            logger.warning("Error recovering the compaction of " + filePath + ": " + e);
+            throw new DataLoadingException(e);
+        }
+
+        Optional<ReadOnlyGreyBook> snapshot;
+        PartialGreyBookLoadingException snapshotRejections = null;
+        try {
+            snapshot = snapshotStorage.readGreyBook(filePath);
+        } catch (PartialGreyBookLoadingException e) {
+            snapshot = Optional.of(e.getValidData());
+            snapshotRejections = e;
+        }
+
+        Path journalFilePath = getJournalFilePath(filePath);
+        if (!Files.exists(journalFilePath)) {
+            snapshot.ifPresent(greyBook -> setSavedData(filePath, greyBook, 0));
+            if (snapshotRejections != null) {
+                throw snapshotRejections;
+            }
+            return snapshot;
+        }
+
+        GreyBook greyBook = snapshot.map(GreyBook::new).orElseGet(GreyBook::new);
+        List<String> records;
+        try {
+            records = Files.readAllLines(journalFilePath, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warning("Error reading from journal file " + journalFilePath + ": " + e);
+            throw new DataLoadingException(e);
+        }
+        replayJournal(greyBook, records, journalFilePath);
+        logger.info("Replayed " + records.size() + " journal records from " + journalFilePath);
+
+        try {
+            setSavedData(filePath, greyBook, Files.size(journalFilePath));
+        } catch (IOException e) {
+            throw new DataLoadingException(e);
+        }
+        if (snapshotRejections != null) {
+            throw new PartialGreyBookLoadingException(greyBook, snapshotRejections.getRejectedRecords());
+        }
+        return Optional.of(greyBook);
+    }
+
+    @Override
+    public void saveGreyBook(ReadOnlyGreyBook greyBook) throws IOException {
+        saveGreyBook(greyBook, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveGreyBook(ReadOnlyGreyBook)}.
+     *
+     * @param filePath
+     *            location of the snapshot. Cannot be null.
+     */
+    @Override
+    public synchronized void saveGreyBook(ReadOnlyGreyBook greyBook, Path filePath) throws IOException {
+        requireAllNonNull(greyBook, filePath);
+        if (!filePath.equals(savedFilePath)) {
+            writeSnapshot(greyBook, filePath);
+            return;
+        }
+
+        GreyBookChangeLog changeLog = getChangeLog(greyBook);
+        Optional<List<GreyBookChangeLog.Change>> changes = changeLog == null || savedChangeLog == null
+                ? Optional.empty()
+                : changeLog.getChangesSince(savedChangeLog);
+        if (changes.isPresent()) {
+            appendToJournal(toJournalRecords(changes.get()), filePath);
+            changes.get().forEach(this::applyToSavedPersons);
+            savedChangeLog = changeLog;
+        } else {
+            List<JsonAdaptedJournalRecord> records = getJournalRecords(greyBook.getPersonList());
+            if (records == null) {
+                writeSnapshot(greyBook, filePath);
+                return;
+            }
+            appendToJournal(records, filePath);
+            setSavedData(filePath, greyBook, journalBytes);
+        }
+
+        if (journalBytes > compactionThresholdBytes && !isCompacting) {
+            startCompaction(greyBook instanceof GreyBookSnapshot ? greyBook : new GreyBook(greyBook), filePath);
+        }
+    }
+
+    /**
+     * Appends {@code records} to the journal of the snapshot at {@code filePath}.
+     */
+    private void appendToJournal(List<JsonAdaptedJournalRecord> records, Path filePath) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        StringBuilder journalLines = new StringBuilder();
+        for (JsonAdaptedJournalRecord record : records) {
+            journalLines.append(JsonUtil.toCompactJsonString(record)).append('\n');
+        }
+        byte[] journalBytesToAppend = journalLines.toString().getBytes(StandardCharsets.UTF_8);
+        Files.write(getJournalFilePath(filePath), journalBytesToAppend, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        commandMetrics.recordSave(SaveTarget.GREYBOOK_JOURNAL, journalBytesToAppend.length,
+                System.nanoTime() - startTime);
+        journalBytes += journalBytesToAppend.length;
+    }
+
+    /**
+     * Returns the change log of {@code greyBook}, or null if it does not have one.
+     */
+    private static GreyBookChangeLog getChangeLog(ReadOnlyGreyBook greyBook) {
+        return greyBook instanceof GreyBookSnapshot ? ((GreyBookSnapshot) greyBook).getChangeLog() : null;
+    }
+
+    /**
+     * Returns the journal records of the logged {@code changes}.
+     */
+    private static List<JsonAdaptedJournalRecord> toJournalRecords(List<GreyBookChangeLog.Change> changes) {
+        List<JsonAdaptedJournalRecord> records = new ArrayList<>(changes.size());
+        for (GreyBookChangeLog.Change change : changes) {
+            records.add(change.isDelete()
+                    ? JsonAdaptedJournalRecord.delete(change.studentId())
+                    : JsonAdaptedJournalRecord.put(change.person()));
+        }
+        return records;
+    }
+
+    /**
+     * Applies {@code change} to the saved persons in the same way as replaying its
+     * journal record.
+     */
+    private void applyToSavedPersons(GreyBookChangeLog.Change change) {
+        if (change.isDelete()) {
+            savedPersons.remove(change.studentId());
+        } else {
+            savedPersons.put(change.studentId(), change.person());
+        }
+    }
+
+    /**
+     * Returns the journal records that turn the last saved data into
+     * {@code persons}, or null if the records would not reproduce the order of
+     * {@code persons}.
+     */
+    private List<JsonAdaptedJournalRecord> getJournalRecords(List<Person> persons) {
+        Set<StudentID> studentIds = new HashSet<>();
+        for (Person person : persons) {
+            studentIds.add(person.getStudentID());
+        }
+
+        // Replaying keeps the remaining persons in place and adds new persons to
+        // the end of the list
+        List<JsonAdaptedJournalRecord> records = new ArrayList<>();
+        List<StudentID> replayedStudentIds = new ArrayList<>(persons.size());
+        for (StudentID savedStudentId : savedPersons.keySet()) {
+            if (studentIds.contains(savedStudentId)) {
+                replayedStudentIds.add(savedStudentId);
+            } else {
+                records.add(JsonAdaptedJournalRecord.delete(savedStudentId));
+            }
+        }
+        for (Person person : persons) {
+            Person savedPerson = savedPersons.get(person.getStudentID());
+            if (savedPerson == null) {
+                replayedStudentIds.add(person.getStudentID());
+            }
+            if (!person.equals(savedPerson)) {
+                records.add(JsonAdaptedJournalRecord.put(person));
+            }
+        }
+
+        for (int i = 0; i < persons.size(); i++) {
+            if (!persons.get(i).getStudentID().equals(replayedStudentIds.get(i))) {
+                return null;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Replaces the snapshot at {@code filePath} with {@code greyBook} and empties
+     * its journal. Any compaction in progress is abandoned.
+     */
+    private void writeSnapshot(ReadOnlyGreyBook greyBook, Path filePath) throws IOException {
+        logger.fine(() -> "Writing GreyBook snapshot to data file: " + filePath);
+        Path tempFilePath = filePath.resolveSibling(filePath.getFileName() + TEMP_FILE_SUFFIX);
+        snapshotStorage.saveGreyBook(greyBook, tempFilePath);
+        FileUtil.replaceFile(tempFilePath, filePath);
+        Files.deleteIfExists(getJournalFilePath(filePath));
+        Files.deleteIfExists(getCompactedJournalFilePath(filePath));
+
+        snapshotGeneration++;
+        setSavedData(filePath, greyBook, 0);
+    }
+
+    /**
+     * Writes {@code snapshot} in the background, then removes the journal records
+     * it contains. The records appended while the snapshot is being written are
+     * kept.
+     */
+    private void startCompaction(ReadOnlyGreyBook snapshot, Path filePath) {
+        isCompacting = true;
+        long compactedJournalBytes = journalBytes;
+        long generation = snapshotGeneration;
+        logger.info("Compacting GreyBook journal of " + compactedJournalBytes + " bytes");
+
+        compactor.execute(() -> {
+            Path compactionFilePath = getCompactionFilePath(filePath);
+            try {
+                snapshotStorage.saveGreyBook(snapshot, compactionFilePath);
+                finishCompaction(compactionFilePath, filePath, compactedJournalBytes, generation);
+            } catch (IOException e) {
+                logger.warning("Failed to compact GreyBook journal: " + StringUtil.getDetails(e));
+                synchronized (this) {
+                    isCompacting = false;
+                }
+            }
+        });
+    }
+
+    /**
+     * Replaces the snapshot with the compacted one and drops the first
+     * {@code compactedJournalBytes} bytes of the journal, unless a newer snapshot
+     * was written in the meantime.
+     */
+    private synchronized void finishCompaction(Path compactionFilePath, Path filePath, long compactedJournalBytes,
+            long generation) throws IOException {
+        isCompacting = false;
+        if (generation != snapshotGeneration || !filePath.equals(savedFilePath)) {
+            Files.deleteIfExists(compactionFilePath);
+            return;
+        }
+
+        Path journalFilePath = getJournalFilePath(filePath);
+        byte[] journal = Files.readAllBytes(journalFilePath);
+        byte[] remainingJournal = Arrays.copyOfRange(journal, (int) compactedJournalBytes, journal.length);
+
+        // Replaying the old journal over the new snapshot could change the order of
+        // the persons, so the new journal is written before the snapshot is replaced,
+        // and only replaces the old journal afterwards. See recoverCompaction.
+        Path compactedJournalFilePath = getCompactedJournalFilePath(filePath);
+        Files.write(compactedJournalFilePath, remainingJournal);
+        FileUtil.replaceFile(compactionFilePath, filePath);
+        FileUtil.replaceFile(compactedJournalFilePath, journalFilePath);
+
+        snapshotGeneration++;
+        journalBytes = remainingJournal.length;
+        logger.info("Compacted GreyBook journal to " + journalBytes + " bytes");
+    }
+
+    /**
+     * Finishes or abandons the compaction of the snapshot at {@code filePath} if
+     * the app stopped in the middle of it. The compacted snapshot only exists
+     * until it replaces the snapshot, so if it still exists, the old journal is
+     * kept, and otherwise the compacted journal replaces it.
+     */
+    private static void recoverCompaction(Path filePath) throws IOException {
+        Path compactedJournalFilePath = getCompactedJournalFilePath(filePath);
+        if (!Files.exists(compactedJournalFilePath)) {
+            return;
+        }
+
+        if (Files.exists(getCompactionFilePath(filePath))) {
+            logger.info("Abandoning the compaction of " + filePath);
+            Files.delete(compactedJournalFilePath);
+        } else {
+            logger.info("Finishing the compaction of " + filePath);
+            FileUtil.replaceFile(compactedJournalFilePath, getJournalFilePath(filePath));
+        }
+    }
+
+    private static Path getCompactionFilePath(Path filePath) {
+        return filePath.resolveSibling(filePath.getFileName() + COMPACTION_FILE_SUFFIX);
+    }
+
+    private static Path getCompactedJournalFilePath(Path filePath) {
+        Path journalFilePath = getJournalFilePath(filePath);
+        return journalFilePath.resolveSibling(journalFilePath.getFileName() + COMPACTION_FILE_SUFFIX);
+    }
+
+    /**
+     * Replays the journal {@code records} over {@code greyBook}. A malformed last
+     * record is ignored, since it is what remains of an append that was cut short.
+     */
+    private static void replayJournal(GreyBook greyBook, List<String> records, Path journalFilePath)
+            throws DataLoadingException {
+        for (int i = 0; i < records.size(); i++) {
+            String record = records.get(i);
+            if (record.isEmpty()) {
+                continue;
+            }
+
+            try {
+                JsonUtil.fromJsonString(record, new TypeReference<JsonAdaptedJournalRecord>() {
+                }).applyTo(greyBook);
+            } catch (IOException | IllegalValueException e) {
+                if (i == records.size() - 1) {
+                    logger.warning("Ignoring incomplete last record in " + journalFilePath + ": " + e.getMessage());
+                    return;
+                }
+                logger.info("Illegal journal record found in " + journalFilePath + ": " + e.getMessage());
+                throw new DataLoadingException(e);
+            }
+        }
+    }
+
+    private void setSavedData(Path filePath, ReadOnlyGreyBook greyBook, long journalBytes) {
+        savedFilePath = filePath;
+        savedPersons = new LinkedHashMap<>();
+        for (Person person : greyBook.getPersonList()) {
+            savedPersons.put(person.getStudentID(), person);
+        }
+        savedChangeLog = getChangeLog(greyBook);
+        this.journalBytes = journalBytes;
+    }
+}
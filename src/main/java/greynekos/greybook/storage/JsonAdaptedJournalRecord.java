@@ -0,0 +1,89 @@
+package greynekos.greybook.storage;
+
+import java.util.Optional;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import greynekos.greybook.commons.exceptions.IllegalValueException;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.StudentID;
+
+/**
+ * Jackson-friendly version of a single change to a {@link GreyBook}, as stored
+ * in the journal of a {@link JournaledGreyBookStorage}.
+ */
+class JsonAdaptedJournalRecord {
+
+    public static final String OPERATION_PUT = "put";
+    public static final String OPERATION_DELETE = "delete";
+
+    public static final String MESSAGE_INVALID_OPERATION = "Journal record has an unknown operation: %s";
+    public static final String MISSING_FIELD_MESSAGE_FORMAT = "Journal record's %s field is missing!";
+
+    private final String operation;
+    private final JsonAdaptedPerson person;
+    private final String studentID;
+
+    /**
+     * Constructs a {@code JsonAdaptedJournalRecord} with the given record details.
+     */
+    @JsonCreator
+    public JsonAdaptedJournalRecord(@JsonProperty("operation") String operation,
+            @JsonProperty("person") JsonAdaptedPerson person, @JsonProperty("studentID") String studentID) {
+        this.operation = operation;
+        this.person = person;
+        this.studentID = studentID;
+    }
+
+    /**
+     * Returns a record that adds {@code person}, or replaces the person with the
+     * same student ID.
+     */
+    public static JsonAdaptedJournalRecord put(Person person) {
+        return new JsonAdaptedJournalRecord(OPERATION_PUT, new JsonAdaptedPerson(person), null);
+    }
+
+    /**
+     * Returns a record that deletes the person with {@code studentId}.
+     */
+    public static JsonAdaptedJournalRecord delete(StudentID studentId) {
+        return new JsonAdaptedJournalRecord(OPERATION_DELETE, null, studentId.value);
+    }
+
+    /**
+     * Applies this record to {@code greyBook}. A put replaces the person with the
+     * same student ID in place, or adds the person to the end of the list. A delete
+     * of a person that is not in {@code greyBook} does nothing, so that replaying
+     * records that are already part of a snapshot is harmless.
+     *
+     * @throws IllegalValueException
+     *             if there were any data constraints violated in the record.
+     */
+    public void applyTo(GreyBook greyBook) throws IllegalValueException {
+        if (OPERATION_PUT.equals(operation)) {
+            if (person == null) {
+                throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, "person"));
+            }
+            Person modelPerson = person.toModelType();
+            Optional<Person> existingPerson = greyBook.getPersonByStudentId(modelPerson.getStudentID());
+            if (existingPerson.isPresent()) {
+                greyBook.setPerson(existingPerson.get(), modelPerson);
+            } else {
+                greyBook.addPerson(modelPerson);
+            }
+        } else if (OPERATION_DELETE.equals(operation)) {
+            if (studentID == null) {
+                throw new IllegalValueException(
+                        String.format(MISSING_FIELD_MESSAGE_FORMAT, StudentID.class.getSimpleName()));
+            }
+            if (!StudentID.isValidStudentID(studentID)) {
+                throw new IllegalValueException(StudentID.MESSAGE_CONSTRAINTS);
+            }
+            greyBook.getPersonByStudentId(new StudentID(studentID)).ifPresent(greyBook::removePerson);
+        } else {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_OPERATION, operation));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package greynekos.greybook.storage;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -8,6 +9,10 @@ import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import greynekos.greybook.commons.exceptions.IllegalValueException;
 import greynekos.greybook.model.person.AttendanceStatus;
@@ -25,6 +30,13 @@ class JsonAdaptedPerson {
 
     public static final String MISSING_FIELD_MESSAGE_FORMAT = "Person's %s field is missing!";
 
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_PHONE = "phone";
+    private static final String FIELD_EMAIL = "email";
+    private static final String FIELD_STUDENT_ID = "studentID";
+    private static final String FIELD_TAGS = "tags";
+    private static final String FIELD_ATTENDANCE_STATUS = "attendanceStatus";
+
     private final String name;
     private final String phone;
     private final String email;
@@ -36,10 +48,10 @@ class JsonAdaptedPerson {
      * Constructs a {@code JsonAdaptedPerson} with the given person details.
      */
     @JsonCreator
-    public JsonAdaptedPerson(@JsonProperty("name") String name, @JsonProperty("phone") String phone,
-            @JsonProperty("email") String email, @JsonProperty("studentID") String studentID,
-            @JsonProperty("tags") List<JsonAdaptedTag> tags,
-            @JsonProperty("attendanceStatus") String attendanceStatus) {
+    public JsonAdaptedPerson(@JsonProperty(FIELD_NAME) String name, @JsonProperty(FIELD_PHONE) String phone,
+            @JsonProperty(FIELD_EMAIL) String email, @JsonProperty(FIELD_STUDENT_ID) String studentID,
+            @JsonProperty(FIELD_TAGS) List<JsonAdaptedTag> tags,
+            @JsonProperty(FIELD_ATTENDANCE_STATUS) String attendanceStatus) {
         this.name = name;
         this.phone = phone;
         this.email = email;
@@ -63,6 +75,95 @@ class JsonAdaptedPerson {
         attendanceStatus = source.getAttendance().value.name();
     }
 
+    /**
+     * Reads a {@code JsonAdaptedPerson} from the json object that {@code parser}
+     * is positioned at, leaving the parser at the end of the object. Unknown
+     * fields are skipped.
+     *
+     * @throws IOException
+     *             if the object is not a valid person object.
+     */
+    public static JsonAdaptedPerson readFrom(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a person object");
+        }
+
+        String name = null;
+        String phone = null;
+        String email = null;
+        String studentID = null;
+        List<JsonAdaptedTag> tags = null;
+        String attendanceStatus = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            switch (fieldName) {
+            case FIELD_NAME:
+                name = readString(parser, valueToken);
+                break;
+            case FIELD_PHONE:
+                phone = readString(parser, valueToken);
+                break;
+            case FIELD_EMAIL:
+                email = readString(parser, valueToken);
+                break;
+            case FIELD_STUDENT_ID:
+                studentID = readString(parser, valueToken);
+                break;
+            case FIELD_TAGS:
+                tags = readTags(parser, valueToken);
+                break;
+            case FIELD_ATTENDANCE_STATUS:
+                attendanceStatus = readString(parser, valueToken);
+                break;
+            default:
+                parser.skipChildren();
+                break;
+            }
+        }
+        return new JsonAdaptedPerson(name, phone, email, studentID, tags, attendanceStatus);
+    }
+
+    private static String readString(JsonParser parser, JsonToken valueToken) throws IOException {
+        if (!valueToken.isScalarValue()) {
+            throw new JsonParseException(parser, "Expected a string value");
+        }
+        return parser.getValueAsString();
+    }
+
+    private static List<JsonAdaptedTag> readTags(JsonParser parser, JsonToken valueToken) throws IOException {
+        if (valueToken == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (valueToken != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array of tags");
+        }
+
+        List<JsonAdaptedTag> tags = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            tags.add(new JsonAdaptedTag(readString(parser, parser.getCurrentToken())));
+        }
+        return tags;
+    }
+
+    /**
+     * Writes this person as a json object to {@code generator}.
+     */
+    public void writeTo(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(FIELD_NAME, name);
+        generator.writeStringField(FIELD_PHONE, phone);
+        generator.writeStringField(FIELD_EMAIL, email);
+        generator.writeStringField(FIELD_STUDENT_ID, studentID);
+        generator.writeArrayFieldStart(FIELD_TAGS);
+        for (JsonAdaptedTag tag : tags) {
+            generator.writeString(tag.getTagName());
+        }
+        generator.writeEndArray();
+        generator.writeStringField(FIELD_ATTENDANCE_STATUS, attendanceStatus);
+        generator.writeEndObject();
+    }
+
     /**
      * Converts this Jackson-friendly adapted person object into the model's
      * {@code Person} object.
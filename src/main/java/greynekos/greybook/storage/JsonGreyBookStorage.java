@@ -2,19 +2,36 @@ package greynekos.greybook.storage;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Logger;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.commons.core.jfr.GreyBookReadEvent;
+import greynekos.greybook.commons.core.jfr.GreyBookWriteEvent;
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.SaveTarget;
+import greynekos.greybook.commons.core.metrics.MetricsCenter;
 import greynekos.greybook.commons.exceptions.DataLoadingException;
-import greynekos.greybook.commons.exceptions.IllegalValueException;
 import greynekos.greybook.commons.util.FileUtil;
-import greynekos.greybook.commons.util.JsonUtil;
 import greynekos.greybook.model.ReadOnlyGreyBook;
+import greynekos.greybook.model.person.Person;
 
 /**
  * A class to access GreyBook data stored as a json file on the hard disk.
@@ -22,11 +39,28 @@ import greynekos.greybook.model.ReadOnlyGreyBook;
 public class JsonGreyBookStorage implements GreyBookStorage {
 
     private static final Logger logger = LogsCenter.getLogger(JsonGreyBookStorage.class);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String FIELD_PERSONS = "persons";
 
     private Path filePath;
+    private final CommandMetrics commandMetrics;
 
+    /**
+     * Creates a {@code JsonGreyBookStorage} for {@code filePath}, which records the
+     * metrics of its saves in the {@link MetricsCenter}.
+     */
     public JsonGreyBookStorage(Path filePath) {
+        this(filePath, MetricsCenter.getCommandMetrics());
+    }
+
+    /**
+     * Creates a {@code JsonGreyBookStorage} for {@code filePath}, which records the
+     * metrics of its saves in {@code commandMetrics}.
+     */
+    public JsonGreyBookStorage(Path filePath, CommandMetrics commandMetrics) {
+        requireNonNull(commandMetrics);
         this.filePath = filePath;
+        this.commandMetrics = commandMetrics;
     }
 
     public Path getGreyBookFilePath() {
@@ -39,28 +73,70 @@ public class JsonGreyBookStorage implements GreyBookStorage {
     }
 
     /**
-     * Similar to {@link #readGreyBook()}.
+     * Similar to {@link #readGreyBook()}. The file is parsed one person at a time,
+     * so the file contents are never held in memory as a whole.
      *
      * @param filePath
      *            location of the data. Cannot be null.
+     * @throws PartialGreyBookLoadingException
+     *             if some of the persons in the file are invalid or duplicated.
      * @throws DataLoadingException
      *             if loading the data from storage failed.
      */
     public Optional<ReadOnlyGreyBook> readGreyBook(Path filePath) throws DataLoadingException {
         requireNonNull(filePath);
 
-        Optional<JsonSerializableGreyBook> jsonGreyBook =
-                JsonUtil.readJsonFile(filePath, new TypeReference<JsonSerializableGreyBook>() {
-                });
-        if (!jsonGreyBook.isPresent()) {
+        if (!Files.exists(filePath)) {
             return Optional.empty();
         }
+        logger.info("JSON file " + filePath + " found.");
+
+        GreyBookReadEvent readEvent = new GreyBookReadEvent();
+        readEvent.begin();
+        ParallelPersonConverter converter = new ParallelPersonConverter();
+        long bytesRead;
+        try (InputStream inputStream = Channels.newInputStream(FileChannel.open(filePath, StandardOpenOption.READ));
+                JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            readPersons(parser, converter);
+            bytesRead = parser.getCurrentLocation().getByteOffset();
+        } catch (IOException e) {
+            logger.warning("Error reading from jsonFile file " + filePath + ": " + e);
+            throw new DataLoadingException(e);
+        }
 
-        try {
-            return Optional.of(jsonGreyBook.get().toModelType());
-        } catch (IllegalValueException ive) {
-            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
-            throw new DataLoadingException(ive);
+        List<String> rejectedRecords = converter.getRejectedRecords();
+        readEvent.finish(filePath, bytesRead, converter.getGreyBook().getPersonList().size(),
+                rejectedRecords.size());
+        if (!rejectedRecords.isEmpty()) {
+            logger.info("Illegal values found in " + filePath + ": " + rejectedRecords);
+            throw new PartialGreyBookLoadingException(converter.getGreyBook(), rejectedRecords);
+        }
+        return Optional.of(converter.getGreyBook());
+    }
+
+    /**
+     * Reads the persons in the json object that {@code parser} is about to read
+     * into {@code converter}. Fields other than the persons array are skipped.
+     */
+    private static void readPersons(JsonParser parser, ParallelPersonConverter converter) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a GreyBook object");
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (!FIELD_PERSONS.equals(fieldName) || valueToken == JsonToken.VALUE_NULL) {
+                parser.skipChildren();
+                continue;
+            }
+            if (valueToken != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected an array of persons");
+            }
+
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                converter.add(JsonAdaptedPerson.readFrom(parser));
+            }
         }
     }
 
@@ -70,7 +146,9 @@ public class JsonGreyBookStorage implements GreyBookStorage {
     }
 
     /**
-     * Similar to {@link #saveGreyBook(ReadOnlyGreyBook)}.
+     * Similar to {@link #saveGreyBook(ReadOnlyGreyBook)}. Persons are written to
+     * the file one at a time, so the file contents are never held in memory as a
+     * whole.
      *
      * @param filePath
      *            location of the data. Cannot be null.
@@ -79,8 +157,25 @@ public class JsonGreyBookStorage implements GreyBookStorage {
         requireNonNull(greyBook);
         requireNonNull(filePath);
 
+        long startTime = System.nanoTime();
+        GreyBookWriteEvent writeEvent = new GreyBookWriteEvent();
+        writeEvent.begin();
         FileUtil.createIfMissing(filePath);
-        JsonUtil.saveJsonFile(new JsonSerializableGreyBook(greyBook), filePath);
+        try (OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(
+                FileChannel.open(filePath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)));
+                JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(FIELD_PERSONS);
+            for (Person person : greyBook.getPersonList()) {
+                new JsonAdaptedPerson(person).writeTo(generator);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        long bytesWritten = Files.size(filePath);
+        writeEvent.finish(filePath, bytesWritten, greyBook.getPersonList().size());
+        commandMetrics.recordSave(SaveTarget.GREYBOOK, bytesWritten, System.nanoTime() - startTime);
     }
 
 }
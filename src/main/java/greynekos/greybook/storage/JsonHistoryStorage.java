@@ -1,6 +1,9 @@
 package greynekos.greybook.storage;
 
+import static java.util.Objects.requireNonNull;
+
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
@@ -8,6 +11,9 @@ import java.util.Optional;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 import greynekos.greybook.commons.core.history.CommandHistory;
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.SaveTarget;
+import greynekos.greybook.commons.core.metrics.MetricsCenter;
 import greynekos.greybook.commons.exceptions.DataLoadingException;
 import greynekos.greybook.commons.util.JsonUtil;
 import greynekos.greybook.model.History;
@@ -19,9 +25,24 @@ import greynekos.greybook.model.ReadOnlyHistory;
 public class JsonHistoryStorage implements HistoryStorage {
 
     private Path filePath;
+    private final CommandMetrics commandMetrics;
 
+    /**
+     * Creates a {@code JsonHistoryStorage} for {@code filePath}, which records the
+     * metrics of its saves in the {@link MetricsCenter}.
+     */
     public JsonHistoryStorage(Path filePath) {
+        this(filePath, MetricsCenter.getCommandMetrics());
+    }
+
+    /**
+     * Creates a {@code JsonHistoryStorage} for {@code filePath}, which records the
+     * metrics of its saves in {@code commandMetrics}.
+     */
+    public JsonHistoryStorage(Path filePath, CommandMetrics commandMetrics) {
+        requireNonNull(commandMetrics);
         this.filePath = filePath;
+        this.commandMetrics = commandMetrics;
     }
 
     @Override
@@ -49,7 +70,10 @@ public class JsonHistoryStorage implements HistoryStorage {
 
     @Override
     public void saveHistory(ReadOnlyHistory history) throws IOException {
+        long startTime = System.nanoTime();
         JsonUtil.saveJsonFile(history.getCommandHistory().getHistory(), filePath);
+        commandMetrics.recordSave(SaveTarget.HISTORY, Files.size(filePath),
+                System.nanoTime() - startTime);
     }
 
 }
@@ -11,7 +11,6 @@ import com.fasterxml.jackson.annotation.JsonRootName;
 import greynekos.greybook.commons.exceptions.IllegalValueException;
 import greynekos.greybook.model.GreyBook;
 import greynekos.greybook.model.ReadOnlyGreyBook;
-import greynekos.greybook.model.person.Person;
 
 /**
  * An Immutable GreyBook that is serializable to JSON format.
@@ -43,21 +42,16 @@ class JsonSerializableGreyBook {
     }
 
     /**
-     * Converts this GreyBook into the model's {@code GreyBook} object.
+     * Converts this GreyBook into the model's {@code GreyBook} object. The persons
+     * are validated and converted in parallel.
      *
      * @throws IllegalValueException
      *             if there were any data constraints violated.
      */
     public GreyBook toModelType() throws IllegalValueException {
-        GreyBook greyBook = new GreyBook();
-        for (JsonAdaptedPerson jsonAdaptedPerson : persons) {
-            Person person = jsonAdaptedPerson.toModelType();
-            if (greyBook.hasPerson(person)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_PERSON);
-            }
-            greyBook.addPerson(person);
-        }
-        return greyBook;
+        ParallelPersonConverter converter = new ParallelPersonConverter();
+        converter.addAll(persons);
+        return converter.getGreyBookIfAllValid();
     }
 
 }
@@ -0,0 +1,126 @@
+package greynekos.greybook.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import greynekos.greybook.commons.exceptions.IllegalValueException;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.person.Person;
+
+/**
+ * Converts {@code JsonAdaptedPerson} records into a {@code GreyBook}. Records
+ * are collected into batches, and the records in each batch are validated and
+ * converted in parallel. Invalid and duplicate records are rejected and
+ * reported instead of failing the whole conversion, so the valid records can
+ * still be loaded.
+ */
+class ParallelPersonConverter {
+
+    public static final String MESSAGE_REJECTED_RECORD_FORMAT = "Person %d was rejected: %s";
+
+    static final int BATCH_SIZE = 1024;
+
+    private final GreyBook greyBook = new GreyBook();
+    private final List<JsonAdaptedPerson> batch = new ArrayList<>();
+    private final List<String> rejectedRecords = new ArrayList<>();
+    private IllegalValueException firstRejection;
+    private int convertedRecordCount;
+
+    /**
+     * Adds {@code person} to be converted. The record may be converted later,
+     * together with the rest of its batch.
+     */
+    public void add(JsonAdaptedPerson person) {
+        requireNonNull(person);
+        batch.add(person);
+        if (batch.size() >= BATCH_SIZE) {
+            convertBatch();
+        }
+    }
+
+    /**
+     * Adds all of {@code persons} to be converted.
+     */
+    public void addAll(List<JsonAdaptedPerson> persons) {
+        for (JsonAdaptedPerson person : persons) {
+            add(person);
+        }
+    }
+
+    /**
+     * Converts the remaining records and returns a GreyBook with all the valid
+     * records, in the order they were added.
+     */
+    public GreyBook getGreyBook() {
+        convertBatch();
+        return greyBook;
+    }
+
+    /**
+     * Converts the remaining records and returns a GreyBook with all the records.
+     *
+     * @throws IllegalValueException
+     *             with the reason the first rejected record was rejected, if any
+     *             record was rejected.
+     */
+    public GreyBook getGreyBookIfAllValid() throws IllegalValueException {
+        convertBatch();
+        if (firstRejection != null) {
+            throw firstRejection;
+        }
+        return greyBook;
+    }
+
+    /**
+     * Converts the remaining records and returns a message for each rejected
+     * record.
+     */
+    public List<String> getRejectedRecords() {
+        convertBatch();
+        return Collections.unmodifiableList(rejectedRecords);
+    }
+
+    private void convertBatch() {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Person[] persons = new Person[batch.size()];
+        IllegalValueException[] errors = new IllegalValueException[batch.size()];
+        IntStream.range(0, batch.size()).parallel().forEach(i -> {
+            try {
+                persons[i] = batch.get(i).toModelType();
+            } catch (IllegalValueException e) {
+                errors[i] = e;
+            }
+        });
+
+        // Duplicates are checked in order, so that the first of them is kept
+        for (int i = 0; i < persons.length; i++) {
+            IllegalValueException error = errors[i];
+            if (error == null && greyBook.hasPerson(persons[i])) {
+                error = new IllegalValueException(JsonSerializableGreyBook.MESSAGE_DUPLICATE_PERSON);
+            }
+
+            if (error == null) {
+                greyBook.addPerson(persons[i]);
+            } else {
+                reject(convertedRecordCount + i + 1, error);
+            }
+        }
+
+        convertedRecordCount += batch.size();
+        batch.clear();
+    }
+
+    private void reject(int recordNumber, IllegalValueException error) {
+        if (firstRejection == null) {
+            firstRejection = error;
+        }
+        rejectedRecords.add(String.format(MESSAGE_REJECTED_RECORD_FORMAT, recordNumber, error.getMessage()));
+    }
+}
@@ -0,0 +1,42 @@
+package greynekos.greybook.storage;
+
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.List;
+
+import greynekos.greybook.commons.exceptions.DataLoadingException;
+import greynekos.greybook.model.ReadOnlyGreyBook;
+
+/**
+ * Signals that some of the persons in a GreyBook data file were rejected. The
+ * GreyBook made up of the remaining valid persons is still available.
+ */
+public class PartialGreyBookLoadingException extends DataLoadingException {
+
+    public static final String MESSAGE_REJECTED_RECORDS_FORMAT = "%d of the persons in the data file were rejected";
+
+    private final ReadOnlyGreyBook validData;
+    private final List<String> rejectedRecords;
+
+    /**
+     * Creates a {@code PartialGreyBookLoadingException} with the valid data that
+     * was loaded and a message for each rejected person.
+     */
+    public PartialGreyBookLoadingException(ReadOnlyGreyBook validData, List<String> rejectedRecords) {
+        super(String.format(MESSAGE_REJECTED_RECORDS_FORMAT, rejectedRecords.size()));
+        requireAllNonNull(validData, rejectedRecords);
+        this.validData = validData;
+        this.rejectedRecords = List.copyOf(rejectedRecords);
+    }
+
+    /**
+     * Returns the GreyBook made up of the persons that were not rejected.
+     */
+    public ReadOnlyGreyBook getValidData() {
+        return validData;
+    }
+
+    public List<String> getRejectedRecords() {
+        return rejectedRecords;
+    }
+}
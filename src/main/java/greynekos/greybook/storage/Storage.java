@@ -3,6 +3,7 @@ package greynekos.greybook.storage;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import greynekos.greybook.commons.exceptions.DataLoadingException;
 import greynekos.greybook.model.History;
@@ -36,4 +37,24 @@ public interface Storage extends GreyBookStorage, UserPrefsStorage, HistoryStora
     @Override
     void saveGreyBook(ReadOnlyGreyBook greyBook) throws IOException;
 
+    /**
+     * Sets the handler for GreyBook save failures that happen after
+     * {@link #saveGreyBook(ReadOnlyGreyBook)} has returned.
+     */
+    void setSaveErrorHandler(Consumer<IOException> saveErrorHandler);
+
+    /**
+     * Sets the handler for GreyBook saves that succeed after a failure reported to
+     * the save error handler.
+     */
+    void setSaveRecoveryHandler(Runnable saveRecoveryHandler);
+
+    /**
+     * Waits for all GreyBook saves to reach the disk.
+     *
+     * @throws IOException
+     *             if there was any problem writing to the file.
+     */
+    void flush() throws IOException;
+
 }
@@ -1,8 +1,11 @@
 package greynekos.greybook.storage;
 
+import static java.util.Objects.requireNonNull;
+
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import greynekos.greybook.commons.core.LogsCenter;
@@ -20,6 +23,7 @@ public class StorageManager implements Storage {
 
     private static final Logger logger = LogsCenter.getLogger(StorageManager.class);
     private GreyBookStorage greyBookStorage;
+    private WriteBehindGreyBookStorage writeBehindGreyBookStorage;
     private UserPrefsStorage userPrefsStorage;
     private HistoryStorage historyStorage;
 
@@ -34,6 +38,34 @@ public class StorageManager implements Storage {
         this.historyStorage = historyStorage;
     }
 
+    /**
+     * Creates a {@code StorageManager} that saves the GreyBook in the background,
+     * at most {@code writeBehindDelayMillis} after each save.
+     *
+     * @see WriteBehindGreyBookStorage
+     */
+    public StorageManager(GreyBookStorage greyBookStorage, UserPrefsStorage userPrefsStorage,
+            HistoryStorage historyStorage, long writeBehindDelayMillis) {
+        this(greyBookStorage, userPrefsStorage, historyStorage);
+        writeBehindGreyBookStorage = new WriteBehindGreyBookStorage(greyBookStorage, writeBehindDelayMillis);
+        this.greyBookStorage = writeBehindGreyBookStorage;
+    }
+
+    /**
+     * Returns the storage for the GreyBook data file at {@code filePath}. The data
+     * is stored in the binary format of {@link BinaryGreyBookStorage} if the file
+     * name ends with {@link BinaryGreyBookStorage#FILE_EXTENSION}, or as json with
+     * a journal of the changes since the last snapshot otherwise.
+     */
+    public static GreyBookStorage createGreyBookStorage(Path filePath) {
+        requireNonNull(filePath);
+        Path fileName = filePath.getFileName();
+        if (fileName != null && fileName.toString().endsWith(BinaryGreyBookStorage.FILE_EXTENSION)) {
+            return new BinaryGreyBookStorage(filePath);
+        }
+        return new JournaledGreyBookStorage(filePath);
+    }
+
     // ================ History methods ==============================
 
     @Override
@@ -82,7 +114,7 @@ public class StorageManager implements Storage {
 
     @Override
     public Optional<ReadOnlyGreyBook> readGreyBook(Path filePath) throws DataLoadingException {
-        logger.fine("Attempting to read data from file: " + filePath);
+        logger.fine(() -> "Attempting to read data from file: " + filePath);
         return greyBookStorage.readGreyBook(filePath);
     }
 
@@ -93,8 +125,30 @@ public class StorageManager implements Storage {
 
     @Override
     public void saveGreyBook(ReadOnlyGreyBook greyBook, Path filePath) throws IOException {
-        logger.fine("Attempting to write to data file: " + filePath);
+        logger.fine(() -> "Attempting to write to data file: " + filePath);
         greyBookStorage.saveGreyBook(greyBook, filePath);
     }
 
+    @Override
+    public void setSaveErrorHandler(Consumer<IOException> saveErrorHandler) {
+        requireNonNull(saveErrorHandler);
+        if (writeBehindGreyBookStorage != null) {
+            writeBehindGreyBookStorage.setSaveErrorHandler(saveErrorHandler);
+        }
+    }
+
+    @Override
+    public void setSaveRecoveryHandler(Runnable saveRecoveryHandler) {
+        requireNonNull(saveRecoveryHandler);
+        if (writeBehindGreyBookStorage != null) {
+            writeBehindGreyBookStorage.setSaveRecoveryHandler(saveRecoveryHandler);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (writeBehindGreyBookStorage != null) {
+            writeBehindGreyBookStorage.flush();
+        }
+    }
 }
@@ -0,0 +1,236 @@
+package greynekos.greybook.storage;
+
+import static greynekos.greybook.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.commons.exceptions.DataLoadingException;
+import greynekos.greybook.commons.util.StringUtil;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.GreyBookSnapshot;
+import greynekos.greybook.model.ReadOnlyGreyBook;
+
+/**
+ * A {@code GreyBookStorage} that saves in the background. Saving takes a
+ * snapshot of the GreyBook and returns immediately; a single writer thread then
+ * writes the snapshot to the underlying storage at most {@code maxDelayMillis}
+ * later. Snapshots saved to the same file before the write happens are
+ * coalesced, so only the latest one is written. A snapshot that fails to be
+ * written is kept, and the write is retried until it succeeds or a newer
+ * snapshot replaces it. The delay between retries doubles after each failure,
+ * up to {@link #MAX_RETRY_DELAY_MILLIS}, and only the first failure and the
+ * recovery are reported.
+ */
+public class WriteBehindGreyBookStorage implements GreyBookStorage {
+
+    /** Minimum time to wait before retrying a failed write */
+    public static final long MIN_RETRY_DELAY_MILLIS = 1000;
+
+    /** Maximum time to wait before retrying a write that keeps failing */
+    public static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    private static final Logger logger = LogsCenter.getLogger(WriteBehindGreyBookStorage.class);
+
+    private final GreyBookStorage greyBookStorage;
+    private final long maxDelayMillis;
+    private final ScheduledExecutorService writer;
+
+    /** Latest unwritten snapshot for each file, guarded by {@code this} */
+    private final Map<Path, ReadOnlyGreyBook> pendingSnapshots = new LinkedHashMap<>();
+    private boolean isWriteScheduled;
+
+    /** Delay before the next retry, or 0 if the last writes succeeded; only used by the writer thread */
+    private long retryDelayMillis;
+
+    private volatile Consumer<IOException> saveErrorHandler = e -> {};
+    private volatile Runnable saveRecoveryHandler = () -> {};
+
+    /**
+     * Creates a {@code WriteBehindGreyBookStorage} that writes to
+     * {@code greyBookStorage} at most {@code maxDelayMillis} after a save.
+     */
+    public WriteBehindGreyBookStorage(GreyBookStorage greyBookStorage, long maxDelayMillis) {
+        requireNonNull(greyBookStorage);
+        assert maxDelayMillis >= 0;
+
+        this.greyBookStorage = greyBookStorage;
+        this.maxDelayMillis = maxDelayMillis;
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GreyBook writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sets the handler that is called on the writer thread when a background write
+     * fails after the previous writes succeeded.
+     */
+    public void setSaveErrorHandler(Consumer<IOException> saveErrorHandler) {
+        requireNonNull(saveErrorHandler);
+        this.saveErrorHandler = saveErrorHandler;
+    }
+
+    /**
+     * Sets the handler that is called on the writer thread when all pending
+     * snapshots have been written after a write failed.
+     */
+    public void setSaveRecoveryHandler(Runnable saveRecoveryHandler) {
+        requireNonNull(saveRecoveryHandler);
+        this.saveRecoveryHandler = saveRecoveryHandler;
+    }
+
+    @Override
+    public Path getGreyBookFilePath() {
+        return greyBookStorage.getGreyBookFilePath();
+    }
+
+    @Override
+    public Optional<ReadOnlyGreyBook> readGreyBook() throws DataLoadingException {
+        return readGreyBook(greyBookStorage.getGreyBookFilePath());
+    }
+
+    /**
+     * Returns the snapshot waiting to be written to {@code filePath} if there is
+     * one, since it is newer than the data in the file.
+     */
+    @Override
+    public Optional<ReadOnlyGreyBook> readGreyBook(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+        synchronized (this) {
+            ReadOnlyGreyBook pendingSnapshot = pendingSnapshots.get(filePath);
+            if (pendingSnapshot != null) {
+                return Optional.of(pendingSnapshot);
+            }
+        }
+        return greyBookStorage.readGreyBook(filePath);
+    }
+
+    @Override
+    public void saveGreyBook(ReadOnlyGreyBook greyBook) throws IOException {
+        saveGreyBook(greyBook, greyBookStorage.getGreyBookFilePath());
+    }
+
+    /**
+     * Schedules a snapshot of {@code greyBook} to be written to {@code filePath}.
+     * Write failures are reported to the save error handler instead of being
+     * thrown.
+     */
+    @Override
+    public void saveGreyBook(ReadOnlyGreyBook greyBook, Path filePath) {
+        requireAllNonNull(greyBook, filePath);
+
+        // Persons are immutable, so copying the list is enough to take a snapshot
+        ReadOnlyGreyBook snapshot = greyBook instanceof GreyBookSnapshot ? greyBook : new GreyBook(greyBook);
+        synchronized (this) {
+            pendingSnapshots.put(filePath, snapshot);
+            scheduleWrite(maxDelayMillis);
+        }
+    }
+
+    /**
+     * Schedules the pending snapshots to be written {@code delayMillis} later,
+     * unless a write is already scheduled.
+     */
+    private synchronized void scheduleWrite(long delayMillis) {
+        if (!isWriteScheduled) {
+            isWriteScheduled = true;
+            writer.schedule(this::writePendingSnapshots, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all pending snapshots and waits for the writes to complete.
+     *
+     * @throws IOException
+     *             if any of the pending snapshots could not be written.
+     */
+    public void flush() throws IOException {
+        IOException saveException;
+        try {
+            saveException = writer.submit(this::writePendingSnapshots).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for GreyBook data to be written");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+
+        if (saveException != null) {
+            throw saveException;
+        }
+    }
+
+    /**
+     * Writes all pending snapshots on the writer thread. A snapshot is only removed
+     * once it has been written, and the snapshots that fail to be written are
+     * retried later. Returns the last write failure, or null if all writes
+     * succeeded.
+     */
+    private IOException writePendingSnapshots() {
+        Map<Path, ReadOnlyGreyBook> snapshots;
+        synchronized (this) {
+            snapshots = new LinkedHashMap<>(pendingSnapshots);
+            isWriteScheduled = false;
+        }
+
+        boolean wasFailing = retryDelayMillis > 0;
+        IOException saveException = null;
+        for (Map.Entry<Path, ReadOnlyGreyBook> entry : snapshots.entrySet()) {
+            logger.fine(() -> "Writing GreyBook snapshot to data file: " + entry.getKey());
+            try {
+                greyBookStorage.saveGreyBook(entry.getValue(), entry.getKey());
+            } catch (IOException e) {
+                if (wasFailing) {
+                    logger.fine(() -> "Failed again to write GreyBook snapshot: " + e);
+                } else {
+                    logger.warning("Failed to write GreyBook snapshot: " + StringUtil.getDetails(e));
+                    saveErrorHandler.accept(e);
+                }
+                saveException = e;
+                continue;
+            }
+
+            // Keep any newer snapshot saved while this one was being written
+            synchronized (this) {
+                pendingSnapshots.remove(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (saveException != null) {
+            retryDelayMillis = getNextRetryDelay();
+            scheduleWrite(retryDelayMillis);
+        } else if (wasFailing) {
+            retryDelayMillis = 0;
+            logger.info("Wrote GreyBook snapshots after earlier failures");
+            saveRecoveryHandler.run();
+        }
+        return saveException;
+    }
+
+    /**
+     * Returns the delay before retrying after a write failed, which doubles with
+     * each consecutive failure up to {@link #MAX_RETRY_DELAY_MILLIS}, but is never
+     * shorter than {@code maxDelayMillis}.
+     */
+    private long getNextRetryDelay() {
+        if (retryDelayMillis == 0) {
+            return Math.max(maxDelayMillis, MIN_RETRY_DELAY_MILLIS);
+        }
+        long maxRetryDelayMillis = Math.max(maxDelayMillis, MAX_RETRY_DELAY_MILLIS);
+        return retryDelayMillis >= maxRetryDelayMillis / 2 ? maxRetryDelayMillis : retryDelayMillis * 2;
+    }
+}
@@ -0,0 +1,132 @@
+package greynekos.greybook.ui;
+
+import java.util.concurrent.CompletionException;
+import java.util.logging.Logger;
+
+import greynekos.greybook.commons.core.LogsCenter;
+import greynekos.greybook.logic.CheckInResult;
+import greynekos.greybook.logic.Logic;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+
+/**
+ * Controller for the check-in window, where members are marked as present by
+ * entering or scanning their student IDs one after another.
+ */
+public class CheckInWindow extends UiPart<Stage> {
+
+    public static final String COUNTER_FORMAT = "Present: %1$d    Not checked in: %2$d";
+
+    private static final Logger logger = LogsCenter.getLogger(CheckInWindow.class);
+    private static final String FXML = "CheckInWindow.fxml";
+
+    private static final String SUCCESS_STYLE_CLASS = "success";
+    private static final String ERROR_STYLE_CLASS = "error";
+    private static final String INFO_STYLE_CLASS = "info";
+
+    private final Logic logic;
+
+    @FXML
+    private Label counter;
+
+    @FXML
+    private TextField studentIdTextField;
+
+    @FXML
+    private Label checkInMessage;
+
+    /**
+     * Creates a new CheckInWindow.
+     *
+     * @param root
+     *            Stage to use as the root of the CheckInWindow.
+     * @param logic
+     *            Logic that checks in the student IDs.
+     */
+    public CheckInWindow(Stage root, Logic logic) {
+        super(FXML, root);
+        this.logic = logic;
+        root.setOnHidden(event -> logic.endCheckInAsync().whenComplete(this::showResult));
+    }
+
+    /**
+     * Creates a new CheckInWindow.
+     */
+    public CheckInWindow(Logic logic) {
+        this(new Stage(), logic);
+    }
+
+    /**
+     * Starts a check-in session and shows the check-in window.
+     */
+    public void show() {
+        logger.fine("Showing check-in window.");
+        studentIdTextField.clear();
+        logic.startCheckInAsync().whenComplete(this::showResult);
+        getRoot().show();
+        getRoot().centerOnScreen();
+        studentIdTextField.requestFocus();
+    }
+
+    /**
+     * Returns true if the check-in window is currently being shown.
+     */
+    public boolean isShowing() {
+        return getRoot().isShowing();
+    }
+
+    /**
+     * Hides the check-in window, which ends the check-in session.
+     */
+    public void hide() {
+        getRoot().hide();
+    }
+
+    /**
+     * Focuses on the check-in window.
+     */
+    public void focus() {
+        getRoot().toFront();
+        getRoot().requestFocus();
+        studentIdTextField.requestFocus();
+    }
+
+    /**
+     * Checks in the student ID entered. The text field is cleared at once, so that
+     * the next ID can be entered while the check-in is running.
+     */
+    @FXML
+    private void handleStudentIdEntered() {
+        String studentIdText = studentIdTextField.getText();
+        studentIdTextField.clear();
+        if (studentIdText.isBlank()) {
+            return;
+        }
+
+        logic.checkInAsync(studentIdText).whenComplete(this::showResult);
+    }
+
+    private void showResult(CheckInResult checkInResult, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            logger.warning("Check-in failed: " + cause.getMessage());
+            setMessage(cause.getMessage(), ERROR_STYLE_CLASS);
+            return;
+        }
+
+        counter.setText(String.format(COUNTER_FORMAT, checkInResult.getPresentCount(),
+                checkInResult.getTotalCount() - checkInResult.getPresentCount()));
+        String styleClass = checkInResult.isFailure() ? ERROR_STYLE_CLASS
+                : checkInResult.getOutcome() == CheckInResult.Outcome.CHECKED_IN ? SUCCESS_STYLE_CLASS
+                : INFO_STYLE_CLASS;
+        setMessage(checkInResult.getMessage(), styleClass);
+    }
+
+    private void setMessage(String message, String styleClass) {
+        checkInMessage.setText(message);
+        checkInMessage.getStyleClass().removeAll(SUCCESS_STYLE_CLASS, ERROR_STYLE_CLASS, INFO_STYLE_CLASS);
+        checkInMessage.getStyleClass().add(styleClass);
+    }
+}
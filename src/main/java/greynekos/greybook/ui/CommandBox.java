@@ -1,9 +1,9 @@
 package greynekos.greybook.ui;
 
+import java.util.concurrent.CompletableFuture;
+
 import greynekos.greybook.commons.core.history.CommandHistory;
 import greynekos.greybook.logic.commands.CommandResult;
-import greynekos.greybook.logic.commands.exceptions.CommandException;
-import greynekos.greybook.logic.parser.exceptions.ParseException;
 import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -17,12 +17,14 @@ import javafx.scene.layout.Region;
 public class CommandBox extends UiPart<Region> {
 
     public static final String ERROR_STYLE_CLASS = "error";
+    public static final String PENDING_STYLE_CLASS = "pending";
     private static final String FXML = "CommandBox.fxml";
 
     private final CommandExecutor commandExecutor;
     private final CommandHistory history;
 
     private boolean shouldUpdateBuffer = true;
+    private boolean isPending = false;
     private String lastTextBuffer = "";
 
     @FXML
@@ -56,20 +58,38 @@ public class CommandBox extends UiPart<Region> {
     }
 
     /**
-     * Handles the Enter button pressed event.
+     * Handles the Enter button pressed event. The command box cannot be edited
+     * until the command has finished, which must happen on the JavaFX
+     * application thread.
      */
     @FXML
     private void handleCommandEntered() {
         String commandText = commandTextField.getText();
-        if (commandText.isEmpty()) {
+        if (commandText.isEmpty() || isPending) {
             return;
         }
 
-        try {
-            commandExecutor.execute(commandText);
-            commandTextField.setText("");
-        } catch (CommandException | ParseException e) {
-            setStyleToIndicateCommandFailure();
+        setPending(true);
+        commandExecutor.execute(commandText).whenComplete((unused, error) -> {
+            setPending(false);
+            if (error == null) {
+                commandTextField.setText("");
+            } else {
+                setStyleToIndicateCommandFailure();
+            }
+        });
+    }
+
+    /**
+     * Sets whether a command entered in the command box is still running.
+     */
+    private void setPending(boolean isPending) {
+        this.isPending = isPending;
+        commandTextField.setEditable(!isPending);
+        if (isPending) {
+            commandTextField.getStyleClass().add(PENDING_STYLE_CLASS);
+        } else {
+            commandTextField.getStyleClass().remove(PENDING_STYLE_CLASS);
         }
     }
 
@@ -77,6 +97,9 @@ public class CommandBox extends UiPart<Region> {
      * Handles the up arrow key pressed event.
      */
     private void handleUpArrowEntered() {
+        if (isPending) {
+            return;
+        }
         shouldUpdateBuffer = false;
         commandTextField.setText(history.getPrevCommand());
         moveCaretToEnd();
@@ -86,6 +109,9 @@ public class CommandBox extends UiPart<Region> {
      * Handles the down arrow key pressed event.
      */
     private void handleDownArrowEntered() {
+        if (isPending) {
+            return;
+        }
         String nextCommand = history.getNextCommand();
         if (nextCommand == CommandHistory.NO_PREV_OR_NEXT_COMMAND) {
             commandTextField.setText(lastTextBuffer);
@@ -102,7 +128,7 @@ public class CommandBox extends UiPart<Region> {
      */
     private void handleCtrlCEntered() {
         // Only clear if user did not select any text
-        if (commandTextField.getSelectedText() == "") {
+        if (!isPending && commandTextField.getSelectedText() == "") {
             commandTextField.setText("");
         }
     }
@@ -140,11 +166,12 @@ public class CommandBox extends UiPart<Region> {
     @FunctionalInterface
     public interface CommandExecutor {
         /**
-         * Executes the command and returns the result.
+         * Executes the command and returns a future of the result, which completes
+         * exceptionally if the command fails.
          *
-         * @see greynekos.greybook.logic.Logic#execute(String)
+         * @see greynekos.greybook.logic.Logic#executeAsync(String)
          */
-        CommandResult execute(String commandText) throws CommandException, ParseException;
+        CompletableFuture<CommandResult> execute(String commandText);
     }
 
 }
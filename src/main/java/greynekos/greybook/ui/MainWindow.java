@@ -1,13 +1,13 @@
 package greynekos.greybook.ui;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 
 import greynekos.greybook.commons.core.GuiSettings;
 import greynekos.greybook.commons.core.LogsCenter;
 import greynekos.greybook.logic.Logic;
 import greynekos.greybook.logic.commands.CommandResult;
-import greynekos.greybook.logic.commands.exceptions.CommandException;
-import greynekos.greybook.logic.parser.exceptions.ParseException;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -38,6 +38,7 @@ public class MainWindow extends UiPart<Stage> {
     private PersonTablePanel personListPanel;
     private ResultDisplay resultDisplay;
     private HelpWindow helpWindow;
+    private CheckInWindow checkInWindow;
 
     @FXML
     private StackPane commandBoxPlaceholder;
@@ -76,6 +77,7 @@ public class MainWindow extends UiPart<Stage> {
         setAccelerators();
 
         helpWindow = new HelpWindow();
+        checkInWindow = new CheckInWindow(logic);
     }
 
     /**
@@ -140,6 +142,8 @@ public class MainWindow extends UiPart<Stage> {
      * Fills up all the placeholders of this window.
      */
     void fillInnerParts() {
+        logic.setPublisher(Platform::runLater);
+
         personListPanel = new PersonTablePanel(logic.getFilteredPersonList());
         personListPanelPlaceholder.getChildren().add(personListPanel.getRoot());
 
@@ -151,6 +155,25 @@ public class MainWindow extends UiPart<Stage> {
 
         CommandBox commandBox = new CommandBox(this::executeCommand, logic.getHistory().getCommandHistory());
         commandBoxPlaceholder.getChildren().add(commandBox.getRoot());
+
+        logic.setSaveErrorHandler(message -> Platform.runLater(() -> showSaveStatus(message)));
+    }
+
+    /**
+     * Shows a save failure, or the recovery from one, that was reported after its
+     * command had finished.
+     */
+    private void showSaveStatus(String message) {
+        logger.info("Background save: " + message);
+        showMessage(message);
+    }
+
+    /**
+     * Shows {@code message} in the result display without running a command.
+     */
+    void showMessage(String message) {
+        toggleResultDisplay(true);
+        resultDisplay.setFeedbackToUser(message);
     }
 
     /**
@@ -214,6 +237,17 @@ public class MainWindow extends UiPart<Stage> {
         }
     }
 
+    /**
+     * Opens the check-in window or focuses on it if it's already opened.
+     */
+    public void handleCheckIn() {
+        if (!checkInWindow.isShowing()) {
+            checkInWindow.show();
+        } else {
+            checkInWindow.focus();
+        }
+    }
+
     void show() {
         primaryStage.show();
     }
@@ -227,6 +261,7 @@ public class MainWindow extends UiPart<Stage> {
                 primaryStage.getX(), primaryStage.getY(), primaryStage.maximizedProperty().get());
         logic.setGuiSettings(guiSettings);
         helpWindow.hide();
+        checkInWindow.hide();
         primaryStage.hide();
     }
 
@@ -247,35 +282,36 @@ public class MainWindow extends UiPart<Stage> {
     }
 
     /**
-     * Executes the command and returns the result.
+     * Executes the command in the background and shows its result once it has
+     * finished.
      *
-     * @see greynekos.greybook.logic.Logic#execute(String)
+     * @see greynekos.greybook.logic.Logic#executeAsync(String)
      */
-    private CommandResult executeCommand(String commandText) throws CommandException, ParseException {
-        try {
-            CommandResult commandResult = logic.execute(commandText);
-            logger.info("Result: " + commandResult.getFeedbackToUser());
-
+    private CompletableFuture<CommandResult> executeCommand(String commandText) {
+        return logic.executeAsync(commandText).whenComplete((commandResult, error) -> {
             toggleResultDisplay(true);
 
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                logger.info(() -> "An error occurred while executing command: " + commandText);
+                resultDisplay.setFeedbackToUser(cause.getMessage());
+                return;
+            }
+
+            logger.info(() -> "Result: " + commandResult.getFeedbackToUser());
             resultDisplay.setFeedbackToUser(commandResult.getFeedbackToUser());
 
             if (commandResult.isShowHelp()) {
                 handleHelp();
             }
 
+            if (commandResult.isShowCheckIn()) {
+                handleCheckIn();
+            }
+
             if (commandResult.isExit()) {
                 handleExit();
             }
-
-            return commandResult;
-        } catch (CommandException | ParseException e) {
-            logger.info("An error occurred while executing command: " + commandText);
-
-            toggleResultDisplay(true);
-
-            resultDisplay.setFeedbackToUser(e.getMessage());
-            throw e;
-        }
+        });
     }
 }
@@ -0,0 +1,65 @@
+package greynekos.greybook.ui;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Set;
+
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.tag.Tag;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * The values shown in the row of a {@code Person} in the person table. As a
+ * person is immutable, the values are computed once, and the same observable
+ * values are given to the cells every time the row is rendered.
+ */
+public class PersonRow {
+    private final ObservableValue<String> name;
+    private final ObservableValue<String> studentId;
+    private final ObservableValue<String> email;
+    private final ObservableValue<String> phone;
+    private final ObservableValue<Set<Tag>> tags;
+    private final ObservableValue<String> attendance;
+
+    /**
+     * Creates a {@code PersonRow} with the values of {@code person}.
+     */
+    public PersonRow(Person person) {
+        requireNonNull(person);
+        name = new ReadOnlyStringWrapper(person.getName().toString());
+        studentId = new ReadOnlyStringWrapper(person.getStudentID().toString());
+        email = new ReadOnlyStringWrapper(person.getEmail().toString());
+        phone = new ReadOnlyStringWrapper(person.getPhone().toString());
+        tags = new ReadOnlyObjectWrapper<>(person.getTags());
+
+        AttendanceStatus status = person.getAttendance();
+        attendance = new ReadOnlyStringWrapper(status.value == AttendanceStatus.Status.NONE ? "" : status.toString());
+    }
+
+    public ObservableValue<String> nameProperty() {
+        return name;
+    }
+
+    public ObservableValue<String> studentIdProperty() {
+        return studentId;
+    }
+
+    public ObservableValue<String> emailProperty() {
+        return email;
+    }
+
+    public ObservableValue<String> phoneProperty() {
+        return phone;
+    }
+
+    public ObservableValue<Set<Tag>> tagsProperty() {
+        return tags;
+    }
+
+    public ObservableValue<String> attendanceProperty() {
+        return attendance;
+    }
+}
@@ -0,0 +1,77 @@
+package greynekos.greybook.ui;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import greynekos.greybook.commons.core.jfr.TableRowsChangeEvent;
+import greynekos.greybook.model.person.Person;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * The rows of the persons shown in the person table. The row of a person is
+ * created the first time it is shown, and kept until the person is removed from
+ * the list of persons shown.
+ */
+public class PersonRowCache {
+
+    // Keyed by identity, as each edit of a person replaces it with a new Person
+    private final Map<Person, PersonRow> rows = new IdentityHashMap<>();
+
+    /**
+     * Creates a {@code PersonRowCache} for the rows of the persons in
+     * {@code personList}.
+     */
+    public PersonRowCache(ObservableList<Person> personList) {
+        requireNonNull(personList);
+        personList.addListener((ListChangeListener<Person>) this::handlePersonListChange);
+    }
+
+    /**
+     * Returns the cached row of {@code person}, creating it if it is being shown
+     * for the first time.
+     */
+    public PersonRow getRow(Person person) {
+        return rows.computeIfAbsent(person, PersonRow::new);
+    }
+
+    /**
+     * Returns the number of rows cached.
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Drops the rows of the persons removed by {@code change}. The table updates
+     * the rows of the persons that changed by itself.
+     */
+    private void handlePersonListChange(ListChangeListener.Change<? extends Person> change) {
+        TableRowsChangeEvent rowsChangeEvent = new TableRowsChangeEvent();
+        rowsChangeEvent.begin();
+        Set<Person> removedPersons = Collections.newSetFromMap(new IdentityHashMap<>());
+        int changedRowCount = 0;
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                changedRowCount += change.getTo() - change.getFrom();
+                continue;
+            }
+            removedPersons.addAll(change.getRemoved());
+            // A person that is removed and added back, e.g. when the filter changes, keeps its row
+            change.getAddedSubList().forEach(removedPersons::remove);
+            changedRowCount += Math.max(change.getRemovedSize(), change.getAddedSize());
+        }
+
+        int evictedRowCount = 0;
+        for (Person person : removedPersons) {
+            if (rows.remove(person) != null) {
+                evictedRowCount++;
+            }
+        }
+        rowsChangeEvent.finish(changedRowCount, evictedRowCount);
+    }
+}
@@ -1,12 +1,11 @@
 package greynekos.greybook.ui;
 
+import java.util.Set;
 import java.util.logging.Logger;
 
 import greynekos.greybook.commons.core.LogsCenter;
-import greynekos.greybook.model.person.AttendanceStatus;
 import greynekos.greybook.model.person.Person;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.ListChangeListener;
+import greynekos.greybook.model.tag.Tag;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
@@ -26,6 +25,8 @@ public class PersonTablePanel extends UiPart<Region> {
     private static final String FXML = "PersonTablePanel.fxml";
     private final Logger logger = LogsCenter.getLogger(PersonTablePanel.class);
 
+    private final PersonRowCache rows;
+
     @FXML
     private TableView<Person> personTableView;
 
@@ -45,7 +46,7 @@ public class PersonTablePanel extends UiPart<Region> {
     private TableColumn<Person, String> phoneColumn;
 
     @FXML
-    private TableColumn<Person, String> tagsColumn;
+    private TableColumn<Person, Set<Tag>> tagsColumn;
 
     @FXML
     private TableColumn<Person, String> attendanceStatusColumn;
@@ -106,6 +107,7 @@ public class PersonTablePanel extends UiPart<Region> {
      */
     public PersonTablePanel(ObservableList<Person> personList) {
         super(FXML);
+        rows = new PersonRowCache(personList);
         indexColumn.setCellFactory(col -> new TableCell<>() {
             @Override
             public void updateIndex(int index) {
@@ -118,31 +120,22 @@ public class PersonTablePanel extends UiPart<Region> {
             }
         });
 
-        nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getName().toString()));
+        nameColumn.setCellValueFactory(cellData -> rows.getRow(cellData.getValue()).nameProperty());
         nameColumn.setCellFactory(col -> new PersonTableCellWithTooltip());
 
-        studentIdColumn.setCellValueFactory(
-                cellData -> new SimpleStringProperty(cellData.getValue().getStudentID().toString()));
+        studentIdColumn.setCellValueFactory(cellData -> rows.getRow(cellData.getValue()).studentIdProperty());
         studentIdColumn.setCellFactory(col -> new PersonTableCellWithTooltip());
 
-        emailColumn
-                .setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getEmail().toString()));
+        emailColumn.setCellValueFactory(cellData -> rows.getRow(cellData.getValue()).emailProperty());
         emailColumn.setCellFactory(col -> new PersonTableCellWithTooltip());
 
-        phoneColumn
-                .setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPhone().toString()));
+        phoneColumn.setCellValueFactory(cellData -> rows.getRow(cellData.getValue()).phoneProperty());
         phoneColumn.setCellFactory(col -> new PersonTableCellWithTooltip());
 
-        /*
-         * This cellValueFactory is required, as the string is passed to the item
-         * argument in the updateItem function for the cellFactory below. Otherwise the
-         * tag chips will not get added.
-         */
-        tagsColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTags().stream()
-                .map(tag -> tag.tagName).reduce((x, y) -> x + "," + y).orElse("")));
+        tagsColumn.setCellValueFactory(cellData -> rows.getRow(cellData.getValue()).tagsProperty());
 
         // Custom cell factory for tags to display them as styled chips
-        tagsColumn.setCellFactory(col -> new TableCell<Person, String>() {
+        tagsColumn.setCellFactory(col -> new TableCell<Person, Set<Tag>>() {
             private final FlowPane flowPane = new FlowPane();
 
             {
@@ -156,22 +149,21 @@ public class PersonTablePanel extends UiPart<Region> {
             }
 
             @Override
-            protected void updateItem(String item, boolean empty) {
-                super.updateItem(item, empty);
+            protected void updateItem(Set<Tag> tags, boolean empty) {
+                super.updateItem(tags, empty);
 
-                if (empty || item == null || item.isEmpty()) {
+                if (empty || tags == null || tags.isEmpty()) {
                     flowPane.getChildren().clear();
                     setGraphic(null);
                 } else {
                     // Reuse existing labels if possible
-                    String[] tags = item.split(",");
                     int existingCount = flowPane.getChildren().size();
 
                     // Adjust number of labels to match tag count
-                    if (existingCount > tags.length) {
-                        flowPane.getChildren().remove(tags.length, existingCount);
+                    if (existingCount > tags.size()) {
+                        flowPane.getChildren().remove(tags.size(), existingCount);
                     } else {
-                        for (int i = existingCount; i < tags.length; i++) {
+                        for (int i = existingCount; i < tags.size(); i++) {
                             Label label = new Label();
                             Tooltip tooltip = new Tooltip();
                             tooltip.setShowDelay(Duration.millis(500));
@@ -181,11 +173,11 @@ public class PersonTablePanel extends UiPart<Region> {
                     }
 
                     // Update label texts & tooltips
-                    for (int i = 0; i < tags.length; i++) {
-                        String tagName = tags[i].trim();
-                        Label label = (Label) flowPane.getChildren().get(i);
-                        label.setText(tagName);
-                        label.getTooltip().setText(tagName);
+                    int i = 0;
+                    for (Tag tag : tags) {
+                        Label label = (Label) flowPane.getChildren().get(i++);
+                        label.setText(tag.tagName);
+                        label.getTooltip().setText(tag.tagName);
                     }
                     flowPane.setPrefWrapLength(getWidth()); // Wrap based on cell width
                     setGraphic(flowPane);
@@ -193,15 +185,10 @@ public class PersonTablePanel extends UiPart<Region> {
             }
         });
 
-        attendanceStatusColumn.setCellValueFactory(cellData -> {
-            AttendanceStatus status = cellData.getValue().getAttendance();
-            String display = (status.value == AttendanceStatus.Status.NONE) ? "" : status.toString();
-            return new SimpleStringProperty(display);
-        });
+        attendanceStatusColumn.setCellValueFactory(cellData -> rows.getRow(cellData.getValue()).attendanceProperty());
         attendanceStatusColumn.setCellFactory(col -> new PersonTableCellWithTooltip());
 
         personTableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         personTableView.setItems(personList);
-        personTableView.getItems().addListener((ListChangeListener<Person>) c -> personTableView.refresh());
     }
 }
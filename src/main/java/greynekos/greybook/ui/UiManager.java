@@ -1,5 +1,6 @@
 package greynekos.greybook.ui;
 
+import java.util.Optional;
 import java.util.logging.Logger;
 
 import greynekos.greybook.MainApp;
@@ -23,13 +24,23 @@ public class UiManager implements Ui {
     private static final String ICON_APPLICATION = "/images/greybook.png";
 
     private Logic logic;
+    private Optional<String> startupMessage;
     private MainWindow mainWindow;
 
     /**
      * Creates a {@code UiManager} with the given {@code Logic}.
      */
     public UiManager(Logic logic) {
+        this(logic, Optional.empty());
+    }
+
+    /**
+     * Creates a {@code UiManager} with the given {@code Logic}, which shows
+     * {@code startupMessage} in the result display once the window is shown.
+     */
+    public UiManager(Logic logic, Optional<String> startupMessage) {
         this.logic = logic;
+        this.startupMessage = startupMessage;
     }
 
     @Override
@@ -43,6 +54,7 @@ public class UiManager implements Ui {
             mainWindow = new MainWindow(primaryStage, logic);
             mainWindow.show(); // This should be called before creating other UI parts
             mainWindow.fillInnerParts();
+            startupMessage.ifPresent(mainWindow::showMessage);
 
         } catch (Throwable e) {
             logger.severe(StringUtil.getDetails(e));
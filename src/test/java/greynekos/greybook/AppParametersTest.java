@@ -39,10 +39,52 @@ public class AppParametersTest {
         assertEquals(expected, AppParameters.parse(parametersStub));
     }
 
+    @Test
+    public void parse_batchAndSaveInterval_success() {
+        parametersStub.namedParameters.put("batch", "commands.txt");
+        parametersStub.namedParameters.put("save-every", "100");
+        expected.setBatchSource("commands.txt");
+        expected.setSaveInterval(100);
+        assertEquals(expected, AppParameters.parse(parametersStub));
+    }
+
+    @Test
+    public void parse_invalidSaveInterval_savesOnlyAtEnd() {
+        parametersStub.namedParameters.put("save-every", "-1");
+        assertEquals(expected, AppParameters.parse(parametersStub));
+    }
+
+    @Test
+    public void parse_apiPort_success() {
+        parametersStub.namedParameters.put("api-port", "8080");
+        expected.setApiPort(8080);
+        assertEquals(expected, AppParameters.parse(parametersStub));
+    }
+
+    @Test
+    public void parse_invalidApiPort_apiNotServed() {
+        parametersStub.namedParameters.put("api-port", "65536");
+        assertEquals(expected, AppParameters.parse(parametersStub));
+
+        parametersStub.namedParameters.put("api-port", "http");
+        assertEquals(expected, AppParameters.parse(parametersStub));
+    }
+
+    @Test
+    public void parse_rawArguments_success() {
+        expected.setConfigPath(Paths.get("config.json"));
+        expected.setBatchSource(AppParameters.BATCH_FROM_STDIN);
+        expected.setSaveInterval(10);
+        assertEquals(expected, AppParameters.parse("--config=config.json", "--batch=-", "--save-every=10", "unnamed",
+                "--=ignored"));
+    }
+
     @Test
     public void toStringMethod() {
         AppParameters appParameters = new AppParameters();
-        String expected = AppParameters.class.getCanonicalName() + "{configPath=" + appParameters.getConfigPath() + "}";
+        String expected = AppParameters.class.getCanonicalName() + "{configPath=" + appParameters.getConfigPath()
+                + ", batchSource=" + appParameters.getBatchSource() + ", saveInterval="
+                + appParameters.getSaveInterval() + ", apiPort=" + appParameters.getApiPort() + "}";
         assertEquals(expected, appParameters.toString());
     }
 
@@ -66,6 +108,21 @@ public class AppParametersTest {
         AppParameters otherAppParameters = new AppParameters();
         otherAppParameters.setConfigPath(Paths.get("configPath"));
         assertFalse(appParameters.equals(otherAppParameters));
+
+        // different batch source -> returns false
+        otherAppParameters = new AppParameters();
+        otherAppParameters.setBatchSource(AppParameters.BATCH_FROM_STDIN);
+        assertFalse(appParameters.equals(otherAppParameters));
+
+        // different save interval -> returns false
+        otherAppParameters = new AppParameters();
+        otherAppParameters.setSaveInterval(1);
+        assertFalse(appParameters.equals(otherAppParameters));
+
+        // different API port -> returns false
+        otherAppParameters = new AppParameters();
+        otherAppParameters.setApiPort(8080);
+        assertFalse(appParameters.equals(otherAppParameters));
     }
 
     private static class ParametersStub extends Application.Parameters {
@@ -0,0 +1,193 @@
+package greynekos.greybook.api;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.AMY;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import greynekos.greybook.commons.util.JsonUtil;
+import greynekos.greybook.logic.Logic;
+import greynekos.greybook.logic.LogicManager;
+import greynekos.greybook.logic.commands.AddCommand;
+import greynekos.greybook.logic.commands.MarkCommand;
+import greynekos.greybook.logic.commands.UnmarkCommand;
+import greynekos.greybook.model.History;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.ModelManager;
+import greynekos.greybook.model.UserPrefs;
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.storage.JsonGreyBookStorage;
+import greynekos.greybook.storage.JsonHistoryStorage;
+import greynekos.greybook.storage.JsonUserPrefsStorage;
+import greynekos.greybook.storage.StorageManager;
+
+public class ApiServerTest {
+
+    @TempDir
+    public Path temporaryFolder;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private Model model = new ModelManager(getTypicalGreyBook(), new UserPrefs(), new History());
+    private Logic logic;
+    private ApiServer apiServer;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        JsonGreyBookStorage greyBookStorage = new JsonGreyBookStorage(temporaryFolder.resolve("greyBook.json"));
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json"));
+        JsonHistoryStorage historyStorage = new JsonHistoryStorage(temporaryFolder.resolve("history.json"));
+        logic = new LogicManager(model, new StorageManager(greyBookStorage, userPrefsStorage, historyStorage));
+        apiServer = new ApiServer(logic, 0);
+        apiServer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        apiServer.stop();
+        logic.shutdown();
+    }
+
+    @Test
+    public void constructor_invalidPort_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, ApiServer.MESSAGE_INVALID_PORT, () ->
+                new ApiServer(logic, 65536));
+    }
+
+    @Test
+    public void listPersons_page_success() throws Exception {
+        HttpResponse<String> response = get("/api/persons?offset=1&limit=2");
+        assertEquals(200, response.statusCode());
+
+        Map<String, Object> page = parse(response);
+        assertEquals(model.getGreyBook().getPersonList().size(), page.get("total"));
+        assertEquals(1, page.get("offset"));
+        assertEquals(2, page.get("limit"));
+        List<Map<String, Object>> persons = getPersons(page);
+        assertEquals(2, persons.size());
+        assertEquals(BENSON.getStudentID().value, persons.get(0).get("studentId"));
+    }
+
+    @Test
+    public void listPersons_invalidPage_badRequest() throws Exception {
+        HttpResponse<String> response = get("/api/persons?limit=" + (ApiServer.MAX_PAGE_LIMIT + 1));
+        assertEquals(400, response.statusCode());
+        assertEquals(ApiServer.MESSAGE_INVALID_PAGE, parse(response).get("error"));
+    }
+
+    @Test
+    public void findPersons_keyword_filteredListUnchanged() throws Exception {
+        int shownCount = logic.getFilteredPersonList().size();
+
+        HttpResponse<String> response = get("/api/find?q=Alice");
+        assertEquals(200, response.statusCode());
+
+        List<Map<String, Object>> persons = getPersons(parse(response));
+        assertEquals(1, persons.size());
+        assertEquals(ALICE.getName().fullName, persons.get(0).get("name"));
+        assertEquals(shownCount, logic.getFilteredPersonList().size());
+    }
+
+    @Test
+    public void addPerson_validPerson_added() throws Exception {
+        String body = JsonUtil.toJsonString(new JsonApiPerson(AMY));
+        HttpResponse<String> response = post("/api/persons", body);
+
+        assertEquals(201, response.statusCode());
+        assertTrue(((String) parse(response).get("message")).startsWith(AddCommand.MESSAGE_SUCCESS.split("%")[0]));
+        assertTrue(model.hasPerson(AMY));
+        assertTrue(model.getHistory().getCommandHistory().getHistory().isEmpty());
+        assertFalse(Files.exists(temporaryFolder.resolve("history.json")));
+    }
+
+    @Test
+    public void addPerson_duplicatePerson_badRequest() throws Exception {
+        HttpResponse<String> response = post("/api/persons", JsonUtil.toJsonString(new JsonApiPerson(ALICE)));
+        assertEquals(400, response.statusCode());
+        assertEquals(AddCommand.MESSAGE_DUPLICATE_PERSON, parse(response).get("error"));
+    }
+
+    @Test
+    public void markPerson_validStatus_marked() throws Exception {
+        String studentId = ALICE.getStudentID().value;
+        HttpResponse<String> response = post("/api/persons/" + studentId + "/mark", "{\"status\": \"late\"}");
+        assertEquals(200, response.statusCode());
+        assertEquals(AttendanceStatus.Status.LATE, getAttendance(studentId));
+
+        response = post("/api/persons/" + studentId + "/" + UnmarkCommand.COMMAND_WORD, "");
+        assertEquals(200, response.statusCode());
+        assertEquals(AttendanceStatus.Status.NONE, getAttendance(studentId));
+    }
+
+    @Test
+    public void markPerson_invalidStatus_badRequest() throws Exception {
+        String path = "/api/persons/" + ALICE.getStudentID().value + "/" + MarkCommand.COMMAND_WORD;
+        HttpResponse<String> response = post(path, "{\"status\": \"gone\"}");
+        assertEquals(400, response.statusCode());
+        assertEquals(String.format(ApiServer.MESSAGE_INVALID_STATUS, "gone"), parse(response).get("error"));
+    }
+
+    @Test
+    public void markPerson_index_badRequest() throws Exception {
+        HttpResponse<String> response = post("/api/persons/1/mark", "{\"status\": \"present\"}");
+        assertEquals(400, response.statusCode());
+        assertEquals(StudentID.MESSAGE_CONSTRAINTS, parse(response).get("error"));
+    }
+
+    @Test
+    public void unknownEndpoint_notFound() throws Exception {
+        assertEquals(404, get("/api/unknown").statusCode());
+        assertEquals(404, post("/api/find", "").statusCode());
+    }
+
+    private AttendanceStatus.Status getAttendance(String studentId) {
+        return logic.getGreyBook().getPersonList().stream()
+                .filter(person -> person.getStudentID().value.equals(studentId)).findFirst().get()
+                .getAttendance().value;
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + apiServer.getPort() + path);
+    }
+
+    private static Map<String, Object> parse(HttpResponse<String> response) throws IOException {
+        return JsonUtil.fromJsonString(response.body(), new TypeReference<Map<String, Object>>() {});
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> getPersons(Map<String, Object> page) {
+        return (List<Map<String, Object>>) page.get("persons");
+    }
+}
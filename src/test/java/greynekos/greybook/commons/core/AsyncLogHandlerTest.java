@@ -0,0 +1,139 @@
+package greynekos.greybook.commons.core;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.Test;
+
+public class AsyncLogHandlerTest {
+
+    @Test
+    public void constructor_invalidCapacity_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, AsyncLogHandler.MESSAGE_INVALID_CAPACITY, () ->
+                new AsyncLogHandler(0, new RecordingHandler()));
+    }
+
+    @Test
+    public void flush_recordsPublished_writtenInOrder() {
+        RecordingHandler target = new RecordingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(100, target);
+        for (int i = 0; i < 50; i++) {
+            handler.publish(new LogRecord(Level.INFO, "message " + i));
+        }
+
+        handler.flush();
+        assertEquals(0, handler.getBufferedCount());
+        assertEquals(50, target.getMessages().size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("message " + i, target.getMessages().get(i));
+        }
+        assertTrue(target.flushCount > 0);
+        handler.close();
+    }
+
+    @Test
+    public void publish_bufferFull_dropsRecordsWithoutBlocking() throws InterruptedException {
+        BlockingHandler target = new BlockingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(2, target);
+
+        // The flusher takes the first record and is held up writing it
+        handler.publish(new LogRecord(Level.INFO, "first"));
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+        handler.publish(new LogRecord(Level.INFO, "second"));
+        handler.publish(new LogRecord(Level.INFO, "third"));
+        handler.publish(new LogRecord(Level.INFO, "dropped"));
+        assertEquals(2, handler.getBufferedCount());
+
+        target.release.countDown();
+        handler.close();
+        assertEquals(List.of("first", "second", "third", String.format(AsyncLogHandler.MESSAGE_DROPPED_RECORDS, 1)),
+                target.getMessages());
+    }
+
+    @Test
+    public void close_recordsBuffered_writtenAndTargetsClosed() {
+        RecordingHandler target = new RecordingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(100, target);
+        handler.publish(new LogRecord(Level.INFO, "before close"));
+
+        handler.close();
+        handler.publish(new LogRecord(Level.INFO, "after close"));
+        handler.flush();
+        assertEquals(List.of("before close"), target.getMessages());
+        assertTrue(target.isClosed);
+    }
+
+    @Test
+    public void publish_recordFromCaller_sourceIsCaller() {
+        RecordingHandler target = new RecordingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(100, target);
+        Logger logger = LogsCenter.getLogger(AsyncLogHandlerTest.class);
+        logger.addHandler(handler);
+        try {
+            logger.warning("from test");
+            handler.flush();
+            assertEquals(AsyncLogHandlerTest.class.getName(), target.records.get(0).getSourceClassName());
+        } finally {
+            logger.removeHandler(handler);
+            handler.close();
+        }
+    }
+
+    /**
+     * A handler that keeps the records written to it.
+     */
+    private static class RecordingHandler extends Handler {
+        protected final List<LogRecord> records = new CopyOnWriteArrayList<>();
+        protected volatile int flushCount;
+        protected volatile boolean isClosed;
+
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+            flushCount++;
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+        }
+
+        List<String> getMessages() {
+            return records.stream().map(LogRecord::getMessage).toList();
+        }
+    }
+
+    /**
+     * A handler that waits to be released before it keeps the first record
+     * written to it.
+     */
+    private static class BlockingHandler extends RecordingHandler {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void publish(LogRecord record) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.publish(record);
+        }
+    }
+}
@@ -12,7 +12,9 @@ public class ConfigTest {
     public void toStringMethod() {
         Config config = new Config();
         String expected = Config.class.getCanonicalName() + "{logLevel=" + config.getLogLevel() + ", userPrefsFilePath="
-                + config.getUserPrefsFilePath() + ", historyFilePath=" + config.getHistoryFilePath() + "}";
+                + config.getUserPrefsFilePath() + ", historyFilePath=" + config.getHistoryFilePath()
+                + ", metricsFilePath=" + config.getMetricsFilePath() + ", metricsDumpIntervalSeconds="
+                + config.getMetricsDumpIntervalSeconds() + "}";
         assertEquals(expected, config.toString());
     }
 
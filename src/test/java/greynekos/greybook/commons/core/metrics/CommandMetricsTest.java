@@ -0,0 +1,54 @@
+package greynekos.greybook.commons.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.commons.core.metrics.CommandMetrics.Phase;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.SaveTarget;
+
+public class CommandMetricsTest {
+
+    private final CommandMetrics commandMetrics = new CommandMetrics();
+
+    @Test
+    public void getReport_nothingRecorded_noCommandsMessage() {
+        assertEquals(CommandMetrics.MESSAGE_NO_COMMANDS, commandMetrics.getReport());
+    }
+
+    @Test
+    public void recordPhase_perCommandWordAndPhase() {
+        commandMetrics.recordPhase("add", Phase.PARSE, 100);
+        commandMetrics.recordPhase("add", Phase.PARSE, 200);
+        commandMetrics.recordPhase("list", Phase.EXECUTE, 300);
+
+        assertEquals(2, commandMetrics.getPhaseSummary("add", Phase.PARSE).getCount());
+        assertEquals(200, commandMetrics.getPhaseSummary("add", Phase.PARSE).getMax());
+        assertEquals(0, commandMetrics.getPhaseSummary("add", Phase.EXECUTE).getCount());
+        assertEquals(1, commandMetrics.getPhaseSummary("list", Phase.EXECUTE).getCount());
+        assertEquals(0, commandMetrics.getPhaseSummary("delete", Phase.PARSE).getCount());
+    }
+
+    @Test
+    public void recordSave_bytesTotalled() {
+        commandMetrics.recordSave(SaveTarget.HISTORY, 100, 10);
+        commandMetrics.recordSave(SaveTarget.HISTORY, 150, 10);
+
+        assertEquals(250, commandMetrics.getSaveBytesSummary(SaveTarget.HISTORY).getTotal());
+        assertEquals(0, commandMetrics.getSaveBytesSummary(SaveTarget.GREYBOOK).getCount());
+    }
+
+    @Test
+    public void getReport_recordedPhasesOnly() {
+        commandMetrics.recordPhase("add", Phase.EXECUTE, 2_000_000);
+        commandMetrics.recordSave(SaveTarget.GREYBOOK_JOURNAL, 512, 1_000_000);
+
+        String report = commandMetrics.getReport();
+        assertTrue(report.contains(Phase.EXECUTE.toString()));
+        assertFalse(report.contains(Phase.PARSE.toString()));
+        assertTrue(report.contains(SaveTarget.GREYBOOK_JOURNAL.toString()));
+        assertTrue(report.contains("512"));
+    }
+}
@@ -0,0 +1,58 @@
+package greynekos.greybook.commons.core.metrics;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class HistogramTest {
+
+    @Test
+    public void record_negativeValue_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, Histogram.MESSAGE_CONSTRAINTS, () -> new Histogram().record(-1));
+    }
+
+    @Test
+    public void getSummary_nothingRecorded_allZero() {
+        assertEquals(new Histogram.Summary(0, 0, 0, 0, 0, 0), new Histogram().getSummary());
+    }
+
+    @Test
+    public void getSummary_smallValues_exact() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 5; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(new Histogram.Summary(5, 15, 5, 3, 5, 5), histogram.getSummary());
+    }
+
+    @Test
+    public void getSummary_largeValues_withinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        Histogram.Summary summary = histogram.getSummary();
+        assertEquals(1000, summary.getCount());
+        assertEquals(1_000_000, summary.getMax());
+        assertWithinPrecision(500_000, summary.getP50());
+        assertWithinPrecision(950_000, summary.getP95());
+        assertWithinPrecision(990_000, summary.getP99());
+    }
+
+    @Test
+    public void getBucketEnd_everyBucket_containsItsValues() {
+        for (long value : new long[] {0, 7, 8, 9, 15, 16, 17, 1023, 1024, 123_456_789, Long.MAX_VALUE}) {
+            int index = Histogram.getBucketIndex(value);
+            assertTrue(value <= Histogram.getBucketEnd(index));
+            assertTrue(index == 0 || value > Histogram.getBucketEnd(index - 1));
+        }
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.125, expected + " but was " + actual);
+    }
+}
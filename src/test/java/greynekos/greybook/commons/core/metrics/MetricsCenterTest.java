@@ -0,0 +1,27 @@
+package greynekos.greybook.commons.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import greynekos.greybook.commons.util.FileUtil;
+
+public class MetricsCenterTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void dump_missingFile_reportWritten() throws IOException {
+        Path metricsFilePath = testFolder.resolve("metrics").resolve("metrics.txt");
+
+        MetricsCenter.dump(metricsFilePath);
+
+        assertEquals(MetricsCenter.getCommandMetrics().getReport() + System.lineSeparator(),
+                FileUtil.readFromFile(metricsFilePath));
+    }
+}
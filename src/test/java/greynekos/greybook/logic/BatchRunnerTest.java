@@ -0,0 +1,172 @@
+package greynekos.greybook.logic;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.AMY;
+import static greynekos.greybook.testutil.TypicalPersons.BOB;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import greynekos.greybook.logic.commands.AddCommand;
+import greynekos.greybook.logic.commands.DeleteCommand;
+import greynekos.greybook.logic.commands.ExitCommand;
+import greynekos.greybook.logic.commands.ListCommand;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.ModelManager;
+import greynekos.greybook.model.ReadOnlyGreyBook;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.storage.JsonGreyBookStorage;
+import greynekos.greybook.storage.JsonHistoryStorage;
+import greynekos.greybook.storage.JsonUserPrefsStorage;
+import greynekos.greybook.storage.StorageManager;
+import greynekos.greybook.testutil.PersonUtil;
+
+public class BatchRunnerTest {
+
+    @TempDir
+    public Path temporaryFolder;
+
+    private Model model = new ModelManager();
+    private CountingGreyBookStorage greyBookStorage;
+    private StorageManager storage;
+    private ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @BeforeEach
+    public void setUp() {
+        greyBookStorage = new CountingGreyBookStorage(temporaryFolder.resolve("greyBook.json"));
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json"));
+        JsonHistoryStorage historyStorage = new JsonHistoryStorage(temporaryFolder.resolve("history.json"));
+        storage = new StorageManager(greyBookStorage, userPrefsStorage, historyStorage);
+    }
+
+    @Test
+    public void constructor_negativeSaveInterval_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, BatchRunner.MESSAGE_INVALID_SAVE_INTERVAL, () ->
+                new BatchRunner(model, storage, -1));
+    }
+
+    @Test
+    public void run_validAndInvalidLines_failuresReportedAndSavedOnce() throws Exception {
+        String script = String.join("\n", "# bulk load", PersonUtil.getAddCommand(AMY), "", "delete 9",
+                PersonUtil.getAddCommand(BOB), ListCommand.COMMAND_WORD);
+
+        assertEquals(1, run(script, 0));
+
+        String output = out.toString();
+        assertTrue(output.startsWith(String.format(AddCommand.MESSAGE_SUCCESS, Messages.format(AMY))));
+        assertTrue(output.contains(ListCommand.MESSAGE_SUCCESS));
+        assertTrue(output.endsWith(String.format(BatchRunner.MESSAGE_SUMMARY, 3, 1) + System.lineSeparator()));
+        assertEquals(String.format(BatchRunner.MESSAGE_LINE_FAILED, 4, DeleteCommand.MESSAGE_PERSON_NOT_FOUND)
+                + System.lineSeparator(), err.toString());
+
+        GreyBook expectedGreyBook = new GreyBook();
+        expectedGreyBook.addPerson(AMY);
+        expectedGreyBook.addPerson(BOB);
+        assertEquals(1, greyBookStorage.saveCount);
+        assertEquals(expectedGreyBook, greyBookStorage.readGreyBook().get());
+    }
+
+    @Test
+    public void run_saveInterval_savedEveryInterval() throws Exception {
+        String script = String.join("\n", PersonUtil.getAddCommand(AMY), ListCommand.COMMAND_WORD,
+                PersonUtil.getAddCommand(BOB));
+
+        assertEquals(0, run(script, 1));
+        assertEquals(2, greyBookStorage.saveCount);
+    }
+
+    @Test
+    public void run_readOnlyCommands_notSaved() throws Exception {
+        assertEquals(0, run(ListCommand.COMMAND_WORD, 0));
+        assertEquals(0, greyBookStorage.saveCount);
+    }
+
+    @Test
+    public void run_exitCommand_scriptStopped() throws Exception {
+        String script = String.join("\n", ExitCommand.COMMAND_WORD, PersonUtil.getAddCommand(AMY));
+
+        assertEquals(0, run(script, 0));
+        assertTrue(model.getGreyBook().getPersonList().isEmpty());
+        assertEquals(0, greyBookStorage.saveCount);
+    }
+
+    @Test
+    public void run_unexpectedErrorOnLine_reportedAndLaterLinesRunAndSaved() throws Exception {
+        model = new ModelManager() {
+            @Override
+            public void addPerson(Person person) {
+                if (person.isSamePerson(AMY)) {
+                    throw new IllegalStateException("test failure");
+                }
+                super.addPerson(person);
+            }
+        };
+        String script = String.join("\n", PersonUtil.getAddCommand(AMY), PersonUtil.getAddCommand(BOB));
+
+        assertEquals(1, run(script, 0));
+        assertEquals(String.format(BatchRunner.MESSAGE_LINE_FAILED, 1,
+                String.format(BatchRunner.MESSAGE_UNEXPECTED_ERROR, new IllegalStateException("test failure")))
+                + System.lineSeparator(), err.toString());
+
+        GreyBook expectedGreyBook = new GreyBook();
+        expectedGreyBook.addPerson(BOB);
+        assertEquals(1, greyBookStorage.saveCount);
+        assertEquals(expectedGreyBook, greyBookStorage.readGreyBook().get());
+    }
+
+    @Test
+    public void run_scriptReadFails_changesSaved() throws Exception {
+        BufferedReader script = new BufferedReader(new StringReader(PersonUtil.getAddCommand(AMY))) {
+            private boolean hasReadLine;
+
+            @Override
+            public String readLine() throws IOException {
+                if (hasReadLine) {
+                    throw new IOException("test failure");
+                }
+                hasReadLine = true;
+                return super.readLine();
+            }
+        };
+        BatchRunner batchRunner = new BatchRunner(model, storage, 0);
+
+        assertThrows(IOException.class, () -> batchRunner.run(script, new PrintStream(out, true),
+                new PrintStream(err, true)));
+        assertEquals(1, greyBookStorage.saveCount);
+    }
+
+    private int run(String script, int saveInterval) throws IOException {
+        BatchRunner batchRunner = new BatchRunner(model, storage, saveInterval);
+        return batchRunner.run(new BufferedReader(new StringReader(script)), new PrintStream(out, true),
+                new PrintStream(err, true));
+    }
+
+    /**
+     * A {@code JsonGreyBookStorage} that counts the number of saves.
+     */
+    private static class CountingGreyBookStorage extends JsonGreyBookStorage {
+        private int saveCount;
+
+        CountingGreyBookStorage(Path filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveGreyBook(ReadOnlyGreyBook greyBook, Path filePath) throws IOException {
+            saveCount++;
+            super.saveGreyBook(greyBook, filePath);
+        }
+    }
+}
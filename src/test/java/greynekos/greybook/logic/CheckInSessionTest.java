@@ -0,0 +1,95 @@
+package greynekos.greybook.logic;
+
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static greynekos.greybook.testutil.TypicalPersons.CARL;
+import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.logic.CheckInResult.Outcome;
+import greynekos.greybook.model.History;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.ModelManager;
+import greynekos.greybook.model.UserPrefs;
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.Person;
+
+public class CheckInSessionTest {
+
+    private Model model = new ModelManager(getTypicalGreyBook(), new UserPrefs(), new History());
+
+    @Test
+    public void checkIn_unmarkedPerson_markedPresent() {
+        CheckInSession session = new CheckInSession(model);
+        int presentCount = session.getStartResult().getPresentCount();
+        int totalCount = model.getGreyBook().getPersonList().size();
+
+        CheckInResult result = session.checkIn(" " + CARL.getStudentID().value.toLowerCase() + " ");
+
+        assertEquals(new CheckInResult(Outcome.CHECKED_IN,
+                String.format(CheckInSession.MESSAGE_CHECKED_IN, CARL.getName()), presentCount + 1, totalCount),
+                result);
+        assertEquals(AttendanceStatus.Status.PRESENT, getAttendance(CARL));
+    }
+
+    @Test
+    public void checkIn_sameIdTwice_checkedInOnce() {
+        CheckInSession session = new CheckInSession(model);
+        session.checkIn(CARL.getStudentID().value);
+        long version = model.getGreyBookVersion();
+
+        CheckInResult result = session.checkIn(CARL.getStudentID().value);
+
+        assertEquals(Outcome.ALREADY_CHECKED_IN, result.getOutcome());
+        assertEquals(String.format(CheckInSession.MESSAGE_ALREADY_CHECKED_IN, CARL.getName()), result.getMessage());
+        assertEquals(version, model.getGreyBookVersion());
+    }
+
+    @Test
+    public void checkIn_filteredOutPerson_markedPresent() {
+        model.updateFilteredPersonList(person -> person.equals(ALICE));
+        CheckInSession session = new CheckInSession(model);
+
+        assertEquals(Outcome.CHECKED_IN, session.checkIn(CARL.getStudentID().value).getOutcome());
+        assertEquals(List.of(ALICE), model.getFilteredPersonList());
+    }
+
+    @Test
+    public void checkIn_unknownAndInvalidIds_failure() {
+        CheckInSession session = new CheckInSession(model);
+
+        CheckInResult result = session.checkIn("A0000000Y");
+        assertEquals(Outcome.NOT_FOUND, result.getOutcome());
+        assertTrue(result.isFailure());
+
+        result = session.checkIn("alice");
+        assertEquals(Outcome.INVALID_ID, result.getOutcome());
+        assertEquals(String.format(CheckInSession.MESSAGE_INVALID_ID, "ALICE"), result.getMessage());
+    }
+
+    @Test
+    public void checkIn_greyBookChangedElsewhere_recounted() {
+        CheckInSession session = new CheckInSession(model);
+        int presentCount = session.getStartResult().getPresentCount();
+
+        model.markPerson(BENSON, AttendanceStatus.Status.PRESENT);
+        model.deletePerson(ALICE);
+        CheckInResult result = session.checkIn(CARL.getStudentID().value);
+
+        assertEquals(model.getGreyBook().getPersonList().size(), result.getTotalCount());
+        // Benson and Carl are now present, while Alice was present but is deleted
+        int expectedPresentCount = presentCount + 1;
+        assertEquals(expectedPresentCount, result.getPresentCount());
+        assertEquals(String.format(CheckInSession.MESSAGE_ENDED, expectedPresentCount, result.getTotalCount()),
+                session.getEndResult().getMessage());
+    }
+
+    private AttendanceStatus.Status getAttendance(Person person) {
+        return model.getPersonByStudentId(person.getStudentID()).get().getAttendance().value;
+    }
+}
@@ -8,15 +8,29 @@ import static greynekos.greybook.logic.commands.CommandTestUtil.STUDENTID_DESC_A
 import static greynekos.greybook.testutil.Assert.assertThrows;
 import static greynekos.greybook.testutil.TypicalPersons.AMY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import greynekos.greybook.commons.core.jfr.CommandExecuteEvent;
+import greynekos.greybook.commons.core.jfr.CommandParseEvent;
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.Phase;
 import greynekos.greybook.logic.commands.AddCommand;
 import greynekos.greybook.logic.commands.CommandResult;
 import greynekos.greybook.logic.commands.DeleteCommand;
@@ -27,13 +41,19 @@ import greynekos.greybook.model.History;
 import greynekos.greybook.model.Model;
 import greynekos.greybook.model.ModelManager;
 import greynekos.greybook.model.ReadOnlyGreyBook;
+import greynekos.greybook.model.ReadOnlyHistory;
 import greynekos.greybook.model.UserPrefs;
+import greynekos.greybook.model.person.AttendanceStatus;
 import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.StudentID;
 import greynekos.greybook.storage.JsonGreyBookStorage;
 import greynekos.greybook.storage.JsonHistoryStorage;
 import greynekos.greybook.storage.JsonUserPrefsStorage;
 import greynekos.greybook.storage.StorageManager;
 import greynekos.greybook.testutil.PersonBuilder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 public class LogicManagerTest {
     private static final IOException DUMMY_IO_EXCEPTION = new IOException("dummy IO exception");
@@ -54,6 +74,11 @@ public class LogicManagerTest {
         logic = new LogicManager(model, storage);
     }
 
+    @AfterEach
+    public void tearDown() {
+        logic.shutdown();
+    }
+
     @Test
     public void execute_invalidCommandFormat_throwsParseException() {
         String invalidCommand = "uicfhmowqewca";
@@ -84,6 +109,209 @@ public class LogicManagerTest {
                 String.format(LogicManager.FILE_OPS_PERMISSION_ERROR_FORMAT, DUMMY_AD_EXCEPTION.getMessage()));
     }
 
+    @Test
+    public void execute_commands_phasesRecordedPerCommandWord() throws Exception {
+        CommandMetrics commandMetrics = new CommandMetrics();
+        logic = new LogicManager(model, getStorageWithFailingGreyBookStorage(DUMMY_IO_EXCEPTION), commandMetrics);
+
+        logic.execute(" " + ListCommand.COMMAND_WORD + " ");
+        assertThrows(ParseException.class, () -> logic.execute("uicfhmowqewca"));
+
+        for (Phase phase : new Phase[] {Phase.PARSE, Phase.EXECUTE, Phase.SAVE_HISTORY, Phase.PUBLISH, Phase.TOTAL}) {
+            assertEquals(1, commandMetrics.getPhaseSummary(ListCommand.COMMAND_WORD, phase).getCount());
+        }
+        // read-only commands do not save the GreyBook
+        assertEquals(0, commandMetrics.getPhaseSummary(ListCommand.COMMAND_WORD, Phase.SAVE_GREYBOOK).getCount());
+        assertEquals(1, commandMetrics.getPhaseSummary(LogicManager.INVALID_COMMAND_WORD, Phase.PARSE).getCount());
+    }
+
+    @Test
+    public void execute_flightRecording_commandEventsCommitted() throws Exception {
+        Path recordingPath = temporaryFolder.resolve("commands.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CommandParseEvent.class).withoutThreshold();
+            recording.enable(CommandExecuteEvent.class).withoutThreshold();
+            recording.start();
+            logic.execute(ListCommand.COMMAND_WORD);
+            assertThrows(ParseException.class, () -> logic.execute("uicfhmowqewca"));
+            recording.stop();
+            recording.dump(recordingPath);
+        }
+
+        List<String> events = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingPath)) {
+            String eventName = event.getEventType().getName();
+            if (eventName.startsWith("greynekos.greybook.Command")) {
+                events.add(eventName + " " + event.getString("commandWord") + " " + event.getBoolean("successful"));
+            }
+        }
+        assertEquals(List.of("greynekos.greybook.CommandParse list true", "greynekos.greybook.CommandExecute list true",
+                "greynekos.greybook.CommandParse " + LogicManager.INVALID_COMMAND_WORD + " false"), events);
+    }
+
+    @Test
+    public void execute_readOnlyCommand_greyBookNotSaved() throws Exception {
+        logic = new LogicManager(model, getStorageWithFailingGreyBookStorage(DUMMY_IO_EXCEPTION));
+        assertCommandSuccess(ListCommand.COMMAND_WORD, ListCommand.MESSAGE_SUCCESS, model);
+    }
+
+    @Test
+    public void execute_greyBookSaveFailed_historyStillSaved() throws Exception {
+        Path historyPath = temporaryFolder.resolve("history.json");
+        logic = new LogicManager(model, getStorageWithFailingGreyBookStorage(DUMMY_IO_EXCEPTION));
+        String addCommand =
+                AddCommand.COMMAND_WORD + NAME_DESC_AMY + PHONE_DESC_AMY + EMAIL_DESC_AMY + STUDENTID_DESC_AMY;
+        assertThrows(CommandException.class, () -> logic.execute(addCommand));
+
+        ReadOnlyHistory savedHistory = new JsonHistoryStorage(historyPath).readHistory().get();
+        assertEquals(model.getHistory(), savedHistory);
+    }
+
+    @Test
+    public void executeAsync_validCommand_success() throws Exception {
+        String addCommand =
+                AddCommand.COMMAND_WORD + NAME_DESC_AMY + PHONE_DESC_AMY + EMAIL_DESC_AMY + STUDENTID_DESC_AMY;
+        Person expectedPerson = new PersonBuilder(AMY).withTags().build();
+
+        CommandResult result = logic.executeAsync(addCommand).get();
+        assertEquals(String.format(AddCommand.MESSAGE_SUCCESS, Messages.format(expectedPerson)),
+                result.getFeedbackToUser());
+        assertEquals(List.of(expectedPerson), logic.getFilteredPersonList());
+    }
+
+    @Test
+    public void executeAsync_invalidCommand_completesExceptionally() {
+        CompletableFuture<CommandResult> result = logic.executeAsync("delete 9");
+        assertThrows(ExecutionException.class, () -> result.get());
+
+        Throwable error = result.handle((unused, e) -> e).join();
+        assertTrue(error instanceof CommandException);
+        assertEquals(DeleteCommand.MESSAGE_PERSON_NOT_FOUND, error.getMessage());
+    }
+
+    @Test
+    public void executeAsync_multipleCommands_executedInOrder() throws Exception {
+        String addCommand =
+                AddCommand.COMMAND_WORD + NAME_DESC_AMY + PHONE_DESC_AMY + EMAIL_DESC_AMY + STUDENTID_DESC_AMY;
+        CompletableFuture<CommandResult> addResult = logic.executeAsync(addCommand);
+        CompletableFuture<CommandResult> deleteResult = logic.executeAsync("delete 1");
+
+        addResult.get();
+        deleteResult.get();
+        assertTrue(model.getGreyBook().getPersonList().isEmpty());
+    }
+
+    @Test
+    public void executeAsync_changesPublishedOnPublisher() throws Exception {
+        Queue<Runnable> published = new ArrayDeque<>();
+        logic.setPublisher(published::add);
+        String addCommand =
+                AddCommand.COMMAND_WORD + NAME_DESC_AMY + PHONE_DESC_AMY + EMAIL_DESC_AMY + STUDENTID_DESC_AMY;
+
+        CompletableFuture<CommandResult> result = logic.executeAsync(addCommand);
+        logic.shutdown();
+
+        // The model has changed, but the change has not been published yet
+        assertEquals(1, model.getFilteredPersonList().size());
+        assertTrue(logic.getFilteredPersonList().isEmpty());
+        assertFalse(result.isDone());
+
+        // The list is published before the result is completed
+        published.remove().run();
+        assertEquals(1, logic.getFilteredPersonList().size());
+        assertFalse(result.isDone());
+        published.remove().run();
+        assertTrue(result.isDone());
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void executeAsync_afterShutdown_completesExceptionally() {
+        logic.executeAsync(ListCommand.COMMAND_WORD).join();
+        logic.shutdown();
+        assertTrue(logic.executeAsync(ListCommand.COMMAND_WORD).isCompletedExceptionally());
+    }
+
+    @Test
+    public void checkInAsync_checkIns_savedInBatches() throws Exception {
+        List<String> studentIds = new ArrayList<>();
+        for (int i = 0; i <= LogicManager.CHECK_IN_SAVE_BATCH_SIZE; i++) {
+            String studentIdDigits = String.format("A%07d", i + 1);
+            String studentId = studentIdDigits + StudentID.calculateStudentIdChecksum(studentIdDigits);
+            model.addPerson(new PersonBuilder().withStudentID(studentId).build());
+            studentIds.add(studentId);
+        }
+        Path greyBookFilePath = temporaryFolder.resolve("greyBook.json");
+        JsonGreyBookStorage greyBookStorage = new JsonGreyBookStorage(greyBookFilePath);
+
+        assertEquals(0, logic.startCheckInAsync().get().getPresentCount());
+        for (int i = 0; i < LogicManager.CHECK_IN_SAVE_BATCH_SIZE - 1; i++) {
+            logic.checkInAsync(studentIds.get(i)).get();
+        }
+        assertFalse(Files.exists(greyBookFilePath));
+
+        // Every check-in is published before its batch is saved
+        assertEquals(LogicManager.CHECK_IN_SAVE_BATCH_SIZE - 1, logic.getFilteredPersonList().stream()
+                .filter(person -> person.getAttendance().value == AttendanceStatus.Status.PRESENT).count());
+
+        // The check-in that fills the batch saves it
+        logic.checkInAsync(studentIds.get(LogicManager.CHECK_IN_SAVE_BATCH_SIZE - 1)).get();
+        assertEquals(LogicManager.CHECK_IN_SAVE_BATCH_SIZE, countPresent(greyBookStorage.readGreyBook().get()));
+
+        // Repeated check-ins are not counted, and ending the session saves the rest
+        CheckInResult result = logic.checkInAsync(studentIds.get(0)).get();
+        assertEquals(CheckInResult.Outcome.ALREADY_CHECKED_IN, result.getOutcome());
+        logic.checkInAsync(studentIds.get(LogicManager.CHECK_IN_SAVE_BATCH_SIZE)).get();
+        result = logic.endCheckInAsync().get();
+        assertEquals(studentIds.size(), result.getPresentCount());
+        assertEquals(studentIds.size(), countPresent(greyBookStorage.readGreyBook().get()));
+        assertTrue(logic.getHistory().getCommandHistory().getHistory().isEmpty());
+    }
+
+    @Test
+    public void execute_backgroundSaveFails_reportedAndSavedAgain() throws Exception {
+        Path greyBookFilePath = temporaryFolder.resolve("greyBook.json");
+        int[] failuresLeft = {1};
+        JsonGreyBookStorage greyBookStorage = new JsonGreyBookStorage(greyBookFilePath) {
+            @Override
+            public void saveGreyBook(ReadOnlyGreyBook greyBook, Path filePath) throws IOException {
+                if (failuresLeft[0]-- > 0) {
+                    throw DUMMY_IO_EXCEPTION;
+                }
+                super.saveGreyBook(greyBook, filePath);
+            }
+        };
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json"));
+        JsonHistoryStorage historyStorage = new JsonHistoryStorage(temporaryFolder.resolve("history.json"));
+        List<ReadOnlyGreyBook> savedGreyBooks = new ArrayList<>();
+        StorageManager storage = new StorageManager(greyBookStorage, userPrefsStorage, historyStorage, Long.MAX_VALUE) {
+            @Override
+            public void saveGreyBook(ReadOnlyGreyBook greyBook) throws IOException {
+                savedGreyBooks.add(greyBook);
+                super.saveGreyBook(greyBook);
+            }
+        };
+        logic = new LogicManager(model, storage);
+        List<String> errorMessages = new ArrayList<>();
+        logic.setSaveErrorHandler(errorMessages::add);
+
+        logic.execute(AddCommand.COMMAND_WORD + NAME_DESC_AMY + PHONE_DESC_AMY + EMAIL_DESC_AMY + STUDENTID_DESC_AMY);
+        assertThrows(IOException.class, DUMMY_IO_EXCEPTION.getMessage(), storage::flush);
+        assertEquals(List.of(String.format(LogicManager.FILE_OPS_ERROR_FORMAT, DUMMY_IO_EXCEPTION.getMessage())),
+                errorMessages);
+
+        // The GreyBook has not changed, but is saved again as the last save failed
+        logic.endCheckInAsync().get();
+        assertEquals(2, savedGreyBooks.size());
+        storage.flush();
+        assertEquals(model.getGreyBook(), greyBookStorage.readGreyBook().get());
+    }
+
+    private static long countPresent(ReadOnlyGreyBook greyBook) {
+        return greyBook.getPersonList().stream()
+                .filter(person -> person.getAttendance().value == AttendanceStatus.Status.PRESENT).count();
+    }
+
     @Test
     public void getFilteredPersonList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> logic.getFilteredPersonList().remove(0));
@@ -162,6 +390,23 @@ public class LogicManagerTest {
      *            component
      */
     private void assertCommandFailureForExceptionFromStorage(IOException e, String expectedMessage) {
+        logic = new LogicManager(model, getStorageWithFailingGreyBookStorage(e));
+
+        // Triggers the saveGreyBook method by executing an add command
+        String addCommand =
+                AddCommand.COMMAND_WORD + NAME_DESC_AMY + PHONE_DESC_AMY + EMAIL_DESC_AMY + STUDENTID_DESC_AMY;
+        Person expectedPerson = new PersonBuilder(AMY).withTags().build();
+        ModelManager expectedModel = new ModelManager();
+        expectedModel.addPerson(expectedPerson);
+        expectedModel.getHistory().getCommandHistory().addCommand(addCommand);
+        assertCommandFailure(addCommand, CommandException.class, expectedMessage, expectedModel);
+    }
+
+    /**
+     * Returns a {@code StorageManager} whose GreyBook storage throws {@code e}
+     * when saving.
+     */
+    private StorageManager getStorageWithFailingGreyBookStorage(IOException e) {
         Path prefPath = temporaryFolder.resolve("ExceptionUserPrefs.json");
 
         // Inject LogicManager with an GreyBookStorage that throws the IOException e
@@ -176,17 +421,6 @@ public class LogicManagerTest {
         JsonUserPrefsStorage userPrefsStorage =
                 new JsonUserPrefsStorage(temporaryFolder.resolve("ExceptionUserPrefs.json"));
         JsonHistoryStorage historyStorage = new JsonHistoryStorage(temporaryFolder.resolve("history.json"));
-        StorageManager storage = new StorageManager(greyBookStorage, userPrefsStorage, historyStorage);
-
-        logic = new LogicManager(model, storage);
-
-        // Triggers the saveGreyBook method by executing an add command
-        String addCommand =
-                AddCommand.COMMAND_WORD + NAME_DESC_AMY + PHONE_DESC_AMY + EMAIL_DESC_AMY + STUDENTID_DESC_AMY;
-        Person expectedPerson = new PersonBuilder(AMY).withTags().build();
-        ModelManager expectedModel = new ModelManager();
-        expectedModel.addPerson(expectedPerson);
-        expectedModel.getHistory().getCommandHistory().addCommand(addCommand);
-        assertCommandFailure(addCommand, CommandException.class, expectedMessage, expectedModel);
+        return new StorageManager(greyBookStorage, userPrefsStorage, historyStorage);
     }
 }
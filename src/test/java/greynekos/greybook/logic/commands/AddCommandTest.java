@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -17,6 +18,7 @@ import greynekos.greybook.logic.Messages;
 import greynekos.greybook.logic.commands.exceptions.CommandException;
 import greynekos.greybook.logic.commands.stubs.AddPersonArgumentParseResultStub;
 import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.GreyBookSnapshot;
 import greynekos.greybook.model.Model;
 import greynekos.greybook.model.ReadOnlyGreyBook;
 import greynekos.greybook.model.ReadOnlyHistory;
@@ -24,6 +26,8 @@ import greynekos.greybook.model.ReadOnlyUserPrefs;
 import greynekos.greybook.model.person.AttendanceStatus;
 import greynekos.greybook.model.person.Person;
 import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.person.TagIndex;
+import greynekos.greybook.model.person.TrigramIndex;
 import greynekos.greybook.testutil.PersonBuilder;
 import javafx.collections.ObservableList;
 
@@ -112,6 +116,26 @@ public class AddCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public long getGreyBookVersion() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public GreyBookSnapshot getGreyBookSnapshot() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public TagIndex getTagIndex() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public TrigramIndex getTrigramIndex() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public boolean hasPerson(Person person) {
             throw new AssertionError("This method should not be called.");
@@ -151,6 +175,16 @@ public class AddCommandTest {
         public void unmarkPerson(Person target) {
             throw new AssertionError("This method should not be called.");
         }
+
+        @Override
+        public void markPersons(List<Person> targets, AttendanceStatus.Status attendanceStatus) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void unmarkPersons(List<Person> targets) {
+            throw new AssertionError("This method should not be called.");
+        }
     }
 
     /**
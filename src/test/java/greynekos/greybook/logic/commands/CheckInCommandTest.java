@@ -0,0 +1,22 @@
+package greynekos.greybook.logic.commands;
+
+import static greynekos.greybook.logic.commands.CheckInCommand.SHOWING_CHECK_IN_MESSAGE;
+import static greynekos.greybook.logic.commands.CommandTestUtil.assertCommandSuccess;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.logic.commands.stubs.ArgumentParseResultStub;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.ModelManager;
+
+public class CheckInCommandTest {
+    private Model model = new ModelManager();
+    private Model expectedModel = new ModelManager();
+
+    @Test
+    public void execute_checkIn_success() {
+        CommandResult expectedCommandResult = new CommandResult(SHOWING_CHECK_IN_MESSAGE, false, false, true);
+        assertCommandSuccess(new CheckInCommand(), model, new ArgumentParseResultStub(), expectedCommandResult,
+                expectedModel);
+    }
+}
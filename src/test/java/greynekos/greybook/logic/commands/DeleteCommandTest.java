@@ -6,6 +6,7 @@ import static greynekos.greybook.logic.commands.CommandTestUtil.showPersonAtInde
 import static greynekos.greybook.testutil.TypicalIndexes.INDEX_FIRST_PERSON;
 import static greynekos.greybook.testutil.TypicalIndexes.INDEX_SECOND_PERSON;
 import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -116,12 +117,32 @@ public class DeleteCommandTest {
 
         String expectedMessage = String.format(DeleteCommand.MESSAGE_DELETE_PERSON_SUCCESS, personToDelete.getName());
 
+        // The filter is kept, so the filtered list is left empty
         Model expectedModel = new ModelManager(model.getGreyBook(), new UserPrefs(), new History());
+        showPersonAtIndex(expectedModel, INDEX_FIRST_PERSON);
         expectedModel.deletePerson(personToDelete);
 
         assertCommandSuccess(deleteCommand, model, argStub, expectedMessage, expectedModel);
     }
 
+    @Test
+    public void execute_studentIdOutsideFilteredList_filterKept() {
+        showPersonAtIndex(model, INDEX_FIRST_PERSON);
+
+        Person personToDelete = model.getGreyBook().getPersonList().get(INDEX_SECOND_PERSON.getZeroBased());
+        DeletePersonArgumentParseResultStub argStub =
+                new DeletePersonArgumentParseResultStub(personToDelete.getStudentID());
+
+        String expectedMessage = String.format(DeleteCommand.MESSAGE_DELETE_PERSON_SUCCESS, personToDelete.getName());
+
+        Model expectedModel = new ModelManager(model.getGreyBook(), new UserPrefs(), new History());
+        showPersonAtIndex(expectedModel, INDEX_FIRST_PERSON);
+        expectedModel.deletePerson(personToDelete);
+
+        assertCommandSuccess(new DeleteCommand(), model, argStub, expectedMessage, expectedModel);
+        assertEquals(1, model.getFilteredPersonList().size());
+    }
+
     /**
      * Updates {@code model}'s filtered list to show no one.
      */
@@ -3,18 +3,24 @@ package greynekos.greybook.logic.commands;
 import static greynekos.greybook.logic.Messages.MESSAGE_PERSONS_LISTED_OVERVIEW;
 import static greynekos.greybook.logic.commands.CommandTestUtil.assertCommandFailure;
 import static greynekos.greybook.logic.commands.CommandTestUtil.assertCommandSuccess;
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
 import static greynekos.greybook.testutil.TypicalPersons.CARL;
+import static greynekos.greybook.testutil.TypicalPersons.DANIEL;
 import static greynekos.greybook.testutil.TypicalPersons.ELLE;
 import static greynekos.greybook.testutil.TypicalPersons.FIONA;
 import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import greynekos.greybook.logic.commands.exceptions.CommandException;
 import greynekos.greybook.logic.parser.ArgumentParseResult;
 import greynekos.greybook.logic.parser.GreyBookParser;
 import greynekos.greybook.model.History;
@@ -22,8 +28,10 @@ import greynekos.greybook.model.Model;
 import greynekos.greybook.model.ModelManager;
 import greynekos.greybook.model.UserPrefs;
 import greynekos.greybook.model.person.NameOrStudentIdPredicate;
+import greynekos.greybook.model.person.NameOrStudentIdPredicateOrTag;
 import greynekos.greybook.model.person.Person;
 import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.testutil.PersonBuilder;
 
 /**
  * Contains integration tests (interaction with the Model) and unit tests for
@@ -136,4 +144,89 @@ public class FindCommandTest {
         assertCommandSuccess(findCommand, model, arg, expectedMessage, expectedModel);
         assertEquals(Arrays.asList(byId, ELLE), model.getFilteredPersonList());
     }
+
+    @Test
+    public void execute_tagFragment_personsWithMatchingTagFound() throws Exception {
+        FindCommand findCommand = new FindCommand();
+        GreyBookParser parser = new GreyBookParser();
+        findCommand.addToParser(parser);
+
+        String userInput = "find t/owes";
+        ArgumentParseResult arg = parser.parse(userInput);
+
+        String expectedMessage = String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 1);
+
+        NameOrStudentIdPredicateOrTag predicate = new NameOrStudentIdPredicateOrTag(Collections.emptyList(),
+                Collections.emptyList(), Arrays.asList("owes"));
+        expectedModel.updateFilteredPersonList(predicate);
+
+        assertCommandSuccess(findCommand, model, arg, expectedMessage, expectedModel);
+        assertEquals(Arrays.asList(BENSON), model.getFilteredPersonList());
+    }
+
+    @Test
+    public void execute_tagFragmentThenTagsEdited_filteredListUpdated() throws Exception {
+        FindCommand findCommand = new FindCommand();
+        GreyBookParser parser = new GreyBookParser();
+        findCommand.addToParser(parser);
+
+        findCommand.execute(model, parser.parse("find t/exco"));
+        assertTrue(model.getFilteredPersonList().isEmpty());
+
+        Person editedCarl = new PersonBuilder(CARL).withTags("exco").build();
+        model.setPerson(CARL, editedCarl);
+        assertEquals(Arrays.asList(editedCarl), model.getFilteredPersonList());
+    }
+
+    @Test
+    public void execute_emailAndPhoneFragments_personsFound() throws Exception {
+        FindCommand findCommand = new FindCommand();
+        GreyBookParser parser = new GreyBookParser();
+        findCommand.addToParser(parser);
+
+        String userInput = "find e/HEINZ@ p/652533";
+        ArgumentParseResult arg = parser.parse(userInput);
+
+        String expectedMessage = String.format(MESSAGE_PERSONS_LISTED_OVERVIEW, 2);
+
+        NameOrStudentIdPredicateOrTag predicate = new NameOrStudentIdPredicateOrTag(Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList(), Arrays.asList("HEINZ@"), Arrays.asList("652533"));
+        expectedModel.updateFilteredPersonList(predicate);
+
+        assertCommandSuccess(findCommand, model, arg, expectedMessage, expectedModel);
+        assertEquals(Arrays.asList(CARL, DANIEL), model.getFilteredPersonList());
+    }
+
+    @Test
+    public void execute_invalidPhoneFragment_throwsCommandException() throws Exception {
+        FindCommand findCommand = new FindCommand();
+        GreyBookParser parser = new GreyBookParser();
+        findCommand.addToParser(parser);
+
+        ArgumentParseResult arg = parser.parse("find p/12ab");
+        assertCommandFailure(findCommand, model, arg, "Phone fragments can only contain digits and '+'.");
+    }
+
+    @Test
+    public void createPredicate_emailAndPhoneFragments_sameAsExecute() throws Exception {
+        FindCommand findCommand = new FindCommand();
+        GreyBookParser parser = new GreyBookParser();
+        findCommand.addToParser(parser);
+
+        ArgumentParseResult arg = parser.parse("find e/HEINZ@ p/652533");
+        List<Person> found = model.getGreyBook().getPersonList().stream()
+                .filter(findCommand.createPredicate(arg)).toList();
+        assertEquals(Arrays.asList(CARL, DANIEL), found);
+        assertEquals(getTypicalGreyBook().getPersonList().size(), model.getFilteredPersonList().size());
+    }
+
+    @Test
+    public void createPredicate_emptyCriteria_throwsCommandException() throws Exception {
+        FindCommand findCommand = new FindCommand();
+        GreyBookParser parser = new GreyBookParser();
+        findCommand.addToParser(parser);
+
+        ArgumentParseResult arg = parser.parse("find");
+        assertThrows(CommandException.class, FindCommand.MESSAGE_EMPTY_COMMAND, () -> findCommand.createPredicate(arg));
+    }
 }
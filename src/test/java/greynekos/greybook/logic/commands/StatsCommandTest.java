@@ -0,0 +1,31 @@
+package greynekos.greybook.logic.commands;
+
+import static greynekos.greybook.logic.commands.CommandTestUtil.assertCommandSuccess;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.Phase;
+import greynekos.greybook.logic.commands.stubs.ArgumentParseResultStub;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.ModelManager;
+
+public class StatsCommandTest {
+    private Model model = new ModelManager();
+    private Model expectedModel = new ModelManager();
+
+    @Test
+    public void execute_nothingRecorded_noCommandsMessage() {
+        assertCommandSuccess(new StatsCommand(new CommandMetrics()), model, new ArgumentParseResultStub(),
+                CommandMetrics.MESSAGE_NO_COMMANDS, expectedModel);
+    }
+
+    @Test
+    public void execute_commandsRecorded_showsReport() {
+        CommandMetrics commandMetrics = new CommandMetrics();
+        commandMetrics.recordPhase("list", Phase.TOTAL, 1_000_000);
+
+        assertCommandSuccess(new StatsCommand(commandMetrics), model, new ArgumentParseResultStub(),
+                commandMetrics.getReport(), expectedModel);
+    }
+}
@@ -205,6 +205,23 @@ public class ArgumentTokenizerTest {
         assertArgumentPresent(argMultimap, dashT, "\\dashT-Value");
     }
 
+    @Test
+    public void tokenize_overlappingPrefixes_longestPrefixMatched() throws ParseException {
+        Prefix dashTx = new Prefix("-tx");
+        String argsString = "SomePreambleString -tx value1 -t value2";
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(argsString, dashT, dashTx);
+        assertArgumentPresent(argMultimap, dashTx, "value1");
+        assertArgumentPresent(argMultimap, dashT, "value2");
+    }
+
+    @Test
+    public void tokenize_quotedWhitespace_preserved() throws ParseException {
+        String argsString = "SomePreambleString -t \"  dashT  Value  \"   p/pSlash value  ";
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(argsString, pSlash, dashT);
+        assertArgumentPresent(argMultimap, dashT, "  dashT  Value  ");
+        assertArgumentPresent(argMultimap, pSlash, "pSlash value");
+    }
+
     @Test
     public void equalsMethod() {
         Prefix aaa = new Prefix("aaa");
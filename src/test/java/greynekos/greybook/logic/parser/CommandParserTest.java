@@ -0,0 +1,91 @@
+package greynekos.greybook.logic.parser;
+
+import static greynekos.greybook.logic.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.logic.Messages;
+import greynekos.greybook.logic.parser.commandoption.OptionalPrefixOption;
+import greynekos.greybook.logic.parser.commandoption.RequiredMutuallyExclusivePrefixOption;
+import greynekos.greybook.logic.parser.commandoption.RequiredPrefixOption;
+import greynekos.greybook.logic.parser.commandoption.SinglePreambleOption;
+import greynekos.greybook.logic.parser.commandoption.ZeroOrMorePrefixOption;
+import greynekos.greybook.logic.parser.exceptions.ParseException;
+
+public class CommandParserTest {
+
+    private static final String MESSAGE_USAGE = "test: usage";
+
+    private final Prefix aSlash = new Prefix("a/");
+    private final Prefix bSlash = new Prefix("b/");
+    private final Prefix tSlash = new Prefix("t/");
+    private final Prefix xSlash = new Prefix("x/");
+    private final Prefix ySlash = new Prefix("y/");
+
+    private final SinglePreambleOption<String> preambleOption = SinglePreambleOption.of("PREAMBLE");
+    private final RequiredPrefixOption<String> aOption = RequiredPrefixOption.of(aSlash, "A");
+    private final RequiredPrefixOption<String> bOption = RequiredPrefixOption.of(bSlash, "B");
+    private final OptionalPrefixOption<String> tOption = OptionalPrefixOption.of(tSlash, "T");
+    private final ZeroOrMorePrefixOption<String> manyOption = ZeroOrMorePrefixOption.of(ySlash, "Y");
+
+    private CommandParser newParser() {
+        return new CommandParser(MESSAGE_USAGE, null).addOptions(preambleOption, aOption, bOption, tOption,
+                manyOption);
+    }
+
+    @Test
+    public void parse_allOptions_success() throws Exception {
+        ArgumentParseResult result = newParser().parse(" preamble a/first b/second y/1 y/2");
+        assertEquals("preamble", result.getValue(preambleOption));
+        assertEquals("first", result.getValue(aOption));
+        assertEquals("second", result.getValue(bOption));
+        assertTrue(result.getOptionalValue(tOption).isEmpty());
+        assertEquals(List.of("1", "2"), result.getAllValues(manyOption));
+    }
+
+    @Test
+    public void parse_noRequiredOptions_throwsParseExceptionWithUsage() {
+        assertThrows(ParseException.class, String.format(MESSAGE_INVALID_COMMAND_FORMAT, MESSAGE_USAGE), () ->
+                newParser().parse(" t/tag"));
+    }
+
+    @Test
+    public void parse_someRequiredOptionsMissing_throwsParseException() {
+        assertThrows(ParseException.class,
+                String.format(CommandParser.MESSAGE_MISSING_REQUIRED_OPTIONS_FORMAT, "b/B"), () ->
+                        newParser().parse(" preamble a/first"));
+    }
+
+    @Test
+    public void parse_duplicatePrefixes_throwsParseException() {
+        assertThrows(ParseException.class, Messages.getErrorMessageForDuplicatePrefixes(aSlash), () ->
+                newParser().parse(" preamble a/first a/again b/second"));
+    }
+
+    @Test
+    public void parse_mutuallyExclusivePrefixes_throwsParseException() {
+        CommandParser parser = newParser().addOptions(
+                RequiredMutuallyExclusivePrefixOption.of("group", xSlash, "X"),
+                RequiredMutuallyExclusivePrefixOption.of("group", new Prefix("z/"), "Z"));
+        assertThrows(ParseException.class,
+                Messages.getErrorMessageForMutuallyExclusivePrefixes(xSlash, new Prefix("z/")), () ->
+                        parser.parse(" preamble a/first b/second x/1 z/2"));
+    }
+
+    @Test
+    public void parse_optionAddedAfterParse_optionRecognized() throws Exception {
+        CommandParser parser = new CommandParser(MESSAGE_USAGE, null).addOptions(aOption);
+        parser.compileParsePlan();
+        assertEquals("first t/tag", parser.parse(" a/first t/tag").getValue(aOption));
+
+        parser.addOption(tOption);
+        ArgumentParseResult result = parser.parse(" a/first t/tag");
+        assertEquals("first", result.getValue(aOption));
+        assertEquals("tag", result.getOptionalValue(tOption).get());
+    }
+}
@@ -0,0 +1,54 @@
+package greynekos.greybook.model;
+
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.model.GreyBookChangeLog.Change;
+
+public class GreyBookChangeLogTest {
+
+    @Test
+    public void getChangesSince_changesLogged_changesInOrder() {
+        GreyBookChangeLog start = GreyBookChangeLog.start();
+        GreyBookChangeLog log = start.put(ALICE).delete(BENSON.getStudentID());
+
+        assertEquals(Optional.of(List.of(new Change(ALICE.getStudentID(), ALICE),
+                new Change(BENSON.getStudentID(), null))), log.getChangesSince(start));
+        assertEquals(Optional.of(List.of()), log.getChangesSince(log));
+        assertTrue(log.getChangesSince(start).get().get(1).isDelete());
+    }
+
+    @Test
+    public void getChangesSince_otherLog_empty() {
+        GreyBookChangeLog log = GreyBookChangeLog.start().put(ALICE);
+        assertEquals(Optional.empty(), log.getChangesSince(GreyBookChangeLog.start()));
+    }
+
+    @Test
+    public void getChangesSince_logFull_newLogStarted() {
+        GreyBookChangeLog start = GreyBookChangeLog.start();
+        GreyBookChangeLog log = start;
+        for (int i = 0; i < GreyBookChangeLog.MAX_LENGTH; i++) {
+            log = log.put(ALICE);
+        }
+        assertEquals(GreyBookChangeLog.MAX_LENGTH, log.getChangesSince(start).get().size());
+        assertEquals(Optional.empty(), log.put(ALICE).getChangesSince(start));
+    }
+
+    @Test
+    public void getChangeLog_studentIdEdited_newLogStarted() {
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(ALICE);
+        GreyBookChangeLog log = greyBook.getChangeLog();
+
+        greyBook.setPerson(ALICE, BENSON);
+        assertEquals(Optional.empty(), greyBook.getChangeLog().getChangesSince(log));
+    }
+}
@@ -6,6 +6,7 @@ import static greynekos.greybook.testutil.TypicalPersons.ALICE;
 import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
@@ -68,6 +69,35 @@ public class GreyBookTest {
         assertTrue(greyBook.hasPerson(ALICE));
     }
 
+    @Test
+    public void getVersion_personLevelOperations_changesVersion() {
+        long version = greyBook.getVersion();
+        greyBook.addPerson(ALICE);
+        assertNotEquals(version, greyBook.getVersion());
+
+        version = greyBook.getVersion();
+        Person editedAlice = new PersonBuilder(ALICE).withTags(VALID_TAG_CONTRIBUTOR).build();
+        greyBook.setPerson(ALICE, editedAlice);
+        assertNotEquals(version, greyBook.getVersion());
+
+        version = greyBook.getVersion();
+        greyBook.removePerson(editedAlice);
+        assertNotEquals(version, greyBook.getVersion());
+
+        version = greyBook.getVersion();
+        greyBook.resetData(getTypicalGreyBook());
+        assertNotEquals(version, greyBook.getVersion());
+    }
+
+    @Test
+    public void getVersion_readOperations_versionUnchanged() {
+        greyBook.addPerson(ALICE);
+        long version = greyBook.getVersion();
+        greyBook.hasPerson(ALICE);
+        greyBook.getPersonList();
+        assertEquals(version, greyBook.getVersion());
+    }
+
     @Test
     public void getPersonList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> greyBook.getPersonList().remove(0));
@@ -79,6 +109,25 @@ public class GreyBookTest {
         assertEquals(expected, greyBook.toString());
     }
 
+    @Test
+    public void equals_snapshot() {
+        GreyBook typicalGreyBook = getTypicalGreyBook();
+        GreyBookSnapshot snapshot = new GreyBookSnapshot(typicalGreyBook.getPersonList(),
+                typicalGreyBook.getVersion(), typicalGreyBook.getChangeLog());
+
+        // same persons -> returns true both ways, with the same hash code
+        assertEquals(typicalGreyBook, snapshot);
+        assertEquals(snapshot, typicalGreyBook);
+        assertEquals(typicalGreyBook.hashCode(), snapshot.hashCode());
+
+        // different persons -> returns false both ways
+        assertNotEquals(greyBook, snapshot);
+        assertNotEquals(snapshot, greyBook);
+
+        // other ReadOnlyGreyBook -> returns false
+        assertNotEquals(snapshot, new GreyBookStub(typicalGreyBook.getPersonList()));
+    }
+
     /**
      * A stub ReadOnlyGreyBook whose persons list can violate interface constraints.
      */
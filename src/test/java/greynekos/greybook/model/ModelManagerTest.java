@@ -4,21 +4,29 @@ import static greynekos.greybook.model.Model.PREDICATE_SHOW_ALL_PERSONS;
 import static greynekos.greybook.testutil.Assert.assertThrows;
 import static greynekos.greybook.testutil.TypicalPersons.ALICE;
 import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static greynekos.greybook.testutil.TypicalPersons.getTypicalPersons;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.Test;
 
 import greynekos.greybook.commons.core.GuiSettings;
 import greynekos.greybook.commons.core.history.CommandHistory;
+import greynekos.greybook.model.person.AttendanceStatus;
 import greynekos.greybook.model.person.NameOrStudentIdPredicate;
+import greynekos.greybook.model.person.Person;
 import greynekos.greybook.testutil.GreyBookBuilder;
+import greynekos.greybook.testutil.PersonBuilder;
 
 public class ModelManagerTest {
 
@@ -62,6 +70,71 @@ public class ModelManagerTest {
         assertEquals(guiSettings, modelManager.getGuiSettings());
     }
 
+    @Test
+    public void markPersons_filteredPersons_allMarkedInOneVersion() {
+        modelManager.addPerson(ALICE);
+        modelManager.addPerson(BENSON);
+        long version = modelManager.getGreyBookVersion();
+
+        modelManager.markPersons(modelManager.getFilteredPersonList(), AttendanceStatus.Status.EXCUSED);
+
+        assertEquals(version + 1, modelManager.getGreyBookVersion());
+        assertTrue(modelManager.getFilteredPersonList().stream()
+                .allMatch(person -> person.getAttendance().value == AttendanceStatus.Status.EXCUSED));
+
+        modelManager.unmarkPersons(modelManager.getFilteredPersonList());
+        assertEquals(List.of(new PersonBuilder(ALICE).withAttendanceStatus(AttendanceStatus.Status.NONE).build(),
+                BENSON), modelManager.getFilteredPersonList());
+    }
+
+    @Test
+    public void getGreyBookSnapshot_unchangedGreyBook_sameSnapshot() {
+        modelManager.addPerson(ALICE);
+        GreyBookSnapshot snapshot = modelManager.getGreyBookSnapshot();
+        assertSame(snapshot, modelManager.getGreyBookSnapshot());
+        assertEquals(modelManager.getGreyBookVersion(), snapshot.getVersion());
+    }
+
+    @Test
+    public void getGreyBookSnapshot_greyBookChanged_snapshotUnchanged() {
+        modelManager.addPerson(ALICE);
+        GreyBookSnapshot snapshot = modelManager.getGreyBookSnapshot();
+
+        modelManager.addPerson(BENSON);
+        modelManager.deletePerson(ALICE);
+
+        assertEquals(List.of(ALICE), snapshot.getPersonList());
+        assertEquals(List.of(BENSON), modelManager.getGreyBookSnapshot().getPersonList());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPersonList().remove(0));
+    }
+
+    @Test
+    public void getGreyBookSnapshot_concurrentChanges_consistentSnapshots() throws Exception {
+        List<Person> persons = getTypicalPersons();
+        AtomicBoolean isDone = new AtomicBoolean(false);
+        CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> {
+            long lastVersion = -1;
+            while (!isDone.get()) {
+                GreyBookSnapshot snapshot = modelManager.getGreyBookSnapshot();
+                List<Person> snapshotPersons = snapshot.getPersonList();
+                // Persons are only added in order, so every snapshot holds a prefix of them
+                assertEquals(persons.subList(0, snapshotPersons.size()), snapshotPersons);
+                assertTrue(snapshot.getVersion() >= lastVersion);
+                lastVersion = snapshot.getVersion();
+            }
+        });
+
+        for (int i = 0; i < 200; i++) {
+            persons.forEach(modelManager::addPerson);
+            modelManager.setGreyBook(new GreyBook());
+        }
+        persons.forEach(modelManager::addPerson);
+        isDone.set(true);
+
+        reader.get();
+        assertEquals(persons, modelManager.getGreyBookSnapshot().getPersonList());
+    }
+
     @Test
     public void setHistory_nullHistory_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> modelManager.setHistory(null));
@@ -114,6 +187,32 @@ public class ModelManagerTest {
         assertTrue(modelManager.hasPerson(ALICE));
     }
 
+    @Test
+    public void getPersonByStudentId_personOutsideFilteredList_returnsPersonAndKeepsFilter() {
+        modelManager.addPerson(ALICE);
+        modelManager.addPerson(BENSON);
+        modelManager.updateFilteredPersonList(person -> person.equals(ALICE));
+
+        assertEquals(Optional.of(BENSON), modelManager.getPersonByStudentId(BENSON.getStudentID()));
+        assertEquals(List.of(ALICE), modelManager.getFilteredPersonList());
+    }
+
+    @Test
+    public void getPersonByStudentId_greyBookChanged_returnsCurrentPerson() {
+        modelManager.addPerson(ALICE);
+        modelManager.markPerson(ALICE, AttendanceStatus.Status.LATE);
+        assertEquals(AttendanceStatus.Status.LATE,
+                modelManager.getPersonByStudentId(ALICE.getStudentID()).get().getAttendance().value);
+
+        Person editedAlice = new PersonBuilder(ALICE).withStudentID(BENSON.getStudentID().value).build();
+        modelManager.setPerson(modelManager.getPersonByStudentId(ALICE.getStudentID()).get(), editedAlice);
+        assertEquals(Optional.empty(), modelManager.getPersonByStudentId(ALICE.getStudentID()));
+        assertEquals(Optional.of(editedAlice), modelManager.getPersonByStudentId(BENSON.getStudentID()));
+
+        modelManager.deletePerson(editedAlice);
+        assertEquals(Optional.empty(), modelManager.getPersonByStudentId(BENSON.getStudentID()));
+    }
+
     @Test
     public void getFilteredPersonList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class, () -> modelManager.getFilteredPersonList().remove(0));
@@ -0,0 +1,40 @@
+package greynekos.greybook.model.person;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LongIntHashMapTest {
+
+    private final LongIntHashMap map = new LongIntHashMap();
+
+    @Test
+    public void get_absentKey_returnsMissingValue() {
+        assertEquals(LongIntHashMap.MISSING_VALUE, map.get(1L));
+        assertFalse(map.containsKey(1L));
+    }
+
+    @Test
+    public void put_negativeValue_mapsKeyToValue() {
+        map.put(-42L, -1);
+        assertEquals(-1, map.get(-42L));
+        assertTrue(map.containsKey(-42L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void remove_keysInProbeRuns_remainingKeysStillRetrievable() {
+        for (int i = 0; i < 200; i++) {
+            map.put(i + 1L, i);
+        }
+        for (int i = 0; i < 200; i += 3) {
+            map.remove(i + 1L);
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 3 == 0 ? LongIntHashMap.MISSING_VALUE : i, map.get(i + 1L));
+        }
+        assertEquals(200 - 67, map.size());
+    }
+}
@@ -3,6 +3,7 @@ package greynekos.greybook.model.person;
 import static greynekos.greybook.testutil.TypicalPersons.ALICE;
 import static greynekos.greybook.testutil.TypicalPersons.BENSON;
 import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.testutil.PersonBuilder;
 
 public class NameOrStudentIdPredicateTest {
 
@@ -71,6 +73,58 @@ public class NameOrStudentIdPredicateTest {
         assertFalse(predicate.test(ALICE));
     }
 
+    @Test
+    public void test_withTrigramIndex_sameResultsAsScan() {
+        UniquePersonList persons = new UniquePersonList();
+        persons.setPersons(getTypicalGreyBook().getPersonList());
+        List<List<String>> criteria = List.of(List.of("alice"), List.of("ALI"), List.of("al"), List.of("meier"),
+                List.of("zzz"), List.of(" ", "kurz"), List.of("567"), List.of("a12"), List.of("x"));
+
+        for (List<String> keywords : criteria) {
+            for (List<String> idFragments : criteria) {
+                NameOrStudentIdPredicate scan = new NameOrStudentIdPredicate(keywords, idFragments);
+                NameOrStudentIdPredicate indexed =
+                        new NameOrStudentIdPredicate(keywords, idFragments, persons.getTrigramIndex());
+                for (Person person : persons) {
+                    assertEquals(scan.test(person), indexed.test(person), keywords + " " + idFragments);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_orTagWithIndexes_sameResultsAsScan() {
+        UniquePersonList persons = new UniquePersonList();
+        persons.setPersons(getTypicalGreyBook().getPersonList());
+        List<List<String>> criteria = List.of(List.of(), List.of("friends"), List.of("meier", "ow"),
+                List.of("example.com"), List.of("9482"), List.of("zzz"));
+
+        for (List<String> fragments : criteria) {
+            for (List<String> otherFragments : criteria) {
+                NameOrStudentIdPredicateOrTag scan = new NameOrStudentIdPredicateOrTag(fragments, otherFragments,
+                        fragments, otherFragments, fragments);
+                NameOrStudentIdPredicateOrTag indexed = new NameOrStudentIdPredicateOrTag(fragments, otherFragments,
+                        fragments, otherFragments, fragments, persons.getTagIndex(), persons.getTrigramIndex());
+                for (Person person : persons) {
+                    assertEquals(scan.test(person), indexed.test(person), fragments + " " + otherFragments);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_withTrigramIndexAfterEdit_usesUpdatedIndex() {
+        UniquePersonList persons = new UniquePersonList();
+        persons.add(ALICE);
+        NameOrStudentIdPredicate predicate =
+                new NameOrStudentIdPredicate(List.of("zelda"), Collections.emptyList(), persons.getTrigramIndex());
+        assertFalse(predicate.test(ALICE));
+
+        Person editedAlice = new PersonBuilder(ALICE).withName("Zelda Pauline").build();
+        persons.setPerson(ALICE, editedAlice);
+        assertTrue(predicate.test(editedAlice));
+    }
+
     @Test
     public void equals() {
         NameOrStudentIdPredicate p1 = new NameOrStudentIdPredicate(Arrays.asList("alice"), Arrays.asList("123"));
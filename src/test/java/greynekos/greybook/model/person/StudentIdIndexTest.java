@@ -0,0 +1,78 @@
+package greynekos.greybook.model.person;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class StudentIdIndexTest {
+
+    private final StudentIdIndex index = new StudentIdIndex();
+
+    @Test
+    public void get_absentKey_returnsNoPosition() {
+        assertEquals(StudentIdIndex.NO_POSITION, index.get(1L));
+        assertFalse(index.containsKey(1L));
+    }
+
+    @Test
+    public void put_newKey_mapsKeyToPosition() {
+        index.put(42L, 3);
+        assertEquals(3, index.get(42L));
+        assertTrue(index.containsKey(42L));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void put_existingKey_replacesPosition() {
+        index.put(42L, 3);
+        index.put(42L, 7);
+        assertEquals(7, index.get(42L));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void put_manyKeys_allRetrievableAfterResize() {
+        for (int i = 0; i < 1000; i++) {
+            index.put(i + 1L, i);
+        }
+        assertEquals(1000, index.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, index.get(i + 1L));
+        }
+    }
+
+    @Test
+    public void remove_absentKey_noChange() {
+        index.put(42L, 3);
+        index.remove(43L);
+        assertEquals(3, index.get(42L));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void remove_keysInProbeRuns_remainingKeysStillRetrievable() {
+        // Packed student IDs are dense, so removals regularly break up probe runs
+        for (int i = 0; i < 200; i++) {
+            index.put(i + 1L, i);
+        }
+        for (int i = 0; i < 200; i += 3) {
+            index.remove(i + 1L);
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 3 == 0 ? StudentIdIndex.NO_POSITION : i, index.get(i + 1L));
+        }
+        assertEquals(200 - 67, index.size());
+    }
+
+    @Test
+    public void clear_nonEmptyIndex_removesAllKeys() {
+        index.put(42L, 3);
+        index.put(43L, 4);
+        index.clear();
+        assertEquals(0, index.size());
+        assertFalse(index.containsKey(42L));
+        assertFalse(index.containsKey(43L));
+    }
+}
@@ -1,9 +1,13 @@
 package greynekos.greybook.model.person;
 
 import static greynekos.greybook.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 public class StudentIdTest {
@@ -78,4 +82,57 @@ public class StudentIdTest {
         // different values -> returns false
         assertFalse(studentID.equals(new StudentID("A2345678L")));
     }
+
+    @Test
+    public void getPackedValue_equalStudentIds_samePackedValue() {
+        assertEquals(new StudentID("A1234567X").getPackedValue(), new StudentID("A1234567X").getPackedValue());
+        assertEquals(new StudentID("U123456W").getPackedValue(), new StudentID("U123456W").getPackedValue());
+    }
+
+    @Test
+    public void getPackedValue_differentStudentIds_differentPackedValues() {
+        // different prefix
+        assertNotEquals(withChecksum("A1234567").getPackedValue(), withChecksum("U1234567").getPackedValue());
+        // different number of digits with the same value
+        assertNotEquals(withChecksum("U0123456").getPackedValue(), withChecksum("U123456").getPackedValue());
+        // different digits
+        assertNotEquals(withChecksum("A1111111").getPackedValue(), withChecksum("A2222222").getPackedValue());
+        // different first digit only, so the checksum letter is the same
+        assertNotEquals(withChecksum("A1234567").getPackedValue(), withChecksum("A2234567").getPackedValue());
+    }
+
+    @Test
+    public void getPackedValue_allZeros_nonZero() {
+        assertNotEquals(0L, withChecksum("A0000000").getPackedValue());
+        assertNotEquals(0L, withChecksum("U000000").getPackedValue());
+        assertNotEquals(0L, withChecksum("U0000000").getPackedValue());
+    }
+
+    @Test
+    public void fromPackedValue_packedValue_sameStudentId() {
+        for (String studentId : List.of("A1234567", "A0000000", "U123456", "U1234567", "U0000000")) {
+            StudentID expected = withChecksum(studentId);
+            assertEquals(expected, StudentID.fromPackedValue(expected.getPackedValue()));
+        }
+    }
+
+    @Test
+    public void fromPackedValue_invalidPackedValue_throwsIllegalArgumentException() {
+        long packedA1234567 = withChecksum("A1234567").getPackedValue();
+        // invalid checksum index
+        assertThrows(IllegalArgumentException.class, () -> StudentID.fromPackedValue(packedA1234567 | 0xF));
+        // A-prefixed ID with 6 digits
+        assertThrows(IllegalArgumentException.class, () -> StudentID.fromPackedValue(
+                withChecksum("U123456").getPackedValue() & ~(1L << 29)));
+        // unused bits set
+        assertThrows(IllegalArgumentException.class, () -> StudentID.fromPackedValue(packedA1234567 | (1L << 40)));
+    }
+
+    private static StudentID withChecksum(String studentIdWithoutChecksum) {
+        String checksumDigits = studentIdWithoutChecksum;
+        if (checksumDigits.charAt(0) == 'U' && checksumDigits.length() == 8) {
+            checksumDigits = checksumDigits.substring(0, 3) + checksumDigits.substring(4);
+        }
+        return new StudentID(studentIdWithoutChecksum + StudentID.calculateStudentIdChecksum(checksumDigits));
+    }
 }
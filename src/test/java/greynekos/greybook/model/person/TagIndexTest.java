@@ -0,0 +1,92 @@
+package greynekos.greybook.model.person;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static greynekos.greybook.testutil.TypicalPersons.CARL;
+import static greynekos.greybook.testutil.TypicalPersons.DANIEL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.testutil.PersonBuilder;
+
+public class TagIndexTest {
+
+    private final UniquePersonList uniquePersonList = new UniquePersonList();
+    private final TagIndex tagIndex = uniquePersonList.getTagIndex();
+
+    @Test
+    public void getPackedStudentIdsWithTagContaining_nullFragments_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> tagIndex.getPackedStudentIdsWithTagContaining(null));
+    }
+
+    @Test
+    public void getPackedStudentIdsWithTagContaining_noFragments_noMatches() {
+        uniquePersonList.add(ALICE);
+        assertTrue(tagIndex.getPackedStudentIdsWithTagContaining(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void getPackedStudentIdsWithTagContaining_fragments_unionOfMatchingPostings() {
+        uniquePersonList.setPersons(List.of(ALICE, BENSON, CARL, DANIEL));
+
+        // "member" is shared by Alice, Benson and Daniel, "owesMoney" only by Benson
+        assertEquals(packedStudentIds(ALICE, BENSON, DANIEL),
+                tagIndex.getPackedStudentIdsWithTagContaining(List.of("emb")));
+        assertEquals(packedStudentIds(BENSON), tagIndex.getPackedStudentIdsWithTagContaining(List.of("owes")));
+        assertEquals(packedStudentIds(ALICE, BENSON, DANIEL),
+                tagIndex.getPackedStudentIdsWithTagContaining(List.of("owes", "member")));
+        assertTrue(tagIndex.getPackedStudentIdsWithTagContaining(List.of("Member")).isEmpty());
+        assertEquals(2, tagIndex.size());
+    }
+
+    @Test
+    public void setPerson_tagsChanged_postingsUpdated() {
+        uniquePersonList.add(ALICE);
+        long version = tagIndex.getVersion();
+        Person editedAlice = new PersonBuilder(ALICE).withTags("exco").build();
+        uniquePersonList.setPerson(ALICE, editedAlice);
+
+        assertNotEquals(version, tagIndex.getVersion());
+        assertTrue(tagIndex.getPackedStudentIdsWithTagContaining(List.of("member")).isEmpty());
+        assertEquals(packedStudentIds(ALICE), tagIndex.getPackedStudentIdsWithTagContaining(List.of("exco")));
+        assertEquals(1, tagIndex.size());
+    }
+
+    @Test
+    public void remove_lastPersonWithTag_tagRemovedFromDictionary() {
+        uniquePersonList.setPersons(List.of(ALICE, BENSON));
+        uniquePersonList.remove(BENSON);
+
+        assertEquals(packedStudentIds(ALICE), tagIndex.getPackedStudentIdsWithTagContaining(List.of("member")));
+        assertFalse(tagIndex.getPackedStudentIdsWithTagContaining(List.of("owes")).contains(
+                BENSON.getStudentID().getPackedValue()));
+        assertEquals(1, tagIndex.size());
+    }
+
+    @Test
+    public void setPersons_replacement_indexRebuilt() {
+        uniquePersonList.setPersons(List.of(BENSON));
+        uniquePersonList.setPersons(List.of(ALICE, CARL));
+
+        assertEquals(packedStudentIds(ALICE), tagIndex.getPackedStudentIdsWithTagContaining(List.of("")));
+        assertEquals(1, tagIndex.size());
+    }
+
+    private static Set<Long> packedStudentIds(Person... persons) {
+        Set<Long> packedStudentIds = new HashSet<>();
+        for (Person person : persons) {
+            packedStudentIds.add(person.getStudentID().getPackedValue());
+        }
+        return packedStudentIds;
+    }
+}
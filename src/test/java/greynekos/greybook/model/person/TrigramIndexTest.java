@@ -0,0 +1,115 @@
+package greynekos.greybook.model.person;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static greynekos.greybook.testutil.TypicalPersons.CARL;
+import static greynekos.greybook.testutil.TypicalPersons.DANIEL;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.model.person.TrigramIndex.Field;
+import greynekos.greybook.model.util.RosterGenerator;
+import greynekos.greybook.testutil.PersonBuilder;
+
+public class TrigramIndexTest {
+
+    private final UniquePersonList uniquePersonList = new UniquePersonList();
+    private final TrigramIndex trigramIndex = uniquePersonList.getTrigramIndex();
+
+    @Test
+    public void getCandidates_nullArguments_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> trigramIndex.getCandidates(null, List.of("abc")));
+        assertThrows(NullPointerException.class, () -> trigramIndex.getCandidates(Field.NAME, null));
+    }
+
+    @Test
+    public void getCandidates_fragmentShorterThanTrigram_empty() {
+        uniquePersonList.add(ALICE);
+        assertFalse(trigramIndex.getCandidates(Field.NAME, List.of("alice", "al")).isPresent());
+    }
+
+    @Test
+    public void getCandidates_blankFragments_noCandidates() {
+        uniquePersonList.add(ALICE);
+        assertArrayEquals(new long[0], trigramIndex.getCandidates(Field.NAME, List.of(" ", "")).get());
+    }
+
+    @Test
+    public void getCandidates_caseInsensitiveFragments_matchingPersons() {
+        uniquePersonList.setPersons(List.of(ALICE, BENSON, CARL, DANIEL));
+
+        // Benson Meier and Daniel Meier
+        assertArrayEquals(packedStudentIds(BENSON, DANIEL),
+                trigramIndex.getCandidates(Field.NAME, List.of("MEIER")).get());
+        assertArrayEquals(packedStudentIds(ALICE, BENSON, DANIEL),
+                trigramIndex.getCandidates(Field.NAME, List.of("meier", "Pauline")).get());
+        assertArrayEquals(packedStudentIds(ALICE),
+                trigramIndex.getCandidates(Field.STUDENT_ID, List.of(ALICE.getStudentID().value)).get());
+        assertArrayEquals(packedStudentIds(CARL), trigramIndex.getCandidates(Field.EMAIL, List.of("HEINZ@")).get());
+        assertArrayEquals(packedStudentIds(DANIEL), trigramIndex.getCandidates(Field.PHONE, List.of("652533")).get());
+        assertArrayEquals(new long[0], trigramIndex.getCandidates(Field.NAME, List.of("zzz")).get());
+    }
+
+    @Test
+    public void setPerson_fieldsChanged_postingsUpdated() {
+        uniquePersonList.add(ALICE);
+        long version = trigramIndex.getVersion();
+        Person editedAlice = new PersonBuilder(ALICE).withName("Zelda Pauline").withPhone("81112222").build();
+        uniquePersonList.setPerson(ALICE, editedAlice);
+
+        assertNotEquals(version, trigramIndex.getVersion());
+        assertEquals(0, trigramIndex.getCandidates(Field.NAME, List.of("alice")).get().length);
+        assertArrayEquals(packedStudentIds(ALICE), trigramIndex.getCandidates(Field.NAME, List.of("zelda")).get());
+        assertArrayEquals(packedStudentIds(ALICE), trigramIndex.getCandidates(Field.PHONE, List.of("1112")).get());
+    }
+
+    @Test
+    public void remove_person_removedFromPostings() {
+        uniquePersonList.setPersons(List.of(BENSON, DANIEL));
+        uniquePersonList.remove(BENSON);
+        assertArrayEquals(packedStudentIds(DANIEL), trigramIndex.getCandidates(Field.NAME, List.of("meier")).get());
+    }
+
+    @Test
+    public void remove_personsAddedOutOfOrder_remainingCandidatesInOrder() {
+        // Random student IDs, so the persons are added out of order, both at once and one at a time
+        RosterGenerator generator = new RosterGenerator(1);
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            persons.add(new PersonBuilder(generator.getPerson(i)).withName("Alice Pauline").build());
+        }
+        uniquePersonList.setPersons(persons.subList(0, 25));
+        persons.subList(25, 50).forEach(uniquePersonList::add);
+        for (int i = 0; i < 50; i += 2) {
+            uniquePersonList.remove(persons.get(i));
+        }
+
+        Person[] remaining = new Person[25];
+        for (int i = 1; i < 50; i += 2) {
+            remaining[i / 2] = persons.get(i);
+        }
+        assertArrayEquals(packedStudentIds(remaining),
+                trigramIndex.getCandidates(Field.NAME, List.of("pauline")).get());
+
+        // Trigrams that no person has any more are dropped, and their slots reused
+        for (Person person : remaining) {
+            uniquePersonList.remove(person);
+        }
+        uniquePersonList.add(BENSON);
+        assertArrayEquals(new long[0], trigramIndex.getCandidates(Field.NAME, List.of("pauline")).get());
+        assertArrayEquals(packedStudentIds(BENSON), trigramIndex.getCandidates(Field.NAME, List.of("benson")).get());
+    }
+
+    private static long[] packedStudentIds(Person... persons) {
+        return Arrays.stream(persons).mapToLong(person -> person.getStudentID().getPackedValue()).sorted().toArray();
+    }
+}
@@ -5,6 +5,7 @@ import static greynekos.greybook.logic.commands.CommandTestUtil.VALID_TAG_CONTRI
 import static greynekos.greybook.testutil.Assert.assertThrows;
 import static greynekos.greybook.testutil.TypicalPersons.ALICE;
 import static greynekos.greybook.testutil.TypicalPersons.BOB;
+import static greynekos.greybook.testutil.TypicalPersons.CARL;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -12,12 +13,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 
 import greynekos.greybook.model.person.exceptions.DuplicatePersonException;
 import greynekos.greybook.model.person.exceptions.PersonNotFoundException;
 import greynekos.greybook.testutil.PersonBuilder;
+import javafx.collections.ListChangeListener;
 
 public class UniquePersonListTest {
 
@@ -101,6 +104,16 @@ public class UniquePersonListTest {
         assertEquals(expectedUniquePersonList, uniquePersonList);
     }
 
+    @Test
+    public void setPerson_editedPersonHasDifferentIdentity_oldIdentityFreed() {
+        uniquePersonList.add(ALICE);
+        uniquePersonList.setPerson(ALICE, BOB);
+        assertFalse(uniquePersonList.contains(ALICE));
+        assertTrue(uniquePersonList.contains(BOB));
+        uniquePersonList.add(ALICE);
+        assertTrue(uniquePersonList.contains(ALICE));
+    }
+
     @Test
     public void setPerson_editedPersonHasNonUniqueIdentity_throwsDuplicatePersonException() {
         uniquePersonList.add(ALICE);
@@ -126,6 +139,29 @@ public class UniquePersonListTest {
         assertEquals(expectedUniquePersonList, uniquePersonList);
     }
 
+    @Test
+    public void remove_personBeforeOthers_remainingPersonsStillFound() {
+        uniquePersonList.add(ALICE);
+        uniquePersonList.add(BOB);
+        uniquePersonList.add(CARL);
+        uniquePersonList.remove(ALICE);
+
+        Person editedCarl = new PersonBuilder(CARL).withTags(VALID_TAG_CONTRIBUTOR).build();
+        uniquePersonList.setPerson(CARL, editedCarl);
+        uniquePersonList.remove(BOB);
+        UniquePersonList expectedUniquePersonList = new UniquePersonList();
+        expectedUniquePersonList.add(editedCarl);
+        assertEquals(expectedUniquePersonList, uniquePersonList);
+        assertFalse(uniquePersonList.contains(ALICE));
+    }
+
+    @Test
+    public void remove_personWithSameIdentityButDifferentFields_throwsPersonNotFoundException() {
+        uniquePersonList.add(ALICE);
+        Person editedAlice = new PersonBuilder(ALICE).withTags(VALID_TAG_CONTRIBUTOR).build();
+        assertThrows(PersonNotFoundException.class, () -> uniquePersonList.remove(editedAlice));
+    }
+
     @Test
     public void setPersons_nullUniquePersonList_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> uniquePersonList.setPersons((UniquePersonList) null));
@@ -161,6 +197,76 @@ public class UniquePersonListTest {
         assertThrows(DuplicatePersonException.class, () -> uniquePersonList.setPersons(listWithDuplicatePersons));
     }
 
+    @Test
+    public void setPersons_listWithDuplicatePersons_ownListUnchanged() {
+        uniquePersonList.add(CARL);
+        List<Person> listWithDuplicatePersons = Arrays.asList(ALICE, BOB, ALICE);
+        assertThrows(DuplicatePersonException.class, () -> uniquePersonList.setPersons(listWithDuplicatePersons));
+        assertTrue(uniquePersonList.contains(CARL));
+        assertFalse(uniquePersonList.contains(BOB));
+    }
+
+    @Test
+    public void getPersonByStudentId_personInList_returnsPerson() {
+        uniquePersonList.add(ALICE);
+        uniquePersonList.add(BOB);
+        assertEquals(Optional.of(BOB), uniquePersonList.getPersonByStudentId(BOB.getStudentID()));
+    }
+
+    @Test
+    public void getPersonByStudentId_personNotInList_returnsEmpty() {
+        uniquePersonList.add(ALICE);
+        assertEquals(Optional.empty(), uniquePersonList.getPersonByStudentId(BOB.getStudentID()));
+    }
+
+    @Test
+    public void replacePersons_mismatchedSizes_throwsIllegalArgumentException() {
+        uniquePersonList.add(ALICE);
+        assertThrows(IllegalArgumentException.class, () -> uniquePersonList.replacePersons(List.of(ALICE),
+                List.of()));
+    }
+
+    @Test
+    public void replacePersons_targetNotInList_throwsPersonNotFoundException() {
+        uniquePersonList.add(ALICE);
+        assertThrows(PersonNotFoundException.class, () -> uniquePersonList.replacePersons(List.of(BOB),
+                List.of(BOB)));
+    }
+
+    @Test
+    public void replacePersons_editedPersonsHaveSameIdentity_replacedWithSingleChange() {
+        uniquePersonList.setPersons(List.of(ALICE, BOB, CARL));
+        Person editedAlice = new PersonBuilder(ALICE).withAttendanceStatus(AttendanceStatus.Status.LATE).build();
+        Person editedCarl = new PersonBuilder(CARL).withAttendanceStatus(AttendanceStatus.Status.LATE).build();
+        int[] changeCount = {0};
+        uniquePersonList.asUnmodifiableObservableList().addListener(
+                (ListChangeListener<Person>) change -> changeCount[0]++);
+
+        uniquePersonList.replacePersons(List.of(CARL, ALICE), List.of(editedCarl, editedAlice));
+
+        assertEquals(List.of(editedAlice, BOB, editedCarl), uniquePersonList.asUnmodifiableObservableList());
+        assertEquals(1, changeCount[0]);
+        assertEquals(Optional.of(editedCarl), uniquePersonList.getPersonByStudentId(CARL.getStudentID()));
+    }
+
+    @Test
+    public void replacePersons_editedPersonHasNewIdentity_indexUpdated() {
+        uniquePersonList.setPersons(List.of(ALICE, CARL));
+        uniquePersonList.replacePersons(List.of(ALICE), List.of(BOB));
+
+        assertEquals(List.of(BOB, CARL), uniquePersonList.asUnmodifiableObservableList());
+        assertFalse(uniquePersonList.contains(ALICE));
+        assertTrue(uniquePersonList.contains(BOB));
+    }
+
+    @Test
+    public void replacePersons_editedPersonHasExistingIdentity_throwsDuplicatePersonException() {
+        uniquePersonList.setPersons(List.of(ALICE, BOB));
+        assertThrows(DuplicatePersonException.class, () -> uniquePersonList.replacePersons(List.of(ALICE),
+                List.of(new PersonBuilder(BOB).withName("Bob Other").build())));
+        assertEquals(List.of(ALICE, BOB), uniquePersonList.asUnmodifiableObservableList());
+    }
+
     @Test
     public void asUnmodifiableObservableList_modifyList_throwsUnsupportedOperationException() {
         assertThrows(UnsupportedOperationException.class,
@@ -0,0 +1,101 @@
+package greynekos.greybook.model.util;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import greynekos.greybook.model.ReadOnlyGreyBook;
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.tag.Tag;
+import greynekos.greybook.storage.JsonGreyBookStorage;
+
+public class RosterGeneratorTest {
+
+    private static final int ROSTER_SIZE = 20_000;
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void getPersons_sameSeed_sameRoster() {
+        assertEquals(new RosterGenerator(42).getPersons(100).collect(Collectors.toList()),
+                new RosterGenerator(42).getPersons(100).collect(Collectors.toList()));
+        assertNotEquals(new RosterGenerator(42).getPersons(100).collect(Collectors.toList()),
+                new RosterGenerator(43).getPersons(100).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void getPersons_largeRoster_uniqueValidStudentIdsOfBothFormats() {
+        Set<StudentID> studentIds = new HashSet<>();
+        Set<Character> prefixes = new HashSet<>();
+        new RosterGenerator(1).getPersons(ROSTER_SIZE).forEach(person -> {
+            String studentId = person.getStudentID().value;
+            assertTrue(StudentID.isValidStudentID(studentId));
+            studentIds.add(person.getStudentID());
+            prefixes.add(studentId.charAt(0));
+        });
+
+        assertEquals(ROSTER_SIZE, studentIds.size());
+        assertEquals(Set.of('A', 'U'), prefixes);
+    }
+
+    @Test
+    public void getPersons_largeRoster_zipfTagsAndMixedAttendance() {
+        Map<Tag, Integer> tagCounts = new HashMap<>();
+        Set<AttendanceStatus.Status> statuses = EnumSet.noneOf(AttendanceStatus.Status.class);
+        new RosterGenerator(1).getPersons(ROSTER_SIZE).forEach(person -> {
+            person.getTags().forEach(tag -> tagCounts.merge(tag, 1, Integer::sum));
+            statuses.add(person.getAttendance().value);
+        });
+
+        int memberCount = tagCounts.get(new Tag("member"));
+        int committeeCount = tagCounts.get(new Tag("committee"));
+        assertTrue(memberCount > 2 * committeeCount);
+        assertTrue(committeeCount > tagCounts.getOrDefault(new Tag("auditor"), 0));
+        assertEquals(EnumSet.allOf(AttendanceStatus.Status.class), statuses);
+    }
+
+    @Test
+    public void getGreyBook_personsMatchStream() {
+        RosterGenerator generator = new RosterGenerator(7);
+        ReadOnlyGreyBook greyBook = generator.getGreyBook(50);
+
+        assertEquals(generator.getPersons(50).collect(Collectors.toList()), greyBook.getPersonList());
+        assertThrows(UnsupportedOperationException.class, () -> greyBook.getPersonList().remove(0));
+    }
+
+    @Test
+    public void getGreyBook_savedWithJsonStorage_readBack() throws Exception {
+        RosterGenerator generator = new RosterGenerator(7);
+        JsonGreyBookStorage storage = new JsonGreyBookStorage(testFolder.resolve("greybook.json"));
+
+        storage.saveGreyBook(generator.getGreyBook(1_000));
+
+        List<Person> readPersons = storage.readGreyBook().get().getPersonList();
+        assertEquals(generator.getPersons(1_000).collect(Collectors.toList()), readPersons);
+    }
+
+    @Test
+    public void getPersons_invalidCount_throwsIllegalArgumentException() {
+        RosterGenerator generator = new RosterGenerator(0);
+        assertThrows(IllegalArgumentException.class, RosterGenerator.MESSAGE_INVALID_COUNT, () ->
+                generator.getPersons(-1));
+        assertThrows(IllegalArgumentException.class, RosterGenerator.MESSAGE_INVALID_COUNT, () ->
+                generator.getPerson(RosterGenerator.MAX_PERSONS));
+    }
+}
@@ -0,0 +1,155 @@
+package greynekos.greybook.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.model.person.Email;
+import greynekos.greybook.model.person.Name;
+import greynekos.greybook.model.person.Phone;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.model.tag.Tag;
+
+/**
+ * Checks each scanner of {@link ValidationUtil} against the regex it replaces,
+ * on strings generated from a fixed seed to be near the boundary of the regex.
+ */
+public class ValidationUtilTest {
+
+    private static final long SEED = 20251017L;
+    private static final int TRIALS = 200_000;
+
+    private static final String NAME_CHARACTERS = "aZz,()/.@-' \t0_é";
+    private static final String PHONE_CHARACTERS = "0123456789+ a";
+    private static final String TAG_CHARACTERS = "aZz09- _é";
+    private static final String[] EMAIL_TOKENS = {
+        "a", "z9", "x-y", "-", ".", ".", "@", "@", "\"", "\\", "[", "]", ":", "0", "1", "25", "255", "256", "01",
+        "199", "\t", " ", "\u0001", "\u007f", "\n", "A", "é", "!#$", "{|}", "example", "com", "]"
+    };
+    private static final String[] EMAIL_DOMAINS = {
+        "example.com", "a.b", "a-b.c9", "-a.com", "a-.com", "a..com", "com", "a.", "[1.2.3.4]", "[255.0.10.199]",
+        "[256.1.1.1]", "[01.1.1.1]", "[1.2.3]", "[1.2.3.a-b9:x]", "[1.2.3.tag:\\ x]", "[1.2.3.tag: x]",
+        "[1.2.3.tag:]]", "[1.2.3.-:a]", "[1.2.3.a-:a]", "[1.2.3.a:\\]", "[1.2.3.4", "[]", "["
+    };
+
+    @Test
+    public void isValidName_matchesRegex() {
+        assertMatchesRegex(Name.VALIDATION_REGEX, ValidationUtil::isValidName,
+                random -> randomString(random, NAME_CHARACTERS, 8));
+    }
+
+    @Test
+    public void isValidPhone_matchesRegex() {
+        assertMatchesRegex(Phone.VALIDATION_REGEX, ValidationUtil::isValidPhone,
+                random -> randomString(random, PHONE_CHARACTERS.substring(0, 11), 1)
+                        + randomString(random, "0123456789", 17) + randomString(random, PHONE_CHARACTERS, 1));
+    }
+
+    @Test
+    public void isValidTagName_matchesRegex() {
+        assertMatchesRegex(Tag.VALIDATION_REGEX, ValidationUtil::isValidTagName,
+                random -> randomString(random, TAG_CHARACTERS, 8));
+    }
+
+    @Test
+    public void isValidEmail_matchesRegex() {
+        assertMatchesRegex(Email.VALIDATION_REGEX, ValidationUtil::isValidEmail, random -> {
+            StringBuilder email = new StringBuilder();
+            int tokenCount = random.nextInt(6);
+            for (int i = 0; i < tokenCount; i++) {
+                email.append(EMAIL_TOKENS[random.nextInt(EMAIL_TOKENS.length)]);
+            }
+            if (random.nextBoolean()) {
+                email.append('@').append(EMAIL_DOMAINS[random.nextInt(EMAIL_DOMAINS.length)]);
+            }
+            return email.toString();
+        });
+    }
+
+    @Test
+    public void isValidStudentID_matchesRegexAndChecksum() {
+        Pattern pattern = Pattern.compile(StudentID.VALIDATION_REGEX);
+        assertMatches(test -> pattern.matcher(test).matches() && hasValidChecksum(test), StudentID::isValidStudentID,
+                random -> {
+                    String prefix = String.valueOf("AUUBa".charAt(random.nextInt(5)));
+                    String digits = randomString(random, "0123456789", 9);
+                    String id = prefix + digits;
+                    if (random.nextBoolean() && (id.length() == 7 || id.length() == 8)) {
+                        return id + StudentID.calculateStudentIdChecksum(id);
+                    }
+                    if (random.nextBoolean() && id.length() == 8 && prefix.equals("U")) {
+                        return id + StudentID.calculateStudentIdChecksum(id.substring(0, 3) + id.substring(4));
+                    }
+                    return id + randomString(random, StudentID.VALID_CHECKSUMS + "Z1", 1);
+                });
+    }
+
+    @Test
+    public void isValidEmail_boundaryCases() {
+        assertTrue(ValidationUtil.isValidEmail("\"a@b\"@example.com"));
+        assertTrue(ValidationUtil.isValidEmail("a@[1.2.3.tag:\\ x]"));
+        assertFalse(ValidationUtil.isValidEmail("a@[1.2.3.tag: x]"));
+        assertFalse(ValidationUtil.isValidEmail("A@example.com"));
+        assertFalse(ValidationUtil.isValidEmail("a@example"));
+    }
+
+    /**
+     * Asserts that {@code scanner} accepts exactly the strings that
+     * {@code regex} matches, of the strings made by {@code generator}.
+     */
+    private static void assertMatchesRegex(String regex, Predicate<String> scanner,
+            Function<Random, String> generator) {
+        Pattern pattern = Pattern.compile(regex);
+        assertMatches(test -> pattern.matcher(test).matches(), scanner, generator);
+    }
+
+    private static void assertMatches(Predicate<String> expected, Predicate<String> scanner,
+            Function<Random, String> generator) {
+        Random random = new Random(SEED);
+        int validCount = 0;
+        for (int i = 0; i < TRIALS; i++) {
+            String test = generator.apply(random);
+            boolean isValid = expected.test(test);
+            assertEquals(isValid, scanner.test(test), "Scanner disagrees with regex on \"" + test + "\"");
+            if (isValid) {
+                validCount++;
+            }
+        }
+        // The generated strings must cover both sides of the boundary
+        assertTrue(validCount > TRIALS / 100 && validCount < TRIALS - TRIALS / 100);
+    }
+
+    private static String randomString(Random random, String characters, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(characters.charAt(random.nextInt(characters.length())));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns true if the checksum of {@code test} is valid, as the checksum was
+     * checked before the scanners replaced it.
+     */
+    private static boolean hasValidChecksum(String test) {
+        String values = test.substring(0, test.length() - 1);
+        if (values.charAt(0) == 'U' && values.length() == 8) {
+            values = values.substring(0, 3) + values.substring(4);
+        }
+        int[] weights = values.charAt(0) == 'U' ? new int[] {0, 1, 3, 1, 2, 7} : new int[] {1, 1, 1, 1, 1, 1};
+        String digits = values.substring(values.length() - 6);
+        int sum = 0;
+        for (int i = 0; i < 6; i++) {
+            sum += weights[i] * Character.getNumericValue(digits.charAt(i));
+        }
+        return test.charAt(test.length() - 1) == StudentID.VALID_CHECKSUMS.charAt(sum % 13);
+    }
+}
@@ -0,0 +1,202 @@
+package greynekos.greybook.storage;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.HOON;
+import static greynekos.greybook.testutil.TypicalPersons.IDA;
+import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.exceptions.DataLoadingException;
+import greynekos.greybook.commons.util.FileUtil;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.testutil.PersonBuilder;
+
+public class BinaryGreyBookStorageTest {
+
+    private final CommandMetrics commandMetrics = new CommandMetrics();
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void readGreyBook_nullFilePath_throwsNullPointerException() {
+        BinaryGreyBookStorage storage = createStorage(testFolder.resolve("greyBook.bin"));
+        assertThrows(NullPointerException.class, () -> storage.readGreyBook(null));
+    }
+
+    @Test
+    public void readGreyBook_missingFile_emptyResult() throws Exception {
+        assertFalse(createStorage(testFolder.resolve("greyBook.bin")).readGreyBook().isPresent());
+    }
+
+    @Test
+    public void readAndSaveGreyBook_allInOrder_success() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.bin");
+        GreyBook original = getTypicalGreyBook();
+        BinaryGreyBookStorage storage = createStorage(filePath);
+
+        // Save in new file and read back
+        storage.saveGreyBook(original, filePath);
+        assertEquals(original, new GreyBook(storage.readGreyBook(filePath).get()));
+
+        // Modify data, overwrite existing file, and read back
+        original.addPerson(HOON);
+        original.removePerson(ALICE);
+        storage.saveGreyBook(original, filePath);
+        assertEquals(original, new GreyBook(storage.readGreyBook(filePath).get()));
+
+        // Save and read without specifying file path
+        original.addPerson(IDA);
+        storage.saveGreyBook(original);
+        assertEquals(original, new GreyBook(storage.readGreyBook().get()));
+    }
+
+    @Test
+    public void readAndSaveGreyBook_largerThanWriteBuffer_success() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.bin");
+        GreyBook original = new GreyBook();
+        String longName = "Person " + "a".repeat(100_000);
+        original.addPerson(new PersonBuilder(ALICE).withName(longName)
+                .withAttendanceStatus(AttendanceStatus.Status.EXCUSED).withTags("friends", "tutor").build());
+        original.addPerson(new PersonBuilder(HOON).withTags("tutor").build());
+
+        BinaryGreyBookStorage storage = createStorage(filePath);
+        storage.saveGreyBook(original);
+        assertEquals(original, new GreyBook(storage.readGreyBook().get()));
+    }
+
+    @Test
+    public void saveGreyBook_typicalGreyBook_smallerThanJson() throws Exception {
+        Path binaryFilePath = testFolder.resolve("greyBook.bin");
+        Path jsonFilePath = testFolder.resolve("greyBook.json");
+        createStorage(binaryFilePath).saveGreyBook(getTypicalGreyBook());
+        createJsonStorage(jsonFilePath).saveGreyBook(getTypicalGreyBook());
+        assertTrue(Files.size(binaryFilePath) < Files.size(jsonFilePath));
+    }
+
+    @Test
+    public void readGreyBook_corruptedByte_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.bin");
+        createStorage(filePath).saveGreyBook(getTypicalGreyBook());
+        byte[] bytes = Files.readAllBytes(filePath);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(filePath, bytes);
+
+        assertThrows(DataLoadingException.class, BinaryGreyBookStorage.MESSAGE_CHECKSUM_MISMATCH, () ->
+                createStorage(filePath).readGreyBook());
+    }
+
+    @Test
+    public void readGreyBook_truncatedFile_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.bin");
+        createStorage(filePath).saveGreyBook(getTypicalGreyBook());
+        byte[] bytes = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThrows(DataLoadingException.class, () -> createStorage(filePath).readGreyBook());
+    }
+
+    @Test
+    public void readGreyBook_jsonFile_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        createJsonStorage(filePath).saveGreyBook(getTypicalGreyBook());
+        assertThrows(DataLoadingException.class, () -> createStorage(filePath).readGreyBook());
+    }
+
+    @Test
+    public void readGreyBook_unsupportedVersion_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.bin");
+        ByteBuffer content = ByteBuffer.allocate(Integer.BYTES + Short.BYTES);
+        content.putInt(BinaryGreyBookStorage.MAGIC).putShort((short) (BinaryGreyBookStorage.FORMAT_VERSION + 1));
+        writeWithChecksum(filePath, content.array());
+
+        String expectedMessage = String.format(BinaryGreyBookStorage.MESSAGE_UNSUPPORTED_VERSION,
+                BinaryGreyBookStorage.FORMAT_VERSION + 1);
+        assertThrows(DataLoadingException.class, expectedMessage, () ->
+                createStorage(filePath).readGreyBook());
+    }
+
+    @Test
+    public void readGreyBook_invalidPerson_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.bin");
+        Person person = new PersonBuilder(ALICE).withTags().build();
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(person);
+        createStorage(filePath).saveGreyBook(greyBook);
+
+        // overwrite the first character of the phone with a letter, and fix up the checksum
+        byte[] bytes = Files.readAllBytes(filePath);
+        byte[] content = Arrays.copyOf(bytes, bytes.length - Integer.BYTES);
+        int phoneOffset = Integer.BYTES + Short.BYTES + Integer.BYTES + Integer.BYTES + Integer.BYTES
+                + person.getName().fullName.length() + Integer.BYTES;
+        content[phoneOffset] = 'x';
+        writeWithChecksum(filePath, content);
+
+        assertThrows(DataLoadingException.class, () -> createStorage(filePath).readGreyBook());
+    }
+
+    @Test
+    public void saveGreyBook_nullGreyBook_throwsNullPointerException() {
+        BinaryGreyBookStorage storage = createStorage(testFolder.resolve("greyBook.bin"));
+        assertThrows(NullPointerException.class, () -> storage.saveGreyBook(null));
+    }
+
+    @Test
+    public void saveGreyBook_fileReadBefore_replacedWithoutTempFile() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.bin");
+        BinaryGreyBookStorage storage = createStorage(filePath);
+        storage.saveGreyBook(getTypicalGreyBook());
+        storage.readGreyBook();
+
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(HOON);
+        storage.saveGreyBook(greyBook);
+        assertEquals(greyBook, new GreyBook(storage.readGreyBook().get()));
+        assertFalse(Files.exists(testFolder.resolve("greyBook.bin.tmp")));
+    }
+
+    @Test
+    public void saveGreyBook_writeFails_previousFileKept() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.bin");
+        BinaryGreyBookStorage storage = createStorage(filePath);
+        storage.saveGreyBook(getTypicalGreyBook());
+
+        // The temporary file cannot be written where there is a directory
+        Files.createDirectory(testFolder.resolve("greyBook.bin.tmp"));
+        assertThrows(IOException.class, () -> storage.saveGreyBook(new GreyBook()));
+        assertEquals(getTypicalGreyBook(), new GreyBook(storage.readGreyBook().get()));
+    }
+
+    private static void writeWithChecksum(Path filePath, byte[] content) throws Exception {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ByteBuffer file = ByteBuffer.allocate(content.length + Integer.BYTES);
+        file.put(content).putInt((int) crc.getValue());
+        FileUtil.createParentDirsOfFile(filePath);
+        Files.write(filePath, file.array());
+    }
+
+    private BinaryGreyBookStorage createStorage(Path filePath) {
+        return new BinaryGreyBookStorage(filePath, commandMetrics);
+    }
+
+    private JsonGreyBookStorage createJsonStorage(Path filePath) {
+        return new JsonGreyBookStorage(filePath, commandMetrics);
+    }
+}
@@ -0,0 +1,289 @@
+package greynekos.greybook.storage;
+
+import static greynekos.greybook.logic.commands.CommandTestUtil.VALID_STUDENTID_AMY;
+import static greynekos.greybook.logic.commands.CommandTestUtil.VALID_TAG_CONTRIBUTOR;
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static greynekos.greybook.testutil.TypicalPersons.HOON;
+import static greynekos.greybook.testutil.TypicalPersons.IDA;
+import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.SaveTarget;
+import greynekos.greybook.commons.core.metrics.Histogram;
+import greynekos.greybook.commons.exceptions.DataLoadingException;
+import greynekos.greybook.commons.util.JsonUtil;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.History;
+import greynekos.greybook.model.Model;
+import greynekos.greybook.model.ModelManager;
+import greynekos.greybook.model.UserPrefs;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.testutil.PersonBuilder;
+
+public class JournaledGreyBookStorageTest {
+
+    private final CommandMetrics commandMetrics = new CommandMetrics();
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void readGreyBook_nullFilePath_throwsNullPointerException() {
+        JournaledGreyBookStorage storage = createStorage(testFolder.resolve("greyBook.json"));
+        assertThrows(NullPointerException.class, () -> storage.readGreyBook(null));
+    }
+
+    @Test
+    public void readGreyBook_missingFiles_emptyResult() throws Exception {
+        JournaledGreyBookStorage storage = createStorage(testFolder.resolve("greyBook.json"));
+        assertFalse(storage.readGreyBook().isPresent());
+    }
+
+    @Test
+    public void saveGreyBook_firstSave_writesSnapshotReadableAsJson() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        GreyBook original = getTypicalGreyBook();
+        createStorage(filePath).saveGreyBook(original);
+
+        assertEquals(original, new GreyBook(createSnapshotStorage(filePath).readGreyBook().get()));
+        assertFalse(Files.exists(JournaledGreyBookStorage.getJournalFilePath(filePath)));
+    }
+
+    @Test
+    public void saveGreyBook_personLevelChanges_appendedToJournal() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        JournaledGreyBookStorage storage = createStorage(filePath);
+        GreyBook original = getTypicalGreyBook();
+        storage.saveGreyBook(original);
+        String snapshot = Files.readString(filePath);
+
+        // add, edit and delete
+        original.addPerson(HOON);
+        storage.saveGreyBook(original);
+        Person editedAlice = new PersonBuilder(ALICE).withTags(VALID_TAG_CONTRIBUTOR).build();
+        original.setPerson(ALICE, editedAlice);
+        storage.saveGreyBook(original);
+        original.removePerson(BENSON);
+        storage.saveGreyBook(original);
+
+        assertEquals(snapshot, Files.readString(filePath));
+        List<String> journal = Files.readAllLines(JournaledGreyBookStorage.getJournalFilePath(filePath));
+        assertEquals(3, journal.size());
+
+        GreyBook readBack = new GreyBook(createStorage(filePath).readGreyBook().get());
+        assertEquals(original, readBack);
+    }
+
+    @Test
+    public void saveGreyBook_noChanges_journalNotWritten() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        JournaledGreyBookStorage storage = createStorage(filePath);
+        GreyBook original = getTypicalGreyBook();
+        storage.saveGreyBook(original);
+        storage.saveGreyBook(original);
+        assertFalse(Files.exists(JournaledGreyBookStorage.getJournalFilePath(filePath)));
+    }
+
+    @Test
+    public void saveGreyBook_studentIdEdited_writesSnapshot() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        JournaledGreyBookStorage storage = createStorage(filePath);
+        GreyBook original = getTypicalGreyBook();
+        storage.saveGreyBook(original);
+        original.addPerson(HOON);
+        storage.saveGreyBook(original);
+
+        // replaying a delete and an add would move Alice to the end of the list
+        Person editedAlice = new PersonBuilder(ALICE).withStudentID(VALID_STUDENTID_AMY).build();
+        original.setPerson(ALICE, editedAlice);
+        storage.saveGreyBook(original);
+
+        assertFalse(Files.exists(JournaledGreyBookStorage.getJournalFilePath(filePath)));
+        assertEquals(original, new GreyBook(createSnapshotStorage(filePath).readGreyBook().get()));
+    }
+
+    @Test
+    public void saveGreyBook_afterRead_appendsToExistingJournal() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        GreyBook original = getTypicalGreyBook();
+        JournaledGreyBookStorage storage = createStorage(filePath);
+        storage.saveGreyBook(original);
+        original.addPerson(HOON);
+        storage.saveGreyBook(original);
+
+        JournaledGreyBookStorage restartedStorage = createStorage(filePath);
+        GreyBook readBack = new GreyBook(restartedStorage.readGreyBook().get());
+        readBack.addPerson(IDA);
+        restartedStorage.saveGreyBook(readBack);
+
+        assertEquals(2, Files.readAllLines(JournaledGreyBookStorage.getJournalFilePath(filePath)).size());
+        assertEquals(readBack, new GreyBook(createStorage(filePath).readGreyBook().get()));
+    }
+
+    @Test
+    public void saveGreyBook_journalPastThreshold_compactedIntoSnapshot() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        Path journalFilePath = JournaledGreyBookStorage.getJournalFilePath(filePath);
+        JournaledGreyBookStorage storage = createStorage(filePath, 1);
+        GreyBook original = getTypicalGreyBook();
+        storage.saveGreyBook(original);
+        original.addPerson(HOON);
+        storage.saveGreyBook(original);
+
+        // compaction happens in the background
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (Files.exists(journalFilePath) && Files.size(journalFilePath) > 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, Files.size(journalFilePath));
+        assertEquals(original, new GreyBook(createSnapshotStorage(filePath).readGreyBook().get()));
+    }
+
+    @Test
+    public void readGreyBook_journalWithoutSnapshot_replaysJournal() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        Files.write(JournaledGreyBookStorage.getJournalFilePath(filePath),
+                List.of(JsonUtil.toCompactJsonString(JsonAdaptedJournalRecord.put(ALICE))));
+
+        GreyBook expected = new GreyBook();
+        expected.addPerson(ALICE);
+        assertEquals(expected, new GreyBook(createStorage(filePath).readGreyBook().get()));
+    }
+
+    @Test
+    public void readGreyBook_incompleteLastRecord_ignored() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        JournaledGreyBookStorage storage = createStorage(filePath);
+        GreyBook original = getTypicalGreyBook();
+        storage.saveGreyBook(original);
+        original.addPerson(HOON);
+        storage.saveGreyBook(original);
+        Files.write(JournaledGreyBookStorage.getJournalFilePath(filePath),
+                "{\"operation\":\"put\",\"per".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(original, new GreyBook(createStorage(filePath).readGreyBook().get()));
+    }
+
+    @Test
+    public void readGreyBook_invalidRecordBeforeLast_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        String invalidRecord = "{\"operation\":\"rename\"}";
+        String validRecord = JsonUtil.toCompactJsonString(JsonAdaptedJournalRecord.put(ALICE));
+        Files.write(JournaledGreyBookStorage.getJournalFilePath(filePath), List.of(invalidRecord, validRecord));
+
+        JournaledGreyBookStorage storage = createStorage(filePath);
+        assertThrows(DataLoadingException.class, storage::readGreyBook);
+    }
+
+    @Test
+    public void saveGreyBook_modelSnapshots_loggedChangesJournaledInOrder() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        JournaledGreyBookStorage storage = createStorage(filePath);
+        Model model = new ModelManager(getTypicalGreyBook(), new UserPrefs(), new History());
+        storage.saveGreyBook(model.getGreyBookSnapshot());
+
+        model.addPerson(HOON);
+        Person editedAlice = new PersonBuilder(ALICE).withTags(VALID_TAG_CONTRIBUTOR).build();
+        model.setPerson(ALICE, editedAlice);
+        model.deletePerson(BENSON);
+        storage.saveGreyBook(model.getGreyBookSnapshot());
+
+        List<String> expectedJournal = List.of(JsonUtil.toCompactJsonString(JsonAdaptedJournalRecord.put(HOON)),
+                JsonUtil.toCompactJsonString(JsonAdaptedJournalRecord.put(editedAlice)),
+                JsonUtil.toCompactJsonString(JsonAdaptedJournalRecord.delete(BENSON.getStudentID())));
+        assertEquals(expectedJournal, Files.readAllLines(JournaledGreyBookStorage.getJournalFilePath(filePath)));
+        assertEquals(model.getGreyBook(), new GreyBook(createStorage(filePath).readGreyBook().get()));
+    }
+
+    @Test
+    public void readGreyBook_stoppedAfterCompactedSnapshotReplaced_compactedJournalUsed() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        GreyBook compacted = writeCompactionFiles(filePath);
+        createSnapshotStorage(filePath).saveGreyBook(compacted);
+
+        // Replaying the old journal over the compacted snapshot would move Alice after Benson
+        assertEquals(compacted, new GreyBook(createStorage(filePath).readGreyBook().get()));
+        assertEquals(0, Files.size(JournaledGreyBookStorage.getJournalFilePath(filePath)));
+    }
+
+    @Test
+    public void readGreyBook_stoppedBeforeCompactedSnapshotReplaced_oldJournalUsed() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        GreyBook compacted = writeCompactionFiles(filePath);
+        GreyBook original = new GreyBook();
+        original.addPerson(ALICE);
+        createSnapshotStorage(filePath).saveGreyBook(original);
+        createSnapshotStorage(filePath).saveGreyBook(compacted, testFolder.resolve("greyBook.json.compacting"));
+
+        assertEquals(compacted, new GreyBook(createStorage(filePath).readGreyBook().get()));
+        assertFalse(Files.exists(testFolder.resolve("greyBook.json.journal.compacting")));
+    }
+
+    @Test
+    public void saveGreyBook_personLevelChange_journalSaveRecordedInCommandMetrics() throws Exception {
+        Path filePath = testFolder.resolve("greyBook.json");
+        JournaledGreyBookStorage storage = createStorage(filePath);
+        GreyBook original = getTypicalGreyBook();
+        storage.saveGreyBook(original);
+        original.addPerson(HOON);
+        storage.saveGreyBook(original);
+
+        assertEquals(1, commandMetrics.getSaveBytesSummary(SaveTarget.GREYBOOK).getCount());
+        Histogram.Summary journalSummary = commandMetrics.getSaveBytesSummary(SaveTarget.GREYBOOK_JOURNAL);
+        assertEquals(1, journalSummary.getCount());
+        assertEquals(Files.size(JournaledGreyBookStorage.getJournalFilePath(filePath)), journalSummary.getTotal());
+    }
+
+    @Test
+    public void getJournalFilePath_snapshotPath_addsSuffix() {
+        Path filePath = testFolder.resolve("greyBook.json");
+        assertTrue(JournaledGreyBookStorage.getJournalFilePath(filePath).endsWith("greyBook.json.journal"));
+    }
+
+    /**
+     * Writes the journal of a GreyBook that had only Alice, in which Alice is
+     * deleted and added back before Benson is added, and an empty compacted
+     * journal, as a compaction does before it replaces the snapshot. Returns the
+     * compacted GreyBook.
+     */
+    private GreyBook writeCompactionFiles(Path filePath) throws Exception {
+        Files.write(JournaledGreyBookStorage.getJournalFilePath(filePath), List.of(
+                JsonUtil.toCompactJsonString(JsonAdaptedJournalRecord.delete(ALICE.getStudentID())),
+                JsonUtil.toCompactJsonString(JsonAdaptedJournalRecord.put(ALICE)),
+                JsonUtil.toCompactJsonString(JsonAdaptedJournalRecord.put(BENSON))));
+        Files.write(testFolder.resolve("greyBook.json.journal.compacting"), new byte[0]);
+
+        GreyBook compacted = new GreyBook();
+        compacted.addPerson(ALICE);
+        compacted.addPerson(BENSON);
+        return compacted;
+    }
+
+    private JournaledGreyBookStorage createStorage(Path filePath) {
+        return createStorage(filePath, JournaledGreyBookStorage.DEFAULT_COMPACTION_THRESHOLD_BYTES);
+    }
+
+    private JournaledGreyBookStorage createStorage(Path filePath, long compactionThresholdBytes) {
+        return new JournaledGreyBookStorage(filePath, compactionThresholdBytes, commandMetrics);
+    }
+
+    private JsonGreyBookStorage createSnapshotStorage(Path filePath) {
+        return new JsonGreyBookStorage(filePath, commandMetrics);
+    }
+}
@@ -0,0 +1,77 @@
+package greynekos.greybook.storage;
+
+import static greynekos.greybook.logic.commands.CommandTestUtil.VALID_TAG_CONTRIBUTOR;
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.commons.exceptions.IllegalValueException;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.testutil.PersonBuilder;
+
+public class JsonAdaptedJournalRecordTest {
+
+    private static final String INVALID_STUDENTID = "A1234567A";
+
+    @Test
+    public void applyTo_putNewPerson_personAdded() throws Exception {
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(BENSON);
+        JsonAdaptedJournalRecord.put(ALICE).applyTo(greyBook);
+        assertEquals(List.of(BENSON, ALICE), greyBook.getPersonList());
+    }
+
+    @Test
+    public void applyTo_putExistingPerson_personReplacedInPlace() throws Exception {
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(ALICE);
+        greyBook.addPerson(BENSON);
+        Person editedAlice = new PersonBuilder(ALICE).withTags(VALID_TAG_CONTRIBUTOR).build();
+        JsonAdaptedJournalRecord.put(editedAlice).applyTo(greyBook);
+        assertEquals(List.of(editedAlice, BENSON), greyBook.getPersonList());
+    }
+
+    @Test
+    public void applyTo_deleteExistingPerson_personRemoved() throws Exception {
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(ALICE);
+        greyBook.addPerson(BENSON);
+        JsonAdaptedJournalRecord.delete(ALICE.getStudentID()).applyTo(greyBook);
+        assertEquals(List.of(BENSON), greyBook.getPersonList());
+    }
+
+    @Test
+    public void applyTo_deleteMissingPerson_noChange() throws Exception {
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(BENSON);
+        JsonAdaptedJournalRecord.delete(ALICE.getStudentID()).applyTo(greyBook);
+        assertEquals(List.of(BENSON), greyBook.getPersonList());
+    }
+
+    @Test
+    public void applyTo_unknownOperation_throwsIllegalValueException() {
+        JsonAdaptedJournalRecord record = new JsonAdaptedJournalRecord("rename", null, null);
+        String expectedMessage = String.format(JsonAdaptedJournalRecord.MESSAGE_INVALID_OPERATION, "rename");
+        assertThrows(IllegalValueException.class, expectedMessage, () -> record.applyTo(new GreyBook()));
+    }
+
+    @Test
+    public void applyTo_putWithoutPerson_throwsIllegalValueException() {
+        JsonAdaptedJournalRecord record =
+                new JsonAdaptedJournalRecord(JsonAdaptedJournalRecord.OPERATION_PUT, null, null);
+        assertThrows(IllegalValueException.class, () -> record.applyTo(new GreyBook()));
+    }
+
+    @Test
+    public void applyTo_deleteWithInvalidStudentId_throwsIllegalValueException() {
+        JsonAdaptedJournalRecord record =
+                new JsonAdaptedJournalRecord(JsonAdaptedJournalRecord.OPERATION_DELETE, null, INVALID_STUDENTID);
+        assertThrows(IllegalValueException.class, () -> record.applyTo(new GreyBook()));
+    }
+}
@@ -5,12 +5,19 @@ import static greynekos.greybook.testutil.Assert.assertThrows;
 import static greynekos.greybook.testutil.TypicalPersons.BENSON;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
 import greynekos.greybook.commons.exceptions.IllegalValueException;
 import greynekos.greybook.model.person.AttendanceStatus;
 import greynekos.greybook.model.person.Email;
@@ -19,6 +26,8 @@ import greynekos.greybook.model.person.Phone;
 import greynekos.greybook.model.person.StudentID;
 
 public class JsonAdaptedPersonTest {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private static final String INVALID_NAME = "R@chel!";
     private static final String INVALID_PHONE = "+0123";
     private static final String INVALID_EMAIL = "example.com";
@@ -130,4 +139,39 @@ public class JsonAdaptedPersonTest {
         assertThrows(IllegalValueException.class, expectedMessage, person::toModelType);
     }
 
+    @Test
+    public void writeToAndReadFrom_validPerson_returnsSamePerson() throws Exception {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            new JsonAdaptedPerson(BENSON).writeTo(generator);
+        }
+
+        try (JsonParser parser = JSON_FACTORY.createParser(json.toString())) {
+            parser.nextToken();
+            assertEquals(BENSON, JsonAdaptedPerson.readFrom(parser).toModelType());
+            assertEquals(JsonToken.END_OBJECT, parser.getCurrentToken());
+        }
+    }
+
+    @Test
+    public void readFrom_unknownFields_skipsFields() throws Exception {
+        String json = "{\"nickname\":{\"value\":\"Ben\"},\"name\":\"" + VALID_NAME + "\",\"phone\":\""
+                + VALID_PHONE + "\",\"email\":\"" + VALID_EMAIL + "\",\"studentID\":\"" + VALID_STUDENTID
+                + "\",\"extra\":[1,[2]],\"tags\":[],\"attendanceStatus\":\"" + VALID_ATTENDANCE + "\"}";
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            parser.nextToken();
+            JsonAdaptedPerson person = JsonAdaptedPerson.readFrom(parser);
+            JsonAdaptedPerson expectedPerson = new JsonAdaptedPerson(VALID_NAME, VALID_PHONE, VALID_EMAIL,
+                    VALID_STUDENTID, new ArrayList<>(), VALID_ATTENDANCE);
+            assertEquals(expectedPerson.toModelType(), person.toModelType());
+        }
+    }
+
+    @Test
+    public void readFrom_nonStringName_throwsJsonParseException() throws Exception {
+        try (JsonParser parser = JSON_FACTORY.createParser("{\"name\":{\"first\":\"Ben\"}}")) {
+            parser.nextToken();
+            assertThrows(JsonParseException.class, () -> JsonAdaptedPerson.readFrom(parser));
+        }
+    }
 }
@@ -2,24 +2,35 @@ package greynekos.greybook.storage;
 
 import static greynekos.greybook.testutil.Assert.assertThrows;
 import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
 import static greynekos.greybook.testutil.TypicalPersons.HOON;
 import static greynekos.greybook.testutil.TypicalPersons.IDA;
 import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
+import greynekos.greybook.commons.core.metrics.CommandMetrics.SaveTarget;
+import greynekos.greybook.commons.core.metrics.Histogram;
 import greynekos.greybook.commons.exceptions.DataLoadingException;
+import greynekos.greybook.commons.util.FileUtil;
+import greynekos.greybook.commons.util.JsonUtil;
 import greynekos.greybook.model.GreyBook;
 import greynekos.greybook.model.ReadOnlyGreyBook;
 
 public class JsonGreyBookStorageTest {
+
+    private final CommandMetrics commandMetrics = new CommandMetrics();
     private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "JsonGreyBookStorageTest");
 
     @TempDir
@@ -31,7 +42,7 @@ public class JsonGreyBookStorageTest {
     }
 
     private java.util.Optional<ReadOnlyGreyBook> readGreyBook(String filePath) throws Exception {
-        return new JsonGreyBookStorage(Paths.get(filePath)).readGreyBook(addToTestDataPathIfNotNull(filePath));
+        return createStorage(Paths.get(filePath)).readGreyBook(addToTestDataPathIfNotNull(filePath));
     }
 
     private Path addToTestDataPathIfNotNull(String prefsFileInTestDataFolder) {
@@ -58,11 +69,63 @@ public class JsonGreyBookStorageTest {
         assertThrows(DataLoadingException.class, () -> readGreyBook("invalidAndValidPersonGreyBook.json"));
     }
 
+    @Test
+    public void readGreyBook_invalidAndValidPersons_validPersonsLoaded() throws Exception {
+        Path filePath = testFolder.resolve("invalidAndValidPersons.json");
+        JsonAdaptedPerson invalidPerson = new JsonAdaptedPerson(BENSON.getName().fullName, "948asdf2424",
+                BENSON.getEmail().value, BENSON.getStudentID().value, new ArrayList<>(), "NONE");
+        FileUtil.writeToFile(filePath, "{ \"persons\" : [ " + JsonUtil.toJsonString(new JsonAdaptedPerson(ALICE))
+                + ", " + JsonUtil.toJsonString(invalidPerson) + " ] }");
+        try {
+            createStorage(filePath).readGreyBook();
+            fail("Expected a PartialGreyBookLoadingException");
+        } catch (PartialGreyBookLoadingException e) {
+            GreyBook expectedGreyBook = new GreyBook();
+            expectedGreyBook.addPerson(ALICE);
+            assertEquals(expectedGreyBook, new GreyBook(e.getValidData()));
+            assertEquals(1, e.getRejectedRecords().size());
+        }
+    }
+
+    @Test
+    public void readGreyBook_unknownFields_skipsFields() throws Exception {
+        Path filePath = testFolder.resolve("unknownFields.json");
+        FileUtil.writeToFile(filePath, "{ \"_comment\" : { \"nested\" : [ 1, 2 ] }, \"version\" : 2, "
+                + "\"persons\" : [ ], \"archived\" : null }");
+        assertEquals(new GreyBook(), new GreyBook(createStorage(filePath).readGreyBook().get()));
+    }
+
+    @Test
+    public void readGreyBook_duplicatePersons_throwDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("duplicatePersons.json");
+        String personJson = JsonUtil.toJsonString(new JsonAdaptedPerson(ALICE));
+        FileUtil.writeToFile(filePath, "{ \"persons\" : [ " + personJson + ", " + personJson + " ] }");
+        assertThrows(DataLoadingException.class, () -> createStorage(filePath).readGreyBook());
+    }
+
+    @Test
+    public void saveGreyBook_typicalPersons_sameAsSerializedGreyBook() throws Exception {
+        Path filePath = testFolder.resolve("TempGreyBook.json");
+        GreyBook original = getTypicalGreyBook();
+        createStorage(filePath).saveGreyBook(original);
+        assertEquals(JsonUtil.toJsonString(new JsonSerializableGreyBook(original)), FileUtil.readFromFile(filePath));
+    }
+
+    @Test
+    public void saveGreyBook_typicalPersons_saveRecordedInCommandMetrics() throws Exception {
+        Path filePath = testFolder.resolve("TempGreyBook.json");
+        createStorage(filePath).saveGreyBook(getTypicalGreyBook());
+
+        Histogram.Summary bytesSummary = commandMetrics.getSaveBytesSummary(SaveTarget.GREYBOOK);
+        assertEquals(1, bytesSummary.getCount());
+        assertEquals(Files.size(filePath), bytesSummary.getTotal());
+    }
+
     @Test
     public void readAndSaveGreyBook_allInOrder_success() throws Exception {
         Path filePath = testFolder.resolve("TempGreyBook.json");
         GreyBook original = getTypicalGreyBook();
-        JsonGreyBookStorage jsonGreyBookStorage = new JsonGreyBookStorage(filePath);
+        JsonGreyBookStorage jsonGreyBookStorage = createStorage(filePath);
 
         // Save in new file and read back
         jsonGreyBookStorage.saveGreyBook(original, filePath);
@@ -94,7 +157,7 @@ public class JsonGreyBookStorageTest {
      */
     private void saveGreyBook(ReadOnlyGreyBook greyBook, String filePath) {
         try {
-            new JsonGreyBookStorage(Paths.get(filePath)).saveGreyBook(greyBook, addToTestDataPathIfNotNull(filePath));
+            createStorage(Paths.get(filePath)).saveGreyBook(greyBook, addToTestDataPathIfNotNull(filePath));
         } catch (IOException ioe) {
             throw new AssertionError("There should not be an error writing to the file.", ioe);
         }
@@ -104,4 +167,8 @@ public class JsonGreyBookStorageTest {
     public void saveGreyBook_nullFilePath_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> saveGreyBook(new GreyBook(), null));
     }
+
+    private JsonGreyBookStorage createStorage(Path filePath) {
+        return new JsonGreyBookStorage(filePath, commandMetrics);
+    }
 }
@@ -14,11 +14,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import greynekos.greybook.commons.core.history.CommandHistory;
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
 import greynekos.greybook.commons.exceptions.DataLoadingException;
 import greynekos.greybook.model.History;
 
 public class JsonHistoryStorageTest {
 
+    private final CommandMetrics commandMetrics = new CommandMetrics();
+
     private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "JsonHistoryStorageTest");
 
     @TempDir
@@ -31,7 +34,7 @@ public class JsonHistoryStorageTest {
 
     private Optional<History> readHistory(String historyFileInTestDataFolder) throws DataLoadingException {
         Path prefsFilePath = addToTestDataPathIfNotNull(historyFileInTestDataFolder);
-        return new JsonHistoryStorage(prefsFilePath).readHistory(prefsFilePath);
+        return createStorage(prefsFilePath).readHistory(prefsFilePath);
     }
 
     @Test
@@ -83,7 +86,7 @@ public class JsonHistoryStorageTest {
      */
     private void saveHistory(History history, String prefsFileInTestDataFolder) {
         try {
-            new JsonHistoryStorage(addToTestDataPathIfNotNull(prefsFileInTestDataFolder)).saveHistory(history);
+            createStorage(addToTestDataPathIfNotNull(prefsFileInTestDataFolder)).saveHistory(history);
         } catch (IOException ioe) {
             throw new AssertionError("There should not be an error writing to the file", ioe);
         }
@@ -97,7 +100,7 @@ public class JsonHistoryStorageTest {
         original.setCommandHistory(new CommandHistory(Arrays.asList("mark 1 p/", "find help")));
 
         Path historyFilePath = testFolder.resolve("TempHistory.json");
-        JsonHistoryStorage jsonHistoryStorage = new JsonHistoryStorage(historyFilePath);
+        JsonHistoryStorage jsonHistoryStorage = createStorage(historyFilePath);
 
         // Try writing when the file doesn't exist
         jsonHistoryStorage.saveHistory(original);
@@ -111,4 +114,7 @@ public class JsonHistoryStorageTest {
         assertEquals(original, readBack);
     }
 
+    private JsonHistoryStorage createStorage(Path filePath) {
+        return new JsonHistoryStorage(filePath, commandMetrics);
+    }
 }
@@ -0,0 +1,83 @@
+package greynekos.greybook.storage;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BENSON;
+import static greynekos.greybook.testutil.TypicalPersons.CARL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.commons.exceptions.IllegalValueException;
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.model.person.Phone;
+import greynekos.greybook.model.person.StudentID;
+import greynekos.greybook.testutil.PersonBuilder;
+
+public class ParallelPersonConverterTest {
+
+    private static final JsonAdaptedPerson INVALID_PHONE_PERSON = new JsonAdaptedPerson(ALICE.getName().fullName,
+            "948asdf2424", ALICE.getEmail().value, ALICE.getStudentID().value, new ArrayList<>(), "NONE");
+
+    @Test
+    public void getGreyBook_validPersons_allConvertedInOrder() throws Exception {
+        ParallelPersonConverter converter = new ParallelPersonConverter();
+        converter.addAll(List.of(new JsonAdaptedPerson(ALICE), new JsonAdaptedPerson(BENSON),
+                new JsonAdaptedPerson(CARL)));
+
+        assertEquals(List.of(ALICE, BENSON, CARL), converter.getGreyBookIfAllValid().getPersonList());
+        assertTrue(converter.getRejectedRecords().isEmpty());
+    }
+
+    @Test
+    public void getGreyBook_invalidPerson_validPersonsKept() {
+        ParallelPersonConverter converter = new ParallelPersonConverter();
+        converter.addAll(List.of(new JsonAdaptedPerson(BENSON), INVALID_PHONE_PERSON, new JsonAdaptedPerson(CARL)));
+
+        assertEquals(List.of(BENSON, CARL), converter.getGreyBook().getPersonList());
+        assertEquals(List.of(String.format(ParallelPersonConverter.MESSAGE_REJECTED_RECORD_FORMAT, 2,
+                Phone.MESSAGE_CONSTRAINTS)), converter.getRejectedRecords());
+    }
+
+    @Test
+    public void getGreyBook_duplicatePersons_firstPersonKept() {
+        Person aliceWithOtherName = new PersonBuilder(ALICE).withName("Alice Other").build();
+        ParallelPersonConverter converter = new ParallelPersonConverter();
+        converter.addAll(List.of(new JsonAdaptedPerson(ALICE), new JsonAdaptedPerson(aliceWithOtherName)));
+
+        assertEquals(List.of(ALICE), converter.getGreyBook().getPersonList());
+        assertEquals(List.of(String.format(ParallelPersonConverter.MESSAGE_REJECTED_RECORD_FORMAT, 2,
+                JsonSerializableGreyBook.MESSAGE_DUPLICATE_PERSON)), converter.getRejectedRecords());
+    }
+
+    @Test
+    public void getGreyBookIfAllValid_invalidPerson_throwsFirstRejection() {
+        ParallelPersonConverter converter = new ParallelPersonConverter();
+        converter.addAll(List.of(INVALID_PHONE_PERSON, new JsonAdaptedPerson(ALICE)));
+        assertThrows(IllegalValueException.class, Phone.MESSAGE_CONSTRAINTS, converter::getGreyBookIfAllValid);
+    }
+
+    @Test
+    public void getGreyBook_moreThanOneBatch_allConvertedInOrder() {
+        ParallelPersonConverter converter = new ParallelPersonConverter();
+        GreyBook expectedGreyBook = new GreyBook();
+        for (int i = 0; i < ParallelPersonConverter.BATCH_SIZE * 2 + 1; i++) {
+            String digits = String.format("%07d", i);
+            String studentId = "A" + digits + StudentID.calculateStudentIdChecksum("A" + digits);
+            Person person = new PersonBuilder().withStudentID(studentId).build();
+            expectedGreyBook.addPerson(person);
+            converter.add(new JsonAdaptedPerson(person));
+        }
+        converter.add(INVALID_PHONE_PERSON);
+
+        assertEquals(expectedGreyBook, converter.getGreyBook());
+        assertEquals(List.of(String.format(ParallelPersonConverter.MESSAGE_REJECTED_RECORD_FORMAT,
+                ParallelPersonConverter.BATCH_SIZE * 2 + 2, Phone.MESSAGE_CONSTRAINTS)),
+                converter.getRejectedRecords());
+    }
+}
@@ -2,8 +2,11 @@ package greynekos.greybook.storage;
 
 import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import greynekos.greybook.commons.core.GuiSettings;
 import greynekos.greybook.commons.core.history.CommandHistory;
+import greynekos.greybook.commons.core.metrics.CommandMetrics;
 import greynekos.greybook.model.GreyBook;
 import greynekos.greybook.model.History;
 import greynekos.greybook.model.ReadOnlyGreyBook;
@@ -20,6 +24,8 @@ import greynekos.greybook.model.UserPrefs;
 
 public class StorageManagerTest {
 
+    private final CommandMetrics commandMetrics = new CommandMetrics();
+
     @TempDir
     public Path testFolder;
 
@@ -27,9 +33,9 @@ public class StorageManagerTest {
 
     @BeforeEach
     public void setUp() {
-        JsonGreyBookStorage greyBookStorage = new JsonGreyBookStorage(getTempFilePath("ab"));
+        JsonGreyBookStorage greyBookStorage = createGreyBookStorage(getTempFilePath("ab"));
         JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(getTempFilePath("prefs"));
-        JsonHistoryStorage historyStorage = new JsonHistoryStorage(getTempFilePath("history"));
+        JsonHistoryStorage historyStorage = createHistoryStorage(getTempFilePath("history"));
         storageManager = new StorageManager(greyBookStorage, userPrefsStorage, historyStorage);
     }
 
@@ -81,9 +87,48 @@ public class StorageManagerTest {
         assertEquals(original, new GreyBook(retrieved));
     }
 
+    @Test
+    public void greyBookReadSave_writeBehind_savedAfterFlush() throws Exception {
+        Path greyBookFilePath = getTempFilePath("writeBehind");
+        JsonGreyBookStorage greyBookStorage = createGreyBookStorage(greyBookFilePath);
+        StorageManager writeBehindStorageManager = new StorageManager(greyBookStorage,
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), createHistoryStorage(getTempFilePath("history")),
+                Long.MAX_VALUE);
+
+        GreyBook original = getTypicalGreyBook();
+        writeBehindStorageManager.saveGreyBook(original);
+        assertFalse(Files.exists(greyBookFilePath));
+
+        writeBehindStorageManager.flush();
+        assertEquals(original, new GreyBook(greyBookStorage.readGreyBook().get()));
+    }
+
+    @Test
+    public void createGreyBookStorage_binaryExtension_binaryStorage() throws Exception {
+        Path filePath = getTempFilePath("greybook" + BinaryGreyBookStorage.FILE_EXTENSION);
+        GreyBookStorage greyBookStorage = StorageManager.createGreyBookStorage(filePath);
+        assertTrue(greyBookStorage instanceof BinaryGreyBookStorage);
+
+        greyBookStorage.saveGreyBook(getTypicalGreyBook());
+        assertEquals(getTypicalGreyBook(), new BinaryGreyBookStorage(filePath, commandMetrics).readGreyBook().get());
+    }
+
+    @Test
+    public void createGreyBookStorage_jsonExtension_journaledStorage() {
+        GreyBookStorage greyBookStorage = StorageManager.createGreyBookStorage(getTempFilePath("greybook.json"));
+        assertTrue(greyBookStorage instanceof JournaledGreyBookStorage);
+    }
+
     @Test
     public void getGreyBookFilePath() {
         assertNotNull(storageManager.getGreyBookFilePath());
     }
 
+    private JsonGreyBookStorage createGreyBookStorage(Path filePath) {
+        return new JsonGreyBookStorage(filePath, commandMetrics);
+    }
+
+    private JsonHistoryStorage createHistoryStorage(Path filePath) {
+        return new JsonHistoryStorage(filePath, commandMetrics);
+    }
 }
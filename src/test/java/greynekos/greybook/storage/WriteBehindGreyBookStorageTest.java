@@ -0,0 +1,227 @@
+package greynekos.greybook.storage;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static greynekos.greybook.testutil.TypicalPersons.BOB;
+import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.model.GreyBook;
+import greynekos.greybook.model.ReadOnlyGreyBook;
+
+public class WriteBehindGreyBookStorageTest {
+
+    private static final long NEVER = Long.MAX_VALUE;
+    private static final Path FILE_PATH = Paths.get("data", "greybook.json");
+    private static final Path OTHER_FILE_PATH = Paths.get("data", "other.json");
+
+    private final GreyBookStorageStub underlyingStorage = new GreyBookStorageStub();
+
+    @Test
+    public void constructor_nullStorage_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new WriteBehindGreyBookStorage(null, 0));
+    }
+
+    @Test
+    public void saveGreyBook_beforeDelay_notWritten() throws Exception {
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        storage.saveGreyBook(getTypicalGreyBook());
+        assertTrue(underlyingStorage.savedGreyBooks.isEmpty());
+    }
+
+    @Test
+    public void saveGreyBook_noDelay_writtenInBackground() throws Exception {
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, 0);
+        storage.saveGreyBook(getTypicalGreyBook());
+        assertTrue(underlyingStorage.saveLatch.await(10, TimeUnit.SECONDS));
+        assertEquals(getTypicalGreyBook(), underlyingStorage.savedGreyBooks.get(0));
+    }
+
+    @Test
+    public void flush_consecutiveSaves_onlyLatestWritten() throws Exception {
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(ALICE);
+        storage.saveGreyBook(greyBook);
+        greyBook.addPerson(BOB);
+        storage.saveGreyBook(greyBook);
+
+        storage.flush();
+        assertEquals(1, underlyingStorage.savedGreyBooks.size());
+        assertEquals(greyBook, underlyingStorage.savedGreyBooks.get(0));
+    }
+
+    @Test
+    public void flush_differentFiles_allWritten() throws Exception {
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        storage.saveGreyBook(getTypicalGreyBook(), FILE_PATH);
+        storage.saveGreyBook(new GreyBook(), OTHER_FILE_PATH);
+
+        storage.flush();
+        assertEquals(List.of(FILE_PATH, OTHER_FILE_PATH), underlyingStorage.savedFilePaths);
+    }
+
+    @Test
+    public void flush_nothingPending_nothingWritten() throws Exception {
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        storage.flush();
+        assertTrue(underlyingStorage.savedGreyBooks.isEmpty());
+    }
+
+    @Test
+    public void saveGreyBook_greyBookModifiedAfterSave_snapshotWritten() throws Exception {
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        GreyBook greyBook = new GreyBook();
+        greyBook.addPerson(ALICE);
+        storage.saveGreyBook(greyBook);
+        greyBook.addPerson(BOB);
+
+        storage.flush();
+        GreyBook expectedGreyBook = new GreyBook();
+        expectedGreyBook.addPerson(ALICE);
+        assertEquals(expectedGreyBook, underlyingStorage.savedGreyBooks.get(0));
+    }
+
+    @Test
+    public void readGreyBook_pendingSnapshot_returnsSnapshot() throws Exception {
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        storage.saveGreyBook(getTypicalGreyBook());
+        assertEquals(getTypicalGreyBook(), new GreyBook(storage.readGreyBook().get()));
+    }
+
+    @Test
+    public void readGreyBook_nothingPending_readsUnderlyingStorage() throws Exception {
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        assertFalse(storage.readGreyBook().isPresent());
+    }
+
+    @Test
+    public void flush_writeFails_throwsAndReportsException() throws Exception {
+        IOException saveException = new IOException("dummy IO exception");
+        underlyingStorage.saveException = saveException;
+        underlyingStorage.failureCount = Integer.MAX_VALUE;
+        List<IOException> reportedExceptions = new ArrayList<>();
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        storage.setSaveErrorHandler(reportedExceptions::add);
+        storage.saveGreyBook(getTypicalGreyBook());
+
+        assertThrows(IOException.class, saveException.getMessage(), storage::flush);
+        assertEquals(1, reportedExceptions.size());
+        assertSame(saveException, reportedExceptions.get(0));
+    }
+
+    @Test
+    public void flush_writeFailsOnce_snapshotKeptAndWrittenOnRetry() throws Exception {
+        underlyingStorage.failureCount = 1;
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        storage.saveGreyBook(getTypicalGreyBook());
+
+        assertThrows(IOException.class, underlyingStorage.saveException.getMessage(), storage::flush);
+        assertTrue(underlyingStorage.savedGreyBooks.isEmpty());
+        assertEquals(getTypicalGreyBook(), new GreyBook(storage.readGreyBook().get()));
+
+        storage.flush();
+        assertEquals(List.of(getTypicalGreyBook()), underlyingStorage.savedGreyBooks);
+        storage.flush();
+        assertEquals(1, underlyingStorage.savedGreyBooks.size());
+    }
+
+    @Test
+    public void flush_writeKeepsFailing_onlyFirstFailureAndRecoveryReported() throws Exception {
+        underlyingStorage.failureCount = 3;
+        List<IOException> reportedExceptions = new ArrayList<>();
+        AtomicInteger recoveryCount = new AtomicInteger();
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, NEVER);
+        storage.setSaveErrorHandler(reportedExceptions::add);
+        storage.setSaveRecoveryHandler(recoveryCount::incrementAndGet);
+        storage.saveGreyBook(getTypicalGreyBook());
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IOException.class, underlyingStorage.saveException.getMessage(), storage::flush);
+        }
+        assertEquals(List.of(underlyingStorage.saveException), reportedExceptions);
+        assertEquals(0, recoveryCount.get());
+
+        storage.flush();
+        assertEquals(List.of(getTypicalGreyBook()), underlyingStorage.savedGreyBooks);
+        assertEquals(1, recoveryCount.get());
+
+        // A later failure is reported again
+        underlyingStorage.failureCount = 1;
+        storage.saveGreyBook(getTypicalGreyBook());
+        assertThrows(IOException.class, underlyingStorage.saveException.getMessage(), storage::flush);
+        assertEquals(2, reportedExceptions.size());
+    }
+
+    @Test
+    public void saveGreyBook_writeFailsOnce_retriedInBackground() throws Exception {
+        underlyingStorage.failureCount = 1;
+        List<IOException> reportedExceptions = new CopyOnWriteArrayList<>();
+        WriteBehindGreyBookStorage storage = new WriteBehindGreyBookStorage(underlyingStorage, 0);
+        storage.setSaveErrorHandler(reportedExceptions::add);
+        storage.saveGreyBook(getTypicalGreyBook());
+
+        assertTrue(underlyingStorage.saveLatch.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(getTypicalGreyBook()), underlyingStorage.savedGreyBooks);
+        assertEquals(List.of(underlyingStorage.saveException), reportedExceptions);
+    }
+
+    /**
+     * A {@code GreyBookStorage} that records the GreyBooks saved to it.
+     */
+    private static class GreyBookStorageStub implements GreyBookStorage {
+        private final List<ReadOnlyGreyBook> savedGreyBooks = new ArrayList<>();
+        private final List<Path> savedFilePaths = new ArrayList<>();
+        private final CountDownLatch saveLatch = new CountDownLatch(1);
+        private IOException saveException = new IOException("dummy IO exception");
+        /** Number of saves that throw {@code saveException} before saves succeed */
+        private int failureCount;
+
+        @Override
+        public Path getGreyBookFilePath() {
+            return FILE_PATH;
+        }
+
+        @Override
+        public Optional<ReadOnlyGreyBook> readGreyBook() {
+            return readGreyBook(FILE_PATH);
+        }
+
+        @Override
+        public Optional<ReadOnlyGreyBook> readGreyBook(Path filePath) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void saveGreyBook(ReadOnlyGreyBook greyBook) throws IOException {
+            saveGreyBook(greyBook, FILE_PATH);
+        }
+
+        @Override
+        public synchronized void saveGreyBook(ReadOnlyGreyBook greyBook, Path filePath) throws IOException {
+            if (failureCount > 0) {
+                failureCount--;
+                throw saveException;
+            }
+            savedGreyBooks.add(greyBook);
+            savedFilePaths.add(filePath);
+            saveLatch.countDown();
+        }
+    }
+}
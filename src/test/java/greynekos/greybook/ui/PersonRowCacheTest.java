@@ -0,0 +1,117 @@
+package greynekos.greybook.ui;
+
+import static greynekos.greybook.logic.commands.CommandTestUtil.NAME_DESC_BOB;
+import static greynekos.greybook.logic.commands.CommandTestUtil.VALID_NAME_BOB;
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.getTypicalGreyBook;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import greynekos.greybook.logic.Logic;
+import greynekos.greybook.logic.LogicManager;
+import greynekos.greybook.logic.commands.DeleteCommand;
+import greynekos.greybook.logic.commands.EditCommand;
+import greynekos.greybook.logic.commands.FindCommand;
+import greynekos.greybook.logic.commands.ListCommand;
+import greynekos.greybook.model.History;
+import greynekos.greybook.model.ModelManager;
+import greynekos.greybook.model.UserPrefs;
+import greynekos.greybook.storage.JsonGreyBookStorage;
+import greynekos.greybook.storage.JsonHistoryStorage;
+import greynekos.greybook.storage.JsonUserPrefsStorage;
+import greynekos.greybook.storage.StorageManager;
+
+/**
+ * Tests the rows of the person table as the list published by
+ * {@code LogicManager} changes after each command.
+ */
+public class PersonRowCacheTest {
+
+    @TempDir
+    public Path temporaryFolder;
+
+    private Logic logic;
+    private PersonRowCache rowCache;
+
+    @BeforeEach
+    public void setUp() {
+        JsonGreyBookStorage greyBookStorage = new JsonGreyBookStorage(temporaryFolder.resolve("greyBook.json"));
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json"));
+        JsonHistoryStorage historyStorage = new JsonHistoryStorage(temporaryFolder.resolve("history.json"));
+        StorageManager storage = new StorageManager(greyBookStorage, userPrefsStorage, historyStorage);
+        logic = new LogicManager(new ModelManager(getTypicalGreyBook(), new UserPrefs(), new History()), storage);
+        rowCache = new PersonRowCache(logic.getFilteredPersonList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        logic.shutdown();
+    }
+
+    @Test
+    public void constructor_null_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new PersonRowCache(null));
+    }
+
+    @Test
+    public void execute_list_rowsKept() throws Exception {
+        List<PersonRow> rows = getShownRows();
+        logic.execute(ListCommand.COMMAND_WORD);
+        assertRowsSame(rows, getShownRows());
+        assertEquals(rows.size(), rowCache.size());
+    }
+
+    @Test
+    public void execute_edit_onlyEditedRowReplaced() throws Exception {
+        List<PersonRow> rows = getShownRows();
+        logic.execute(EditCommand.COMMAND_WORD + " 1" + NAME_DESC_BOB);
+
+        List<PersonRow> newRows = getShownRows();
+        assertNotSame(rows.get(0), newRows.get(0));
+        assertEquals(VALID_NAME_BOB, newRows.get(0).nameProperty().getValue());
+        assertRowsSame(rows.subList(1, rows.size()), newRows.subList(1, newRows.size()));
+        assertEquals(rows.size(), rowCache.size());
+    }
+
+    @Test
+    public void execute_delete_rowEvicted() throws Exception {
+        List<PersonRow> rows = getShownRows();
+        logic.execute(DeleteCommand.COMMAND_WORD + " 1");
+
+        assertRowsSame(rows.subList(1, rows.size()), getShownRows());
+        assertEquals(rows.size() - 1, rowCache.size());
+    }
+
+    @Test
+    public void execute_find_rowsOfPersonsFoundKept() throws Exception {
+        List<PersonRow> rows = getShownRows();
+        String firstName = rows.get(0).nameProperty().getValue().split(" ")[0];
+        logic.execute(FindCommand.COMMAND_WORD + " " + firstName);
+
+        assertRowsSame(rows.subList(0, 1), getShownRows());
+        assertEquals(1, rowCache.size());
+    }
+
+    /**
+     * Returns the rows of the persons shown, in order.
+     */
+    private List<PersonRow> getShownRows() {
+        return logic.getFilteredPersonList().stream().map(rowCache::getRow).toList();
+    }
+
+    private static void assertRowsSame(List<PersonRow> expectedRows, List<PersonRow> actualRows) {
+        assertEquals(expectedRows.size(), actualRows.size());
+        for (int i = 0; i < expectedRows.size(); i++) {
+            assertSame(expectedRows.get(i), actualRows.get(i));
+        }
+    }
+}
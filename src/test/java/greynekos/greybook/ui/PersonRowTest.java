@@ -0,0 +1,41 @@
+package greynekos.greybook.ui;
+
+import static greynekos.greybook.testutil.Assert.assertThrows;
+import static greynekos.greybook.testutil.TypicalPersons.ALICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import greynekos.greybook.model.person.AttendanceStatus;
+import greynekos.greybook.model.person.Person;
+import greynekos.greybook.testutil.PersonBuilder;
+
+public class PersonRowTest {
+
+    @Test
+    public void constructor_null_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new PersonRow(null));
+    }
+
+    @Test
+    public void constructor_person_valuesOfPerson() {
+        Person person = new PersonBuilder(ALICE).withAttendanceStatus(AttendanceStatus.Status.LATE).build();
+        PersonRow row = new PersonRow(person);
+        assertEquals(person.getName().toString(), row.nameProperty().getValue());
+        assertEquals(person.getStudentID().toString(), row.studentIdProperty().getValue());
+        assertEquals(person.getEmail().toString(), row.emailProperty().getValue());
+        assertEquals(person.getPhone().toString(), row.phoneProperty().getValue());
+        assertEquals(person.getTags(), row.tagsProperty().getValue());
+        assertEquals(person.getAttendance().toString(), row.attendanceProperty().getValue());
+
+        // The same values are given every time the row is rendered
+        assertSame(row.nameProperty(), row.nameProperty());
+    }
+
+    @Test
+    public void constructor_noAttendance_attendanceBlank() {
+        Person person = new PersonBuilder(ALICE).withAttendanceStatus(AttendanceStatus.Status.NONE).build();
+        assertEquals("", new PersonRow(person).attendanceProperty().getValue());
+    }
+}